@@ -0,0 +1,137 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Сервер синхронізації в тому самому процесі, для тестів SyncEngine.
+ * Кожен запит і відповідь проходять через SyncCodec у стиснуті байти і назад - так само,
+ * як через мережу, тож перевіряється і формат, і стиснення. Рахує запити, записи і байти.
+ */
+final class FakeSyncServer implements SyncTransport {
+
+    // uuid -> останній стан піци (для видаленої - запис-"надгробок")
+    private final Map<String, SyncRecord> rows = new HashMap<>();
+    private long latestVersion;
+
+    private boolean offline;
+    private int pushRequests;
+    private int pullRequests;
+    private int recordsPushed;
+    private int recordsPulled;
+    private long compressedBytes;
+    private long uncompressedBytes;
+
+    @NonNull
+    @Override
+    public synchronized PushResult push(@NonNull List<SyncRecord> changes) throws IOException {
+        checkOnline();
+        pushRequests++;
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        SyncCodec.writePushRequest(request, changes);
+        List<SyncRecord> received = SyncCodec.readPushRequest(count(request));
+        recordsPushed += received.size();
+
+        Map<String, Long> accepted = new HashMap<>();
+        List<SyncRecord> conflicts = new ArrayList<>();
+        for (SyncRecord change : received) {
+            SyncRecord current = rows.get(change.getUuid());
+            if (current != null && change.getVersion() < current.getVersion()) {
+                conflicts.add(current); // Зміна зроблена від застарілої версії
+            } else {
+                long version = ++latestVersion;
+                rows.put(change.getUuid(), change.withVersion(version));
+                accepted.put(change.getUuid(), version);
+            }
+        }
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        SyncCodec.writePushResult(response, new PushResult(accepted, conflicts));
+        return SyncCodec.readPushResult(count(response));
+    }
+
+    @NonNull
+    @Override
+    public synchronized PullResult pull(long sinceVersion, int limit) throws IOException {
+        checkOnline();
+        pullRequests++;
+        List<SyncRecord> newer = new ArrayList<>();
+        for (SyncRecord row : rows.values()) {
+            if (row.getVersion() > sinceVersion) {
+                newer.add(row);
+            }
+        }
+        newer.sort((a, b) -> Long.compare(a.getVersion(), b.getVersion()));
+        boolean hasMore = newer.size() > limit;
+        List<SyncRecord> page = hasMore ? newer.subList(0, limit) : newer;
+        long pageLatest = hasMore ? page.get(page.size() - 1).getVersion() : latestVersion;
+        recordsPulled += page.size();
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        SyncCodec.writePullResult(response, new PullResult(new ArrayList<>(page), pageLatest, hasMore));
+        return SyncCodec.readPullResult(count(response));
+    }
+
+    synchronized void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    synchronized SyncRecord getRow(String uuid) {
+        return rows.get(uuid);
+    }
+
+    synchronized int getPushRequests() {
+        return pushRequests;
+    }
+
+    synchronized int getPullRequests() {
+        return pullRequests;
+    }
+
+    synchronized int getRecordsPushed() {
+        return recordsPushed;
+    }
+
+    synchronized int getRecordsPulled() {
+        return recordsPulled;
+    }
+
+    synchronized long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    synchronized long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    private void checkOnline() throws IOException {
+        if (offline) {
+            throw new IOException("Немає зв'язку з сервером");
+        }
+    }
+
+    /**
+     * Рахує, скільки байтів пройшло б мережею і скільки в них JSON до стиснення.
+     */
+    private InputStream count(ByteArrayOutputStream body) throws IOException {
+        byte[] bytes = body.toByteArray();
+        compressedBytes += bytes.length;
+        try (InputStream json = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = json.read(buffer)) != -1) {
+                uncompressedBytes += read;
+            }
+        }
+        return new ByteArrayInputStream(bytes);
+    }
+}
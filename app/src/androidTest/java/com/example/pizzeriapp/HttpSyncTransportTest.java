@@ -0,0 +1,156 @@
+package com.example.pizzeriapp;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * HttpSyncTransport проти справжнього HTTP-сервера в тому самому процесі (MockWebServer):
+ * адреси, заголовки, коди відповіді і відповіді як стиснуті, так і ні.
+ * FakeSyncServer у SyncEngineTest перевіряє лише SyncCodec - мережевого шару він не торкається.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HttpSyncTransportTest {
+
+    private static final long WAIT_SECONDS = 5;
+
+    private MockWebServer server;
+    private HttpSyncTransport transport;
+
+    @Before
+    public void startServer() throws IOException {
+        server = new MockWebServer();
+        server.start(InetAddress.getByName("localhost"), 0);
+        // "/" в кінці транспорт має прибрати сам
+        transport = new HttpSyncTransport("http://localhost:" + server.getPort() + "/api/");
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void push_sendsGzippedChanges() throws Exception {
+        SyncRecord margherita = record("a1", 3, "Маргарита", 15_000);
+        SyncRecord conflict = record("b2", 9, "Гавайська", 21_000);
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        SyncCodec.writePushResult(response, new SyncTransport.PushResult(
+                Collections.singletonMap("a1", 10L), Collections.singletonList(conflict)));
+        server.enqueue(gzipped(response));
+
+        SyncTransport.PushResult result = transport.push(Arrays.asList(margherita, SyncRecord.deleted("c3", 4, 99L)));
+
+        RecordedRequest request = server.takeRequest(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertEquals("POST", request.getMethod());
+        assertEquals("/api/pizzas/push", request.getPath());
+        assertEquals("gzip", request.getHeader("Content-Encoding"));
+        assertEquals("gzip", request.getHeader("Accept-Encoding"));
+        assertTrue(request.getHeader("Content-Type").startsWith("application/json"));
+        List<SyncRecord> sent = SyncCodec.readPushRequest(request.getBody().inputStream());
+        assertEquals(2, sent.size());
+        assertEquals("Маргарита", sent.get(0).getName());
+        assertTrue(sent.get(1).isDeleted());
+
+        assertEquals(Collections.singletonMap("a1", 10L), result.getAcceptedVersions());
+        assertEquals("b2", result.getConflicts().get(0).getUuid());
+        assertEquals(21_000, result.getConflicts().get(0).getPriceKopecks());
+    }
+
+    @Test
+    public void pull_readsGzippedPage() throws Exception {
+        server.enqueue(gzipped(pullResponse()));
+
+        SyncTransport.PullResult result = transport.pull(5, 50);
+
+        RecordedRequest request = server.takeRequest(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertEquals("GET", request.getMethod());
+        assertEquals("/api/pizzas/changes?since=5&limit=50", request.getPath());
+        assertEquals("gzip", request.getHeader("Accept-Encoding"));
+        assertPage(result);
+    }
+
+    @Test
+    public void pull_readsUncompressedResponse() throws Exception {
+        // Сервер проігнорував Accept-Encoding і відповів звичайним JSON без Content-Encoding
+        byte[] json = gunzip(pullResponse().toByteArray());
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(new Buffer().write(json)));
+
+        assertPage(transport.pull(5, 50));
+    }
+
+    @Test
+    public void errorStatus_failsWithCode() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).setBody("Сервер на обслуговуванні"));
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        IOException pullError = assertThrows(IOException.class, () -> transport.pull(0, 50));
+        assertTrue(pullError.getMessage(), pullError.getMessage().contains("503"));
+        IOException pushError = assertThrows(IOException.class,
+                () -> transport.push(Collections.singletonList(record("a1", 1, "Маргарита", 15_000))));
+        assertTrue(pushError.getMessage(), pushError.getMessage().contains("500"));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private static ByteArrayOutputStream pullResponse() throws IOException {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        SyncCodec.writePullResult(response, new SyncTransport.PullResult(
+                Arrays.asList(record("a1", 6, "Маргарита", 15_000), SyncRecord.deleted("c3", 7, 99L)), 7, true));
+        return response;
+    }
+
+    private static void assertPage(SyncTransport.PullResult result) {
+        assertEquals(2, result.getRecords().size());
+        assertEquals("Маргарита", result.getRecords().get(0).getName());
+        assertTrue(result.getRecords().get(1).isDeleted());
+        assertEquals(7, result.getLatestVersion());
+        assertTrue(result.hasMore());
+    }
+
+    // SyncCodec уже стискає - лишається сказати про це в заголовку
+    private static MockResponse gzipped(ByteArrayOutputStream body) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setHeader("Content-Encoding", "gzip")
+                .setBody(new Buffer().write(body.toByteArray()));
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            byte[] chunk = new byte[4096];
+            for (int read; (read = in.read(chunk)) > 0; ) {
+                plain.write(chunk, 0, read);
+            }
+        }
+        return plain.toByteArray();
+    }
+
+    private static SyncRecord record(String uuid, long version, String name, long priceKopecks) {
+        return new SyncRecord(uuid, version, 1_000L, false, name, "тісто, сир", priceKopecks, 30, null,
+                PizzaStatus.AVAILABLE);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє, що "pizza_ingredient" іде в ногу з кожним записом піци і що фільтри за інгредієнтами
+ * повертають те саме, що дав би перебір складу.
+ */
+@RunWith(AndroidJUnit4.class)
+public class IngredientDaoTest {
+
+    private AppDatabase db;
+    private PizzaDao pizzaDao;
+    private IngredientDao ingredientDao;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+        pizzaDao = db.pizzaDao();
+        ingredientDao = db.ingredientDao();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void insert_indexesIngredients() {
+        int id = (int) pizzaDao.insertPizza(pizza("Маргарита", "Томатний соус, Моцарела, базилік"));
+
+        assertEquals(Arrays.asList("базилік", "моцарела", "томатний соус"),
+                names(ingredientDao.getIngredientsOfPizza(id)));
+        assertNotNull(ingredientDao.getIngredientByNormalizedName("моцарела"));
+    }
+
+    @Test
+    public void filters_anyAllWithout() {
+        int margherita = (int) pizzaDao.insertPizza(pizza("Маргарита", "томати, моцарела"));
+        int funghi = (int) pizzaDao.insertPizza(pizza("Фунгі", "томати, моцарела, гриби"));
+        int vegan = (int) pizzaDao.insertPizza(pizza("Веган", "томати, гриби"));
+
+        assertEquals(Arrays.asList(funghi, margherita), ids(ingredientDao.getPizzasWithIngredient(" Моцарела")));
+        assertEquals(Collections.singletonList(funghi),
+                ids(ingredientDao.getPizzasWithAll(Arrays.asList("моцарела", "гриби"))));
+        assertEquals(Arrays.asList(vegan, funghi, margherita),
+                ids(ingredientDao.getPizzasWithAny(Arrays.asList("моцарела", "гриби", "ананас"))));
+        assertEquals(Collections.singletonList(margherita),
+                ids(ingredientDao.getPizzasWithout(Collections.singletonList("гриби"))));
+        assertTrue(ingredientDao.getPizzasWithAll(Arrays.asList("моцарела", "ананас")).isEmpty());
+        assertEquals(3, ingredientDao.getPizzasWithout(Collections.emptyList()).size());
+    }
+
+    @Test
+    public void update_reindexesAndDeleteCascades() {
+        int id = (int) pizzaDao.insertPizza(pizza("Маргарита", "томати, моцарела"));
+
+        PizzaEntity changed = pizzaDao.getPizzaById(id);
+        changed.setIngredients("томати, моцарела, гриби");
+        pizzaDao.updatePizza(changed);
+        assertEquals(Collections.singletonList(id), ids(ingredientDao.getPizzasWithIngredient("гриби")));
+
+        changed.setIngredients("томати");
+        pizzaDao.updatePizzas(Collections.singletonList(changed));
+        assertTrue(ingredientDao.getPizzasWithIngredient("гриби").isEmpty());
+        assertEquals(2, ingredientDao.deleteUnusedIngredients()); // моцарела і гриби
+
+        pizzaDao.deletePizzaById(id);
+        assertTrue(ingredientDao.getIngredientsOfPizza(id).isEmpty());
+    }
+
+    @Test
+    public void bulkWrites_indexEveryPizza() {
+        pizzaDao.insertPizzas(Arrays.asList(pizza("А", "сир"), pizza("Б", "сир, шинка")));
+        List<PizzaEntity> all = pizzaDao.getAllPizzasNow();
+        PizzaEntity existing = all.get(0); // "Б" - новіші першими
+        existing.setIngredients("шинка");
+        pizzaDao.upsertPizzas(Arrays.asList(existing, pizza("В", "сир, ананас")));
+
+        assertEquals(2, ingredientDao.getPizzasWithIngredient("сир").size()); // А і В
+        assertEquals(1, ingredientDao.getPizzasWithIngredient("ананас").size());
+        assertEquals(Collections.singletonList(existing.getId()),
+                ids(ingredientDao.getPizzasWithIngredient("шинка")));
+    }
+
+    @Test
+    public void updateOfMissingPizza_doesNotFail() {
+        PizzaEntity ghost = pizza("Привид", "сир");
+        ghost.setId(777);
+        pizzaDao.updatePizza(ghost); // Без піци зв'язок порушив би зовнішній ключ - тому не індексуємо
+        assertTrue(ingredientDao.getPizzasWithIngredient("сир").isEmpty());
+    }
+
+    private static PizzaEntity pizza(String name, String ingredients) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients(ingredients);
+        pizza.setPriceKopecks(15_000);
+        pizza.setSize(30);
+        return pizza;
+    }
+
+    private static List<Integer> ids(List<PizzaListItem> items) {
+        List<Integer> ids = new ArrayList<>();
+        for (PizzaListItem item : items) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+
+    private static List<String> names(List<IngredientEntity> ingredients) {
+        List<String> names = new ArrayList<>();
+        for (IngredientEntity ingredient : ingredients) {
+            names.add(ingredient.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Склад: списання при оформленні замовлення, статуси піц за залишками
+ * і навантажувальний тест з кількома потоками, що продають і поповнюють одночасно.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryDaoTest {
+
+    private AppDatabase db;
+    private PizzaDao pizzaDao;
+    private OrderDao orderDao;
+    private InventoryDao inventoryDao;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        pizzaDao = db.pizzaDao();
+        orderDao = db.orderDao();
+        inventoryDao = db.inventoryDao();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void checkout_takesStockAndMarksPizzaUnavailable() {
+        int margherita = addPizza("Маргарита", PizzaStatus.AVAILABLE);
+        int ham = addPizza("Шинка", PizzaStatus.AVAILABLE);
+        inventoryDao.setStock("Сир", 250);
+        inventoryDao.setStock("шинка", 500);
+        inventoryDao.setRecipe(margherita, recipe("сир", 100L, "базилік", 1L));
+        inventoryDao.setRecipe(ham, recipe("шинка", 50L));
+
+        orderDao.checkout(Arrays.asList(new OrderLine(margherita, 1), new OrderLine(ham, 1),
+                new OrderLine(margherita, 1)), 1L);
+
+        assertEquals(Long.valueOf(50), inventoryDao.getStockQuantity("сир"));
+        assertEquals(Long.valueOf(450), inventoryDao.getStockQuantity("шинка"));
+        assertNull(inventoryDao.getStockQuantity("базилік")); // Не враховується - не списується
+        // На ще одну Маргариту сиру не вистачить
+        assertEquals(PizzaStatus.UNAVAILABLE, pizzaDao.getPizzaById(margherita).getStatus());
+        assertEquals(PizzaStatus.AVAILABLE, pizzaDao.getPizzaById(ham).getStatus());
+    }
+
+    @Test
+    public void checkout_notEnoughStock_writesNothing() {
+        int margherita = addPizza("Маргарита", PizzaStatus.AVAILABLE);
+        int ham = addPizza("Шинка", PizzaStatus.AVAILABLE);
+        inventoryDao.setStock("сир", 150);
+        inventoryDao.setStock("шинка", 500);
+        inventoryDao.setRecipe(margherita, recipe("сир", 100L));
+        inventoryDao.setRecipe(ham, recipe("шинка", 50L));
+
+        try {
+            // Кожен рядок окремо пройшов би, але разом сиру треба 200
+            orderDao.checkout(Arrays.asList(new OrderLine(ham, 1), new OrderLine(margherita, 1),
+                    new OrderLine(margherita, 1)), 1L);
+            fail("Замовлення, на яке не вистачає сиру, не мало оформитись");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().contains("сир"));
+        }
+        assertEquals(Long.valueOf(150), inventoryDao.getStockQuantity("сир"));
+        assertEquals(Long.valueOf(500), inventoryDao.getStockQuantity("шинка"));
+        assertNull(orderDao.getOrderById(1));
+        assertEquals(PizzaStatus.AVAILABLE, pizzaDao.getPizzaById(margherita).getStatus());
+    }
+
+    @Test
+    public void restockAndRecipeChanges_updateStatuses() {
+        int margherita = addPizza("Маргарита", PizzaStatus.AVAILABLE);
+        int cooking = addPizza("Готується", PizzaStatus.COOKING);
+        int manual = addPizza("Без рецепта", PizzaStatus.UNAVAILABLE);
+        inventoryDao.setRecipe(margherita, recipe("сир", 100L));
+        inventoryDao.setRecipe(cooking, recipe("сир", 100L));
+
+        inventoryDao.setStock("сир", 99);
+        assertEquals(PizzaStatus.UNAVAILABLE, pizzaDao.getPizzaById(margherita).getStatus());
+        assertEquals(PizzaStatus.COOKING, pizzaDao.getPizzaById(cooking).getStatus());
+
+        inventoryDao.restock(" СИР", 1);
+        assertEquals(Long.valueOf(100), inventoryDao.getStockQuantity("сир"));
+        assertEquals(PizzaStatus.AVAILABLE, pizzaDao.getPizzaById(margherita).getStatus());
+        assertEquals(PizzaStatus.UNAVAILABLE, pizzaDao.getPizzaById(manual).getStatus()); // Без рецепта - лише вручну
+
+        inventoryDao.setRecipe(margherita, recipe("сир", 60L, "Сир ", 60L)); // Однакові назви додаються
+        assertEquals(PizzaStatus.UNAVAILABLE, pizzaDao.getPizzaById(margherita).getStatus());
+        assertEquals(1, inventoryDao.getRecipe(margherita).size());
+        assertEquals(120, inventoryDao.getRecipe(margherita).get(0).quantity);
+
+        inventoryDao.stopTrackingStock("сир");
+        assertEquals(PizzaStatus.AVAILABLE, pizzaDao.getPizzaById(margherita).getStatus());
+    }
+
+    @Test
+    public void stockChanges_leaveTrashedPizzasAlone() {
+        int margherita = addPizza("Маргарита", PizzaStatus.AVAILABLE);
+        String uuid = pizzaDao.getPizzaById(margherita).getUuid();
+        inventoryDao.setRecipe(margherita, recipe("сир", 100L));
+        pizzaDao.softDelete(Collections.singletonList(margherita), 1_000L);
+
+        // Піца в кошику: ні нестача, ні поповнення її статус не змінюють
+        inventoryDao.setStock("сир", 99);
+        assertEquals(PizzaStatus.AVAILABLE, db.syncDao().getPizzaByUuid(uuid).getStatus());
+
+        pizzaDao.restoreDeleted(Collections.singletonList(margherita), 1_000L);
+        inventoryDao.setStock("сир", 98); // Наступна зміна складу вже бачить повернуту піцу
+        assertEquals(PizzaStatus.UNAVAILABLE, pizzaDao.getPizzaById(margherita).getStatus());
+
+        pizzaDao.softDelete(Collections.singletonList(margherita), 2_000L);
+        inventoryDao.restock("сир", 100);
+        assertEquals(PizzaStatus.UNAVAILABLE, db.syncDao().getPizzaByUuid(uuid).getStatus());
+    }
+
+    @Test
+    public void stockAndRecipeIngredients_surviveCleanup() {
+        inventoryDao.setStock("борошно", 1_000);
+        int margherita = addPizza("Маргарита", PizzaStatus.AVAILABLE);
+        inventoryDao.setRecipe(margherita, recipe("дріжджі", 5L));
+
+        db.ingredientDao().deleteUnusedIngredients();
+
+        assertEquals(Long.valueOf(1_000), inventoryDao.getStockQuantity("борошно"));
+        assertEquals(1, inventoryDao.getRecipe(margherita).size());
+    }
+
+    /**
+     * Кілька потоків продають дві піци зі спільним сиром, а ще один тим часом поповнює склад.
+     * Якби списання було "прочитав - порахував - записав", частина продажів загубилася б
+     * або залишок пішов би в мінус.
+     */
+    @Test(timeout = 60_000)
+    public void concurrentCheckoutsAndRestocks_keepStockConsistent() throws Exception {
+        final int cheesePerMargherita = 30;
+        final int cheesePerQuattro = 50;
+        final int hamPerQuattro = 20;
+        final long initialCheese = 10_000;
+        final long initialHam = 3_000;
+        final int sellers = 8;
+        final int ordersPerSeller = 200;
+        final int restocks = 50;
+        final long restockCheese = 100;
+
+        int margherita = addPizza("Маргарита", PizzaStatus.AVAILABLE);
+        int quattro = addPizza("Чотири сири", PizzaStatus.AVAILABLE);
+        inventoryDao.setStock("сир", initialCheese);
+        inventoryDao.setStock("шинка", initialHam);
+        inventoryDao.setRecipe(margherita, recipe("сир", (long) cheesePerMargherita));
+        inventoryDao.setRecipe(quattro, recipe("сир", (long) cheesePerQuattro, "шинка", (long) hamPerQuattro));
+
+        Queue<Long> orderIds = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(sellers + 1);
+        try {
+            Future<?>[] futures = new Future<?>[sellers + 1];
+            for (int t = 0; t < sellers; t++) {
+                final Random random = new Random(t);
+                futures[t] = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ordersPerSeller; i++) {
+                        int pizzaId = random.nextBoolean() ? margherita : quattro;
+                        try {
+                            orderIds.add(orderDao.checkout(
+                                    Collections.singletonList(new OrderLine(pizzaId, 1 + random.nextInt(2))), i));
+                        } catch (IllegalStateException outOfStock) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            futures[sellers] = pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < restocks; i++) {
+                    inventoryDao.restock("сир", restockCheese);
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(); // Перекидає помилку з потоку, якщо вона була
+            }
+        } finally {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        long soldMargherita = 0;
+        long soldQuattro = 0;
+        for (long orderId : orderIds) {
+            for (OrderItemEntity item : orderDao.getItemsForOrder(orderId)) {
+                if (item.getPizzaId() == margherita) {
+                    soldMargherita += item.getQuantity();
+                } else {
+                    soldQuattro += item.getQuantity();
+                }
+            }
+        }
+        long cheese = inventoryDao.getStockQuantity("сир");
+        long ham = inventoryDao.getStockQuantity("шинка");
+
+        assertTrue("Попиту більше, ніж сиру, - частина замовлень мала отримати відмову", rejected.get() > 0);
+        assertEquals(sellers * ordersPerSeller, orderIds.size() + rejected.get());
+        // Усе, що привезли, або лежить на складі, або пішло в продані піци - до грама
+        assertEquals(initialCheese + restocks * restockCheese,
+                cheese + soldMargherita * cheesePerMargherita + soldQuattro * cheesePerQuattro);
+        assertEquals(initialHam, ham + soldQuattro * hamPerQuattro);
+        assertTrue(cheese >= 0);
+        assertTrue(ham >= 0);
+        // Статус відповідає кінцевому залишку
+        assertEquals(cheese < cheesePerMargherita ? PizzaStatus.UNAVAILABLE : PizzaStatus.AVAILABLE,
+                pizzaDao.getPizzaById(margherita).getStatus());
+        assertEquals(cheese < cheesePerQuattro || ham < hamPerQuattro ? PizzaStatus.UNAVAILABLE : PizzaStatus.AVAILABLE,
+                pizzaDao.getPizzaById(quattro).getStatus());
+    }
+
+    private int addPizza(String name, PizzaStatus status) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients("сир");
+        pizza.setPriceKopecks(15_000);
+        pizza.setSize(30);
+        pizza.setStatus(status);
+        return (int) pizzaDao.insertPizza(pizza);
+    }
+
+    // Пари "назва, кількість" у порядку додавання
+    private static Map<String, Long> recipe(Object... nameAndQuantity) {
+        Map<String, Long> amounts = new LinkedHashMap<>();
+        for (int i = 0; i < nameAndQuantity.length; i += 2) {
+            amounts.put((String) nameAndQuantity[i], (Long) nameAndQuantity[i + 1]);
+        }
+        return amounts;
+    }
+}
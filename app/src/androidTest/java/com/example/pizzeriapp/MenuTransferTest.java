@@ -0,0 +1,96 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Експорт меню з однієї бази та імпорт у іншу мають дати те саме меню - і в CSV, і в JSON.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MenuTransferTest {
+
+    private AppDatabase source;
+    private AppDatabase target;
+
+    @Before
+    public void createDbs() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        source = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).allowMainThreadQueries().build();
+        target = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).allowMainThreadQueries().build();
+
+        source.pizzaDao().insertPizza(pizza("Маргарита", "томати, моцарела", 14_950, 30, null, PizzaStatus.AVAILABLE));
+        source.pizzaDao().insertPizza(pizza("Пепероні", "пепероні, \"гострий\" соус", 18_900, 35,
+                "Гостра\nдуже", PizzaStatus.COOKING));
+        source.pizzaDao().insertPizza(pizza("Гавайська", "ананас, шинка", 17_500, 30, "", PizzaStatus.UNAVAILABLE));
+    }
+
+    @After
+    public void closeDbs() {
+        source.close();
+        target.close();
+    }
+
+    @Test
+    public void csvRoundTrip_keepsMenu() throws IOException {
+        assertRoundTrip(MenuFormat.CSV);
+    }
+
+    @Test
+    public void jsonRoundTrip_keepsMenu() throws IOException {
+        assertRoundTrip(MenuFormat.JSON);
+    }
+
+    private void assertRoundTrip(MenuFormat format) throws IOException {
+        StringWriter file = new StringWriter();
+        assertEquals(3, new MenuExporter(source.pizzaDao()).exportMenu(file, format, null));
+
+        MenuImporter.Result result = new MenuImporter(target.pizzaDao())
+                .importMenu(new StringReader(file.toString()), format, null);
+        assertEquals(3, result.getImportedRows());
+        assertEquals(0, result.getRejectedRows());
+
+        List<PizzaEntity> expected = source.pizzaDao().getAllPizzasNow();
+        List<PizzaEntity> actual = target.pizzaDao().getAllPizzasNow();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            PizzaEntity want = expected.get(i);
+            PizzaEntity got = actual.get(i);
+            assertEquals(want.getName(), got.getName());
+            assertEquals(want.getIngredients(), got.getIngredients());
+            assertEquals(want.getPriceKopecks(), got.getPriceKopecks());
+            assertEquals(want.getSize(), got.getSize());
+            assertEquals(want.getStatus(), got.getStatus());
+            // Порожній опис при імпорті стає null
+            String wantDescription = want.getDescription() == null || want.getDescription().isEmpty()
+                    ? null : want.getDescription();
+            assertEquals(wantDescription, got.getDescription());
+        }
+    }
+
+    private static PizzaEntity pizza(String name, String ingredients, long priceKopecks, int size,
+                                     String description, PizzaStatus status) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients(ingredients);
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(size);
+        pizza.setDescription(description);
+        pizza.setStatus(status);
+        return pizza;
+    }
+}
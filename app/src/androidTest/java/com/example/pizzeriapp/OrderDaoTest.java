@@ -0,0 +1,107 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє оформлення замовлення: копіювання цін, відкат при помилці і зв'язки з піцами.
+ */
+@RunWith(AndroidJUnit4.class)
+public class OrderDaoTest {
+
+    private AppDatabase db;
+    private PizzaDao pizzaDao;
+    private OrderDao orderDao;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        pizzaDao = db.pizzaDao();
+        orderDao = db.orderDao();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void checkout_snapshotsPricesAndTotal() {
+        int margherita = addPizza("Маргарита", 15_000, PizzaStatus.AVAILABLE);
+        int pepperoni = addPizza("Пепероні", 18_000, PizzaStatus.COOKING);
+
+        long orderId = orderDao.checkout(Arrays.asList(
+                new OrderLine(margherita, 2),
+                new OrderLine(pepperoni, 1)), 1_000L);
+
+        // Ціна змінилась уже після продажу - замовлення цього не помічає
+        PizzaEntity changed = pizzaDao.getPizzaById(margherita);
+        changed.setPriceKopecks(99_900);
+        pizzaDao.updatePizza(changed);
+
+        OrderEntity order = orderDao.getOrderById(orderId);
+        assertEquals(1_000L, order.getCreatedAt());
+        assertEquals(2 * 15_000 + 18_000, order.getTotalKopecks());
+        List<OrderItemEntity> items = orderDao.getItemsForOrder(orderId);
+        assertEquals(2, items.size());
+        assertEquals("Маргарита", items.get(0).getPizzaName());
+        assertEquals(15_000, items.get(0).getUnitPriceKopecks());
+        assertEquals(2, items.get(0).getQuantity());
+    }
+
+    @Test
+    public void checkout_withUnavailablePizza_writesNothing() {
+        int available = addPizza("Маргарита", 15_000, PizzaStatus.AVAILABLE);
+        int unavailable = addPizza("Гавайська", 17_000, PizzaStatus.UNAVAILABLE);
+
+        try {
+            orderDao.checkout(Arrays.asList(new OrderLine(available, 1), new OrderLine(unavailable, 1)), 1L);
+            fail("Замовлення з піцою, якої немає в наявності, не мало оформитись");
+        } catch (IllegalStateException expected) {
+            // Так і має бути
+        }
+        assertNull(orderDao.getOrderById(1));
+        assertTrue(orderDao.getItemsForOrder(1).isEmpty());
+    }
+
+    @Test
+    public void deletingPizza_keepsSoldItems() {
+        int margherita = addPizza("Маргарита", 15_000, PizzaStatus.AVAILABLE);
+        long orderId = orderDao.checkout(Collections.singletonList(new OrderLine(margherita, 1)), 1L);
+
+        pizzaDao.deletePizza(pizzaDao.getPizzaById(margherita));
+
+        OrderItemEntity item = orderDao.getItemsForOrder(orderId).get(0);
+        assertNull(item.getPizzaId());
+        assertEquals("Маргарита", item.getPizzaName());
+    }
+
+    private int addPizza(String name, long priceKopecks, PizzaStatus status) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients("сир");
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(30);
+        pizza.setStatus(status);
+        pizzaDao.insertPizza(pizza);
+        List<PizzaEntity> all = pizzaDao.getAllPizzasNow();
+        return all.get(0).getId(); // Новіші - першими
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Кеш піц на справжній базі: запис через pizzaDao() видно вже з наступного PizzaCache.getPizzaById(...),
+ * не чекаючи, поки InvalidationTracker скине кеш у фоновому потоці.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PizzaCacheDaoTest {
+
+    private AppDatabase db;
+    private PizzaDao pizzaDao;
+    private PizzaCache cache;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+        pizzaDao = db.pizzaDao();
+        cache = db.pizzaCache();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void directDaoWrite_isVisibleOnNextGet() {
+        int id = (int) pizzaDao.insertPizza(pizza("Маргарита", 15_000));
+        assertEquals(15_000, cache.getPizzaById(id).getPriceKopecks());
+
+        // Кілька записів поспіль - кожен має бути видно одразу
+        PizzaEntity edited = pizza("Маргарита", 16_500);
+        edited.setId(id);
+        pizzaDao.updatePizza(edited);
+        assertEquals(16_500, cache.getPizzaById(id).getPriceKopecks());
+
+        edited.setPriceKopecks(17_000);
+        pizzaDao.updatePizza(edited);
+        assertEquals(17_000, cache.getPizzaById(id).getPriceKopecks());
+
+        pizzaDao.setStatus(Collections.singletonList(id), PizzaStatus.UNAVAILABLE);
+        assertEquals(PizzaStatus.UNAVAILABLE, cache.getPizzaById(id).getStatus());
+
+        pizzaDao.softDelete(Collections.singletonList(id), 1_000L);
+        assertNull(cache.getPizzaById(id));
+        pizzaDao.restoreDeleted(Collections.singletonList(id), 1_000L);
+        assertEquals(17_000, cache.getPizzaById(id).getPriceKopecks());
+
+        pizzaDao.deletePizzaById(id);
+        assertNull(cache.getPizzaById(id));
+    }
+
+    @Test
+    public void returnedPizza_doesNotChangeCache() {
+        int id = (int) pizzaDao.insertPizza(pizza("Гавайська", 18_000));
+
+        PizzaEntity first = cache.getPizzaById(id);
+        first.setPriceKopecks(1);
+        int hitsBefore = cache.getHitCount();
+        assertEquals(18_000, cache.getPizzaById(id).getPriceKopecks());
+        assertEquals(hitsBefore + 1, cache.getHitCount());
+    }
+
+    private static PizzaEntity pizza(String name, long priceKopecks) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients("тісто, соус, сир");
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(30);
+        pizza.setStatus(PizzaStatus.AVAILABLE);
+        return pizza;
+    }
+}
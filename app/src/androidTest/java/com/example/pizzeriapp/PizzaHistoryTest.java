@@ -0,0 +1,179 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Історія цін і статусів: тригери пишуть рядок лише на справжню зміну, запити за часом
+ * повертають те, що діяло тоді, а проріджування лишає по одному рядку на добу.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PizzaHistoryTest {
+
+    private static final long DAY = 24 * 60 * 60_000L;
+
+    private AppDatabase db;
+    private PizzaDao pizzaDao;
+    private PizzaHistoryDao historyDao;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+        pizzaDao = db.pizzaDao();
+        historyDao = db.pizzaHistoryDao();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void triggers_recordOnlyRealChanges() {
+        long before = System.currentTimeMillis();
+        pizzaDao.insertPizza(pizza("Маргарита", 15_000));
+        PizzaEntity stored = pizzaDao.getAllPizzasNow().get(0);
+        int id = stored.getId();
+
+        // Той самий стан, лише новий опис - так само, як "Зберегти" в діалозі без зміни ціни
+        stored.setDescription("Класика");
+        pizzaDao.updatePizza(stored);
+        assertEquals(1, historyOf(id).size());
+
+        stored.setPriceKopecks(16_500);
+        pizzaDao.updatePizza(stored);
+        pizzaDao.setStatus(Collections.singletonList(id), PizzaStatus.UNAVAILABLE);
+        // Кошик - не зміна ціни чи статусу
+        pizzaDao.softDelete(Collections.singletonList(id), 1_000L);
+        pizzaDao.restoreDeleted(Collections.singletonList(id), 1_000L);
+
+        List<PizzaHistoryEntity> history = historyOf(id);
+        assertEquals(3, history.size());
+        assertEquals(15_000, history.get(0).priceKopecks);
+        assertEquals(16_500, history.get(1).priceKopecks);
+        assertEquals(PizzaStatus.UNAVAILABLE, history.get(2).status);
+        // Час ставить сама SQLite - з точністю до її округлення, тож із запасом
+        assertTrue(history.get(0).changedAt > before - 1_000);
+        assertTrue(history.get(2).changedAt < System.currentTimeMillis() + 1_000);
+
+        // Остаточне видалення історію не стирає - старі чеки лишаються з ким звірити
+        pizzaDao.deletePizzaById(id);
+        assertEquals(3, historyOf(id).size());
+    }
+
+    @Test
+    public void stateAt_returnsWhatWasInEffect() {
+        addHistory(1, 1_000, 10_000);
+        addHistory(1, 2_000, 12_000);
+        addHistory(1, 2_000, 12_500); // Дві зміни в ту саму мілісекунду - діє пізніша
+        addHistory(1, 3_000, 13_000);
+        addHistory(2, 500, 20_000);
+
+        assertNull(historyDao.getStateAt(1, 999));
+        assertEquals(10_000, historyDao.getStateAt(1, 1_999).priceKopecks);
+        assertEquals(12_500, historyDao.getStateAt(1, 2_000).priceKopecks);
+        assertEquals(13_000, historyDao.getStateAt(1, Long.MAX_VALUE).priceKopecks);
+
+        Map<Integer, PizzaHistoryEntity> receipt = historyDao.getStatesAt(Arrays.asList(1, 2, 3), 1_500);
+        assertEquals(2, receipt.size());
+        assertEquals(10_000, receipt.get(1).priceKopecks);
+        assertEquals(20_000, receipt.get(2).priceKopecks);
+    }
+
+    @Test
+    public void historyBetween_startsWithStateAtFrom() {
+        addHistory(1, 1_000, 10_000);
+        addHistory(1, 2_000, 12_000);
+        addHistory(1, 3_000, 13_000);
+        addHistory(1, 4_000, 14_000);
+
+        assertPrices(historyDao.getHistoryBetween(1, 2_500, 3_500), 12_000, 13_000);
+        assertPrices(historyDao.getHistoryBetween(1, 2_000, 2_000), 12_000);
+        assertPrices(historyDao.getHistoryBetween(1, 0, 1_500), 10_000); // До першої зміни - нічого зайвого
+        assertPrices(historyDao.getHistoryBetween(2, 0, 5_000));
+    }
+
+    @Test
+    public void downsample_keepsLastRowPerDayBeforeCutoff() {
+        addHistory(1, 10, 100);
+        addHistory(1, 20, 110);
+        addHistory(1, 20, 120);
+        addHistory(1, DAY + 5, 130);
+        addHistory(1, 2 * DAY + 1, 140);
+        addHistory(1, 2 * DAY + 9, 150); // Новіша за межу - не чіпаємо
+        addHistory(2, 1, 1);
+        addHistory(2, 2, 2);
+
+        assertEquals(2, historyDao.downsample(1, 2 * DAY + 5, DAY));
+        assertPrices(historyOf(1), 120, 130, 140, 150);
+        assertEquals(2, historyOf(2).size()); // Інші піци - окремим викликом
+    }
+
+    @Test
+    public void compactionJob_thinsOnlyOldHistory() {
+        long now = 400 * DAY;
+        long old = now - PizzaHistoryCompactionJob.KEEP_FULL_MS - 10 * DAY;
+        for (int pizzaId = 1; pizzaId <= 3; pizzaId++) {
+            for (int i = 0; i < 5; i++) {
+                addHistory(pizzaId, old + i * 60_000L, 10_000 + i); // П'ять змін за одну давню добу
+                addHistory(pizzaId, now - i * 60_000L, 20_000 + i); // І п'ять свіжих
+            }
+        }
+
+        PizzaHistoryCompactionJob job = new PizzaHistoryCompactionJob(historyDao, () -> now);
+        assertEquals(3 * 4, job.run());
+
+        for (int pizzaId = 1; pizzaId <= 3; pizzaId++) {
+            assertEquals(6, historyOf(pizzaId).size());
+            assertEquals(10_004, historyDao.getStateAt(pizzaId, old + DAY / 2).priceKopecks);
+        }
+        assertEquals(0, job.run());
+    }
+
+    private List<PizzaHistoryEntity> historyOf(int pizzaId) {
+        return historyDao.getHistoryBetween(pizzaId, 0, Long.MAX_VALUE);
+    }
+
+    private void addHistory(int pizzaId, long changedAt, long priceKopecks) {
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getWritableDatabase();
+        sqlite.execSQL("INSERT INTO pizza_history (pizzaId, changedAt, priceKopecks, status) VALUES (?, ?, ?, ?)",
+                new Object[]{pizzaId, changedAt, priceKopecks, PizzaStatus.AVAILABLE.getCode()});
+    }
+
+    private static void assertPrices(List<PizzaHistoryEntity> history, long... priceKopecks) {
+        assertEquals(priceKopecks.length, history.size());
+        for (int i = 0; i < priceKopecks.length; i++) {
+            assertEquals(priceKopecks[i], history.get(i).priceKopecks);
+        }
+    }
+
+    private static PizzaEntity pizza(String name, long priceKopecks) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients("тісто, соус, сир");
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(30);
+        pizza.setStatus(PizzaStatus.AVAILABLE);
+        return pizza;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+
+import androidx.paging.PagingSource;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * PizzaPagingSource на справжній базі: сторінки "за ключем" разом дають той самий список,
+ * що й звичайний запит, - без пропусків і повторів навіть при однакових цінах і розмірах,
+ * дочитування назад і зміна таблиці теж працюють.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PizzaPagingSourceTest {
+
+    private static final int PIZZAS = 95;
+    private static final int PAGE = 10;
+    private static final long WAIT_MILLIS = 5_000;
+
+    private AppDatabase db;
+    private PizzaDao pizzaDao;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+        pizzaDao = db.pizzaDao();
+        // Лише 7 різних цін і 3 розміри - на кожне значення припадає багато піц з однаковим ключем
+        List<PizzaEntity> pizzas = new ArrayList<>();
+        for (int i = 0; i < PIZZAS; i++) {
+            pizzas.add(pizza("Піца " + i, 10_000 + (i % 7) * 500, 25 + (i % 3) * 5,
+                    i % 4 == 0 ? PizzaStatus.UNAVAILABLE : PizzaStatus.AVAILABLE));
+        }
+        pizzaDao.insertPizzas(pizzas);
+        // Кілька піц у кошику - на сторінках їх бути не повинно
+        List<Integer> trashed = new ArrayList<>();
+        for (int id = 5; id <= PIZZAS; id += 11) {
+            trashed.add(id);
+        }
+        pizzaDao.softDelete(trashed, 1_000L);
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void allPizzas_pagesMatchFullList() {
+        assertEquals(ids(pizzaDao.getPizzaListItemsNow()), readAll(PizzaFilter.ALL));
+    }
+
+    @Test
+    public void statusSortOrders_pagesMatchSortedList() {
+        List<PizzaListItem> available = pizzaDao.getPizzaListItemsByStatusNow(PizzaStatus.AVAILABLE);
+        Comparator<PizzaListItem> byPrice = Comparator.<PizzaListItem>comparingLong(PizzaListItem::getPriceKopecks)
+                .thenComparingInt(PizzaListItem::getId);
+        Comparator<PizzaListItem> bySize = Comparator.<PizzaListItem>comparingInt(item -> sizeOf(item.getId()))
+                .thenComparingInt(PizzaListItem::getId);
+
+        PizzaFilter filter = PizzaFilter.ALL.withStatus(PizzaStatus.AVAILABLE);
+        assertEquals(sorted(available, byPrice), readAll(filter.withSortOrder(PizzaFilter.SortOrder.PRICE_ASC)));
+        assertEquals(sorted(available, byPrice.reversed()),
+                readAll(filter.withSortOrder(PizzaFilter.SortOrder.PRICE_DESC)));
+        assertEquals(sorted(available, bySize), readAll(filter.withSortOrder(PizzaFilter.SortOrder.SIZE_ASC)));
+        assertEquals(sorted(available, bySize.reversed()),
+                readAll(filter.withSortOrder(PizzaFilter.SortOrder.SIZE_DESC)));
+    }
+
+    @Test
+    public void refreshFromMiddle_prependsPreviousPage() {
+        PizzaFilter filter = PizzaFilter.ALL.withStatus(PizzaStatus.AVAILABLE)
+                .withSortOrder(PizzaFilter.SortOrder.PRICE_ASC);
+        List<Integer> expected = readAll(filter);
+        PizzaPagingSource source = PizzaPagingSource.forFilter(db, filter);
+
+        // Ключ першої піци третьої сторінки - так Pager починає нове джерело після зміни (getRefreshKey)
+        PagingSource.LoadResult.Page<PizzaPagingSource.Key, PizzaListItem> third =
+                load(source, new PagingSource.LoadParams.Append<>(keyAt(filter, 2 * PAGE - 1), PAGE, false));
+        PagingSource.LoadResult.Page<PizzaPagingSource.Key, PizzaListItem> refreshed =
+                load(source, new PagingSource.LoadParams.Refresh<>(third.getPrevKey(), PAGE, false));
+        assertEquals(expected.subList(2 * PAGE, 3 * PAGE), ids(refreshed.getData()));
+
+        PagingSource.LoadResult.Page<PizzaPagingSource.Key, PizzaListItem> before =
+                load(source, new PagingSource.LoadParams.Prepend<>(refreshed.getPrevKey(), PAGE, false));
+        assertEquals(expected.subList(PAGE, 2 * PAGE), ids(before.getData()));
+    }
+
+    @Test
+    public void tableChange_invalidatesSource() throws InterruptedException {
+        PizzaPagingSource source = PizzaPagingSource.forFilter(db, PizzaFilter.ALL);
+        load(source, new PagingSource.LoadParams.Refresh<>(null, PAGE, false));
+        assertFalse(source.getInvalid());
+
+        pizzaDao.insertPizza(pizza("Нова", 15_000, 30, PizzaStatus.AVAILABLE));
+
+        // InvalidationTracker повідомляє у фоновому потоці - чекаємо, але не вічно
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!source.getInvalid() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(source.getInvalid());
+    }
+
+    // Усі сторінки від початку до кінця, як їх читав би Pager, прокручуючи список донизу
+    private List<Integer> readAll(PizzaFilter filter) {
+        PizzaPagingSource source = PizzaPagingSource.forFilter(db, filter);
+        List<Integer> ids = new ArrayList<>();
+        PagingSource.LoadResult.Page<PizzaPagingSource.Key, PizzaListItem> page =
+                load(source, new PagingSource.LoadParams.Refresh<>(null, PAGE, false));
+        ids.addAll(ids(page.getData()));
+        while (page.getNextKey() != null) {
+            page = load(source, new PagingSource.LoadParams.Append<>(page.getNextKey(), PAGE, false));
+            ids.addAll(ids(page.getData()));
+        }
+        return ids;
+    }
+
+    // Ключ піци, що стоїть на місці position у відфільтрованому списку
+    private PizzaPagingSource.Key keyAt(PizzaFilter filter, int position) {
+        PizzaPagingSource source = PizzaPagingSource.forFilter(db, filter);
+        PagingSource.LoadResult.Page<PizzaPagingSource.Key, PizzaListItem> page =
+                load(source, new PagingSource.LoadParams.Refresh<>(null, position + 1, false));
+        return page.getNextKey();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PagingSource.LoadResult.Page<PizzaPagingSource.Key, PizzaListItem> load(
+            PizzaPagingSource source, PagingSource.LoadParams<PizzaPagingSource.Key> params) {
+        PagingSource.LoadResult<PizzaPagingSource.Key, PizzaListItem> result = source.loadSingle(params).blockingGet();
+        assertTrue("Очікували сторінку, а отримали " + result, result instanceof PagingSource.LoadResult.Page);
+        return (PagingSource.LoadResult.Page<PizzaPagingSource.Key, PizzaListItem>) result;
+    }
+
+    private int sizeOf(int id) {
+        return pizzaDao.getPizzaById(id).getSize();
+    }
+
+    private static List<Integer> sorted(List<PizzaListItem> items, Comparator<PizzaListItem> order) {
+        List<PizzaListItem> copy = new ArrayList<>(items);
+        copy.sort(order);
+        return ids(copy);
+    }
+
+    private static List<Integer> ids(List<PizzaListItem> items) {
+        List<Integer> ids = new ArrayList<>(items.size());
+        for (PizzaListItem item : items) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+
+    private static PizzaEntity pizza(String name, long priceKopecks, int size, PizzaStatus status) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients("тісто, соус, сир");
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(size);
+        pizza.setStatus(status);
+        return pizza;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє через EXPLAIN QUERY PLAN, що запити сторінок з PizzaDao (getPizzaPage...)
+ * обслуговують індекси (deletedAt, status, priceKopecks) / (deletedAt, status, size),
+ * а весь список - індекс (deletedAt), а не перебір і сортування таблиці.
+ * Запити записані так, як їх виконує PizzaPagingSource: "після ключа", з LIMIT і без OFFSET.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PizzaQueryPlanTest {
+
+    private static final String SELECT = "SELECT " + PizzaDao.LIST_COLUMNS + " FROM pizzas WHERE "
+            + PizzaDao.NOT_DELETED;
+
+    private AppDatabase db;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void statusPricePages_useStatusPriceIndex() {
+        assertServedByIndex(SELECT + " AND status = ? AND priceKopecks >= ? AND (priceKopecks > ? OR id > ?) "
+                + "ORDER BY priceKopecks ASC, id ASC LIMIT 30", "index_pizzas_deletedAt_status_priceKopecks");
+        assertServedByIndex(SELECT + " AND status = ? AND priceKopecks <= ? AND (priceKopecks < ? OR id < ?) "
+                + "ORDER BY priceKopecks DESC, id DESC LIMIT 30", "index_pizzas_deletedAt_status_priceKopecks");
+    }
+
+    @Test
+    public void statusSizePages_useStatusSizeIndex() {
+        assertServedByIndex(SELECT + " AND status = ? AND size >= ? AND (size > ? OR id > ?) "
+                + "ORDER BY size ASC, id ASC LIMIT 30", "index_pizzas_deletedAt_status_size");
+        assertServedByIndex(SELECT + " AND status = ? AND size <= ? AND (size < ? OR id < ?) "
+                + "ORDER BY size DESC, id DESC LIMIT 30", "index_pizzas_deletedAt_status_size");
+    }
+
+    @Test
+    public void allPizzasPages_skipTrashByIndex() {
+        assertPlan(SELECT + " AND id < ? ORDER BY id DESC LIMIT 30", "index_pizzas_deletedAt", 500);
+        assertPlan(SELECT + " AND id > ? ORDER BY id ASC LIMIT 30", "index_pizzas_deletedAt", 500);
+    }
+
+    // Сторінка після піци №500 з ціною (або розміром) 15 000
+    private void assertServedByIndex(String sql, String indexName) {
+        assertPlan(sql, indexName, PizzaStatus.AVAILABLE.getCode(), 15_000L, 15_000L, 500);
+    }
+
+    private void assertPlan(String sql, String indexName, Object... args) {
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getWritableDatabase();
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = sqlite.query("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detailColumn = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detailColumn)).append('\n');
+            }
+        }
+        assertTrue("Очікували " + indexName + ", а план такий:\n" + plan,
+                plan.toString().contains("USING INDEX " + indexName));
+        assertFalse("Запит сортує в тимчасовому B-дереві:\n" + plan,
+                plan.toString().contains("TEMP B-TREE"));
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Кошик піц: м'яке видалення ховає піцу з усіх запитів, "Скасувати" її повертає,
+ * а PizzaPurgeJob прибирає остаточно лише те, що пролежало достатньо, і повертає місце у файлі.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PizzaTrashTest {
+
+    // Файл для перевірки перетворення старої бази; після тесту видаляється
+    private static final String FILE_DB = "pizza-trash-test.db";
+
+    private AppDatabase db;
+    private PizzaDao pizzaDao;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .openHelperFactory(new AutoVacuumOpenHelperFactory(new FrameworkSQLiteOpenHelperFactory()))
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+        pizzaDao = db.pizzaDao();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void softDelete_hidesPizzaEverywhere() {
+        pizzaDao.insertPizzas(Arrays.asList(pizza("Маргарита"), pizza("Пепероні")));
+        PizzaEntity margherita = findByName("Маргарита");
+
+        assertEquals(1, pizzaDao.softDelete(Collections.singletonList(margherita.getId()), 1_000L));
+
+        assertEquals(1, pizzaDao.countPizzas());
+        assertEquals(1, pizzaDao.getAllPizzasNow().size());
+        assertNull(pizzaDao.getPizzaById(margherita.getId()));
+        assertTrue(pizzaDao.searchPizzasNow(PizzaFts.toMatchQuery("Маргарита"), 10).isEmpty());
+        // Повторне видалення вже видаленої піци нічого не змінює - і не псує її "квитанцію"
+        assertEquals(0, pizzaDao.softDelete(Collections.singletonList(margherita.getId()), 2_000L));
+    }
+
+    @Test
+    public void restore_needsMatchingToken() {
+        pizzaDao.insertPizza(pizza("Маргарита"));
+        List<Integer> ids = Collections.singletonList(pizzaDao.getAllPizzasNow().get(0).getId());
+        pizzaDao.softDelete(ids, 1_000L);
+
+        assertEquals(0, pizzaDao.restoreDeleted(ids, 999L)); // Чужа квитанція
+        assertEquals(0, pizzaDao.countPizzas());
+        assertEquals(1, pizzaDao.restoreDeleted(ids, 1_000L));
+        assertEquals(1, pizzaDao.countPizzas());
+        assertEquals(0, pizzaDao.restoreDeleted(ids, 1_000L)); // Уже повернули
+    }
+
+    @Test
+    public void update_doesNotRestoreFromTrash() {
+        pizzaDao.insertPizza(pizza("Маргарита"));
+        int id = pizzaDao.getAllPizzasNow().get(0).getId();
+        List<Integer> ids = Collections.singletonList(id);
+        pizzaDao.softDelete(ids, 1_000L);
+
+        // Діалог редагування зберігають уже після видалення - новим об'єктом, у якого deletedAt = 0
+        PizzaEntity edited = pizza("Маргарита класична");
+        edited.setId(id);
+        pizzaDao.updatePizza(edited);
+        pizzaDao.upsertPizzas(Collections.singletonList(edited));
+
+        assertEquals(0, pizzaDao.countPizzas());
+        assertNull(pizzaDao.getPizzaById(id));
+        assertEquals(1, pizzaDao.restoreDeleted(ids, 1_000L)); // Квитанція теж не зіпсувалась
+        assertEquals("Маргарита класична", pizzaDao.getPizzaById(id).getName());
+    }
+
+    @Test
+    public void softDelete_rejectsZeroTime() {
+        try {
+            pizzaDao.softDelete(Collections.singletonList(1), 0);
+            fail("0 означає \"не видалена\"");
+        } catch (IllegalArgumentException expected) {
+            // Так і має бути
+        }
+    }
+
+    @Test
+    public void purge_takesOnlyOldTrashInChunks() {
+        List<PizzaEntity> menu = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            menu.add(pizza("Піца " + i));
+        }
+        pizzaDao.insertPizzas(menu);
+        List<Integer> ids = new ArrayList<>();
+        for (PizzaEntity pizza : pizzaDao.getAllPizzasNow()) {
+            ids.add(pizza.getId());
+        }
+        pizzaDao.softDelete(ids.subList(0, 5), 1_000L);
+        pizzaDao.softDelete(ids.subList(5, 6), 5_000L); // Видалена нещодавно
+        // ids.get(6) лишається в меню
+
+        assertEquals(3, pizzaDao.purgeDeletedBefore(2_000L, 3));
+        assertEquals(2, pizzaDao.purgeDeletedBefore(2_000L, 3));
+        assertEquals(0, pizzaDao.purgeDeletedBefore(2_000L, 3));
+
+        // Нещодавно видалену ще можна повернути, а піца з меню на місці
+        assertEquals(1, pizzaDao.restoreDeleted(ids.subList(5, 6), 5_000L));
+        assertEquals(2, pizzaDao.countPizzas());
+    }
+
+    @Test
+    public void purgeJob_runsAtMostOncePerInterval() {
+        pizzaDao.insertPizza(pizza("Маргарита"));
+        List<Integer> ids = Collections.singletonList(pizzaDao.getAllPizzasNow().get(0).getId());
+        AtomicLong now = new AtomicLong(10 * PizzaPurgeJob.PURGE_AFTER_MS);
+        pizzaDao.softDelete(ids, now.get());
+
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        PizzaPurgeJob job = new PizzaPurgeJob(pizzaDao, db.getOpenHelper(), now::get);
+        assertTrue(job.runIfDue(tasks::add));
+        assertFalse(job.runIfDue(tasks::add)); // Щойно запускали
+        tasks.poll().run();
+        assertEquals(1, pizzaDao.restoreDeleted(ids, now.get())); // Доба ще не минула
+
+        long deletedAt = now.get();
+        pizzaDao.softDelete(ids, deletedAt);
+        now.addAndGet(PizzaPurgeJob.PURGE_AFTER_MS + PizzaPurgeJob.MIN_INTERVAL_MS);
+        assertTrue(job.runIfDue(tasks::add));
+        tasks.poll().run();
+        assertEquals(0, pizzaDao.restoreDeleted(ids, deletedAt)); // Прибрана остаточно
+        assertEquals(0, pizzaDao.countPizzas());
+    }
+
+    @Test
+    public void vacuum_returnsFreePagesIncrementally() {
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getWritableDatabase();
+        // Режим увімкнено ще при відкритті - очистці не треба переписувати файл
+        assertEquals(2, pragmaInt(sqlite, "auto_vacuum"));
+
+        fillAndPurge();
+        int free = pragmaInt(sqlite, "freelist_count");
+        assertTrue("після очистки мали лишитися вільні сторінки", free > 0);
+        assertEquals(free, PizzaPurgeJob.vacuum(sqlite));
+        assertEquals(0, pragmaInt(sqlite, "freelist_count"));
+    }
+
+    @Test
+    public void databaseWithoutAutoVacuum_isConvertedOnceOnOpen() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(FILE_DB);
+        // Файл без auto_vacuum - як готова база з assets, зібрана на комп'ютері
+        AppDatabase plain = Room.databaseBuilder(context, AppDatabase.class, FILE_DB)
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            SupportSQLiteDatabase sqlite = plain.getOpenHelper().getWritableDatabase();
+            sqlite.execSQL("PRAGMA auto_vacuum = NONE");
+            sqlite.execSQL("VACUUM");
+            assertEquals(0, pragmaInt(sqlite, "auto_vacuum"));
+            assertEquals(0, PizzaPurgeJob.vacuum(sqlite)); // Очистка сама файл не переписує
+        } finally {
+            plain.close();
+        }
+
+        AppDatabase converted = Room.databaseBuilder(context, AppDatabase.class, FILE_DB)
+                .openHelperFactory(new AutoVacuumOpenHelperFactory(new FrameworkSQLiteOpenHelperFactory()))
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            assertEquals(2, pragmaInt(converted.getOpenHelper().getWritableDatabase(), "auto_vacuum"));
+        } finally {
+            converted.close();
+            context.deleteDatabase(FILE_DB);
+        }
+    }
+
+    private void fillAndPurge() {
+        List<PizzaEntity> menu = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            PizzaEntity pizza = pizza("Піца " + i);
+            pizza.setDescription(new String(new char[2_000]).replace('\0', 'х'));
+            menu.add(pizza);
+        }
+        pizzaDao.insertPizzas(menu);
+        List<Integer> ids = new ArrayList<>();
+        for (PizzaEntity pizza : pizzaDao.getAllPizzasNow()) {
+            ids.add(pizza.getId());
+        }
+        pizzaDao.softDelete(ids, 1_000L);
+        while (pizzaDao.purgeDeletedBefore(2_000L, PizzaPurgeJob.PURGE_CHUNK) > 0) {
+            // Далі
+        }
+    }
+
+    private PizzaEntity findByName(String name) {
+        for (PizzaEntity pizza : pizzaDao.getAllPizzasNow()) {
+            if (pizza.getName().equals(name)) {
+                return pizza;
+            }
+        }
+        throw new AssertionError("немає піци " + name);
+    }
+
+    private static int pragmaInt(SupportSQLiteDatabase sqlite, String pragma) {
+        try (Cursor cursor = sqlite.query("PRAGMA " + pragma)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getInt(0);
+        }
+    }
+
+    private static PizzaEntity pizza(String name) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients("тісто, соус, сир");
+        pizza.setPriceKopecks(15_000);
+        pizza.setSize(30);
+        pizza.setStatus(PizzaStatus.AVAILABLE);
+        return pizza;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.runner.RunWith;
+
+/**
+ * Справжня база (у пам'яті, з тими самими тригерами) проти загального контракту PizzaRepositoryContractTest.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RoomPizzaRepositoryTest extends PizzaRepositoryContractTest {
+
+    private AppDatabase db;
+
+    @Override
+    protected PizzaRepository createRepository() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+        return db.pizzaRepository();
+    }
+
+    @Override
+    protected void closeRepository() {
+        db.close();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє, що таблиці-підсумки, які оновлюють тригери, завжди збігаються
+ * з тим, що дає підрахунок "в лоб" по таблицях піц і продажів.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SummaryTriggersTest {
+
+    private AppDatabase db;
+    private PizzaDao pizzaDao;
+    private OrderDao orderDao;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+        pizzaDao = db.pizzaDao();
+        orderDao = db.orderDao();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void menuSummary_followsInsertsUpdatesDeletesAndTrash() {
+        pizzaDao.insertPizzas(Arrays.asList(
+                pizza("Маргарита", 15_000, PizzaStatus.AVAILABLE),
+                pizza("Пепероні", 18_000, PizzaStatus.AVAILABLE),
+                pizza("Гавайська", 17_000, PizzaStatus.COOKING)));
+        assertSummaryMatchesPizzas();
+
+        List<PizzaEntity> pizzas = pizzaDao.getAllPizzasNow();
+        PizzaEntity changed = pizzas.get(0);
+        changed.setPriceKopecks(19_900);
+        changed.setStatus(PizzaStatus.UNAVAILABLE);
+        pizzaDao.updatePizza(changed);
+        assertSummaryMatchesPizzas();
+
+        pizzaDao.setStatus(Collections.singletonList(pizzas.get(1).getId()), PizzaStatus.COOKING);
+        assertSummaryMatchesPizzas();
+
+        pizzaDao.deletePizza(pizzas.get(2));
+        assertSummaryMatchesPizzas();
+
+        // Кошик: піца зникає з підсумку одразу, повертається після "Скасувати"
+        List<Integer> trashed = Collections.singletonList(pizzas.get(1).getId());
+        pizzaDao.softDelete(trashed, 1_000L);
+        assertSummaryMatchesPizzas();
+        pizzaDao.restoreDeleted(trashed, 1_000L);
+        assertSummaryMatchesPizzas();
+
+        // Остаточна очистка піци з кошика підсумок уже не чіпає
+        pizzaDao.softDelete(Collections.singletonList(pizzas.get(0).getId()), 2_000L);
+        assertEquals(1, pizzaDao.purgeDeletedBefore(3_000L, 10));
+        assertSummaryMatchesPizzas();
+    }
+
+    @Test
+    public void salesSummary_followsCheckouts() {
+        pizzaDao.insertPizzas(Arrays.asList(
+                pizza("Маргарита", 15_000, PizzaStatus.AVAILABLE),
+                pizza("Пепероні", 18_000, PizzaStatus.AVAILABLE)));
+        List<PizzaEntity> pizzas = pizzaDao.getAllPizzasNow();
+        int pepperoni = pizzas.get(0).getId();
+        int margherita = pizzas.get(1).getId();
+
+        orderDao.checkout(Arrays.asList(new OrderLine(margherita, 2), new OrderLine(pepperoni, 1)), 1L);
+        orderDao.checkout(Collections.singletonList(new OrderLine(pepperoni, 3)), 2L);
+
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getReadableDatabase();
+        try (Cursor cursor = sqlite.query("SELECT pizzaId, soldCount, revenueKopecks FROM pizza_sales_summary "
+                + "ORDER BY soldCount DESC")) {
+            assertTrue(cursor.moveToNext());
+            assertEquals(pepperoni, cursor.getInt(0));
+            assertEquals(4, cursor.getLong(1));
+            assertEquals(4 * 18_000, cursor.getLong(2));
+            assertTrue(cursor.moveToNext());
+            assertEquals(margherita, cursor.getInt(0));
+            assertEquals(2, cursor.getLong(1));
+            assertFalse(cursor.moveToNext());
+        }
+
+        // Видалили піцу з меню - її рядок підсумку теж зник
+        pizzaDao.deletePizza(pizzaDao.getPizzaById(pepperoni));
+        try (Cursor cursor = sqlite.query("SELECT COUNT(*) FROM pizza_sales_summary")) {
+            assertTrue(cursor.moveToNext());
+            assertEquals(1, cursor.getInt(0));
+        }
+    }
+
+    @Test
+    public void databaseWithoutTriggers_getsThemOnOpen() {
+        pizzaDao.insertPizzas(Arrays.asList(
+                pizza("Маргарита", 15_000, PizzaStatus.AVAILABLE),
+                pizza("Пепероні", 18_000, PizzaStatus.COOKING)));
+        // Як у базі з assets: тригерів немає, підсумки не збігаються, журнал та історія порожні
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getWritableDatabase();
+        List<String> triggers = new ArrayList<>();
+        try (Cursor cursor = sqlite.query("SELECT name FROM sqlite_master WHERE type = 'trigger' "
+                + "AND name NOT LIKE 'room_%'")) {
+            while (cursor.moveToNext()) {
+                triggers.add(cursor.getString(0));
+            }
+        }
+        assertEquals(10, triggers.size());
+        for (String trigger : triggers) {
+            sqlite.execSQL("DROP TRIGGER `" + trigger + "`");
+        }
+        sqlite.execSQL("DELETE FROM menu_status_summary");
+        sqlite.execSQL("DELETE FROM pizza_changes");
+        sqlite.execSQL("DELETE FROM pizza_history");
+
+        DatabaseMigrations.ensureTriggers(sqlite);
+
+        assertEquals(triggers.size(), count(sqlite, "SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' "
+                + "AND name NOT LIKE 'room_%'"));
+        assertSummaryMatchesPizzas();
+        assertEquals(2, count(sqlite, "SELECT COUNT(*) FROM pizza_changes")); // Сервер їх ще не бачив
+        assertEquals(2, count(sqlite, "SELECT COUNT(*) FROM pizza_history"));
+
+        // Далі тригери працюють як звичайно
+        pizzaDao.insertPizza(pizza("Гавайська", 17_000, PizzaStatus.AVAILABLE));
+        assertSummaryMatchesPizzas();
+        assertEquals(3, count(sqlite, "SELECT COUNT(*) FROM pizza_changes"));
+        assertEquals(3, count(sqlite, "SELECT COUNT(*) FROM pizza_history"));
+
+        // Повторне відкриття нічого не дублює
+        DatabaseMigrations.ensureTriggers(sqlite);
+        assertSummaryMatchesPizzas();
+        assertEquals(3, count(sqlite, "SELECT COUNT(*) FROM pizza_history"));
+    }
+
+    private static int count(SupportSQLiteDatabase sqlite, String sql) {
+        try (Cursor cursor = sqlite.query(sql)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getInt(0);
+        }
+    }
+
+    /**
+     * Порівнює таблицю-підсумок з GROUP BY по самій таблиці піц (без кошика).
+     */
+    private void assertSummaryMatchesPizzas() {
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getReadableDatabase();
+        String expected = dump(sqlite, "SELECT status, COUNT(*), SUM(priceKopecks) FROM pizzas "
+                + "WHERE " + PizzaDao.NOT_DELETED + " GROUP BY status ORDER BY status");
+        String actual = dump(sqlite, "SELECT status, pizzaCount, totalKopecks FROM menu_status_summary "
+                + "WHERE pizzaCount > 0 ORDER BY status");
+        assertEquals(expected, actual);
+    }
+
+    private static String dump(SupportSQLiteDatabase sqlite, String sql) {
+        StringBuilder out = new StringBuilder();
+        try (Cursor cursor = sqlite.query(sql)) {
+            while (cursor.moveToNext()) {
+                out.append(cursor.getInt(0)).append(' ')
+                        .append(cursor.getLong(1)).append(' ')
+                        .append(cursor.getLong(2)).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private static PizzaEntity pizza(String name, long priceKopecks, PizzaStatus status) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients("сир");
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(30);
+        pizza.setStatus(status);
+        return pizza;
+    }
+}
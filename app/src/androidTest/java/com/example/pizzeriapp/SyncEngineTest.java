@@ -0,0 +1,288 @@
+package com.example.pizzeriapp;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Синхронізація двох планшетів (каса і кухня, кожен зі своєю базою) через фейковий сервер:
+ * зміни доходять в обидва боки, мережею йдуть лише змінені піци, конфлікти вирішуються однаково.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SyncEngineTest {
+
+    private final FakeSyncServer server = new FakeSyncServer();
+
+    private AppDatabase counter;
+    private AppDatabase kitchen;
+    private SyncEngine counterSync;
+    private SyncEngine kitchenSync;
+
+    @Before
+    public void createDbs() {
+        counter = newDb();
+        kitchen = newDb();
+        counterSync = new SyncEngine(counter.syncDao(), server);
+        kitchenSync = new SyncEngine(kitchen.syncDao(), server);
+    }
+
+    @After
+    public void closeDbs() {
+        counter.close();
+        kitchen.close();
+    }
+
+    @Test
+    public void newPizzas_reachOtherTablet() throws IOException {
+        counter.pizzaDao().insertPizza(pizza("Маргарита", 15_000));
+        counter.pizzaDao().insertPizza(pizza("Пепероні", 18_000));
+        assertEquals(2, counter.syncDao().countPendingChanges());
+
+        assertEquals(2, counterSync.sync().getPushed());
+        SyncEngine.Result kitchenResult = kitchenSync.sync();
+
+        assertEquals(2, kitchenResult.getPulled());
+        assertEquals(0, kitchenResult.getPushed()); // Отримане з сервера назад не відправляється
+        assertEquals(0, counter.syncDao().countPendingChanges());
+        assertEquals(0, kitchen.syncDao().countPendingChanges());
+        assertSameMenu(counter, kitchen);
+    }
+
+    @Test
+    public void priceChange_movesOnlyThatPizza() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            counter.pizzaDao().insertPizza(pizza("Піца " + i, 10_000 + i));
+        }
+        counterSync.sync();
+        kitchenSync.sync();
+        // Свої ж зміни каса з сервера не забирає
+        assertEquals(0, counterSync.sync().getPulled());
+
+        // Оновлюємо так само, як діалог редагування: новим об'єктом лише з id
+        PizzaEntity existing = kitchen.pizzaDao().getAllPizzasNow().get(0);
+        PizzaEntity edited = pizza(existing.getName(), 12_345);
+        edited.setId(existing.getId());
+        kitchen.pizzaDao().updatePizza(edited);
+
+        PizzaEntity stored = kitchen.pizzaDao().getPizzaById(existing.getId());
+        assertEquals(existing.getUuid(), stored.getUuid()); // uuid і версію оновлення не пише (PizzaEdit)
+        assertEquals(existing.getVersion(), stored.getVersion());
+        assertEquals(1, kitchen.syncDao().countPendingChanges());
+
+        int pushedBefore = server.getRecordsPushed();
+        int pulledBefore = server.getRecordsPulled();
+        assertEquals(1, kitchenSync.sync().getPushed());
+        assertEquals(1, counterSync.sync().getPulled());
+
+        assertEquals(1, server.getRecordsPushed() - pushedBefore);
+        assertEquals(1, server.getRecordsPulled() - pulledBefore);
+        assertEquals(12_345, counter.syncDao().getPizzaByUuid(existing.getUuid()).getPriceKopecks());
+        assertSameMenu(counter, kitchen);
+    }
+
+    @Test
+    public void bulkStatusChangeAndDelete_replicate() throws IOException {
+        counter.pizzaDao().insertPizza(pizza("Маргарита", 15_000));
+        counter.pizzaDao().insertPizza(pizza("Пепероні", 18_000));
+        counterSync.sync();
+        kitchenSync.sync();
+
+        List<PizzaEntity> pizzas = counter.pizzaDao().getAllPizzasNow();
+        List<Integer> ids = new ArrayList<>();
+        for (PizzaEntity pizza : pizzas) {
+            ids.add(pizza.getId());
+        }
+        counter.pizzaDao().setStatus(ids, PizzaStatus.UNAVAILABLE);
+        counter.pizzaDao().deletePizzaById(pizzas.get(0).getId());
+        counterSync.sync();
+        kitchenSync.sync();
+
+        List<PizzaEntity> kitchenPizzas = kitchen.pizzaDao().getAllPizzasNow();
+        assertEquals(1, kitchenPizzas.size());
+        assertEquals(PizzaStatus.UNAVAILABLE, kitchenPizzas.get(0).getStatus());
+        assertNull(kitchen.syncDao().getPizzaByUuid(pizzas.get(0).getUuid()));
+        assertTrue(server.getRow(pizzas.get(0).getUuid()).isDeleted());
+    }
+
+    @Test
+    public void trashAndUndo_replicate() throws IOException {
+        counter.pizzaDao().insertPizza(pizza("Маргарита", 15_000));
+        counterSync.sync();
+        kitchenSync.sync();
+        PizzaEntity pizza = counter.pizzaDao().getAllPizzasNow().get(0);
+        List<Integer> ids = Collections.singletonList(pizza.getId());
+
+        // Піца в кошику на касі - для сервера й кухні вона видалена
+        counter.pizzaDao().softDelete(ids, 1_000L);
+        assertEquals(1, counterSync.sync().getPushed());
+        kitchenSync.sync();
+        assertTrue(server.getRow(pizza.getUuid()).isDeleted());
+        assertNull(kitchen.syncDao().getPizzaByUuid(pizza.getUuid()));
+
+        // "Скасувати" на касі повертає її і на кухню
+        counter.pizzaDao().restoreDeleted(ids, 1_000L);
+        assertEquals(1, counterSync.sync().getPushed());
+        kitchenSync.sync();
+        assertFalse(server.getRow(pizza.getUuid()).isDeleted());
+        assertSameMenu(counter, kitchen);
+    }
+
+    @Test
+    public void pizzaDeletedBeforeFirstSync_neverLeavesTablet() throws IOException {
+        counter.pizzaDao().insertPizza(pizza("Чернетка", 15_000));
+        PizzaEntity draft = counter.pizzaDao().getAllPizzasNow().get(0);
+        counter.pizzaDao().deletePizzaById(draft.getId());
+
+        assertEquals(0, counter.syncDao().countPendingChanges());
+        assertEquals(0, counterSync.sync().getPushed());
+        assertNull(server.getRow(draft.getUuid()));
+    }
+
+    @Test
+    public void bulkStatusChange_stampsUpdatedAt() throws Exception {
+        counter.pizzaDao().insertPizza(pizza("Маргарита", 15_000));
+        PizzaEntity before = counter.pizzaDao().getAllPizzasNow().get(0);
+        Thread.sleep(20);
+
+        // Запит UPDATE, а не updatePizza(...): час зміни ставить сам запит, тригер рядок не переписує
+        counter.pizzaDao().setStatus(Collections.singletonList(before.getId()), PizzaStatus.UNAVAILABLE);
+
+        PizzaEntity after = counter.pizzaDao().getPizzaById(before.getId());
+        assertTrue(after.getUpdatedAt() > before.getUpdatedAt());
+        assertEquals(before.getUuid(), after.getUuid());
+        assertEquals(1, counter.syncDao().countPendingChanges());
+    }
+
+    @Test
+    public void concurrentEdits_newerChangeWinsEverywhere() throws Exception {
+        counter.pizzaDao().insertPizza(pizza("Маргарита", 15_000));
+        counterSync.sync();
+        kitchenSync.sync();
+        String uuid = counter.pizzaDao().getAllPizzasNow().get(0).getUuid();
+
+        // Обидва планшети офлайн змінюють ту саму піцу; кухня - пізніше
+        setPrice(counter, uuid, 16_000);
+        Thread.sleep(20);
+        setPrice(kitchen, uuid, 17_000);
+
+        counterSync.sync(); // Каса встигла першою - сервер прийняв її ціну
+        SyncEngine.Result kitchenResult = kitchenSync.sync();
+        assertEquals(1, kitchenResult.getConflicts());
+        counterSync.sync();
+
+        assertEquals(17_000, counter.syncDao().getPizzaByUuid(uuid).getPriceKopecks());
+        assertEquals(17_000, kitchen.syncDao().getPizzaByUuid(uuid).getPriceKopecks());
+        assertEquals(17_000, server.getRow(uuid).getPriceKopecks());
+        assertEquals(0, kitchen.syncDao().countPendingChanges());
+    }
+
+    @Test
+    public void concurrentEdits_olderLocalChangeIsDropped() throws Exception {
+        counter.pizzaDao().insertPizza(pizza("Маргарита", 15_000));
+        counterSync.sync();
+        kitchenSync.sync();
+        String uuid = counter.pizzaDao().getAllPizzasNow().get(0).getUuid();
+
+        setPrice(kitchen, uuid, 17_000);
+        Thread.sleep(20);
+        setPrice(counter, uuid, 16_000);
+
+        counterSync.sync();
+        kitchenSync.sync();
+
+        assertEquals(16_000, kitchen.syncDao().getPizzaByUuid(uuid).getPriceKopecks());
+        assertEquals(16_000, server.getRow(uuid).getPriceKopecks());
+        assertEquals(0, kitchen.syncDao().countPendingChanges());
+    }
+
+    @Test
+    public void largeMenu_isSentInCompressedBatches() throws IOException {
+        List<PizzaEntity> menu = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            PizzaEntity pizza = pizza("Піца " + i, 10_000 + i);
+            pizza.setDescription("Тонке тісто, томатний соус, моцарела та свіжий базилік");
+            menu.add(pizza);
+        }
+        counter.pizzaDao().insertPizzas(menu);
+
+        assertEquals(450, counterSync.sync().getPushed());
+        assertEquals(3, server.getPushRequests()); // 200 + 200 + 50
+
+        assertEquals(450, kitchenSync.sync().getPulled());
+        assertTrue(server.getPullRequests() >= 3);
+        // Однакові поля і повторювані описи стискаються щонайменше втричі
+        assertTrue("стиснуто " + server.getCompressedBytes() + " з " + server.getUncompressedBytes(),
+                server.getCompressedBytes() * 3 < server.getUncompressedBytes());
+        assertSameMenu(counter, kitchen);
+    }
+
+    @Test
+    public void changesMadeOffline_areSentLater() throws IOException {
+        server.setOffline(true);
+        counter.pizzaDao().insertPizza(pizza("Маргарита", 15_000));
+        try {
+            counterSync.sync();
+            fail("Без зв'язку sync() має повідомити про помилку");
+        } catch (IOException expected) {
+            // Зміна лишилася в журналі
+        }
+        assertEquals(1, counter.syncDao().countPendingChanges());
+
+        server.setOffline(false);
+        assertEquals(1, counterSync.sync().getPushed());
+        assertEquals(0, counter.syncDao().countPendingChanges());
+    }
+
+    private static AppDatabase newDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        return Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS)
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    private static void setPrice(AppDatabase db, String uuid, long priceKopecks) {
+        PizzaEntity pizza = db.syncDao().getPizzaByUuid(uuid);
+        pizza.setPriceKopecks(priceKopecks);
+        db.pizzaDao().updatePizza(pizza);
+    }
+
+    private static void assertSameMenu(AppDatabase expected, AppDatabase actual) {
+        List<PizzaEntity> want = expected.pizzaDao().getAllPizzasNow();
+        assertEquals(want.size(), actual.pizzaDao().getAllPizzasNow().size());
+        for (PizzaEntity pizza : want) {
+            PizzaEntity got = actual.syncDao().getPizzaByUuid(pizza.getUuid());
+            assertNotNull("немає піци " + pizza.getName(), got);
+            assertEquals(pizza.getName(), got.getName());
+            assertEquals(pizza.getIngredients(), got.getIngredients());
+            assertEquals(pizza.getPriceKopecks(), got.getPriceKopecks());
+            assertEquals(pizza.getSize(), got.getSize());
+            assertEquals(pizza.getDescription(), got.getDescription());
+            assertEquals(pizza.getStatus(), got.getStatus());
+            assertEquals(pizza.getVersion(), got.getVersion());
+        }
+    }
+
+    private static PizzaEntity pizza(String name, long priceKopecks) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients("тісто, соус, сир");
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(30);
+        return pizza;
+    }
+}
@@ -44,9 +44,9 @@ public class AddPizzaDialog {
         TextInputEditText editDescription = dialogView.findViewById(R.id.editPizzaDescription);
         Spinner spinnerStatus = dialogView.findViewById(R.id.spinnerStatus);
 
-        // Готуємо список статусів для нашого випадаючого списку (Spinner)
-        String[] statuses = {"В наявності", "Готується", "Немає в наявності"};
-        ArrayAdapter<String> statusAdapter = new ArrayAdapter<>(context, android.R.layout.simple_spinner_item, statuses);
+        // Готуємо список статусів для нашого випадаючого списку (Spinner).
+        // Беремо їх прямо з PizzaStatus, щоб не повторювати назви тут.
+        ArrayAdapter<PizzaStatus> statusAdapter = new ArrayAdapter<>(context, android.R.layout.simple_spinner_item, PizzaStatus.values());
         statusAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         spinnerStatus.setAdapter(statusAdapter);
 
@@ -59,7 +59,7 @@ public class AddPizzaDialog {
         if (isEditing) {
             editName.setText(pizzaToEdit.getName());
             editIngredients.setText(pizzaToEdit.getIngredients());
-            editPrice.setText(String.valueOf(pizzaToEdit.getPrice()));
+            editPrice.setText(Money.format(pizzaToEdit.getPriceKopecks()));
             editSize.setText(String.valueOf(pizzaToEdit.getSize()));
             editDescription.setText(pizzaToEdit.getDescription());
 
@@ -86,7 +86,7 @@ public class AddPizzaDialog {
                 String priceStr = editPrice.getText().toString().trim();
                 String sizeStr = editSize.getText().toString().trim();
                 String descriptionStr = editDescription.getText().toString().trim();
-                String selectedStatus = spinnerStatus.getSelectedItem().toString();
+                PizzaStatus selectedStatus = (PizzaStatus) spinnerStatus.getSelectedItem();
 
                 if (nameStr.isEmpty() || ingredientsStr.isEmpty() || priceStr.isEmpty() || sizeStr.isEmpty()) {
                     Toast.makeText(context, "Назва, інгредієнти, ціна та розмір є обов'язковими!", Toast.LENGTH_LONG).show();
@@ -94,19 +94,18 @@ public class AddPizzaDialog {
                 }
 
                 try {
-                    double price = Double.parseDouble(priceStr);
+                    long priceKopecks = Money.parseKopecks(priceStr); // "149,50" -> 14950 копійок
                     int size = Integer.parseInt(sizeStr); // Розмір піци, наприклад, в см
 
-                    PizzaEntity pizzaToSave;
-                    if (isEditing) {
-                        pizzaToSave = pizzaToEdit;
-                    } else {
-                        pizzaToSave = new PizzaEntity();
-                    }
+                    // Завжди створюємо новий об'єкт, навіть при редагуванні.
+                    // pizzaToEdit належить списку на екрані: якщо його змінити "на місці",
+                    // адаптер не побачить різниці між старими та новими даними.
+                    // Номер (id) для оновлення встановлює той, хто викликав діалог.
+                    PizzaEntity pizzaToSave = new PizzaEntity();
 
                     pizzaToSave.setName(nameStr);
                     pizzaToSave.setIngredients(ingredientsStr);
-                    pizzaToSave.setPrice(price);
+                    pizzaToSave.setPriceKopecks(priceKopecks);
                     pizzaToSave.setSize(size);
                     pizzaToSave.setDescription(descriptionStr);
                     pizzaToSave.setStatus(selectedStatus);
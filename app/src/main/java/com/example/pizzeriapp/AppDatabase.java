@@ -1,10 +1,15 @@
 package com.example.pizzeriapp;
 
 import android.content.Context;
+import android.content.pm.ApplicationInfo; // Щоб дізнатися, чи це debug-збірка
 
+import androidx.annotation.NonNull; // Позначка, що параметр не може бути null
+import androidx.annotation.WorkerThread; // Позначка, що метод можна викликати лише з фонового потоку
 import androidx.room.Database;   // Головна "мітка" для класу, що це база даних
 import androidx.room.Room;        // Інструмент для побудови нашої бази даних
 import androidx.room.RoomDatabase; // Базовий клас, від якого ми будуємо свою базу
+import androidx.room.TypeConverters; // Підключає перетворювачі наших типів (наприклад, PizzaStatus) у типи SQLite
+import androidx.sqlite.db.SupportSQLiteDatabase; // Сама база, в якій виконуємо SQL
 
 /**
  * Це "серце" нашої бази даних.
@@ -12,23 +17,252 @@ import androidx.room.RoomDatabase; // Базовий клас, від якого
  * Він один на весь додаток (Singleton).
  */
 // @Database - головна анотація.
-// entities - тут перераховуємо всі наші класи-таблички. У нас одна - PizzaEntity.
-// version - номер версії. Важливо його змінювати при зміні структури таблиць.
-//           Для нового додатку логічно почати з версії 1.
+// entities - тут перераховуємо всі наші класи-таблички: піци, пошуковий індекс по них, замовлення,
+//            таблиці-підсумки для статистики, журнал змін для синхронізації,
+//            інгредієнти і їхні зв'язки з піцами, склад і рецепти, черга кухні, історія цін і статусів.
+// version - номер версії. Важливо його змінювати при зміні структури таблиць
+//           і додавати міграцію в DatabaseMigrations.
 // exportSchema = false - не експортувати схему бази в окремий файл (для простоти).
-@Database(entities = {PizzaEntity.class}, version = 1, exportSchema = false)
+@Database(entities = {PizzaEntity.class, PizzaFts.class, OrderEntity.class, OrderItemEntity.class,
+        MenuStatusSummary.class, PizzaSalesSummary.class, PizzaChangeEntity.class, SyncStateEntity.class,
+        IngredientEntity.class, PizzaIngredientCrossRef.class, StockEntity.class, RecipeItemEntity.class,
+        KitchenTicketEntity.class, PizzaHistoryEntity.class},
+        version = 14, exportSchema = false)
+@TypeConverters({PizzaStatusConverter.class})
 public abstract class AppDatabase extends RoomDatabase {
 
     // Тут буде жити єдиний екземпляр нашої бази даних.
     // volatile - щоб зміни були одразу видні всім потокам.
     private static volatile AppDatabase INSTANCE;
 
+    // Назва файлу, де зберігається база.
+    static final String DATABASE_NAME = "pizzeria.db";
+
+    // Єдиний на весь додаток потік для запису в базу. Живе стільки ж, скільки процес,
+    // тому записи не губляться, коли ViewModel знищується (наприклад, при повороті екрана).
+    private static final DatabaseWriteExecutor WRITE_EXECUTOR = new DatabaseWriteExecutor();
+
+    /**
+     * Наші тригери - Room сам їх не створює. Їх три набори:
+     * <ul>
+     *     <li>підсумків ("menu_status_summary", "pizza_sales_summary") - статистика без перебору таблиць;</li>
+     *     <li>журналу змін для синхронізації ("pizza_changes") - що відправити на сервер;</li>
+     *     <li>історії цін і статусів ("pizza_history").</li>
+     * </ul>
+     * При кожному відкритті бази DatabaseMigrations.ensureTriggers(...) створює ті, яких бракує.
+     * Так тригери є і в новій базі, і в базі, скопійованій з assets, для якої Room onCreate не викликає.
+     * В уже існуючій базі їх створили міграції 6 -> 7, 7 -> 8, 11 -> 12, 12 -> 13 і 13 -> 14.
+     * Цей Callback треба додавати до кожного будівника бази, включно з базами в пам'яті для тестів.
+     */
+    public static final RoomDatabase.Callback TRIGGERS = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            DatabaseMigrations.ensureTriggers(db);
+        }
+    };
+
+    /**
+     * DAO для таблички піц, яке пише сам Room. Назовні віддаємо його через pizzaDao(),
+     * загорнутим у MeteredPizzaDao.
+     */
+    abstract PizzaDao roomPizzaDao();
+
+    // Обгортка з метриками навколо roomPizzaDao(); створюється при першому зверненні
+    private volatile PizzaDao pizzaDao;
+
     /**
      * Цей метод дасть нам інструмент (DAO) для роботи з табличкою піц.
-     * Room сам напише код для цього методу, нам лише треба його оголосити.
+     * Кожен виклик міряється (див. MeteredPizzaDao і Metrics.dump()).
      * @return об'єкт PizzaDao, через який ми будемо робити запити до таблиці "pizzas".
      */
-    public abstract PizzaDao pizzaDao();
+    public PizzaDao pizzaDao() {
+        if (pizzaDao == null) {
+            synchronized (this) {
+                if (pizzaDao == null) {
+                    pizzaDao = new MeteredPizzaDao(roomPizzaDao(), pizzaCache());
+                }
+            }
+        }
+        return pizzaDao;
+    }
+
+    // Сховище піц поверх pizzaDao(); створюється при першому зверненні
+    private volatile PizzaRepository pizzaRepository;
+
+    /**
+     * Піци через загальний інтерфейс PizzaRepository (див. RoomPizzaRepository).
+     * Для тестів і замірів без бази є InMemoryPizzaRepository з тією самою поведінкою.
+     * @return Одне сховище на цю базу.
+     */
+    public PizzaRepository pizzaRepository() {
+        if (pizzaRepository == null) {
+            synchronized (this) {
+                if (pizzaRepository == null) {
+                    pizzaRepository = new RoomPizzaRepository(pizzaDao());
+                }
+            }
+        }
+        return pizzaRepository;
+    }
+
+    /**
+     * Інструмент (DAO) для замовлень: оформлення і перегляд продажів.
+     */
+    public abstract OrderDao orderDao();
+
+    /**
+     * Інструмент (DAO) для фільтрів за інгредієнтами ("піци з моцарелою", "без грибів").
+     */
+    public abstract IngredientDao ingredientDao();
+
+    /**
+     * Інструмент (DAO) для складу і рецептів: поповнення, інвентаризація, що скільки йде на піцу.
+     */
+    public abstract InventoryDao inventoryDao();
+
+    /**
+     * Інструмент (DAO) для збереженої черги кухні - у неї пише KitchenScheduler.
+     */
+    public abstract KitchenTicketDao kitchenTicketDao();
+
+    /**
+     * Інструмент (DAO) для синхронізації меню між планшетами - ним користується SyncEngine.
+     */
+    public abstract SyncDao syncDao();
+
+    /**
+     * Інструмент (DAO) для історії цін і статусів піц: ціна в будь-який момент, зміни за період.
+     */
+    public abstract PizzaHistoryDao pizzaHistoryDao();
+
+    // Кеш піц за номером; створюється при першому зверненні
+    private volatile PizzaCache pizzaCache;
+
+    /**
+     * Кеш перед pizzaDao().getPizzaById(...). Записи через pizzaDao() скидають його одразу,
+     * решту змін таблиці "pizzas" - InvalidationTracker.
+     * @return Один кеш на цю базу.
+     */
+    public PizzaCache pizzaCache() {
+        if (pizzaCache == null) {
+            synchronized (this) {
+                if (pizzaCache == null) {
+                    // pizzaDao() - лише в момент читання: сам він створюється вже з цим кешем
+                    PizzaCache cache = new PizzaCache(id -> pizzaDao().getPizzaById(id),
+                            PizzaCache.DEFAULT_MAX_ENTRIES);
+                    cache.attachTo(getInvalidationTracker());
+                    pizzaCache = cache;
+                }
+            }
+        }
+        return pizzaCache;
+    }
+
+    // "Живі" запити на RxJava; створюються при першому зверненні
+    private volatile PizzaStreams pizzaStreams;
+
+    /**
+     * "Живі" запити до піц (Flowable), які не передають однакових результатів
+     * і не перечитуються під час масових записів (див. PizzaStreams.runBulk(...)).
+     * @return Один екземпляр на цю базу.
+     */
+    public PizzaStreams pizzaStreams() {
+        if (pizzaStreams == null) {
+            synchronized (this) {
+                if (pizzaStreams == null) {
+                    pizzaStreams = new PizzaStreams(this);
+                }
+            }
+        }
+        return pizzaStreams;
+    }
+
+    // Черга кухні; створюється при першому зверненні
+    private volatile KitchenScheduler kitchenScheduler;
+
+    /**
+     * Черга кухні. Пише в базу через getTransactionExecutor(), а не через getWriteExecutor():
+     * каса ставить піци в чергу просто з потоку запису, і чекати місця у власній черзі він не повинен.
+     * Перше звернення читає з бази незавершені квитки - лише з фонового потоку.
+     * @return Одна черга на цю базу.
+     */
+    @WorkerThread
+    public KitchenScheduler kitchenScheduler() {
+        if (kitchenScheduler == null) {
+            synchronized (this) {
+                if (kitchenScheduler == null) {
+                    KitchenTicketDao dao = kitchenTicketDao();
+                    KitchenScheduler scheduler = new KitchenScheduler(getTransactionExecutor(),
+                            dao::upsertTickets, System::currentTimeMillis, dao.getMaxTicketId());
+                    scheduler.restore(dao.getUnfinishedTicketsNow());
+                    kitchenScheduler = scheduler;
+                }
+            }
+        }
+        return kitchenScheduler;
+    }
+
+    // Очистка кошика піц; створюється при першому зверненні
+    private volatile PizzaPurgeJob pizzaPurgeJob;
+
+    /**
+     * Остаточна очистка кошика піц і повернення місця у файлі (див. PizzaPurgeJob).
+     * @return Одна очистка на цю базу.
+     */
+    public PizzaPurgeJob pizzaPurgeJob() {
+        if (pizzaPurgeJob == null) {
+            synchronized (this) {
+                if (pizzaPurgeJob == null) {
+                    pizzaPurgeJob = new PizzaPurgeJob(pizzaDao(), getOpenHelper(), System::currentTimeMillis);
+                }
+            }
+        }
+        return pizzaPurgeJob;
+    }
+
+    /**
+     * Запускає очистку кошика у фоновому потоці Room, якщо давно не запускали.
+     * Можна викликати з головного потоку і часто (наприклад, щоразу, коли екран ховається).
+     * Не через getWriteExecutor(): очистка видаляє частинами і не повинна займати потік запису надовго.
+     */
+    public void purgeDeletedPizzasInBackground() {
+        pizzaPurgeJob().runIfDue(getQueryExecutor());
+    }
+
+    // Проріджування історії цін; створюється при першому зверненні
+    private volatile PizzaHistoryCompactionJob historyCompactionJob;
+
+    /**
+     * Проріджування старої історії цін і статусів (див. PizzaHistoryCompactionJob).
+     * @return Одне проріджування на цю базу.
+     */
+    public PizzaHistoryCompactionJob historyCompactionJob() {
+        if (historyCompactionJob == null) {
+            synchronized (this) {
+                if (historyCompactionJob == null) {
+                    historyCompactionJob = new PizzaHistoryCompactionJob(pizzaHistoryDao(), System::currentTimeMillis);
+                }
+            }
+        }
+        return historyCompactionJob;
+    }
+
+    /**
+     * Запускає проріджування історії цін у фоновому потоці Room, якщо давно не запускали.
+     * Так само, як purgeDeletedPizzasInBackground(), можна викликати з головного потоку і часто.
+     */
+    public void compactPizzaHistoryInBackground() {
+        historyCompactionJob().runIfDue(getQueryExecutor());
+    }
+
+    /**
+     * Спільний потік для запису в базу з обмеженою чергою і злиттям частих оновлень.
+     * Усі вставки, оновлення та видалення мають іти через нього, а не через власні потоки.
+     * @return Єдиний екземпляр DatabaseWriteExecutor.
+     */
+    public static DatabaseWriteExecutor getWriteExecutor() {
+        return WRITE_EXECUTOR;
+    }
 
     /**
      * Головний спосіб отримати доступ до нашої бази даних.
@@ -37,20 +271,52 @@ public abstract class AppDatabase extends RoomDatabase {
      * @return Єдиний екземпляр AppDatabase.
      */
     public static AppDatabase getInstance(Context context) {
+        // У debug-збірці ще й рахуємо SQL-запити для Metrics.dump()
+        return getInstance(context, DatabaseConfig.DEFAULT.withSqlCounting(isDebuggable(context)));
+    }
+
+    /**
+     * Чи це debug-збірка (android:debuggable). Вмикає додаткові метрики і їхній вивід у logcat.
+     */
+    static boolean isDebuggable(Context context) {
+        return (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+    }
+
+    /**
+     * Те саме, що getInstance(context), але з власними налаштуваннями SQLite.
+     * Налаштування діють лише при першому виклику - коли база справді створюється.
+     * @param config Режим журналу, потоки, кеші (див. DatabaseConfig).
+     * @return Єдиний екземпляр AppDatabase.
+     */
+    public static AppDatabase getInstance(Context context, DatabaseConfig config) {
         if (INSTANCE == null) { // Якщо базу ще ніхто не просив
             synchronized (AppDatabase.class) { // Захист, щоб кілька частин програми одночасно не спробували створити базу
                 if (INSTANCE == null) { // Ще раз перевіряємо, може, хтось вже створив, поки ми чекали
-                    // Створюємо базу!
-                    INSTANCE = Room.databaseBuilder(context.getApplicationContext(), // Беремо загальний контекст додатка
-                                    AppDatabase.class, // Наш клас бази даних
-                                    "pizzeria.db") // Назва файлу, де буде зберігатися база.
-                            // Якщо ми оновили версію бази, а Room не знає, як перенести старі дані в нову структуру,
-                            // він просто видалить стару базу і створить нову.
-                            .fallbackToDestructiveMigration()
-                            .build(); // Будуємо!
+                    INSTANCE = build(context, DATABASE_NAME, config); // Створюємо базу!
                 }
             }
         }
         return INSTANCE; // Повертаємо готову базу
     }
-}
\ No newline at end of file
+
+    /**
+     * Будує нову базу з файлом fileName - поза "єдиним екземпляром".
+     * Потрібно для замірів, які порівнюють налаштування на окремих файлах.
+     * @param context Потрібен, щоб знати, де створити файл бази даних.
+     * @param fileName Назва файлу бази.
+     * @param config Налаштування SQLite.
+     * @return Нова, ще не відкрита база (файл відкривається при першому запиті).
+     */
+    public static AppDatabase build(Context context, String fileName, DatabaseConfig config) {
+        RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(context.getApplicationContext(), // Беремо загальний контекст додатка
+                        AppDatabase.class, // Наш клас бази даних
+                        fileName) // Назва файлу, де буде зберігатися база.
+                // Кроки переходу зі старих версій бази (починаючи з 1) на нову зі збереженням даних.
+                // Видаляти базу при оновленні ми більше не дозволяємо: якщо міграції бракує,
+                // краще помилка під час розробки, ніж втрачене меню в піцерії.
+                .addMigrations(DatabaseMigrations.ALL)
+                .addCallback(TRIGGERS); // Тригери підсумків, журналу змін та історії, якщо їх бракує
+        config.applyTo(builder); // WAL, потоки, PRAGMA, готова база з assets
+        return builder.build(); // Будуємо!
+    }
+}
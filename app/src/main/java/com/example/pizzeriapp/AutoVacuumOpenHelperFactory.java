@@ -0,0 +1,118 @@
+package com.example.pizzeriapp;
+
+import android.database.Cursor;     // Читання результату PRAGMA
+import android.database.sqlite.SQLiteException;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Відкриває базу в режимі PRAGMA auto_vacuum = INCREMENTAL, щоб PizzaPurgeJob міг повертати
+ * звільнені сторінки потроху (incremental_vacuum), а не переписувати весь файл повним VACUUM.
+ * <ul>
+ *     <li>onConfigure - ще до того, як Room створить таблиці, - вмикає INCREMENTAL. Нова база так і
+ *     створюється; базу в режимі FULL (типовий для SQLite на Android) це перемикає одразу, без VACUUM.</li>
+ *     <li>Базу без auto_vacuum (NONE - наприклад, файл з assets, зібраний на комп'ютері) перемкнути
+ *     можна лише повним VACUUM. Він виконується один раз, у onOpen: міграції Room ідуть усередині
+ *     транзакції, а там SQLite VACUUM не дозволяє. Після нього база вже INCREMENTAL, і більше це не повторюється.</li>
+ * </ul>
+ * Решту викликів передає Room як є. Підключається в DatabaseConfig.applyTo(...).
+ */
+final class AutoVacuumOpenHelperFactory implements SupportSQLiteOpenHelper.Factory {
+
+    // Значення PRAGMA auto_vacuum
+    private static final int AUTO_VACUUM_NONE = 0;
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    // Скільки разів не вдалося переписати базу без auto_vacuum
+    private static final LongAdder CONVERSION_FAILED = Metrics.counter("db.autoVacuum.conversionFailed");
+
+    private final SupportSQLiteOpenHelper.Factory delegate;
+
+    /**
+     * @param delegate Фабрика, що справді відкриває файл (FrameworkSQLiteOpenHelperFactory).
+     */
+    AutoVacuumOpenHelperFactory(@NonNull SupportSQLiteOpenHelper.Factory delegate) {
+        this.delegate = delegate;
+    }
+
+    @NonNull
+    @Override
+    public SupportSQLiteOpenHelper create(@NonNull SupportSQLiteOpenHelper.Configuration configuration) {
+        return delegate.create(SupportSQLiteOpenHelper.Configuration.builder(configuration.context)
+                .name(configuration.name)
+                .callback(new AutoVacuumCallback(configuration.callback))
+                .noBackupDirectory(configuration.useNoBackupDirectory)
+                .allowDataLossOnRecovery(configuration.allowDataLossOnRecovery)
+                .build());
+    }
+
+    /**
+     * Чи може база повертати сторінки через PRAGMA incremental_vacuum.
+     */
+    static boolean isIncremental(@NonNull SupportSQLiteDatabase db) {
+        return autoVacuum(db) == AUTO_VACUUM_INCREMENTAL;
+    }
+
+    private static int autoVacuum(SupportSQLiteDatabase db) {
+        try (Cursor cursor = db.query("PRAGMA auto_vacuum")) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : AUTO_VACUUM_NONE;
+        }
+    }
+
+    private static final class AutoVacuumCallback extends SupportSQLiteOpenHelper.Callback {
+
+        private final SupportSQLiteOpenHelper.Callback delegate;
+
+        AutoVacuumCallback(@NonNull SupportSQLiteOpenHelper.Callback delegate) {
+            super(delegate.version);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onConfigure(@NonNull SupportSQLiteDatabase db) {
+            // У базі з таблицями і в режимі NONE нічого не змінює - тоді допоможе onOpen
+            db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+            delegate.onConfigure(db);
+        }
+
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            delegate.onCreate(db);
+        }
+
+        @Override
+        public void onUpgrade(@NonNull SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+            delegate.onUpgrade(db, oldVersion, newVersion);
+        }
+
+        @Override
+        public void onDowngrade(@NonNull SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+            delegate.onDowngrade(db, oldVersion, newVersion);
+        }
+
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            if (autoVacuum(db) == AUTO_VACUUM_NONE && !db.isReadOnly()) {
+                // Один раз на базу: новий режим діє лише після VACUUM, який переписує весь файл
+                db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+                try {
+                    db.execSQL("VACUUM");
+                } catch (SQLiteException e) {
+                    // Наприклад, забракло місця на диску. Працювати база може і так;
+                    // спробуємо ще раз при наступному відкритті, а PizzaPurgeJob поки сторінок не повертає.
+                    CONVERSION_FAILED.increment();
+                }
+            }
+            delegate.onOpen(db);
+        }
+
+        @Override
+        public void onCorruption(@NonNull SupportSQLiteDatabase db) {
+            delegate.onCorruption(db);
+        }
+    }
+}
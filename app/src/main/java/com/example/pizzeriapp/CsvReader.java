@@ -0,0 +1,116 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Читає CSV по одному запису, не завантажуючи весь файл у пам'ять.
+ * Розуміє поля в лапках: з комами, переносами рядків і подвоєними лапками всередині ("").
+ * Кінці рядків - як "\n", так і "\r\n".
+ */
+final class CsvReader {
+
+    private final Reader in;
+
+    // Спільний буфер для поточного поля - не створюємо новий на кожне поле
+    private final StringBuilder field = new StringBuilder();
+
+    // Символ, прочитаний наперед (-2 - нічого не прочитано)
+    private int lookahead = -2;
+
+    // Номер рядка файлу, на якому почався останній прочитаний запис (з 1)
+    private int recordLine;
+    private int line = 1;
+
+    CsvReader(@NonNull Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Читає наступний запис у fields (список спершу очищується).
+     * @return false, якщо файл закінчився.
+     * @throws IOException Якщо файл не вдалося прочитати або лапки не закриті.
+     */
+    boolean readRecord(@NonNull List<String> fields) throws IOException {
+        fields.clear();
+        int c = read();
+        if (c == -1) {
+            return false;
+        }
+        if (c == '\uFEFF' && recordLine == 0) {
+            c = read(); // Мітка кодування (BOM), яку додають деякі редактори таблиць
+        }
+        recordLine = line;
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Лапки не закриті (запис з рядка " + recordLine + ")");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"'); // "" всередині лапок - це одна лапка
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return true;
+            } else {
+                field.append((char) c);
+                fieldStarted = true;
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Номер рядка файлу, з якого почався останній прочитаний запис. Для повідомлень про помилки.
+     */
+    int getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (lookahead != -2) {
+            int c = lookahead;
+            lookahead = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        lookahead = c;
+    }
+}
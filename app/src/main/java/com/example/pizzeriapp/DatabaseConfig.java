@@ -0,0 +1,230 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;   // Позначка, що значення не може бути null
+import androidx.annotation.Nullable;  // Позначка, що значення може бути null
+import androidx.room.RoomDatabase;    // Будівник бази і режими журналу
+import androidx.sqlite.db.SupportSQLiteDatabase; // Сама база, в якій виконуємо PRAGMA
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory; // Звичайне відкриття файлу через SQLite Android
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Налаштування SQLite для AppDatabase: режим журналу, потоки для запитів і транзакцій,
+ * розмір кешу сторінок, рівень synchronous, кеш підготовлених запитів, готова база з assets
+ * і підрахунок SQL-запитів для Metrics. Базу завжди відкриває AutoVacuumOpenHelperFactory
+ * (auto_vacuum = INCREMENTAL для PizzaPurgeJob).
+ * Об'єкт незмінний - як і PizzaFilter, змінюємо його через with...(...), починаючи з DEFAULT.
+ * Передається в AppDatabase.getInstance(context, config) або AppDatabase.build(...).
+ */
+public final class DatabaseConfig {
+
+    /**
+     * Наскільки ретельно SQLite чекає, поки дані справді запишуться на диск.
+     */
+    public enum Synchronous {
+        OFF,    // Не чекає зовсім: найшвидше, але при вимкненні живлення можна втратити останні записи
+        NORMAL, // З WAL - безпечно для цілісності бази, втратити можна лише останню транзакцію
+        FULL    // Чекає після кожної транзакції: найповільніше і найнадійніше
+    }
+
+    /**
+     * Типові налаштування піцерії: WAL, 4 потоки для читання, 2 МіБ кешу, synchronous = NORMAL.
+     * Один планшет пише небагато, а читає (список, пошук, статистика) - постійно,
+     * тож WAL дає читати паралельно із записом.
+     */
+    public static final DatabaseConfig DEFAULT = new DatabaseConfig(
+            RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING, 4, 2048, Synchronous.NORMAL, 50, null, false);
+
+    // Найбільший розмір кешу підготовлених запитів, який дозволяє Android
+    private static final int MAX_STATEMENT_CACHE_SIZE = 100;
+
+    @NonNull
+    private final RoomDatabase.JournalMode journalMode;
+    private final int queryThreads;
+    private final int cacheSizeKib;
+    @NonNull
+    private final Synchronous synchronous;
+    private final int statementCacheSize;
+    @Nullable
+    private final String prepackagedAssetPath;
+    private final boolean sqlCounting;
+
+    private DatabaseConfig(@NonNull RoomDatabase.JournalMode journalMode, int queryThreads, int cacheSizeKib,
+                           @NonNull Synchronous synchronous, int statementCacheSize,
+                           @Nullable String prepackagedAssetPath, boolean sqlCounting) {
+        this.journalMode = journalMode;
+        this.queryThreads = queryThreads;
+        this.cacheSizeKib = cacheSizeKib;
+        this.synchronous = synchronous;
+        this.statementCacheSize = statementCacheSize;
+        this.prepackagedAssetPath = prepackagedAssetPath;
+        this.sqlCounting = sqlCounting;
+    }
+
+    @NonNull
+    public RoomDatabase.JournalMode getJournalMode() {
+        return journalMode;
+    }
+
+    public int getQueryThreads() {
+        return queryThreads;
+    }
+
+    public int getCacheSizeKib() {
+        return cacheSizeKib;
+    }
+
+    @NonNull
+    public Synchronous getSynchronous() {
+        return synchronous;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    @Nullable
+    public String getPrepackagedAssetPath() {
+        return prepackagedAssetPath;
+    }
+
+    public boolean isSqlCounting() {
+        return sqlCounting;
+    }
+
+    /**
+     * Режим журналу. WRITE_AHEAD_LOGGING - читання не чекають на запис;
+     * TRUNCATE - класичний журнал, один файл бази без -wal / -shm.
+     */
+    @NonNull
+    public DatabaseConfig withJournalMode(@NonNull RoomDatabase.JournalMode journalMode) {
+        return new DatabaseConfig(journalMode, queryThreads, cacheSizeKib, synchronous,
+                statementCacheSize, prepackagedAssetPath, sqlCounting);
+    }
+
+    /**
+     * Скільки потоків виконують запити LiveData / Paging. Транзакції завжди йдуть в окремий
+     * один потік, тож довгий запис не займає потоки читання, а читання - не затримують запис.
+     */
+    @NonNull
+    public DatabaseConfig withQueryThreads(int queryThreads) {
+        if (queryThreads <= 0) {
+            throw new IllegalArgumentException("Потрібен хоча б один потік для запитів");
+        }
+        return new DatabaseConfig(journalMode, queryThreads, cacheSizeKib, synchronous,
+                statementCacheSize, prepackagedAssetPath, sqlCounting);
+    }
+
+    /**
+     * Розмір кешу сторінок SQLite (PRAGMA cache_size) у кібібайтах; 0 - залишити як є у SQLite.
+     * Діє на з'єднання, через яке пише Room; з'єднання лише для читання (у WAL) залишають свій.
+     */
+    @NonNull
+    public DatabaseConfig withCacheSizeKib(int cacheSizeKib) {
+        if (cacheSizeKib < 0) {
+            throw new IllegalArgumentException("Розмір кешу не може бути від'ємним");
+        }
+        return new DatabaseConfig(journalMode, queryThreads, cacheSizeKib, synchronous,
+                statementCacheSize, prepackagedAssetPath, sqlCounting);
+    }
+
+    /**
+     * Рівень PRAGMA synchronous для з'єднання, через яке йдуть записи.
+     */
+    @NonNull
+    public DatabaseConfig withSynchronous(@NonNull Synchronous synchronous) {
+        return new DatabaseConfig(journalMode, queryThreads, cacheSizeKib, synchronous,
+                statementCacheSize, prepackagedAssetPath, sqlCounting);
+    }
+
+    /**
+     * Скільки скомпільованих (підготовлених) запитів тримає кожне з'єднання, щоб не розбирати
+     * SQL повторно. Room уже перевикористовує свої вставки й оновлення; цей кеш допомагає
+     * запитам @Query, яких у нас більше, ніж вміщає типовий кеш Android. Найбільше - 100.
+     */
+    @NonNull
+    public DatabaseConfig withStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize <= 0 || statementCacheSize > MAX_STATEMENT_CACHE_SIZE) {
+            throw new IllegalArgumentException("Кеш запитів має бути від 1 до " + MAX_STATEMENT_CACHE_SIZE);
+        }
+        return new DatabaseConfig(journalMode, queryThreads, cacheSizeKib, synchronous,
+                statementCacheSize, prepackagedAssetPath, sqlCounting);
+    }
+
+    /**
+     * Готова база з assets (наприклад, "databases/pizzeria.db" з уже заповненим меню).
+     * При першому запуску Room просто скопіює файл замість створення таблиць і імпорту.
+     * Версія схеми в цьому файлі має збігатися з AppDatabase. Тригерів підсумків, журналу змін та історії
+     * у ньому може й не бути: їх при відкритті створить AppDatabase.TRIGGERS (DatabaseMigrations.ensureTriggers),
+     * заразом порахувавши підсумки і записавши в журнал піци, яких сервер ще не бачив.
+     * @param assetPath Шлях усередині assets або null, щоб створювати базу з нуля.
+     */
+    @NonNull
+    public DatabaseConfig withPrepackagedAsset(@Nullable String assetPath) {
+        return new DatabaseConfig(journalMode, queryThreads, cacheSizeKib, synchronous,
+                statementCacheSize, assetPath, sqlCounting);
+    }
+
+    /**
+     * Рахувати кожен SQL-запит у Metrics ("sql: SELECT ..."), через Room QueryCallback.
+     * Room повідомляє лише про початок запиту, без тривалості, тож час міряє MeteredPizzaDao,
+     * а тут видно, які запити і як часто насправді йдуть у базу (зокрема від LiveData і Paging).
+     * Коштує окремого завдання на кожен запит, тому типово вимкнено; AppDatabase вмикає це в debug-збірці.
+     */
+    @NonNull
+    public DatabaseConfig withSqlCounting(boolean sqlCounting) {
+        return new DatabaseConfig(journalMode, queryThreads, cacheSizeKib, synchronous,
+                statementCacheSize, prepackagedAssetPath, sqlCounting);
+    }
+
+    /**
+     * Переносить налаштування в будівник Room.
+     */
+    void applyTo(@NonNull RoomDatabase.Builder<AppDatabase> builder) {
+        builder.openHelperFactory(new AutoVacuumOpenHelperFactory(new FrameworkSQLiteOpenHelperFactory()))
+                .setJournalMode(journalMode)
+                .setQueryExecutor(newPool("pizzeria-db-query-", queryThreads))
+                .setTransactionExecutor(newPool("pizzeria-db-transaction-", 1))
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                        applyPragmas(db);
+                    }
+                });
+        if (prepackagedAssetPath != null) {
+            builder.createFromAsset(prepackagedAssetPath);
+        }
+        if (sqlCounting) {
+            // Лічильник LongAdder не блокує, тож виконуємо прямо в потоці запиту
+            builder.setQueryCallback(Metrics::onSqlQuery, Runnable::run);
+        }
+    }
+
+    private void applyPragmas(@NonNull SupportSQLiteDatabase db) {
+        if (cacheSizeKib > 0) {
+            db.execSQL("PRAGMA cache_size = -" + cacheSizeKib); // Від'ємне число - розмір у КіБ, а не в сторінках
+        }
+        db.execSQL("PRAGMA synchronous = " + synchronous.name());
+        db.setMaxSqlCacheSize(statementCacheSize);
+    }
+
+    /**
+     * Пул потоків, які самі зупиняються, якщо довго немає роботи.
+     */
+    private static Executor newPool(String namePrefix, int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
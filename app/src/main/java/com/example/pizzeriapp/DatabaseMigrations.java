@@ -0,0 +1,609 @@
+package com.example.pizzeriapp;
+
+import android.database.Cursor;                     // Читання результату запиту рядок за рядком
+
+import androidx.annotation.NonNull;                 // Позначка, що параметр не може бути null
+import androidx.room.migration.Migration;           // Опис того, як перейти з однієї версії бази на іншу
+import androidx.sqlite.db.SupportSQLiteDatabase;    // Сама база, в якій виконуємо SQL
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Тут зібрані всі переходи (міграції) між версіями бази даних.
+ * Коли змінюється структура таблиць, ми не видаляємо стару базу з даними користувача,
+ * а покроково перебудовуємо її SQL-командами.
+ * SQL тут має точно збігатися з тим, що Room сам створив би для нової бази,
+ * інакше Room після міграції скаже, що схема не та.
+ * Кожна міграція має власну, "заморожену" копію SQL тригерів - таких, якими вони були в її версії.
+ * Спільні create...Triggers(...) описують лише теперішню схему (для нової бази і бази з assets, див. ensureTriggers):
+ * якщо стара міграція викликала б їх, після наступної зміни тригерів вона створювала б уже не те.
+ */
+public final class DatabaseMigrations {
+
+    private DatabaseMigrations() {
+        // Лише статичні поля, створювати об'єкт не потрібно
+    }
+
+    /**
+     * 1 -> 2: повнотекстовий пошуковий індекс "pizzas_fts" по назві, інгредієнтах і опису.
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `pizzas_fts` USING FTS4("
+                    + "`name` TEXT NOT NULL, `ingredients` TEXT NOT NULL, `description` TEXT, "
+                    + "tokenize=unicode61, content=`pizzas`)");
+            createPizzaFtsTriggers(db);
+            // Заповнюємо індекс піцами, які вже є в базі
+            db.execSQL("INSERT INTO `pizzas_fts`(`pizzas_fts`) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * 2 -> 3: індекси для фільтра за статусом з сортуванням за ціною або розміром.
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizzas_status_price` ON `pizzas` (`status`, `price`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizzas_status_size` ON `pizzas` (`status`, `size`)");
+        }
+    };
+
+    /**
+     * 3 -> 4: статус зберігається як число (PizzaStatus.getCode()) замість тексту.
+     * SQLite не вміє змінювати тип колонки, тому перебудовуємо таблицю:
+     * створюємо нову, копіюємо дані з перетворенням статусу, видаляємо стару і перейменовуємо нову.
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `pizzas_new` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT NOT NULL, "
+                    + "`ingredients` TEXT NOT NULL, `price` REAL NOT NULL, `size` INTEGER NOT NULL, "
+                    + "`description` TEXT, `status` INTEGER NOT NULL)");
+            db.execSQL("INSERT INTO `pizzas_new` (`id`, `name`, `ingredients`, `price`, `size`, `description`, `status`) "
+                    + "SELECT `id`, `name`, `ingredients`, `price`, `size`, `description`, "
+                    + "CASE `status` WHEN 'Готується' THEN 1 WHEN 'Немає в наявності' THEN 2 ELSE 0 END "
+                    + "FROM `pizzas`");
+            replacePizzasWithNewTable(db);
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizzas_status_price` ON `pizzas` (`status`, `price`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizzas_status_size` ON `pizzas` (`status`, `size`)");
+        }
+    };
+
+    /**
+     * 4 -> 5: ціна зберігається цілим числом копійок у колонці "priceKopecks" замість double "price".
+     * Таблицю знову перебудовуємо; ціну округлюємо до найближчої копійки.
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `pizzas_new` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT NOT NULL, "
+                    + "`ingredients` TEXT NOT NULL, `priceKopecks` INTEGER NOT NULL, `size` INTEGER NOT NULL, "
+                    + "`description` TEXT, `status` INTEGER NOT NULL)");
+            db.execSQL("INSERT INTO `pizzas_new` (`id`, `name`, `ingredients`, `priceKopecks`, `size`, `description`, `status`) "
+                    + "SELECT `id`, `name`, `ingredients`, CAST(ROUND(`price` * 100) AS INTEGER), `size`, `description`, `status` "
+                    + "FROM `pizzas`");
+            replacePizzasWithNewTable(db);
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizzas_status_priceKopecks` ON `pizzas` (`status`, `priceKopecks`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizzas_status_size` ON `pizzas` (`status`, `size`)");
+        }
+    };
+
+    /**
+     * 5 -> 6: замовлення. Нові таблиці "orders" і "order_items" зі зв'язками на піци;
+     * таблицю піц не чіпаємо.
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `orders` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `createdAt` INTEGER NOT NULL, "
+                    + "`totalKopecks` INTEGER NOT NULL)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_orders_createdAt` ON `orders` (`createdAt`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `order_items` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `orderId` INTEGER NOT NULL, "
+                    + "`pizzaId` INTEGER, `pizzaName` TEXT NOT NULL, `unitPriceKopecks` INTEGER NOT NULL, "
+                    + "`quantity` INTEGER NOT NULL, "
+                    + "FOREIGN KEY(`orderId`) REFERENCES `orders`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`pizzaId`) REFERENCES `pizzas`(`id`) ON UPDATE NO ACTION ON DELETE SET NULL )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_order_items_orderId` ON `order_items` (`orderId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_order_items_pizzaId` ON `order_items` (`pizzaId`)");
+        }
+    };
+
+    /**
+     * 6 -> 7: таблиці-підсумки для статистики. Створюємо їх, заповнюємо з наявних даних
+     * і вмикаємо тригери, які далі оновлюють їх самі.
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `menu_status_summary` ("
+                    + "`status` INTEGER NOT NULL, `pizzaCount` INTEGER NOT NULL, "
+                    + "`totalKopecks` INTEGER NOT NULL, PRIMARY KEY(`status`))");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `pizza_sales_summary` ("
+                    + "`pizzaId` INTEGER NOT NULL, `soldCount` INTEGER NOT NULL, "
+                    + "`revenueKopecks` INTEGER NOT NULL, PRIMARY KEY(`pizzaId`), "
+                    + "FOREIGN KEY(`pizzaId`) REFERENCES `pizzas`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizza_sales_summary_soldCount` "
+                    + "ON `pizza_sales_summary` (`soldCount`)");
+            db.execSQL("INSERT INTO `menu_status_summary` (`status`, `pizzaCount`, `totalKopecks`) "
+                    + "SELECT `status`, COUNT(*), SUM(`priceKopecks`) FROM `pizzas` GROUP BY `status`");
+            db.execSQL("INSERT INTO `pizza_sales_summary` (`pizzaId`, `soldCount`, `revenueKopecks`) "
+                    + "SELECT `pizzaId`, SUM(`quantity`), SUM(`unitPriceKopecks` * `quantity`) "
+                    + "FROM `order_items` WHERE `pizzaId` IS NOT NULL GROUP BY `pizzaId`");
+            // Тригери підсумків версії 7 (кошика ще немає); у версії 12 їх замінено
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_pizzas_AFTER_INSERT AFTER INSERT ON `pizzas` BEGIN "
+                    + "INSERT OR IGNORE INTO `menu_status_summary` (`status`, `pizzaCount`, `totalKopecks`) "
+                    + "VALUES (NEW.`status`, 0, 0); "
+                    + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` + 1, "
+                    + "`totalKopecks` = `totalKopecks` + NEW.`priceKopecks` WHERE `status` = NEW.`status`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_pizzas_AFTER_DELETE AFTER DELETE ON `pizzas` BEGIN "
+                    + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` - 1, "
+                    + "`totalKopecks` = `totalKopecks` - OLD.`priceKopecks` WHERE `status` = OLD.`status`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_pizzas_AFTER_UPDATE "
+                    + "AFTER UPDATE OF `status`, `priceKopecks` ON `pizzas` BEGIN "
+                    + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` - 1, "
+                    + "`totalKopecks` = `totalKopecks` - OLD.`priceKopecks` WHERE `status` = OLD.`status`; "
+                    + "INSERT OR IGNORE INTO `menu_status_summary` (`status`, `pizzaCount`, `totalKopecks`) "
+                    + "VALUES (NEW.`status`, 0, 0); "
+                    + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` + 1, "
+                    + "`totalKopecks` = `totalKopecks` + NEW.`priceKopecks` WHERE `status` = NEW.`status`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_order_items_AFTER_INSERT AFTER INSERT ON `order_items` "
+                    + "WHEN NEW.`pizzaId` IS NOT NULL BEGIN "
+                    + "INSERT OR IGNORE INTO `pizza_sales_summary` (`pizzaId`, `soldCount`, `revenueKopecks`) "
+                    + "VALUES (NEW.`pizzaId`, 0, 0); "
+                    + "UPDATE `pizza_sales_summary` SET `soldCount` = `soldCount` + NEW.`quantity`, "
+                    + "`revenueKopecks` = `revenueKopecks` + NEW.`unitPriceKopecks` * NEW.`quantity` "
+                    + "WHERE `pizzaId` = NEW.`pizzaId`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_order_items_AFTER_DELETE AFTER DELETE ON `order_items` "
+                    + "WHEN OLD.`pizzaId` IS NOT NULL BEGIN "
+                    + "UPDATE `pizza_sales_summary` SET `soldCount` = `soldCount` - OLD.`quantity`, "
+                    + "`revenueKopecks` = `revenueKopecks` - OLD.`unitPriceKopecks` * OLD.`quantity` "
+                    + "WHERE `pizzaId` = OLD.`pizzaId`; END");
+        }
+    };
+
+    /**
+     * 7 -> 8: синхронізація між планшетами. Піци отримують uuid, версію сервера і час зміни;
+     * з'являються журнал змін і стан синхронізації. Усе наявне меню записуємо в журнал,
+     * щоб перша синхронізація відправила його на сервер.
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `pizzas` ADD COLUMN `uuid` TEXT NOT NULL DEFAULT ''");
+            db.execSQL("ALTER TABLE `pizzas` ADD COLUMN `version` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `pizzas` ADD COLUMN `updatedAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("UPDATE `pizzas` SET `uuid` = lower(hex(randomblob(16))), `updatedAt` = " + NOW_MILLIS);
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_pizzas_uuid` ON `pizzas` (`uuid`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `pizza_changes` ("
+                    + "`seq` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `uuid` TEXT NOT NULL, "
+                    + "`deleted` INTEGER NOT NULL, `baseVersion` INTEGER NOT NULL, `changedAt` INTEGER NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_pizza_changes_uuid` ON `pizza_changes` (`uuid`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `sync_state` ("
+                    + "`name` TEXT NOT NULL, `value` INTEGER NOT NULL, PRIMARY KEY(`name`))");
+            db.execSQL("INSERT INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                    + "SELECT `uuid`, 0, 0, `updatedAt` FROM `pizzas` ORDER BY `id`");
+            // Тригери журналу версії 8 (кошика ще немає); у версіях 12 і 14 їх замінено
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS sync_pizzas_AFTER_INSERT AFTER INSERT ON `pizzas` "
+                    + "WHEN NEW.`version` = 0 BEGIN "
+                    + "INSERT OR REPLACE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                    + "VALUES (NEW.`uuid`, 0, 0, NEW.`updatedAt`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS sync_pizzas_AFTER_UPDATE AFTER UPDATE ON `pizzas` "
+                    + "WHEN NEW.`version` <= OLD.`version` BEGIN "
+                    + "UPDATE `pizzas` SET `uuid` = OLD.`uuid`, `version` = OLD.`version`, `updatedAt` = " + NOW_MILLIS + " "
+                    + "WHERE `id` = NEW.`id`; "
+                    + "INSERT OR REPLACE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                    + "VALUES (OLD.`uuid`, 0, OLD.`version`, " + NOW_MILLIS + "); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS sync_pizzas_AFTER_DELETE AFTER DELETE ON `pizzas` BEGIN "
+                    + "DELETE FROM `pizza_changes` WHERE OLD.`version` = 0 AND `uuid` = OLD.`uuid`; "
+                    + "INSERT OR REPLACE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                    + "SELECT OLD.`uuid`, 1, OLD.`version`, " + NOW_MILLIS + " WHERE OLD.`version` > 0; END");
+        }
+    };
+
+    /**
+     * 8 -> 9: інгредієнти окремою таблицею і зв'язки "піца - інгредієнт".
+     * Заповнюємо їх, розбираючи склад кожної наявної піци тим самим Ingredients.parse(...),
+     * що й PizzaDao при кожному записі. Розбір рядка в SQL не зробиш, тож читаємо піци тут, у Java.
+     */
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `ingredients` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_ingredients_name` ON `ingredients` (`name`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `pizza_ingredient` ("
+                    + "`pizzaId` INTEGER NOT NULL, `ingredientId` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`pizzaId`, `ingredientId`), "
+                    + "FOREIGN KEY(`pizzaId`) REFERENCES `pizzas`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`ingredientId`) REFERENCES `ingredients`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizza_ingredient_ingredientId_pizzaId` "
+                    + "ON `pizza_ingredient` (`ingredientId`, `pizzaId`)");
+
+            // Ті самі запити, що й у PizzaIngredientIndex.indexIngredients(...)
+            try (Cursor cursor = db.query("SELECT `id`, `ingredients` FROM `pizzas`")) {
+                while (cursor.moveToNext()) {
+                    long pizzaId = cursor.getLong(0);
+                    List<String> names = Ingredients.parse(cursor.getString(1));
+                    for (int i = 0; i < names.size(); i++) {
+                        db.execSQL("INSERT OR IGNORE INTO `ingredients` (`name`) VALUES (?)",
+                                new Object[]{names.get(i)});
+                        db.execSQL("INSERT OR IGNORE INTO `pizza_ingredient` (`pizzaId`, `ingredientId`) "
+                                + "SELECT ?, `id` FROM `ingredients` WHERE `name` = ?", new Object[]{pizzaId, names.get(i)});
+                    }
+                }
+            }
+        }
+    };
+
+    /**
+     * 9 -> 10: склад ("ingredient_stock") і рецепти ("recipe_items").
+     * Обидві таблиці починаються порожніми: поки кухня не задала рецепт, піца від складу не залежить.
+     */
+    static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `ingredient_stock` ("
+                    + "`ingredientId` INTEGER NOT NULL, `quantity` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`ingredientId`), "
+                    + "FOREIGN KEY(`ingredientId`) REFERENCES `ingredients`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `recipe_items` ("
+                    + "`pizzaId` INTEGER NOT NULL, `ingredientId` INTEGER NOT NULL, `quantity` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`pizzaId`, `ingredientId`), "
+                    + "FOREIGN KEY(`pizzaId`) REFERENCES `pizzas`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`ingredientId`) REFERENCES `ingredients`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_recipe_items_ingredientId_pizzaId` "
+                    + "ON `recipe_items` (`ingredientId`, `pizzaId`)");
+        }
+    };
+
+    /**
+     * 10 -> 11: збережена черга кухні ("kitchen_tickets"), див. KitchenScheduler.
+     */
+    static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `kitchen_tickets` ("
+                    + "`id` INTEGER NOT NULL, `orderId` INTEGER NOT NULL, `pizzaId` INTEGER NOT NULL, "
+                    + "`pizzaName` TEXT NOT NULL, `size` INTEGER NOT NULL, `promisedAt` INTEGER NOT NULL, "
+                    + "`prepMillis` INTEGER NOT NULL, `queuedAt` INTEGER NOT NULL, `startedAt` INTEGER NOT NULL, "
+                    + "`finishedAt` INTEGER NOT NULL, `ovenSlot` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_kitchen_tickets_finishedAt` "
+                    + "ON `kitchen_tickets` (`finishedAt`)");
+        }
+    };
+
+    /**
+     * 11 -> 12: кошик. Піци отримують час видалення "deletedAt" (0 - у меню), індекси за статусом
+     * тепер починаються з нього, а тригери підсумків і синхронізації враховують м'яке видалення,
+     * тож їх створюємо заново.
+     */
+    static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `pizzas` ADD COLUMN `deletedAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("DROP INDEX IF EXISTS `index_pizzas_status_priceKopecks`");
+            db.execSQL("DROP INDEX IF EXISTS `index_pizzas_status_size`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizzas_deletedAt_status_priceKopecks` "
+                    + "ON `pizzas` (`deletedAt`, `status`, `priceKopecks`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizzas_deletedAt_status_size` "
+                    + "ON `pizzas` (`deletedAt`, `status`, `size`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizzas_deletedAt` ON `pizzas` (`deletedAt`)");
+            db.execSQL("DROP TRIGGER IF EXISTS summary_pizzas_AFTER_INSERT");
+            db.execSQL("DROP TRIGGER IF EXISTS summary_pizzas_AFTER_DELETE");
+            db.execSQL("DROP TRIGGER IF EXISTS summary_pizzas_AFTER_UPDATE");
+            db.execSQL("DROP TRIGGER IF EXISTS sync_pizzas_AFTER_UPDATE");
+            db.execSQL("DROP TRIGGER IF EXISTS sync_pizzas_AFTER_DELETE");
+            // Тригери підсумків версії 12 - такі самі, як і тепер (див. createSummaryTriggers)
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_pizzas_AFTER_INSERT AFTER INSERT ON `pizzas` "
+                    + "WHEN NEW.`deletedAt` = 0 BEGIN "
+                    + "INSERT OR IGNORE INTO `menu_status_summary` (`status`, `pizzaCount`, `totalKopecks`) "
+                    + "VALUES (NEW.`status`, 0, 0); "
+                    + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` + 1, "
+                    + "`totalKopecks` = `totalKopecks` + NEW.`priceKopecks` WHERE `status` = NEW.`status`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_pizzas_AFTER_DELETE AFTER DELETE ON `pizzas` "
+                    + "WHEN OLD.`deletedAt` = 0 BEGIN "
+                    + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` - 1, "
+                    + "`totalKopecks` = `totalKopecks` - OLD.`priceKopecks` WHERE `status` = OLD.`status`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_pizzas_AFTER_UPDATE "
+                    + "AFTER UPDATE OF `status`, `priceKopecks`, `deletedAt` ON `pizzas` BEGIN "
+                    + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` - 1, "
+                    + "`totalKopecks` = `totalKopecks` - OLD.`priceKopecks` "
+                    + "WHERE `status` = OLD.`status` AND OLD.`deletedAt` = 0; "
+                    + "INSERT OR IGNORE INTO `menu_status_summary` (`status`, `pizzaCount`, `totalKopecks`) "
+                    + "VALUES (NEW.`status`, 0, 0); "
+                    + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` + 1, "
+                    + "`totalKopecks` = `totalKopecks` + NEW.`priceKopecks` "
+                    + "WHERE `status` = NEW.`status` AND NEW.`deletedAt` = 0; END");
+            // Тригери журналу версії 12; sync_pizzas_AFTER_UPDATE у версії 14 замінено
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS sync_pizzas_AFTER_UPDATE AFTER UPDATE ON `pizzas` "
+                    + "WHEN NEW.`version` <= OLD.`version` BEGIN "
+                    + "UPDATE `pizzas` SET `uuid` = OLD.`uuid`, `version` = OLD.`version`, `updatedAt` = " + NOW_MILLIS + " "
+                    + "WHERE `id` = NEW.`id`; "
+                    + "INSERT OR REPLACE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                    + "VALUES (OLD.`uuid`, NEW.`deletedAt` > 0, OLD.`version`, " + NOW_MILLIS + "); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS sync_pizzas_AFTER_DELETE AFTER DELETE ON `pizzas` BEGIN "
+                    + "DELETE FROM `pizza_changes` WHERE OLD.`version` = 0 AND `uuid` = OLD.`uuid`; "
+                    + "INSERT OR REPLACE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                    + "SELECT OLD.`uuid`, 1, OLD.`version`, " + NOW_MILLIS + " "
+                    + "WHERE OLD.`version` > 0 AND OLD.`deletedAt` = 0; END");
+        }
+    };
+
+    /**
+     * 12 -> 13: історія цін і статусів "pizza_history" та тригери, що її пишуть.
+     * Що було до оновлення, ми не знаємо, тож історія кожної піци починається з її теперішньої ціни
+     * й статусу з часом останньої зміни піци (updatedAt).
+     */
+    static final Migration MIGRATION_12_13 = new Migration(12, 13) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `pizza_history` ("
+                    + "`id` INTEGER NOT NULL, `pizzaId` INTEGER NOT NULL, `changedAt` INTEGER NOT NULL, "
+                    + "`priceKopecks` INTEGER NOT NULL, `status` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_pizza_history_pizzaId_changedAt` "
+                    + "ON `pizza_history` (`pizzaId`, `changedAt`)");
+            db.execSQL("INSERT INTO `pizza_history` (`pizzaId`, `changedAt`, `priceKopecks`, `status`) "
+                    + "SELECT `id`, `updatedAt`, `priceKopecks`, `status` FROM `pizzas`");
+            // Тригери історії версії 13 - такі самі, як і тепер (див. createHistoryTriggers)
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS history_pizzas_AFTER_INSERT AFTER INSERT ON `pizzas` BEGIN "
+                    + "INSERT INTO `pizza_history` (`pizzaId`, `changedAt`, `priceKopecks`, `status`) "
+                    + "VALUES (NEW.`id`, " + NOW_MILLIS + ", NEW.`priceKopecks`, NEW.`status`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS history_pizzas_AFTER_UPDATE "
+                    + "AFTER UPDATE OF `priceKopecks`, `status` ON `pizzas` "
+                    + "WHEN NEW.`priceKopecks` <> OLD.`priceKopecks` OR NEW.`status` <> OLD.`status` BEGIN "
+                    + "INSERT INTO `pizza_history` (`pizzaId`, `changedAt`, `priceKopecks`, `status`) "
+                    + "VALUES (NEW.`id`, " + NOW_MILLIS + ", NEW.`priceKopecks`, NEW.`status`); END");
+        }
+    };
+
+    /**
+     * 13 -> 14: тригер журналу на оновлення піци більше не переписує рядок удруге, повертаючи uuid і версію
+     * та ставлячи updatedAt (через це рядок писався двічі, а з ним - і пошуковий індекс).
+     * Тепер uuid і версію локальний запис просто не чіпає (PizzaEdit), а updatedAt ставить PizzaDao.
+     */
+    static final Migration MIGRATION_13_14 = new Migration(13, 14) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP TRIGGER IF EXISTS sync_pizzas_AFTER_UPDATE");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS sync_pizzas_AFTER_UPDATE AFTER UPDATE ON `pizzas` "
+                    + "WHEN NEW.`version` <= OLD.`version` BEGIN "
+                    + "INSERT OR REPLACE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                    + "VALUES (NEW.`uuid`, NEW.`deletedAt` > 0, NEW.`version`, " + NOW_MILLIS + "); END");
+        }
+    };
+
+    /**
+     * Усі міграції по порядку - їх передаємо в Room.databaseBuilder(...).addMigrations(...).
+     */
+    static final Migration[] ALL = {
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8,
+            MIGRATION_8_9,
+            MIGRATION_9_10,
+            MIGRATION_10_11,
+            MIGRATION_11_12,
+            MIGRATION_12_13,
+            MIGRATION_13_14,
+    };
+
+    // Поточний час у мілісекундах від 1970 року - так само, як System.currentTimeMillis()
+    private static final String NOW_MILLIS = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+
+    /**
+     * Останній крок перебудови таблиці піц: "pizzas_new" (вже з даними) стає "pizzas".
+     * Переносить лічильник AUTOINCREMENT, щоб номери видалених піц не видавалися повторно,
+     * і відновлює тригери пошукового індексу. Номери піц (id) при копіюванні зберігаються,
+     * тож сам індекс "pizzas_fts" залишається правильним.
+     * Індекси таблиці викликач створює сам - вони залежать від версії.
+     */
+    private static void replacePizzasWithNewTable(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("UPDATE sqlite_sequence SET seq = "
+                + "(SELECT seq FROM sqlite_sequence WHERE name = 'pizzas') "
+                + "WHERE name = 'pizzas_new' AND EXISTS (SELECT 1 FROM sqlite_sequence WHERE name = 'pizzas')");
+        // Разом з таблицею видаляються і її індекси та тригери
+        db.execSQL("DROP TABLE `pizzas`");
+        db.execSQL("ALTER TABLE `pizzas_new` RENAME TO `pizzas`");
+        createPizzaFtsTriggers(db);
+    }
+
+    // Назви тригерів кожного набору - щоб ensureTriggers(...) бачив, якого бракує
+    private static final List<String> SUMMARY_TRIGGERS = Arrays.asList(
+            "summary_pizzas_AFTER_INSERT", "summary_pizzas_AFTER_DELETE", "summary_pizzas_AFTER_UPDATE",
+            "summary_order_items_AFTER_INSERT", "summary_order_items_AFTER_DELETE");
+    private static final List<String> SYNC_TRIGGERS = Arrays.asList(
+            "sync_pizzas_AFTER_INSERT", "sync_pizzas_AFTER_UPDATE", "sync_pizzas_AFTER_DELETE");
+    private static final List<String> HISTORY_TRIGGERS = Arrays.asList(
+            "history_pizzas_AFTER_INSERT", "history_pizzas_AFTER_UPDATE");
+
+    /**
+     * Створює в базі тригери підсумків, журналу синхронізації та історії, яких у ній бракує
+     * (див. createSummaryTriggers, createSyncTriggers, createHistoryTriggers), і дозаповнює те,
+     * що без них не писалося, - так само, як це зробили міграції, що їх колись додали:
+     * <ul>
+     *     <li>без тригерів підсумків - "menu_status_summary" і "pizza_sales_summary" рахуються заново;</li>
+     *     <li>без тригерів журналу - піци, яких сервер ще не бачив (версія 0), записуються в журнал,
+     *     щоб перша синхронізація їх відправила;</li>
+     *     <li>без тригерів історії - піци без жодного рядка історії отримують перший, з теперішньою ціною.</li>
+     * </ul>
+     * Викликається при кожному відкритті бази (AppDatabase.TRIGGERS). Нову базу Room створює сам, а базу з assets
+     * (DatabaseConfig.withPrepackagedAsset) просто копіює - onCreate для неї не викликається, і тригерів там
+     * може не бути. Якщо всі тригери на місці, це лише один запит до sqlite_master.
+     * Тригери, що вже є, не змінюються: оновлювати їх - справа міграцій.
+     */
+    static void ensureTriggers(@NonNull SupportSQLiteDatabase db) {
+        Set<String> existing = new HashSet<>();
+        try (Cursor cursor = db.query("SELECT name FROM sqlite_master WHERE type = 'trigger'")) {
+            while (cursor.moveToNext()) {
+                existing.add(cursor.getString(0));
+            }
+        }
+        boolean hasSummary = existing.containsAll(SUMMARY_TRIGGERS);
+        boolean hasSync = existing.containsAll(SYNC_TRIGGERS);
+        boolean hasHistory = existing.containsAll(HISTORY_TRIGGERS);
+        if (hasSummary && hasSync && hasHistory) {
+            return;
+        }
+        db.beginTransaction();
+        try {
+            if (!hasSummary) {
+                db.execSQL("DELETE FROM `menu_status_summary`");
+                db.execSQL("INSERT INTO `menu_status_summary` (`status`, `pizzaCount`, `totalKopecks`) "
+                        + "SELECT `status`, COUNT(*), SUM(`priceKopecks`) FROM `pizzas` WHERE `deletedAt` = 0 "
+                        + "GROUP BY `status`");
+                db.execSQL("DELETE FROM `pizza_sales_summary`");
+                db.execSQL("INSERT INTO `pizza_sales_summary` (`pizzaId`, `soldCount`, `revenueKopecks`) "
+                        + "SELECT `pizzaId`, SUM(`quantity`), SUM(`unitPriceKopecks` * `quantity`) "
+                        + "FROM `order_items` WHERE `pizzaId` IS NOT NULL GROUP BY `pizzaId`");
+                createSummaryTriggers(db);
+            }
+            if (!hasSync) {
+                db.execSQL("INSERT OR IGNORE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                        + "SELECT `uuid`, 0, 0, `updatedAt` FROM `pizzas` "
+                        + "WHERE `version` = 0 AND `deletedAt` = 0 ORDER BY `id`");
+                createSyncTriggers(db);
+            }
+            if (!hasHistory) {
+                db.execSQL("INSERT INTO `pizza_history` (`pizzaId`, `changedAt`, `priceKopecks`, `status`) "
+                        + "SELECT `id`, `updatedAt`, `priceKopecks`, `status` FROM `pizzas` "
+                        + "WHERE `id` NOT IN (SELECT `pizzaId` FROM `pizza_history`)");
+                createHistoryTriggers(db);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Тригери, які оновлюють таблиці-підсумки при кожній зміні піц і продажів.
+     * Кожен тригер змінює один рядок підсумку, тож запис стає дорожчим лише на кілька мікросекунд,
+     * а статистика читається без перебору таблиць.
+     * Увага: таблиця піц тут має вже бути з "menu_status_summary"; якщо колись знову перебудовуватимемо
+     * "pizzas" (як у replacePizzasWithNewTable), ці тригери теж треба створити заново.
+     * Піци з кошика (deletedAt > 0) у підсумок не входять: м'яке видалення для нього - як видалення,
+     * повернення з кошика - як вставка.
+     * Створює їх ensureTriggers(...) - для нової бази і бази з assets; міграції мають власні копії.
+     */
+    static void createSummaryTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_pizzas_AFTER_INSERT AFTER INSERT ON `pizzas` "
+                + "WHEN NEW.`deletedAt` = 0 BEGIN "
+                + "INSERT OR IGNORE INTO `menu_status_summary` (`status`, `pizzaCount`, `totalKopecks`) "
+                + "VALUES (NEW.`status`, 0, 0); "
+                + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` + 1, "
+                + "`totalKopecks` = `totalKopecks` + NEW.`priceKopecks` WHERE `status` = NEW.`status`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_pizzas_AFTER_DELETE AFTER DELETE ON `pizzas` "
+                + "WHEN OLD.`deletedAt` = 0 BEGIN "
+                + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` - 1, "
+                + "`totalKopecks` = `totalKopecks` - OLD.`priceKopecks` WHERE `status` = OLD.`status`; END");
+        // Спрацьовує лише коли змінились статус, ціна чи кошик, а не, наприклад, опис.
+        // Старий стан віднімаємо, лише якщо піца була в меню; новий додаємо, лише якщо вона в меню лишилась.
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_pizzas_AFTER_UPDATE "
+                + "AFTER UPDATE OF `status`, `priceKopecks`, `deletedAt` ON `pizzas` BEGIN "
+                + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` - 1, "
+                + "`totalKopecks` = `totalKopecks` - OLD.`priceKopecks` "
+                + "WHERE `status` = OLD.`status` AND OLD.`deletedAt` = 0; "
+                + "INSERT OR IGNORE INTO `menu_status_summary` (`status`, `pizzaCount`, `totalKopecks`) "
+                + "VALUES (NEW.`status`, 0, 0); "
+                + "UPDATE `menu_status_summary` SET `pizzaCount` = `pizzaCount` + 1, "
+                + "`totalKopecks` = `totalKopecks` + NEW.`priceKopecks` "
+                + "WHERE `status` = NEW.`status` AND NEW.`deletedAt` = 0; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_order_items_AFTER_INSERT AFTER INSERT ON `order_items` "
+                + "WHEN NEW.`pizzaId` IS NOT NULL BEGIN "
+                + "INSERT OR IGNORE INTO `pizza_sales_summary` (`pizzaId`, `soldCount`, `revenueKopecks`) "
+                + "VALUES (NEW.`pizzaId`, 0, 0); "
+                + "UPDATE `pizza_sales_summary` SET `soldCount` = `soldCount` + NEW.`quantity`, "
+                + "`revenueKopecks` = `revenueKopecks` + NEW.`unitPriceKopecks` * NEW.`quantity` "
+                + "WHERE `pizzaId` = NEW.`pizzaId`; END");
+        // Видалення замовлення (разом з рядками через CASCADE) повертає підсумок назад
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS summary_order_items_AFTER_DELETE AFTER DELETE ON `order_items` "
+                + "WHEN OLD.`pizzaId` IS NOT NULL BEGIN "
+                + "UPDATE `pizza_sales_summary` SET `soldCount` = `soldCount` - OLD.`quantity`, "
+                + "`revenueKopecks` = `revenueKopecks` - OLD.`unitPriceKopecks` * OLD.`quantity` "
+                + "WHERE `pizzaId` = OLD.`pizzaId`; END");
+    }
+
+    /**
+     * Тригери журналу змін для синхронізації (див. SyncEngine). Записують у "pizza_changes" кожну
+     * локальну вставку, зміну і видалення піци - хоч з екрана, хоч з імпорту чи масової зміни статусу.
+     * <ul>
+     *     <li>Записи, що прийшли з сервера, мають версію, більшу за локальну, - їх тригери пропускають.</li>
+     *     <li>Локальне оновлення uuid і версію не пише взагалі (PizzaDao.updatePizza(...) пише PizzaEdit),
+     *     а updatedAt ставить сам PizzaDao. Тригер лише додає запис у журнал і рядок піци вдруге не переписує.</li>
+     *     <li>Видалення піци, якої сервер ще не бачив (версія 0), просто прибирає її зі журналу.</li>
+     *     <li>Кошик: покласти піцу в кошик - це для сервера видалення, повернути - знову звичайна зміна.
+     *     Коли PizzaPurgeJob прибирає піцу з кошика остаточно, нового запису не буде: видалення вже в журналі
+     *     (або давно на сервері).</li>
+     * </ul>
+     * Створює їх ensureTriggers(...) - для нової бази і бази з assets; міграції мають власні копії.
+     * Якщо колись знову перебудовуватимемо "pizzas", ці тригери теж треба створити заново.
+     */
+    static void createSyncTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS sync_pizzas_AFTER_INSERT AFTER INSERT ON `pizzas` "
+                + "WHEN NEW.`version` = 0 BEGIN "
+                + "INSERT OR REPLACE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                + "VALUES (NEW.`uuid`, 0, 0, NEW.`updatedAt`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS sync_pizzas_AFTER_UPDATE AFTER UPDATE ON `pizzas` "
+                + "WHEN NEW.`version` <= OLD.`version` BEGIN "
+                + "INSERT OR REPLACE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                + "VALUES (NEW.`uuid`, NEW.`deletedAt` > 0, NEW.`version`, " + NOW_MILLIS + "); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS sync_pizzas_AFTER_DELETE AFTER DELETE ON `pizzas` BEGIN "
+                + "DELETE FROM `pizza_changes` WHERE OLD.`version` = 0 AND `uuid` = OLD.`uuid`; "
+                + "INSERT OR REPLACE INTO `pizza_changes` (`uuid`, `deleted`, `baseVersion`, `changedAt`) "
+                + "SELECT OLD.`uuid`, 1, OLD.`version`, " + NOW_MILLIS + " "
+                + "WHERE OLD.`version` > 0 AND OLD.`deletedAt` = 0; END");
+    }
+
+    /**
+     * Тригери історії цін і статусів (див. PizzaHistoryEntity). Нова піца отримує перший рядок історії,
+     * а далі новий рядок додається лише тоді, коли справді змінилися ціна чи статус: оновлення опису,
+     * кошик чи службові записи синхронізації історію не чіпають.
+     * Тригер виконується в тому самому запиті, що й зміна піци, тож історія не може розійтися з меню
+     * і пишеться при будь-якому записі - з екрана, імпорту, складу чи сервера. Ціна для запису -
+     * одна вставка в кінець індексу (pizzaId, changedAt).
+     * Створює їх ensureTriggers(...) - для нової бази і бази з assets; для старої їх створила міграція 12 -> 13
+     * (своєю копією).
+     */
+    static void createHistoryTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS history_pizzas_AFTER_INSERT AFTER INSERT ON `pizzas` BEGIN "
+                + "INSERT INTO `pizza_history` (`pizzaId`, `changedAt`, `priceKopecks`, `status`) "
+                + "VALUES (NEW.`id`, " + NOW_MILLIS + ", NEW.`priceKopecks`, NEW.`status`); END");
+        // "OF" спрацьовує і тоді, коли колонку переписали тим самим значенням (@Update пише всі колонки),
+        // тож саму зміну перевіряє WHEN
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS history_pizzas_AFTER_UPDATE "
+                + "AFTER UPDATE OF `priceKopecks`, `status` ON `pizzas` "
+                + "WHEN NEW.`priceKopecks` <> OLD.`priceKopecks` OR NEW.`status` <> OLD.`status` BEGIN "
+                + "INSERT INTO `pizza_history` (`pizzaId`, `changedAt`, `priceKopecks`, `status`) "
+                + "VALUES (NEW.`id`, " + NOW_MILLIS + ", NEW.`priceKopecks`, NEW.`status`); END");
+    }
+
+    /**
+     * Тригери, які тримають "pizzas_fts" в актуальному стані при змінах у "pizzas".
+     * Назви і текст такі самі, як у тригерів, що Room створює для @Fts4(contentEntity).
+     */
+    static void createPizzaFtsTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_pizzas_fts_BEFORE_UPDATE "
+                + "BEFORE UPDATE ON `pizzas` BEGIN DELETE FROM `pizzas_fts` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_pizzas_fts_BEFORE_DELETE "
+                + "BEFORE DELETE ON `pizzas` BEGIN DELETE FROM `pizzas_fts` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_pizzas_fts_AFTER_UPDATE "
+                + "AFTER UPDATE ON `pizzas` BEGIN INSERT INTO `pizzas_fts`(`docid`, `name`, `ingredients`, `description`) "
+                + "VALUES (NEW.`rowid`, NEW.`name`, NEW.`ingredients`, NEW.`description`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_pizzas_fts_AFTER_INSERT "
+                + "AFTER INSERT ON `pizzas` BEGIN INSERT INTO `pizzas_fts`(`docid`, `name`, `ingredients`, `description`) "
+                + "VALUES (NEW.`rowid`, NEW.`name`, NEW.`ingredients`, NEW.`description`); END");
+    }
+}
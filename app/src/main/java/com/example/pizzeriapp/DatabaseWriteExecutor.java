@@ -0,0 +1,261 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;                      // Відкладені оновлення в порядку додавання
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;      // Черга з обмеженим розміром
+import java.util.concurrent.ScheduledExecutorService; // Таймер для відкладеного запуску
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;           // Як створювати потоки (назва, daemon)
+import java.util.concurrent.ThreadPoolExecutor;      // Сам виконавець задач
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;       // Потокобезпечні лічильники для метрик
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Один спільний на весь додаток потік для запису в базу даних.
+ * <p>
+ * Раніше кожна PizzaViewModel створювала свій потік і зупиняла його в onCleared(),
+ * тож записи, поставлені в чергу прямо перед поворотом екрана, могли загубитися.
+ * Тепер потік живе стільки ж, скільки і база (див. AppDatabase.getWriteExecutor()).
+ * <ul>
+ *     <li>Черга обмежена, але той, хто додає задачу, ніколи не чекає: записи ставлять з головного потоку,
+ *     і чекання там означало б завислий екран (ANR). Відкладені оновлення (див. нижче) займають місце
+ *     в тій самій межі, що й записи в черзі. Якщо місця немає, execute(...) і executeCoalesced(...)
+ *     повертають false, а викликач повідомляє про це користувача (див. PizzaViewModel.getWriteError()).</li>
+ *     <li>Кілька оновлень однієї піци за короткий час (COALESCE_WINDOW_MS) зливаються в одне:
+ *     у базу йде лише останнє. Звичайні записи ніколи не "обганяють" відкладені оновлення,
+ *     додані раніше за них: і відкладені оновлення, і звичайні записи потрапляють у чергу
+ *     під одним замком (lock).</li>
+ *     <li>Є прості метрики: глибина черги, кількість записів, середня і найбільша затримка.</li>
+ * </ul>
+ */
+public final class DatabaseWriteExecutor {
+
+    // Скільки задач разом з відкладеними оновленнями може чекати, перш ніж нові почнуть відхилятися
+    static final int QUEUE_CAPACITY = 256;
+
+    // Скільки чекаємо на наступні оновлення тієї самої піци, перш ніж записати останнє
+    static final long COALESCE_WINDOW_MS = 150;
+
+    // Сам потік запису. Один, бо SQLite однаково пише лише з одного з'єднання за раз.
+    private final ThreadPoolExecutor writer;
+
+    // Таймер для відкладених (злитих) оновлень
+    private final ScheduledExecutorService timer;
+
+    // Останнє оновлення для кожної піци, яке ще чекає свого часу, - у порядку, в якому піци вперше змінили.
+    // Лише під lock.
+    private final Map<Integer, Runnable> pendingById = new LinkedHashMap<>();
+
+    // Під цим замком відкладені оновлення переходять з pendingById у чергу і туди ж ставляться звичайні записи.
+    // Так порядок у черзі завжди збігається з порядком викликів. Усередині нічого не чекає, тож замок короткий.
+    private final Object lock = new Object();
+
+    // Черга потоку запису; у неї додаємо лише під lock, тож перевірка вільного місця не застаріває.
+    // Записів у черзі разом з pendingById ніколи не більше за її розмір: кожне відкладене оновлення
+    // заздалегідь "бронює" собі місце, тож у чергу воно потрапляє завжди.
+    private final ArrayBlockingQueue<Runnable> queue;
+
+    private final long coalesceWindowMs;
+
+    // Метрики
+    private final AtomicLong completedWrites = new AtomicLong();
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    private final AtomicLong rejectedWrites = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    // Ті самі затримки, але з p50/p99 (див. Metrics.dump()): від черги до кінця і лише сам запис
+    private static final LatencyHistogram WRITE_LATENCY = Metrics.histogram("db.write.latency");
+    private static final LatencyHistogram WRITE_RUN = Metrics.histogram("db.write.run");
+    private static final LongAdder REJECTED = Metrics.counter("db.write.rejected");
+
+    DatabaseWriteExecutor() {
+        this(QUEUE_CAPACITY, COALESCE_WINDOW_MS);
+    }
+
+    DatabaseWriteExecutor(int queueCapacity, long coalesceWindowMs) {
+        this.coalesceWindowMs = coalesceWindowMs;
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Місце в черзі перевіряємо самі (див. hasRoomFor), тож стандартна відмова (AbortPolicy)
+        // може спрацювати хіба що після зупинки потоку
+        writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, queue,
+                namedDaemon("pizzeria-db-writer"));
+        timer = new ScheduledThreadPoolExecutor(1, namedDaemon("pizzeria-db-coalesce"));
+    }
+
+    /**
+     * Ставить запис у чергу. Записи виконуються по черзі, в тому порядку, в якому додані.
+     * Відкладені оновлення піц, додані раніше, спершу ставляться в чергу перед цим записом,
+     * щоб, наприклад, старе оновлення не прийшло вже після видалення піци.
+     * Ніколи не чекає: можна викликати з головного потоку.
+     * @param write Що записати в базу.
+     * @return false, якщо черга разом з відкладеними оновленнями переповнена і запис не прийнято.
+     */
+    public boolean execute(@NonNull Runnable write) {
+        synchronized (lock) {
+            if (!hasRoomFor(pendingById.size() + 1)) {
+                return reject();
+            }
+            flushCoalescedLocked();
+            enqueue(write);
+            return true;
+        }
+    }
+
+    // Лише під lock
+    private boolean hasRoomFor(int tasks) {
+        return queue.remainingCapacity() >= tasks;
+    }
+
+    // Лише під lock. Рахує відмову і повертає false - те, що далі повертає викликачу execute(...)
+    private boolean reject() {
+        rejectedWrites.incrementAndGet();
+        REJECTED.increment();
+        return false;
+    }
+
+    // Лише під lock
+    private void enqueue(@NonNull Runnable write) {
+        long enqueuedAt = System.nanoTime();
+        writer.execute(() -> {
+            long startedAt = System.nanoTime();
+            try {
+                write.run();
+            } finally {
+                long finishedAt = System.nanoTime();
+                WRITE_RUN.record(finishedAt - startedAt);
+                recordLatency(finishedAt - enqueuedAt);
+            }
+        });
+    }
+
+    /**
+     * Оновлення однієї піци, яке можна злити з наступними.
+     * Якщо протягом COALESCE_WINDOW_MS прийде ще одне оновлення тієї самої піци,
+     * виконається лише останнє - замість N записів у базу буде один.
+     * Ніколи не чекає: можна викликати з головного потоку.
+     * @param pizzaId Номер піци; оновлення з різними номерами не зливаються.
+     * @param write Що записати в базу.
+     * @return false, якщо черга разом з відкладеними оновленнями переповнена і оновлення не прийнято.
+     * Заміна оновлення піци, що вже чекає, приймається завжди - нового місця вона не займає.
+     */
+    public boolean executeCoalesced(int pizzaId, @NonNull Runnable write) {
+        synchronized (lock) {
+            if (pendingById.containsKey(pizzaId)) {
+                pendingById.put(pizzaId, write);
+                coalescedWrites.incrementAndGet(); // Попереднє оновлення замінили - воно вже не потрібне
+                return true;
+            }
+            if (!hasRoomFor(pendingById.size() + 1)) {
+                return reject();
+            }
+            pendingById.put(pizzaId, write);
+        }
+        scheduleFlush(pizzaId);
+        return true;
+    }
+
+    private void scheduleFlush(int pizzaId) {
+        timer.schedule(() -> {
+            synchronized (lock) {
+                if (!pendingById.containsKey(pizzaId)) {
+                    return; // Уже пішло в чергу разом зі звичайним записом
+                }
+                // Місце в черзі заброньоване ще в executeCoalesced(...)
+                enqueue(pendingById.remove(pizzaId));
+            }
+        }, coalesceWindowMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Негайно ставить у чергу відкладені оновлення, не чекаючи кінця їхнього "вікна".
+     */
+    public void flushCoalesced() {
+        synchronized (lock) {
+            flushCoalescedLocked();
+        }
+    }
+
+    // Лише під lock. Від найстарішого оновлення до найновішого
+    private void flushCoalescedLocked() {
+        Iterator<Runnable> pending = pendingById.values().iterator();
+        while (pending.hasNext()) {
+            enqueue(pending.next());
+            pending.remove();
+        }
+    }
+
+    /**
+     * Скільки записів зараз чекає в черзі (без відкладених оновлень).
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Скільки оновлень піц чекає на кінець свого "вікна" злиття.
+     */
+    public int getPendingCoalescedCount() {
+        synchronized (lock) {
+            return pendingById.size();
+        }
+    }
+
+    /**
+     * Скільки записів і відкладених оновлень не прийнято, бо черга була переповнена.
+     */
+    public long getRejectedWrites() {
+        return rejectedWrites.get();
+    }
+
+    /**
+     * Скільки записів уже виконано.
+     */
+    public long getCompletedWrites() {
+        return completedWrites.get();
+    }
+
+    /**
+     * Скільки оновлень не пішли в базу, бо їх замінило новіше оновлення тієї самої піци.
+     */
+    public long getCoalescedWrites() {
+        return coalescedWrites.get();
+    }
+
+    /**
+     * Середній час від постановки запису в чергу до його завершення, у наносекундах.
+     */
+    public long getAverageWriteLatencyNanos() {
+        long count = completedWrites.get();
+        return count == 0 ? 0 : totalLatencyNanos.get() / count;
+    }
+
+    /**
+     * Найдовший час від постановки запису в чергу до його завершення, у наносекундах.
+     */
+    public long getMaxWriteLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        totalLatencyNanos.addAndGet(latencyNanos);
+        completedWrites.incrementAndGet();
+        WRITE_LATENCY.record(latencyNanos);
+        long max;
+        do {
+            max = maxLatencyNanos.get();
+        } while (latencyNanos > max && !maxLatencyNanos.compareAndSet(max, latencyNanos));
+    }
+
+    private static ThreadFactory namedDaemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true); // Не заважає процесу завершитися
+            return thread;
+        };
+    }
+}
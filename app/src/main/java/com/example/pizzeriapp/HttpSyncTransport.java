@@ -0,0 +1,100 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;    // Позначка, що значення не може бути null
+import androidx.annotation.WorkerThread; // Мережа - лише у фоновому потоці
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * SyncTransport поверх HTTP. Тіла запитів - JSON у gzip (див. SyncCodec); відповіді - теж,
+ * якщо сервер так каже в Content-Encoding, інакше читаємо їх як є:
+ * <ul>
+ *     <li>POST {baseUrl}/pizzas/push - відправити пакет змін;</li>
+ *     <li>GET {baseUrl}/pizzas/changes?since=N&amp;limit=M - забрати зміни після версії N.</li>
+ * </ul>
+ */
+public final class HttpSyncTransport implements SyncTransport {
+
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    private static final int READ_TIMEOUT_MS = 30_000;
+
+    @NonNull
+    private final String baseUrl;
+
+    /**
+     * @param baseUrl Адреса сервера без "/" в кінці, наприклад "https://sync.example.com/api".
+     */
+    public HttpSyncTransport(@NonNull String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @WorkerThread
+    @NonNull
+    @Override
+    public PushResult push(@NonNull List<SyncRecord> changes) throws IOException {
+        // Пакет невеликий (SyncEngine.BATCH_SIZE записів), тож стискаємо в пам'ять і знаємо довжину наперед
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        SyncCodec.writePushRequest(body, changes);
+
+        HttpURLConnection connection = open(baseUrl + "/pizzas/push");
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            connection.setRequestProperty("Content-Encoding", "gzip");
+            connection.setFixedLengthStreamingMode(body.size());
+            try (OutputStream out = connection.getOutputStream()) {
+                body.writeTo(out);
+            }
+            try (InputStream in = responseBody(connection)) {
+                return SyncCodec.readPushResult(in, isGzip(connection));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @WorkerThread
+    @NonNull
+    @Override
+    public PullResult pull(long sinceVersion, int limit) throws IOException {
+        HttpURLConnection connection = open(baseUrl + "/pizzas/changes?since=" + sinceVersion + "&limit=" + limit);
+        try {
+            try (InputStream in = responseBody(connection)) {
+                return SyncCodec.readPullResult(in, isGzip(connection));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static HttpURLConnection open(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        // Заголовок ставимо самі - тоді HttpURLConnection не розпаковує відповідь, це робить SyncCodec.
+        // Це лише побажання: сервер (чи проксі) може відповісти й без стиснення - див. isGzip(...)
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        return connection;
+    }
+
+    private static InputStream responseBody(HttpURLConnection connection) throws IOException {
+        int code = connection.getResponseCode();
+        if (code != HttpURLConnection.HTTP_OK) {
+            throw new IOException("Сервер синхронізації відповів " + code + " " + connection.getResponseMessage());
+        }
+        return connection.getInputStream();
+    }
+
+    // Чи стиснуто тіло відповіді. Викликати після responseBody(...), коли заголовки вже прочитано
+    private static boolean isGzip(HttpURLConnection connection) {
+        String encoding = connection.getContentEncoding();
+        return encoding != null && encoding.trim().equalsIgnoreCase("gzip");
+    }
+}
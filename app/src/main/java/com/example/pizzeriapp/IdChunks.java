@@ -0,0 +1,31 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Виконує запит "... WHERE id IN (...)" для списку номерів будь-якої довжини: ділить його
+ * на частини по PizzaDao.MAX_IDS_PER_QUERY і підсумовує, скільки рядків змінила кожна.
+ * Транзакцію не відкриває - викликайте з методу з @Transaction, щоб усі частини записалися разом.
+ */
+final class IdChunks {
+
+    private IdChunks() {
+    }
+
+    /**
+     * @param ids Номери піц; порожній список - жодного запиту.
+     * @param query Запит для однієї частини; повертає кількість змінених рядків.
+     * @return Сума по всіх частинах.
+     */
+    static int sum(@NonNull List<Integer> ids, @NonNull ToIntFunction<List<Integer>> query) {
+        int total = 0;
+        for (int from = 0; from < ids.size(); from += PizzaDao.MAX_IDS_PER_QUERY) {
+            int to = Math.min(from + PizzaDao.MAX_IDS_PER_QUERY, ids.size());
+            total += query.applyAsInt(ids.subList(from, to));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;  // Мапа з ключами-статусами: просто масив усередині
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;  // Відсортований індекс "ціна -> піца"
+import java.util.concurrent.locks.ReentrantReadWriteLock; // Багато читачів одночасно або один записувач
+
+/**
+ * PizzaRepository повністю в пам'яті - без SQLite і без Android.
+ * Для JVM-тестів (замість бази), замірів і як "гарячий" кеш меню.
+ * <ul>
+ *     <li>Головна таблиця - IntObjectMap за номером піци: пошук без Integer-обгорток.</li>
+ *     <li>Для кожного статусу є відсортований індекс (ціна, номер) -> піца, як індекс
+ *     (status, priceKopecks) у базі: вибірка за статусом і діапазоном цін не перебирає все меню.</li>
+ *     <li>Читати можуть кілька потоків одночасно, записи йдуть по одному (ReentrantReadWriteLock).
+ *     Кожен метод - як окрема транзакція: інші потоки не бачать його "наполовину".</li>
+ * </ul>
+ * Усередині лежать власні копії піц, тож зміни переданих або повернутих об'єктів сховище не зачіпають.
+ */
+public final class InMemoryPizzaRepository implements PizzaRepository {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Усі піци за номером. Захищене lock.
+    private final IntObjectMap<PizzaEntity> byId = new IntObjectMap<>();
+
+    // Для кожного статусу: (ціна, номер) -> піца, від найдешевшої. Захищене lock.
+    private final EnumMap<PizzaStatus, TreeMap<PriceKey, PizzaEntity>> byStatusAndPrice =
+            new EnumMap<>(PizzaStatus.class);
+
+    // Наступний вільний номер. Як AUTOINCREMENT у базі - номери ніколи не повторюються.
+    private int nextId = 1;
+
+    public InMemoryPizzaRepository() {
+        for (PizzaStatus status : PizzaStatus.values()) {
+            byStatusAndPrice.put(status, new TreeMap<>());
+        }
+    }
+
+    @Override
+    public PizzaEntity getPizzaById(int pizzaId) {
+        if (pizzaId == 0) {
+            return null; // 0 - це "ще без номера", такої піци не буває
+        }
+        lock.readLock().lock();
+        try {
+            PizzaEntity pizza = byId.get(pizzaId);
+            return pizza == null ? null : PizzaEntity.copyOf(pizza);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<PizzaListItem> getAllPizzas() {
+        lock.readLock().lock();
+        try {
+            int[] ids = byId.keys();
+            Arrays.sort(ids);
+            List<PizzaListItem> result = new ArrayList<>(ids.length);
+            for (int i = ids.length - 1; i >= 0; i--) { // Новіші першими
+                result.add(toListItem(byId.get(ids[i])));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @NonNull
+    @Override
+    public List<PizzaListItem> getPizzasByStatus(@NonNull PizzaStatus status, long minKopecks, long maxKopecks) {
+        if (minKopecks > maxKopecks) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            NavigableMap<PriceKey, PizzaEntity> range = byStatusAndPrice.get(status).subMap(
+                    new PriceKey(minKopecks, Integer.MIN_VALUE), true,
+                    new PriceKey(maxKopecks, Integer.MAX_VALUE), true);
+            List<PizzaListItem> result = new ArrayList<>(range.size());
+            for (PizzaEntity pizza : range.values()) {
+                result.add(toListItem(pizza));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int count() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int insert(@NonNull PizzaEntity pizza) {
+        lock.writeLock().lock();
+        try {
+            checkCanInsert(pizza.getId());
+            return add(pizza);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void insertAll(@NonNull List<PizzaEntity> pizzas) {
+        lock.writeLock().lock();
+        try {
+            // Спершу перевіряємо все, щоб при помилці не додати половину (як відкат транзакції)
+            IntObjectMap<PizzaEntity> seen = new IntObjectMap<>(pizzas.size());
+            for (PizzaEntity pizza : pizzas) {
+                checkCanInsert(pizza.getId());
+                if (pizza.getId() != 0 && seen.put(pizza.getId(), pizza) != null) {
+                    throw new IllegalStateException("Піца з номером " + pizza.getId() + " у списку двічі");
+                }
+            }
+            for (PizzaEntity pizza : pizzas) {
+                add(pizza);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(@NonNull PizzaEntity pizza) {
+        lock.writeLock().lock();
+        try {
+            replace(pizza);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateAll(@NonNull List<PizzaEntity> pizzas) {
+        lock.writeLock().lock();
+        try {
+            for (PizzaEntity pizza : pizzas) {
+                replace(pizza);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsertAll(@NonNull List<PizzaEntity> pizzas) {
+        lock.writeLock().lock();
+        try {
+            for (PizzaEntity pizza : pizzas) {
+                if (!replace(pizza)) {
+                    add(pizza);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(int pizzaId) {
+        lock.writeLock().lock();
+        try {
+            return remove(pizzaId) != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll(@NonNull List<PizzaEntity> pizzas) {
+        lock.writeLock().lock();
+        try {
+            for (PizzaEntity pizza : pizzas) {
+                remove(pizza.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int setStatus(@NonNull List<Integer> pizzaIds, @NonNull PizzaStatus status) {
+        lock.writeLock().lock();
+        try {
+            // Кожну піцу рахуємо один раз, навіть якщо її номер у списку повторюється (як UPDATE ... IN)
+            IntObjectMap<PizzaStatus> done = new IntObjectMap<>(pizzaIds.size());
+            for (int i = 0; i < pizzaIds.size(); i++) {
+                int id = pizzaIds.get(i);
+                if (id == 0 || done.containsKey(id)) {
+                    continue;
+                }
+                PizzaEntity pizza = remove(id);
+                if (pizza != null) {
+                    pizza.setStatus(status); // Це вже наша внутрішня копія
+                    store(pizza);
+                    done.put(id, status);
+                }
+            }
+            return done.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Прибирає все (наприклад, між замірами).
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            byId.clear();
+            for (TreeMap<PriceKey, PizzaEntity> index : byStatusAndPrice.values()) {
+                index.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Далі - лише під writeLock
+
+    private void checkCanInsert(int pizzaId) {
+        if (pizzaId != 0 && byId.containsKey(pizzaId)) {
+            throw new IllegalStateException("Піца з номером " + pizzaId + " вже є");
+        }
+    }
+
+    private int add(PizzaEntity pizza) {
+        PizzaEntity copy = PizzaEntity.copyOf(pizza);
+        if (copy.getId() == 0) {
+            copy.setId(nextId);
+        }
+        nextId = Math.max(nextId, copy.getId() + 1);
+        store(copy);
+        return copy.getId();
+    }
+
+    // Замінює піцу з тим самим номером; false - такої немає
+    private boolean replace(PizzaEntity pizza) {
+        if (pizza.getId() == 0 || remove(pizza.getId()) == null) {
+            return false;
+        }
+        store(PizzaEntity.copyOf(pizza));
+        return true;
+    }
+
+    private void store(PizzaEntity pizza) {
+        byId.put(pizza.getId(), pizza);
+        byStatusAndPrice.get(pizza.getStatus()).put(new PriceKey(pizza.getPriceKopecks(), pizza.getId()), pizza);
+    }
+
+    private PizzaEntity remove(int pizzaId) {
+        if (pizzaId == 0) {
+            return null;
+        }
+        PizzaEntity pizza = byId.remove(pizzaId);
+        if (pizza != null) {
+            byStatusAndPrice.get(pizza.getStatus()).remove(new PriceKey(pizza.getPriceKopecks(), pizzaId));
+        }
+        return pizza;
+    }
+
+    private static PizzaListItem toListItem(PizzaEntity pizza) {
+        return new PizzaListItem(pizza.getId(), pizza.getName(), pizza.getIngredients(), pizza.getPriceKopecks());
+    }
+
+    /**
+     * Ключ індексу за ціною: спершу ціна, при однаковій ціні - номер піци.
+     */
+    private static final class PriceKey implements Comparable<PriceKey> {
+        final long priceKopecks;
+        final int pizzaId;
+
+        PriceKey(long priceKopecks, int pizzaId) {
+            this.priceKopecks = priceKopecks;
+            this.pizzaId = pizzaId;
+        }
+
+        @Override
+        public int compareTo(PriceKey other) {
+            int byPrice = Long.compare(priceKopecks, other.priceKopecks);
+            return byPrice != 0 ? byPrice : Integer.compare(pizzaId, other.pizzaId);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+/**
+ * Назва інгредієнта і кількість: залишок на складі або скільки йде на одну піцу.
+ * Room заповнює поля за назвами колонок у запиті (name, quantity).
+ */
+public class IngredientAmount {
+
+    @NonNull
+    public String name = "";
+
+    public long quantity;
+}
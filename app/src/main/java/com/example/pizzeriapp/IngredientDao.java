@@ -0,0 +1,109 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.lifecycle.LiveData; // Дані, що самі оновлюються на екрані
+import androidx.room.Dao;          // Об'єкт для доступу до даних
+import androidx.room.Query;        // Анотація для написання власних SQL-запитів
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Запити "які піци містять X" через обернений індекс "pizza_ingredient", а не LIKE по складу.
+ * Кожен фільтр спершу знаходить інгредієнти за унікальним індексом назви, далі - піци
+ * за індексом (ingredientId, pizzaId), і лише потім читає самі піци за номером.
+ * Назви у фільтрах можна передавати як завгодно ("Моцарела "): методи без "Normalized"
+ * у назві самі приводять їх до вигляду з таблиці (Ingredients.normalize).
+ * Блокуючі методи - лише для фонових потоків.
+ */
+@Dao
+public interface IngredientDao {
+
+    /**
+     * Усі інгредієнти за абеткою - наприклад, для списку фільтрів.
+     */
+    @Query("SELECT * FROM ingredients ORDER BY name")
+    LiveData<List<IngredientEntity>> getIngredients();
+
+    @Query("SELECT * FROM ingredients WHERE name = :normalizedName")
+    IngredientEntity getIngredientByNormalizedName(String normalizedName);
+
+    /**
+     * Інгредієнти однієї піци за абеткою.
+     */
+    @Query("SELECT i.* FROM pizza_ingredient AS pi JOIN ingredients AS i ON i.id = pi.ingredientId "
+            + "WHERE pi.pizzaId = :pizzaId ORDER BY i.name")
+    List<IngredientEntity> getIngredientsOfPizza(int pizzaId);
+
+    /**
+     * Піци, в яких є хоча б один з інгредієнтів (для одного інгредієнта - "піци з моцарелою").
+     */
+    @Query("SELECT " + PizzaDao.LIST_COLUMNS + " FROM pizzas WHERE id IN ("
+            + "SELECT pi.pizzaId FROM ingredients AS i JOIN pizza_ingredient AS pi ON pi.ingredientId = i.id "
+            + "WHERE i.name IN (:normalizedNames)) AND " + PizzaDao.NOT_DELETED + " ORDER BY id DESC")
+    List<PizzaListItem> getPizzasWithAnyNormalized(List<String> normalizedNames);
+
+    /**
+     * Піци, в яких є всі інгредієнти зі списку (перетин).
+     * @param normalizedNames Назви без повторів.
+     * @param nameCount Скільки назв у списку.
+     */
+    @Query("SELECT " + PizzaDao.LIST_COLUMNS + " FROM pizzas WHERE id IN ("
+            + "SELECT pi.pizzaId FROM ingredients AS i JOIN pizza_ingredient AS pi ON pi.ingredientId = i.id "
+            + "WHERE i.name IN (:normalizedNames) GROUP BY pi.pizzaId HAVING COUNT(*) = :nameCount) "
+            + "AND " + PizzaDao.NOT_DELETED + " ORDER BY id DESC")
+    List<PizzaListItem> getPizzasWithAllNormalized(List<String> normalizedNames, int nameCount);
+
+    /**
+     * Піци без жодного з інгредієнтів - наприклад, щоб сховати все, для чого чогось не вистачає.
+     * Номери піц з цими інгредієнтами знаходяться один раз через індекс, а не для кожної піци окремо.
+     */
+    @Query("SELECT " + PizzaDao.LIST_COLUMNS + " FROM pizzas WHERE id NOT IN ("
+            + "SELECT pi.pizzaId FROM ingredients AS i JOIN pizza_ingredient AS pi ON pi.ingredientId = i.id "
+            + "WHERE i.name IN (:normalizedNames)) AND " + PizzaDao.NOT_DELETED + " ORDER BY id DESC")
+    List<PizzaListItem> getPizzasWithoutNormalized(List<String> normalizedNames);
+
+    /**
+     * Піци з інгредієнтом name.
+     */
+    default List<PizzaListItem> getPizzasWithIngredient(@NonNull String name) {
+        return getPizzasWithAny(Collections.singletonList(name));
+    }
+
+    /**
+     * Піци, в яких є хоча б один з інгредієнтів.
+     */
+    default List<PizzaListItem> getPizzasWithAny(@NonNull Collection<String> names) {
+        List<String> normalized = Ingredients.normalizeAll(names);
+        return normalized.isEmpty() ? Collections.emptyList() : getPizzasWithAnyNormalized(normalized);
+    }
+
+    /**
+     * Піци, в яких є всі інгредієнти. Порожній фільтр нічого не обмежує - повертає всі піци.
+     */
+    default List<PizzaListItem> getPizzasWithAll(@NonNull Collection<String> names) {
+        List<String> normalized = Ingredients.normalizeAll(names);
+        if (normalized.isEmpty()) {
+            return getPizzasWithoutNormalized(normalized);
+        }
+        return getPizzasWithAllNormalized(normalized, normalized.size());
+    }
+
+    /**
+     * Піци без жодного з інгредієнтів.
+     */
+    default List<PizzaListItem> getPizzasWithout(@NonNull Collection<String> names) {
+        return getPizzasWithoutNormalized(Ingredients.normalizeAll(names));
+    }
+
+    /**
+     * Прибирає інгредієнти, яких немає в жодній піці (наприклад, після зміни складу).
+     * Інгредієнти зі складу і з рецептів залишаються, навіть якщо жодна піца їх не згадує.
+     * @return Скільки прибрано.
+     */
+    @Query("DELETE FROM ingredients WHERE id NOT IN (SELECT ingredientId FROM pizza_ingredient) "
+            + "AND id NOT IN (SELECT ingredientId FROM recipe_items) "
+            + "AND id NOT IN (SELECT ingredientId FROM ingredient_stock)")
+    int deleteUnusedIngredients();
+}
@@ -0,0 +1,51 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.Ignore;     // Цей конструктор - лише для нашого коду, Room його не використовує
+import androidx.room.Index;      // Індекс для швидкого пошуку
+import androidx.room.PrimaryKey; // Унікальний номер запису
+
+/**
+ * Один інгредієнт, наприклад "моцарела". Кожна назва - рівно один раз.
+ * Які піци з нього готуються, записано в "pizza_ingredient" (див. PizzaIngredientCrossRef).
+ * Таблицю заповнює сам PizzaDao при кожному записі піци, розбираючи її склад (див. Ingredients.parse).
+ */
+// Унікальний індекс за назвою: інгредієнт знаходиться одразу, без перебору таблиці
+@Entity(tableName = "ingredients",
+        indices = {@Index(value = {"name"}, unique = true)})
+public class IngredientEntity {
+
+    @PrimaryKey(autoGenerate = true)
+    private int id;
+
+    // Назва вже в "нормальному" вигляді: малими літерами, без зайвих пробілів (Ingredients.normalize)
+    @NonNull
+    private String name = "";
+
+    public IngredientEntity() {
+    }
+
+    @Ignore
+    public IngredientEntity(int id, @NonNull String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;  // Позначка, що значення не може бути null
+import androidx.annotation.Nullable; // Позначка, що значення може бути null
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet; // Без повторів, але в тому порядку, в якому додали
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Розбір складу піци ("Томатний соус, моцарела;  гриби") на окремі інгредієнти.
+ * Однаково працює і в міграції, і при кожному записі піци, і для фільтрів у запитах,
+ * тож "Моцарела" в піці і "моцарела " у фільтрі - це той самий інгредієнт.
+ */
+public final class Ingredients {
+
+    private Ingredients() {
+    }
+
+    /**
+     * Ділить склад за комами, крапками з комою і переносами рядків.
+     * @param text Склад піци як є (PizzaEntity.getIngredients()).
+     * @return Нормалізовані назви без повторів і порожніх, у порядку зі складу.
+     */
+    @NonNull
+    public static List<String> parse(@Nullable String text) {
+        List<String> result = new ArrayList<>();
+        if (text == null) {
+            return result;
+        }
+        Set<String> seen = new LinkedHashSet<>();
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || isSeparator(text.charAt(i))) {
+                String name = normalize(text.substring(start, i));
+                if (!name.isEmpty() && seen.add(name)) {
+                    result.add(name);
+                }
+                start = i + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Одна назва в "нормальному" вигляді: малими літерами, без пробілів по краях,
+     * кілька пробілів поспіль - як один. Саме так назви лежать у таблиці "ingredients".
+     */
+    @NonNull
+    public static String normalize(@NonNull String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        boolean space = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Як normalize(...), але лише для однієї справжньої назви (склад, рецепт): порожня назва
+     * чи кілька назв через кому - помилка.
+     * @throws IllegalArgumentException Якщо назва порожня або містить роздільник.
+     */
+    @NonNull
+    public static String normalizeSingle(@NonNull String name) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Назва інгредієнта порожня");
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            if (isSeparator(normalized.charAt(i))) {
+                throw new IllegalArgumentException("Один інгредієнт, без ком: \"" + name + "\"");
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Нормалізує список назв для фільтра (наприклад, від користувача) і прибирає повтори й порожні.
+     */
+    @NonNull
+    public static List<String> normalizeAll(@NonNull Collection<String> names) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String name : names) {
+            String normalized = normalize(name);
+            if (!normalized.isEmpty()) {
+                result.add(normalized);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ',' || c == ';' || c == '\n' || c == '\r';
+    }
+}
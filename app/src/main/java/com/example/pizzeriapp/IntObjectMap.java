@@ -0,0 +1,174 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.Nullable; // Позначка, що значення може бути null
+
+import java.util.Arrays;
+
+/**
+ * Проста "мапа" з ключами int, без Integer-обгорток: ключі й значення лежать у двох масивах
+ * (відкрита адресація з лінійним пошуком). На відміну від HashMap&lt;Integer, V&gt;,
+ * пошук не створює об'єктів і не ходить по вузлах у пам'яті.
+ * <p>
+ * Ключ 0 зайнятий під "порожню клітинку" - зберігати його не можна (номери піц починаються з 1).
+ * Не потокобезпечна: захищайте її замком (див. InMemoryPizzaRepository).
+ */
+final class IntObjectMap<V> {
+
+    private static final int EMPTY = 0;
+
+    // Заповнюємо масив не більше ніж на 3/4, інакше пошук по сусідніх клітинках стає довгим
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int resizeAt;
+
+    IntObjectMap() {
+        this(16);
+    }
+
+    IntObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR) + 1) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        checkKey(key);
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Кладе значення під ключ.
+     * @return Попереднє значення або null, якщо ключа не було.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        checkKey(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Значення не може бути null");
+        }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Прибирає ключ.
+     * @return Значення, яке було під ключем, або null.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        checkKey(key);
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; keys[i] != key; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) {
+                return null;
+            }
+        }
+        V previous = (V) values[i];
+        size--;
+        // Зсуваємо назад наступні ключі того самого "ланцюжка", щоб у ньому не було дірок
+        // (інакше пошук зупинився б на порожній клітинці, не дійшовши до свого ключа)
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            // Ключ з j можна перенести в дірку, якщо його "рідна" клітинка не між діркою і j
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        return previous;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Усі ключі в довільному порядку.
+     */
+    int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != EMPTY) {
+                int i = slot(key, mask);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    // Перемішуємо біти ключа: номери піц ідуть підряд, і без цього вони б злипалися в довгі ланцюжки
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static void checkKey(int key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Ключ 0 зарезервований");
+        }
+    }
+}
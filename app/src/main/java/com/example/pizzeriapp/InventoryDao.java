@@ -0,0 +1,140 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.lifecycle.LiveData; // Дані, що самі оновлюються на екрані
+import androidx.room.Dao;          // Об'єкт для доступу до даних
+import androidx.room.Query;        // Анотація для написання власних SQL-запитів
+import androidx.room.Transaction;  // Кілька запитів як одна транзакція
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Склад і рецепти: скільки чого лишилося і скільки чого йде на піцу.
+ * Списання при продажу робить OrderDao.checkout(...); тут - поповнення, інвентаризація і рецепти.
+ * Після кожної зміни статуси піц з рецептом перераховуються в тій самій транзакції (див. InventoryStock).
+ * Назви інгредієнтів можна передавати як завгодно ("Моцарела ") - їх приводить до ладу Ingredients.normalize.
+ * Усі методи, крім LiveData, - лише для фонових потоків.
+ */
+@Dao
+public interface InventoryDao extends InventoryStock, PizzaIngredientIndex {
+
+    /**
+     * Залишки всіх врахованих інгредієнтів за абеткою.
+     */
+    @Query("SELECT i.name AS name, s.quantity AS quantity FROM ingredient_stock AS s "
+            + "JOIN ingredients AS i ON i.id = s.ingredientId ORDER BY i.name")
+    LiveData<List<IngredientAmount>> getStock();
+
+    @Query("SELECT i.name AS name, s.quantity AS quantity FROM ingredient_stock AS s "
+            + "JOIN ingredients AS i ON i.id = s.ingredientId ORDER BY i.name")
+    List<IngredientAmount> getStockNow();
+
+    /**
+     * @return Залишок або null, якщо інгредієнт не враховується на складі.
+     */
+    @Query("SELECT s.quantity FROM ingredients AS i JOIN ingredient_stock AS s ON s.ingredientId = i.id "
+            + "WHERE i.name = :normalizedName")
+    Long getStockQuantityNormalized(String normalizedName);
+
+    /**
+     * Рецепт піци за абеткою.
+     */
+    @Query("SELECT i.name AS name, r.quantity AS quantity FROM recipe_items AS r "
+            + "JOIN ingredients AS i ON i.id = r.ingredientId WHERE r.pizzaId = :pizzaId ORDER BY i.name")
+    List<IngredientAmount> getRecipe(int pizzaId);
+
+    @Query("INSERT OR IGNORE INTO ingredient_stock (ingredientId, quantity) "
+            + "SELECT id, 0 FROM ingredients WHERE name = :normalizedName")
+    void addStockRow(String normalizedName);
+
+    @Query("UPDATE ingredient_stock SET quantity = :quantity "
+            + "WHERE ingredientId = (SELECT id FROM ingredients WHERE name = :normalizedName)")
+    void setStockQuantity(String normalizedName, long quantity);
+
+    // Одним запитом: паралельне списання не загубиться між читанням і записом
+    @Query("UPDATE ingredient_stock SET quantity = quantity + :delta "
+            + "WHERE ingredientId = (SELECT id FROM ingredients WHERE name = :normalizedName)")
+    void addStockQuantity(String normalizedName, long delta);
+
+    @Query("DELETE FROM ingredient_stock WHERE ingredientId = (SELECT id FROM ingredients WHERE name = :normalizedName)")
+    int deleteStockRow(String normalizedName);
+
+    @Query("DELETE FROM recipe_items WHERE pizzaId = :pizzaId")
+    void deleteRecipe(int pizzaId);
+
+    @Query("INSERT INTO recipe_items (pizzaId, ingredientId, quantity) "
+            + "SELECT :pizzaId, id, :quantity FROM ingredients WHERE name = :normalizedName")
+    void insertRecipeItem(int pizzaId, String normalizedName, long quantity);
+
+    /**
+     * @return Залишок або null, якщо інгредієнт не враховується на складі.
+     */
+    default Long getStockQuantity(@NonNull String name) {
+        return getStockQuantityNormalized(Ingredients.normalize(name));
+    }
+
+    /**
+     * Інвентаризація: записує точний залишок (і починає враховувати інгредієнт, якщо ще не враховувався).
+     */
+    @Transaction
+    default void setStock(@NonNull String name, long quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Залишок не може бути від'ємним");
+        }
+        String normalized = Ingredients.normalizeSingle(name);
+        addIngredient(normalized);
+        addStockRow(normalized);
+        setStockQuantity(normalized, quantity);
+        updateStockStatuses();
+    }
+
+    /**
+     * Поставка: додає delta до залишку. Піци, яким тепер усього вистачає, знову "В наявності".
+     */
+    @Transaction
+    default void restock(@NonNull String name, long delta) {
+        if (delta <= 0) {
+            throw new IllegalArgumentException("Кількість повинна бути більшою за нуль!");
+        }
+        String normalized = Ingredients.normalizeSingle(name);
+        addIngredient(normalized);
+        addStockRow(normalized);
+        addStockQuantity(normalized, delta);
+        updateStockStatuses();
+    }
+
+    /**
+     * Перестає враховувати інгредієнт на складі: далі він ніколи не "закінчується".
+     * @return true, якщо інгредієнт враховувався.
+     */
+    @Transaction
+    default boolean stopTrackingStock(@NonNull String name) {
+        boolean deleted = deleteStockRow(Ingredients.normalize(name)) > 0;
+        updateStockStatuses();
+        return deleted;
+    }
+
+    /**
+     * Записує рецепт піци заново. Однакові після нормалізації назви ("Сир", "сир ") додаються.
+     * Порожній рецепт - піца більше не залежить від складу.
+     * @param amounts Назва інгредієнта -> скільки на одну піцу.
+     */
+    @Transaction
+    default void setRecipe(int pizzaId, @NonNull Map<String, Long> amounts) {
+        Map<String, Long> merged = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : amounts.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException("Кількість повинна бути більшою за нуль!");
+            }
+            merged.merge(Ingredients.normalizeSingle(entry.getKey()), entry.getValue(), Long::sum);
+        }
+        deleteRecipe(pizzaId);
+        for (Map.Entry<String, Long> entry : merged.entrySet()) {
+            addIngredient(entry.getKey());
+            insertRecipeItem(pizzaId, entry.getKey(), entry.getValue());
+        }
+        updateStockStatuses();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.Query;        // Анотація для написання власних SQL-запитів
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Списання зі складу і статуси піц за залишками. Їх успадковують OrderDao (продаж)
+ * та InventoryDao (поповнення, рецепти).
+ * <ul>
+ *     <li>Продаж віднімає всі інгредієнти піци одним UPDATE, який сам перевіряє, що всього вистачає.
+ *     Між перевіркою і відніманням ніхто не вклиниться, бо це один запит, а не "прочитав - порахував - записав".</li>
+ *     <li>Статуси змінюються одним UPDATE для всіх піц одразу, а не PizzaEntity.setStatus(...) для кожної.</li>
+ * </ul>
+ * Для піц з рецептом наявність визначає склад: "В наявності" стає "Немає в наявності", коли якогось
+ * інгредієнта не вистачає на одну порцію, і навпаки. "Готується" і піци з кошика ці запити не чіпають:
+ * кошик - це як видалення, і запис туди означав би зайві зміни в журналі синхронізації та історії.
+ * Піци без рецепта, як і раніше, перемикаються лише вручну.
+ */
+interface InventoryStock {
+
+    /**
+     * Віднімає зі складу все, що йде на portions піц, - або, якщо хоч чогось не вистачає, нічого.
+     * Інгредієнти рецепта без рядка на складі не рахуються.
+     * @return Скільки залишків змінилося; 0 - не вистачило або в рецепті немає жодного врахованого інгредієнта.
+     */
+    @Query("UPDATE ingredient_stock SET quantity = quantity - :portions * ("
+            + "SELECT r.quantity FROM recipe_items AS r "
+            + "WHERE r.pizzaId = :pizzaId AND r.ingredientId = ingredient_stock.ingredientId) "
+            + "WHERE ingredientId IN (SELECT ingredientId FROM recipe_items WHERE pizzaId = :pizzaId) "
+            + "AND NOT EXISTS (SELECT 1 FROM recipe_items AS r "
+            + "JOIN ingredient_stock AS s ON s.ingredientId = r.ingredientId "
+            + "WHERE r.pizzaId = :pizzaId AND s.quantity < r.quantity * :portions)")
+    int takeStockForPizza(int pizzaId, int portions);
+
+    /**
+     * Інгредієнти, яких не вистачає на portions піц, за абеткою.
+     */
+    @Query("SELECT i.name FROM recipe_items AS r "
+            + "JOIN ingredient_stock AS s ON s.ingredientId = r.ingredientId "
+            + "JOIN ingredients AS i ON i.id = r.ingredientId "
+            + "WHERE r.pizzaId = :pizzaId AND s.quantity < r.quantity * :portions ORDER BY i.name")
+    List<String> getMissingIngredients(int pizzaId, int portions);
+
+    /**
+     * Піци "В наявності", для яких чогось не вистачає на одну порцію, стають "Немає в наявності".
+     * Один прохід по рецептах; залишок кожного інгредієнта SQLite бере за первинним ключем.
+     */
+    @Query("UPDATE pizzas SET status = :unavailable, updatedAt = " + PizzaDao.NOW_MILLIS + " "
+            + "WHERE " + PizzaDao.NOT_DELETED + " AND status = :available AND id IN ("
+            + "SELECT r.pizzaId FROM ingredient_stock AS s "
+            + "JOIN recipe_items AS r ON r.ingredientId = s.ingredientId WHERE s.quantity < r.quantity)")
+    int markPizzasOutOfStock(PizzaStatus available, PizzaStatus unavailable);
+
+    /**
+     * Піци з рецептом, яким знову всього вистачає, з "Немає в наявності" стають "В наявності".
+     */
+    @Query("UPDATE pizzas SET status = :available, updatedAt = " + PizzaDao.NOW_MILLIS + " "
+            + "WHERE " + PizzaDao.NOT_DELETED + " AND status = :unavailable "
+            + "AND id IN (SELECT pizzaId FROM recipe_items) AND id NOT IN ("
+            + "SELECT r.pizzaId FROM ingredient_stock AS s "
+            + "JOIN recipe_items AS r ON r.ingredientId = s.ingredientId WHERE s.quantity < r.quantity)")
+    int markPizzasBackInStock(PizzaStatus available, PizzaStatus unavailable);
+
+    /**
+     * Списує інгредієнти на portions піц. Викликати лише всередині транзакції.
+     * @return Інгредієнти, яких не вистачило (тоді не списано нічого), або порожній список.
+     */
+    @NonNull
+    default List<String> takeStock(int pizzaId, int portions) {
+        if (portions <= 0) {
+            throw new IllegalArgumentException("Кількість повинна бути більшою за нуль!");
+        }
+        if (takeStockForPizza(pizzaId, portions) > 0) {
+            return Collections.emptyList();
+        }
+        // Нуль змінених рядків буває і тоді, коли піца зі складу нічого не бере
+        return getMissingIngredients(pizzaId, portions);
+    }
+
+    /**
+     * Приводить статуси всіх піц з рецептом у відповідність до складу - двома пакетними UPDATE.
+     * @return Скільки піц змінили статус.
+     */
+    default int updateStockStatuses() {
+        return markPizzasOutOfStock(PizzaStatus.AVAILABLE, PizzaStatus.UNAVAILABLE)
+                + markPizzasBackInStock(PizzaStatus.AVAILABLE, PizzaStatus.UNAVAILABLE);
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;  // Позначка, що значення не може бути null
+import androidx.annotation.Nullable; // Позначка, що значення може бути null
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;  // Черга без замків для знімків, що чекають запису
+import java.util.concurrent.ConcurrentSkipListSet;  // Відсортована множина без замків - сама черга кухні
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Черга кухні: які піци чекають на піч і в якому порядку.
+ * <ul>
+ *     <li>Порядок - за найпізнішим часом старту: обіцяний час мінус час приготування,
+ *     який залежить від розміру піци (estimatePrepMillis(...)).</li>
+ *     <li>Додавати можуть кілька кас одночасно, брати - кілька печей одночасно. Черга - ConcurrentSkipListSet:
+ *     і додавання, і poll(...) працюють на CAS, без замків, тож повільна каса не затримує піч і навпаки.
+ *     Кожен квиток дістається рівно одній печі.</li>
+ *     <li>Черга живе в пам'яті, а в базу (KitchenTicketDao) йде знімок кожної зміни - у фоні й пачками:
+ *     усе, що накопичилося, поки йшов попередній запис, стає однією транзакцією.
+ *     Якщо квиток встигли змінити кілька разів, записується лише останній стан.</li>
+ *     <li>Знімки з пачки, яку не вдалося записати, повертаються і йдуть з наступною пачкою -
+ *     не більше MAX_WRITE_ATTEMPTS спроб на знімок. Після цього знімок відкидається
+ *     ("kitchen.persist.dropped"), і в базі лишається попередній стан квитка, поки його не змінять знову.</li>
+ * </ul>
+ * Зазвичай беріть готовий екземпляр з AppDatabase.kitchenScheduler().
+ */
+public final class KitchenScheduler {
+
+    // Тісто, соус, начинка - однаково для будь-якого розміру
+    static final long PREP_BASE_MILLIS = 4 * 60_000L;
+
+    // Випікання піци на 30 см; більша печеться довше пропорційно площі
+    static final long BAKE_30CM_MILLIS = 8 * 60_000L;
+
+    // Найбільше знімків в одній транзакції, щоб запис не тримав базу надовго
+    static final int MAX_BATCH = 200;
+
+    // Скільки разів пробуємо записати той самий знімок, перш ніж відкинути (база закрита, диск повний...)
+    static final int MAX_WRITE_ATTEMPTS = 3;
+
+    // Скільки квитки чекали на піч (від каси до печі)
+    private static final LatencyHistogram WAIT = Metrics.histogram("kitchen.wait");
+    // Скільки йде запис однієї пачки в базу
+    private static final LatencyHistogram PERSIST = Metrics.histogram("kitchen.persist");
+    private static final LongAdder PERSIST_FAILED = Metrics.counter("kitchen.persist.failed");
+    private static final LongAdder PERSIST_DROPPED = Metrics.counter("kitchen.persist.dropped");
+
+    private final ConcurrentSkipListSet<KitchenTicket> pending =
+            new ConcurrentSkipListSet<>(KitchenTicket.BY_LATEST_START);
+
+    // size() у ConcurrentSkipListSet перебирає всю множину, тож рахуємо окремо
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicLong lastId;
+    private final LongSupplier clock;
+
+    // Запис у базу
+    private final Executor persistExecutor;
+    private final Consumer<List<KitchenTicketEntity>> batchWriter;
+    private final ConcurrentLinkedQueue<KitchenTicketEntity> unsaved = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger unsavedCount = new AtomicInteger();
+    // true - запис уже стоїть у persistExecutor і забере все, що лежить в unsaved
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    // Знімки з пачок, що не записалися, і скільки спроб уже було для кожного квитка. Лише в persistExecutor
+    private final Map<Long, KitchenTicketEntity> retry = new LinkedHashMap<>();
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+
+    /**
+     * @param persistExecutor Де писати в базу; записи мають іти по одному (наприклад, RoomDatabase.getTransactionExecutor()).
+     * @param batchWriter Записує пачку знімків (KitchenTicketDao::upsertTickets).
+     * @param clock Поточний час у мс (System::currentTimeMillis; у тестах - свій).
+     * @param lastTicketId Найбільший уже виданий номер квитка (KitchenTicketDao.getMaxTicketId()).
+     */
+    public KitchenScheduler(@NonNull Executor persistExecutor,
+                            @NonNull Consumer<List<KitchenTicketEntity>> batchWriter,
+                            @NonNull LongSupplier clock,
+                            long lastTicketId) {
+        this.persistExecutor = persistExecutor;
+        this.batchWriter = batchWriter;
+        this.clock = clock;
+        this.lastId = new AtomicLong(lastTicketId);
+    }
+
+    /**
+     * Скільки готується піца такого розміру: підготовка плюс випікання, пропорційне площі.
+     * @param sizeCm Діаметр, см (PizzaEntity.getSize()).
+     */
+    public static long estimatePrepMillis(int sizeCm) {
+        if (sizeCm <= 0) {
+            throw new IllegalArgumentException("Розмір повинен бути більшим за нуль");
+        }
+        return PREP_BASE_MILLIS + BAKE_30CM_MILLIS * sizeCm * sizeCm / (30 * 30);
+    }
+
+    /**
+     * Ставить піцу в чергу (з будь-якого потоку).
+     * @param orderId Номер замовлення; 0 - без замовлення.
+     * @param promisedAt До коли пообіцяли віддати.
+     * @return Новий квиток.
+     */
+    @NonNull
+    public KitchenTicket submit(long orderId, int pizzaId, @NonNull String pizzaName, int sizeCm, long promisedAt) {
+        KitchenTicket ticket = new KitchenTicket(lastId.incrementAndGet(), orderId, pizzaId, pizzaName, sizeCm,
+                promisedAt, estimatePrepMillis(sizeCm), clock.getAsLong());
+        save(ticket); // До того, як квиток побачать печі: інакше знімок "у печі" міг би записатися раніше за цей
+        enqueue(ticket);
+        return ticket;
+    }
+
+    /**
+     * Ставить в чергу всі піци замовлення, кожну штуку окремим квитком (готуються вони теж окремо).
+     * @param pizzas Піци за номером, для назви й розміру (наприклад, з PizzaCache).
+     *               Рядки з піцами, яких тут немає (видалили одразу після продажу), пропускаються.
+     * @return Нові квитки.
+     */
+    @NonNull
+    public List<KitchenTicket> submitOrder(long orderId, @NonNull List<OrderLine> lines,
+                                           @NonNull Map<Integer, PizzaEntity> pizzas, long promisedAt) {
+        List<KitchenTicket> tickets = new ArrayList<>();
+        for (OrderLine line : lines) {
+            PizzaEntity pizza = pizzas.get(line.getPizzaId());
+            if (pizza == null) {
+                continue;
+            }
+            for (int i = 0; i < line.getQuantity(); i++) {
+                tickets.add(submit(orderId, pizza.getId(), pizza.getName(), pizza.getSize(), promisedAt));
+            }
+        }
+        return tickets;
+    }
+
+    /**
+     * Піч бере найтерміновішу піцу. Не чекає і не блокує: якщо черга порожня, одразу повертає null.
+     * @param ovenSlot Номер печі - щоб на екрані було видно, де яка піца.
+     */
+    @Nullable
+    public KitchenTicket poll(int ovenSlot) {
+        KitchenTicket ticket = pending.pollFirst();
+        if (ticket == null) {
+            return null;
+        }
+        pendingCount.decrementAndGet();
+        long now = clock.getAsLong();
+        ticket.start(ovenSlot, now);
+        WAIT.record((now - ticket.getQueuedAt()) * 1_000_000L);
+        save(ticket);
+        return ticket;
+    }
+
+    /**
+     * Піца готова. Викликає та піч, що її взяла.
+     */
+    public void finish(@NonNull KitchenTicket ticket) {
+        if (ticket.getStartedAt() == 0) {
+            throw new IllegalStateException("Квиток №" + ticket.getId() + " ще в черзі");
+        }
+        ticket.finish(clock.getAsLong());
+        save(ticket);
+    }
+
+    /**
+     * Скільки піц чекає на піч.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Черга саме зараз, від найтерміновішої. Якщо каси й печі працюють, список може трохи відставати.
+     */
+    @NonNull
+    public List<KitchenTicket> getPending() {
+        return new ArrayList<>(pending);
+    }
+
+    /**
+     * Скільки змін квитків ще не записано в базу (разом з тими, що чекають повторної спроби).
+     */
+    public int getUnsavedCount() {
+        return unsavedCount.get();
+    }
+
+    /**
+     * Повертає в чергу незавершені квитки з бази після перезапуску.
+     * Ті, що були в печі, теж повертаються в чергу: що з ними сталося, ми вже не знаємо.
+     */
+    void restore(@NonNull List<KitchenTicketEntity> unfinished) {
+        for (KitchenTicketEntity entity : unfinished) {
+            enqueue(new KitchenTicket(entity.id, entity.orderId, entity.pizzaId, entity.pizzaName, entity.size,
+                    entity.promisedAt, entity.prepMillis, entity.queuedAt));
+            lastId.accumulateAndGet(entity.id, Math::max);
+        }
+    }
+
+    private void enqueue(KitchenTicket ticket) {
+        pendingCount.incrementAndGet(); // Спершу лічильник: піч, що вже взяла квиток, не зробить його від'ємним
+        pending.add(ticket);
+    }
+
+    private void save(KitchenTicket ticket) {
+        unsaved.add(KitchenTicketEntity.of(ticket));
+        unsavedCount.incrementAndGet();
+        if (writeScheduled.compareAndSet(false, true)) {
+            persistExecutor.execute(this::writeUnsaved);
+        }
+    }
+
+    // Лише в persistExecutor, по одному
+    private void writeUnsaved() {
+        // Спершу знімаємо позначку: що прийде після цього рядка, або заберемо зараз, або запише наступний запуск
+        writeScheduled.set(false);
+        // Знімки, що не записалися минулого разу, - першими: вони старіші за все, що лежить в unsaved
+        Map<Long, KitchenTicketEntity> batch = new LinkedHashMap<>(retry);
+        int taken = retry.size();
+        retry.clear();
+        KitchenTicketEntity entity;
+        while ((entity = unsaved.poll()) != null) {
+            batch.put(entity.id, entity); // Новіший знімок того самого квитка замінює старіший
+            taken++;
+            if (batch.size() >= MAX_BATCH) {
+                write(batch, taken);
+                batch = new LinkedHashMap<>();
+                taken = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch, taken);
+        }
+        // Невдалі знімки не чекають наступної зміни квитків - пробуємо ще раз одразу (спроби обмежені)
+        if (!retry.isEmpty() && writeScheduled.compareAndSet(false, true)) {
+            persistExecutor.execute(this::writeUnsaved);
+        }
+    }
+
+    private void write(Map<Long, KitchenTicketEntity> batch, int taken) {
+        long start = System.nanoTime();
+        int retried = 0; // На скільки змінилася кількість знімків, що чекають повторної спроби
+        try {
+            batchWriter.accept(new ArrayList<>(batch.values()));
+            PERSIST.recordSince(start);
+            for (Long id : batch.keySet()) {
+                failedAttempts.remove(id);
+                if (retry.remove(id) != null) {
+                    retried--; // Старіший невдалий знімок цього квитка (з попередньої пачки) вже не потрібен
+                }
+            }
+        } catch (RuntimeException e) {
+            // Черга в пам'яті від цього не страждає; знімки повертаємо на наступну спробу
+            PERSIST_FAILED.increment();
+            for (KitchenTicketEntity failed : batch.values()) {
+                if (failedAttempts.merge(failed.id, 1, Integer::sum) < MAX_WRITE_ATTEMPTS) {
+                    if (retry.put(failed.id, failed) == null) {
+                        retried++;
+                    }
+                } else {
+                    failedAttempts.remove(failed.id);
+                    PERSIST_DROPPED.increment();
+                }
+            }
+        } finally {
+            unsavedCount.addAndGet(retried - taken);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.util.Comparator;
+
+/**
+ * Одна піца в черзі кухні (див. KitchenScheduler).
+ * Що готувати і до коли - не змінюється; коли почали і закінчили - ставить піч, яка її взяла.
+ */
+public final class KitchenTicket {
+
+    /**
+     * Порядок у черзі: спершу та, яку найпізніше можна почати й усе ще встигнути до обіцяного часу
+     * (обіцяний час мінус час приготування). Так велика піца на ту саму хвилину, що й маленька,
+     * йде в піч раніше. При рівності - хто раніше прийшов (менший номер).
+     */
+    static final Comparator<KitchenTicket> BY_LATEST_START =
+            Comparator.comparingLong(KitchenTicket::getLatestStartAt).thenComparingLong(KitchenTicket::getId);
+
+    private final long id;
+    private final long orderId;
+    private final int pizzaId;
+    @NonNull
+    private final String pizzaName;
+    private final int size;
+    private final long promisedAt;
+    private final long prepMillis;
+    private final long queuedAt;
+
+    // Змінює лише піч, що взяла квиток; volatile - щоб інші потоки (екран, запис у базу) бачили нове значення
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile int ovenSlot = -1;
+
+    KitchenTicket(long id, long orderId, int pizzaId, @NonNull String pizzaName, int size,
+                  long promisedAt, long prepMillis, long queuedAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.pizzaId = pizzaId;
+        this.pizzaName = pizzaName;
+        this.size = size;
+        this.promisedAt = promisedAt;
+        this.prepMillis = prepMillis;
+        this.queuedAt = queuedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Номер замовлення; 0 - піца без замовлення (наприклад, у симуляції).
+     */
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public int getPizzaId() {
+        return pizzaId;
+    }
+
+    @NonNull
+    public String getPizzaName() {
+        return pizzaName;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * До коли пообіцяли віддати піцу (мс від 1970 року, як System.currentTimeMillis()).
+     */
+    public long getPromisedAt() {
+        return promisedAt;
+    }
+
+    /**
+     * Скільки піца готується, мс (див. KitchenScheduler.estimatePrepMillis(...)).
+     */
+    public long getPrepMillis() {
+        return prepMillis;
+    }
+
+    public long getQueuedAt() {
+        return queuedAt;
+    }
+
+    /**
+     * Найпізніший час, коли ще можна почати й встигнути.
+     */
+    public long getLatestStartAt() {
+        return promisedAt - prepMillis;
+    }
+
+    /**
+     * Коли піч взяла піцу; 0 - ще в черзі.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Коли піца готова; 0 - ще ні.
+     */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Яка піч готує; -1 - ще жодна.
+     */
+    public int getOvenSlot() {
+        return ovenSlot;
+    }
+
+    void start(int ovenSlot, long now) {
+        this.ovenSlot = ovenSlot;
+        this.startedAt = now;
+    }
+
+    void finish(long now) {
+        this.finishedAt = now;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.pizzeriapp;
+
+import androidx.lifecycle.LiveData; // Дані, що самі оновлюються на екрані
+import androidx.room.Dao;          // Об'єкт для доступу до даних
+import androidx.room.Query;        // Анотація для написання власних SQL-запитів
+import androidx.room.Upsert;       // Вставка або оновлення за первинним ключем
+
+import java.util.List;
+
+/**
+ * Збережена черга кухні. Пише сюди лише KitchenScheduler - пачками, у фоновому потоці.
+ */
+@Dao
+public interface KitchenTicketDao {
+
+    /**
+     * Записує пачку знімків однією транзакцією: нові квитки додаються, наявні оновлюються.
+     */
+    @Upsert
+    void upsertTickets(List<KitchenTicketEntity> tickets);
+
+    /**
+     * Ще не готові піци в порядку черги (див. KitchenTicket.BY_LATEST_START).
+     */
+    @Query("SELECT * FROM kitchen_tickets WHERE finishedAt = 0 ORDER BY promisedAt - prepMillis, id")
+    LiveData<List<KitchenTicketEntity>> getUnfinishedTickets();
+
+    @Query("SELECT * FROM kitchen_tickets WHERE finishedAt = 0 ORDER BY promisedAt - prepMillis, id")
+    List<KitchenTicketEntity> getUnfinishedTicketsNow();
+
+    @Query("SELECT * FROM kitchen_tickets WHERE id = :ticketId")
+    KitchenTicketEntity getTicketById(long ticketId);
+
+    /**
+     * Найбільший номер квитка, щоб після перезапуску номери не повторювалися.
+     */
+    @Query("SELECT COALESCE(MAX(id), 0) FROM kitchen_tickets")
+    long getMaxTicketId();
+
+    /**
+     * Прибирає готові піци, завершені раніше за before.
+     * @return Скільки прибрано.
+     */
+    @Query("DELETE FROM kitchen_tickets WHERE finishedAt > 0 AND finishedAt < :before")
+    int deleteFinishedBefore(long before);
+}
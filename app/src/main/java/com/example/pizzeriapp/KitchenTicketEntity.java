@@ -0,0 +1,66 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.Index;      // Індекс для швидкого пошуку
+import androidx.room.PrimaryKey; // Унікальний номер запису
+
+/**
+ * Знімок KitchenTicket у базі, щоб черга кухні пережила перезапуск додатка.
+ * Номер видає сам KitchenScheduler (не autoGenerate): квиток з'являється в черзі одразу,
+ * а в базу потрапляє пізніше, разом з іншими.
+ */
+// Індекс за finishedAt: незавершені квитки (finishedAt = 0) при запуску і прибирання старих - без перебору таблиці
+@Entity(tableName = "kitchen_tickets",
+        indices = {@Index(value = {"finishedAt"})})
+public class KitchenTicketEntity {
+
+    @PrimaryKey
+    public long id;
+
+    // 0 - без замовлення
+    public long orderId;
+
+    public int pizzaId;
+
+    @NonNull
+    public String pizzaName = "";
+
+    public int size;
+
+    public long promisedAt;
+
+    public long prepMillis;
+
+    public long queuedAt;
+
+    // 0 - ще не почали
+    public long startedAt;
+
+    // 0 - ще не готова
+    public long finishedAt;
+
+    // -1 - ще в черзі
+    public int ovenSlot = -1;
+
+    /**
+     * Знімок квитка саме зараз. Копія, а не сам квиток: поки знімок чекає запису,
+     * піч може змінити квиток далі.
+     */
+    @NonNull
+    static KitchenTicketEntity of(@NonNull KitchenTicket ticket) {
+        KitchenTicketEntity entity = new KitchenTicketEntity();
+        entity.id = ticket.getId();
+        entity.orderId = ticket.getOrderId();
+        entity.pizzaId = ticket.getPizzaId();
+        entity.pizzaName = ticket.getPizzaName();
+        entity.size = ticket.getSize();
+        entity.promisedAt = ticket.getPromisedAt();
+        entity.prepMillis = ticket.getPrepMillis();
+        entity.queuedAt = ticket.getQueuedAt();
+        entity.ovenSlot = ticket.getOvenSlot();
+        entity.startedAt = ticket.getStartedAt();
+        entity.finishedAt = ticket.getFinishedAt();
+        return entity;
+    }
+}
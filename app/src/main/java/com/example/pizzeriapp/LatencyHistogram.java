@@ -0,0 +1,174 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray; // Лічильники кошиків без замків
+import java.util.concurrent.atomic.LongAdder;       // Лічильник, який не "б'ється" між потоками
+
+/**
+ * Гістограма часу виконання (у наносекундах) у стилі HdrHistogram.
+ * <p>
+ * Кожен степінь двійки поділено на SUB_BUCKETS рівних кошиків, тож похибка
+ * будь-якого значення - не більше ~3%, від наносекунд до хвилин, при сталому розмірі пам'яті.
+ * record(...) не бере замків і не створює об'єктів: лише кілька атомарних додавань,
+ * тому його можна викликати навіть у прив'язці рядків списку.
+ */
+public final class LatencyHistogram {
+
+    // 2^5 = 32 кошики на кожен степінь двійки
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // Найбільше значення, яке розрізняємо, - 2^40 нс (~18 хвилин); більші потрапляють в останній кошик
+    private static final int MAX_EXPONENT = 40;
+
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Записує одне значення.
+     * @param nanos Тривалість у наносекундах; від'ємні (годинник "пострибав") рахуються як 0.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(bucketIndex(nanos));
+        totalNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) { // Рідко: лише коли з'явився новий рекорд
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Записує час, що минув від startNanos (значення System.nanoTime() на початку).
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Скільки значень записано.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Середнє значення в наносекундах.
+     */
+    public long getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : totalNanos.sum() / count;
+    }
+
+    /**
+     * Значення, менше за яке (або рівне) потрапляє частка fraction усіх записів.
+     * Наприклад, getPercentileNanos(0.99) - p99. Повертає верхню межу кошика, тож результат
+     * не менший за справжній, але не більше ніж на ~3%.
+     * @param fraction Від 0 до 1.
+     */
+    public long getPercentileNanos(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Частка має бути від 0 до 1: " + fraction);
+        }
+        // Знімок лічильників, щоб сума і пошук рахувались по тих самих числах
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * Очищає гістограму. Записи, що йдуть паралельно, можуть частково залишитися - для метрик це неважливо.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value; // Малі значення - кожне у своєму кошику, точно
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1); // Наступні SUB_BUCKET_BITS бітів після старшого
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (1L << (shift + SUB_BUCKET_BITS)) + ((long) subBucket << shift);
+    }
+
+    static long bucketUpperBound(int index) {
+        return index == BUCKET_COUNT - 1 ? Long.MAX_VALUE : bucketLowerBound(index + 1) - 1;
+    }
+
+    /**
+     * Короткий підсумок: "n=120 p50=12.5µs p99=80.1µs max=1.2ms".
+     */
+    @NonNull
+    public String summary() {
+        return "n=" + getCount()
+                + " p50=" + formatNanos(getPercentileNanos(0.50))
+                + " p99=" + formatNanos(getPercentileNanos(0.99))
+                + " max=" + formatNanos(getMaxNanos());
+    }
+
+    @NonNull
+    static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return oneDecimal(nanos / 100) + "µs";
+        }
+        if (nanos < 1_000_000_000) {
+            return oneDecimal(nanos / 100_000) + "ms";
+        }
+        return oneDecimal(nanos / 100_000_000) + "s";
+    }
+
+    private static String oneDecimal(long tenths) {
+        return (tenths / 10) + "." + (tenths % 10);
+    }
+}
@@ -6,10 +6,9 @@ import androidx.lifecycle.ViewModelProvider; // Допомагає отрима
 import androidx.recyclerview.widget.LinearLayoutManager; // Розташовує елементи списку один за одним
 import androidx.recyclerview.widget.RecyclerView; // Сам список для відображення даних
 import com.google.android.material.button.MaterialButton; // Імпорт для кнопки
+import com.google.android.material.snackbar.Snackbar; // Смужка внизу екрана з кнопкою "Скасувати"
 import android.widget.Toast; // Для показу повідомлень користувачу
 
-import java.util.ArrayList; // Для створення порожнього списку на початку
-
 /**
  * Головний екран нашого додатку "Піцерія".
  * Тут відображається список піц, є кнопка для додавання нової,
@@ -20,7 +19,8 @@ public class MainActivity extends AppCompatActivity {
     // Наша ViewModel, яка керує даними про піци.
     private PizzaViewModel pizzaViewModel;
     // Наш Адаптер, який "знає", як відобразити кожну піцу у списку.
-    private PizzaAdapter pizzaAdapter;
+    // Посторінковий: тримає в пам'яті лише піци поруч з екраном.
+    private PizzaPagingAdapter pizzaAdapter;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -34,8 +34,8 @@ public class MainActivity extends AppCompatActivity {
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setHasFixedSize(true); // Оптимізація: якщо розмір елементів не змінюється
 
-        // Створюємо наш адаптер для піц, поки що з порожнім списком
-        pizzaAdapter = new PizzaAdapter(new ArrayList<>());
+        // Створюємо наш адаптер для піц. Дані він отримає сторінками від ViewModel.
+        pizzaAdapter = new PizzaPagingAdapter();
         // "Прив'язуємо" адаптер до RecyclerView
         recyclerView.setAdapter(pizzaAdapter);
 
@@ -43,12 +43,15 @@ public class MainActivity extends AppCompatActivity {
         // ВАЖЛИВО: Вам потрібно буде створити клас PizzaViewModel за аналогією до DessertViewModel
         pizzaViewModel = new ViewModelProvider(this).get(PizzaViewModel.class);
 
-        // Тепер "підписуємося" на зміни у списку всіх піц, який є у ViewModel.
-        // Коли дані в базі зміняться, ViewModel оновить LiveData, а цей код автоматично викличеться.
-        pizzaViewModel.getAllPizzas().observe(this, pizzaEntities -> {
-            // Отримали новий список pizzaEntities, передаємо його в адаптер.
-            pizzaAdapter.setPizzaList(pizzaEntities);
-        });
+        // Тепер "підписуємося" на посторінковий список піц, який є у ViewModel.
+        // Коли дані в базі зміняться, ViewModel видасть нові PagingData, а адаптер
+        // сам порахує різницю і перемалює лише змінені рядки.
+        pizzaViewModel.getPagedPizzas().observe(this, pagingData ->
+                pizzaAdapter.submitData(getLifecycle(), pagingData));
+
+        // Якщо зміну не вдалося поставити в чергу запису - кажемо про це, щоб її повторили
+        pizzaViewModel.getWriteError().observe(this, message ->
+                Toast.makeText(MainActivity.this, message, Toast.LENGTH_LONG).show());
 
         // Знаходимо нашу кнопку "Додати піцу" (MaterialButton)
         // ВАЖЛИВО: Переконайтесь, що ID кнопки у вашому activity_main.xml - R.id.buttonAddPizza
@@ -64,16 +67,22 @@ public class MainActivity extends AppCompatActivity {
 
         // Встановлюємо обробник короткого кліку на елемент списку (для редагування)
         pizzaAdapter.setOnPizzaClickListener(pizza -> {
-            // pizza - це та піца, на яку клікнули.
-            // Зберігаємо її ID, бо сам об'єкт pizza може змінитися, поки діалог відкритий.
+            // pizza - це рядок списку, на який клікнули. У ньому лише назва, склад і ціна,
+            // тому повну піцу (з описом, розміром, статусом) завантажуємо з бази лише зараз.
             final int pizzaId = pizza.getId();
-
-            // Показуємо діалог, передаючи в нього поточну піцу для редагування.
-            AddPizzaDialog.show(this, updatedPizza -> {
-                // Цей код (callback) виконається, коли користувач змінить дані в діалозі і натисне "Оновити".
-                updatedPizza.setId(pizzaId); // Важливо! Встановлюємо ID для оновлення правильного запису в базі.
-                pizzaViewModel.update(updatedPizza); // Кажемо ViewModel оновити цю піцу.
-            }, pizza); // Передаємо об'єкт піци, який хочемо редагувати.
+            pizzaViewModel.loadPizza(pizzaId).observe(this, pizzaToEdit -> {
+                if (pizzaToEdit == null) {
+                    // Піцу вже встигли видалити
+                    Toast.makeText(MainActivity.this, "Цієї піци вже немає", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                // Показуємо діалог, передаючи в нього повну піцу для редагування.
+                AddPizzaDialog.show(this, updatedPizza -> {
+                    // Цей код (callback) виконається, коли користувач змінить дані в діалозі і натисне "Оновити".
+                    updatedPizza.setId(pizzaId); // Важливо! Встановлюємо ID для оновлення правильного запису в базі.
+                    pizzaViewModel.update(updatedPizza); // Кажемо ViewModel оновити цю піцу.
+                }, pizzaToEdit);
+            });
         });
 
         // Встановлюємо обробник довгого кліку на елемент списку (для видалення)
@@ -85,13 +94,30 @@ public class MainActivity extends AppCompatActivity {
                     // Повідомлення, що показує назву піци, яку збираємося видалити
                     .setMessage("Ви впевнені, що хочете видалити '" + pizza.getName() + "'?")
                     .setPositiveButton("Видалити", (dialog, which) -> {
-                        // Якщо користувач натиснув "Видалити"
-                        pizzaViewModel.delete(pizza); // Кажемо ViewModel видалити цю піцу
-                        // Повідомлення про успішне видалення
-                        Toast.makeText(MainActivity.this, "'" + pizza.getName() + "' видалено успішно!", Toast.LENGTH_SHORT).show();
+                        // Якщо користувач натиснув "Видалити": піца йде в кошик, і ще кілька секунд її можна повернути
+                        long deletedAt = pizzaViewModel.deleteById(pizza.getId());
+                        Snackbar.make(recyclerView, "'" + pizza.getName() + "' видалено", Snackbar.LENGTH_LONG)
+                                .setAction("Скасувати", v -> pizzaViewModel.undoDelete(pizza.getId(), deletedAt))
+                                .show();
                     })
                     .setNegativeButton("Скасувати", null) // Кнопка "Скасувати" просто закриває діалог
                     .show(); // Показуємо діалог
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Коли екран ховається, у фоні прибираємо давно видалені піци і проріджуємо стару історію цін
+     * (якщо давно цього не робили), а в debug-збірці виводимо метрики (p50 / p99 / max) у logcat:
+     * adb logcat -s PizzeriaMetrics
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+        AppDatabase database = AppDatabase.getInstance(this);
+        database.purgeDeletedPizzasInBackground();
+        database.compactPizzaHistoryInBackground();
+        if (AppDatabase.isDebuggable(this)) {
+            Metrics.logDump();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.pizzeriapp;
+
+import android.database.Cursor; // Результат запиту, який читаємо рядок за рядком
+import android.util.JsonWriter; // Потоковий запис JSON
+
+import androidx.annotation.NonNull;      // Позначка, що значення не може бути null
+import androidx.annotation.Nullable;     // Позначка, що значення може бути null
+import androidx.annotation.WorkerThread; // Не можна викликати з головного потоку
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Експорт меню в CSV або JSON - у тому самому вигляді, який розуміє MenuImporter.
+ * Піци читаються з бази курсором по одній і одразу пишуться у файл,
+ * тож список усіх піц у пам'яті не створюється.
+ */
+public final class MenuExporter {
+
+    // Як часто повідомляти про хід експорту
+    static final int PROGRESS_EVERY_ROWS = 500;
+
+    private final PizzaDao pizzaDao;
+
+    private volatile boolean cancelled;
+
+    public MenuExporter(@NonNull PizzaDao pizzaDao) {
+        this.pizzaDao = pizzaDao;
+    }
+
+    /**
+     * Просить зупинити експорт. Можна викликати з будь-якого потоку.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Чи експорт зупинили через cancel(). Тоді файл неповний, і його варто видалити.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Записує все меню у out. Writer не закривається - це робить викликач.
+     * @param out Куди писати.
+     * @param format CSV чи JSON.
+     * @param listener Кому повідомляти про хід; може бути null.
+     * @return Скільки піц записано.
+     * @throws IOException Якщо не вдалося записати.
+     */
+    @WorkerThread
+    public int exportMenu(@NonNull Writer out, @NonNull MenuFormat format,
+                          @Nullable MenuProgressListener listener) throws IOException {
+        try (Cursor cursor = pizzaDao.getPizzasCursor()) {
+            Columns columns = new Columns(cursor);
+            return format == MenuFormat.CSV
+                    ? writeCsv(cursor, columns, out, listener)
+                    : writeJson(cursor, columns, out, listener);
+        }
+    }
+
+    private int writeCsv(Cursor cursor, Columns columns, Writer out,
+                         @Nullable MenuProgressListener listener) throws IOException {
+        out.write(MenuImporter.NAME + ',' + MenuImporter.INGREDIENTS + ',' + MenuImporter.PRICE + ','
+                + MenuImporter.SIZE + ',' + MenuImporter.DESCRIPTION + ',' + MenuImporter.STATUS + '\n');
+        int rows = 0;
+        while (!cancelled && cursor.moveToNext()) {
+            writeCsvField(out, cursor.getString(columns.name));
+            out.write(',');
+            writeCsvField(out, cursor.getString(columns.ingredients));
+            out.write(',');
+            out.write(Money.format(cursor.getLong(columns.priceKopecks)));
+            out.write(',');
+            out.write(Integer.toString(cursor.getInt(columns.size)));
+            out.write(',');
+            writeCsvField(out, cursor.isNull(columns.description) ? "" : cursor.getString(columns.description));
+            out.write(',');
+            writeCsvField(out, PizzaStatus.fromCode(cursor.getInt(columns.status)).getLabel());
+            out.write('\n');
+            rows = reportProgress(rows + 1, listener);
+        }
+        out.flush();
+        return rows;
+    }
+
+    private int writeJson(Cursor cursor, Columns columns, Writer out,
+                          @Nullable MenuProgressListener listener) throws IOException {
+        JsonWriter json = new JsonWriter(out); // Не закриваємо: це закрило б і out
+        json.beginArray();
+        int rows = 0;
+        while (!cancelled && cursor.moveToNext()) {
+            json.beginObject();
+            json.name(MenuImporter.NAME).value(cursor.getString(columns.name));
+            json.name(MenuImporter.INGREDIENTS).value(cursor.getString(columns.ingredients));
+            // Ціну пишемо текстом "149.50": так вона читається назад точно, без double
+            json.name(MenuImporter.PRICE).value(Money.format(cursor.getLong(columns.priceKopecks)));
+            json.name(MenuImporter.SIZE).value(cursor.getInt(columns.size));
+            if (!cursor.isNull(columns.description)) {
+                json.name(MenuImporter.DESCRIPTION).value(cursor.getString(columns.description));
+            }
+            json.name(MenuImporter.STATUS).value(PizzaStatus.fromCode(cursor.getInt(columns.status)).getLabel());
+            json.endObject();
+            rows = reportProgress(rows + 1, listener);
+        }
+        json.endArray();
+        json.flush();
+        return rows;
+    }
+
+    private static int reportProgress(int rows, @Nullable MenuProgressListener listener) {
+        if (listener != null && rows % PROGRESS_EVERY_ROWS == 0) {
+            listener.onProgress(rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Поле CSV: у лапках, якщо в ньому є кома, лапки чи перенос рядка.
+     */
+    static void writeCsvField(@NonNull Writer out, @NonNull String value) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"'); // Лапка всередині поля подвоюється
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    /**
+     * Номери колонок курсора - шукаємо їх один раз, а не для кожного рядка.
+     */
+    private static final class Columns {
+        final int name;
+        final int ingredients;
+        final int priceKopecks;
+        final int size;
+        final int description;
+        final int status;
+
+        Columns(Cursor cursor) {
+            name = cursor.getColumnIndexOrThrow("name");
+            ingredients = cursor.getColumnIndexOrThrow("ingredients");
+            priceKopecks = cursor.getColumnIndexOrThrow("priceKopecks");
+            size = cursor.getColumnIndexOrThrow("size");
+            description = cursor.getColumnIndexOrThrow("description");
+            status = cursor.getColumnIndexOrThrow("status");
+        }
+    }
+}
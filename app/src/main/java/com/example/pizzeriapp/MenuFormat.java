@@ -0,0 +1,15 @@
+package com.example.pizzeriapp;
+
+/**
+ * У якому форматі файл меню для імпорту чи експорту (див. MenuImporter і MenuExporter).
+ */
+public enum MenuFormat {
+    /**
+     * Таблиця: перший рядок - назви колонок (name, ingredients, price, size, description, status).
+     */
+    CSV,
+    /**
+     * Масив об'єктів з тими самими полями: [{"name": "...", "price": "149.50", ...}, ...].
+     */
+    JSON
+}
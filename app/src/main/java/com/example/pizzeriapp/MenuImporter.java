@@ -0,0 +1,318 @@
+package com.example.pizzeriapp;
+
+import android.util.JsonReader; // Потоковий читач JSON: по одному значенню, без дерева в пам'яті
+import android.util.JsonToken;  // Що лежить далі у JSON (рядок, число, null, об'єкт...)
+
+import androidx.annotation.NonNull;      // Позначка, що значення не може бути null
+import androidx.annotation.Nullable;     // Позначка, що значення може бути null
+import androidx.annotation.WorkerThread; // Не можна викликати з головного потоку
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer; // Куди віддавати готові порції піц
+
+/**
+ * Імпорт меню з CSV або JSON.
+ * <p>
+ * Файл читається по одній піці, і піци пишуться в базу порціями по CHUNK_SIZE,
+ * кожна порція - окрема транзакція (PizzaDao.insertPizzas(...)). Тож навіть 100 000 рядків
+ * займають у пам'яті лише одну порцію. Кожна піца перевіряється тими самими правилами,
+ * що й у PizzaEntity (setPriceKopecks, setSize, setStatus); неправильні рядки пропускаються
+ * і потрапляють у звіт, решта імпортується.
+ * <p>
+ * cancel() зупиняє імпорт перед наступною піцею. Уже записані порції залишаються в базі.
+ */
+public final class MenuImporter {
+
+    // Скільки піц пишемо в базу однією транзакцією
+    public static final int CHUNK_SIZE = 500;
+
+    // Скільки повідомлень про помилки зберігаємо у звіті (решту лише рахуємо)
+    static final int MAX_REPORTED_ERRORS = 20;
+
+    // Назви колонок CSV і полів JSON
+    static final String NAME = "name";
+    static final String INGREDIENTS = "ingredients";
+    static final String PRICE = "price";
+    static final String SIZE = "size";
+    static final String DESCRIPTION = "description";
+    static final String STATUS = "status";
+
+    private final Consumer<List<PizzaEntity>> writer;
+    private final int chunkSize;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Імпорт у базу через pizzaDao.insertPizzas(...).
+     */
+    public MenuImporter(@NonNull PizzaDao pizzaDao) {
+        this(pizzaDao::insertPizzas, CHUNK_SIZE);
+    }
+
+    /**
+     * @param writer Куди віддавати порції. Список після виклику перевикористовується,
+     *               тож зберігати його не можна.
+     */
+    MenuImporter(@NonNull Consumer<List<PizzaEntity>> writer, int chunkSize) {
+        this.writer = writer;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Просить зупинити імпорт. Можна викликати з будь-якого потоку.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Імпортує меню у вказаному форматі. Reader не закривається - це робить викликач.
+     * @param in Звідки читати.
+     * @param format CSV чи JSON.
+     * @param listener Кому повідомляти про хід (після кожної записаної порції); може бути null.
+     * @return Звіт: скільки імпортовано, скільки пропущено і чому.
+     * @throws IOException Якщо файл не вдалося прочитати або він зовсім не того формату.
+     */
+    @WorkerThread
+    @NonNull
+    public Result importMenu(@NonNull Reader in, @NonNull MenuFormat format,
+                             @Nullable MenuProgressListener listener) throws IOException {
+        Reader buffered = in instanceof BufferedReader ? in : new BufferedReader(in);
+        Session session = new Session(listener);
+        if (format == MenuFormat.CSV) {
+            readCsv(buffered, session);
+        } else {
+            readJson(buffered, session);
+        }
+        return session.finish();
+    }
+
+    private void readCsv(Reader in, Session session) throws IOException {
+        CsvReader csv = new CsvReader(in);
+        List<String> fields = new ArrayList<>();
+        if (!csv.readRecord(fields)) {
+            return; // Порожній файл
+        }
+        int nameColumn = requireColumn(fields, NAME);
+        int ingredientsColumn = requireColumn(fields, INGREDIENTS);
+        int priceColumn = requireColumn(fields, PRICE);
+        int sizeColumn = requireColumn(fields, SIZE);
+        int descriptionColumn = fields.indexOf(DESCRIPTION);
+        int statusColumn = fields.indexOf(STATUS);
+
+        while (!cancelled && csv.readRecord(fields)) {
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue; // Порожній рядок
+            }
+            try {
+                session.add(toPizza(
+                        field(fields, nameColumn),
+                        field(fields, ingredientsColumn),
+                        field(fields, priceColumn),
+                        field(fields, sizeColumn),
+                        field(fields, descriptionColumn),
+                        field(fields, statusColumn)));
+            } catch (IllegalArgumentException e) {
+                session.reject("Рядок " + csv.getRecordLine() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void readJson(Reader in, Session session) throws IOException {
+        JsonReader json = new JsonReader(in);
+        json.beginArray();
+        int index = 0;
+        while (!cancelled && json.hasNext()) {
+            index++;
+            String name = null;
+            String ingredients = null;
+            String price = null;
+            String size = null;
+            String description = null;
+            String status = null;
+            String invalidField = null;
+
+            json.beginObject();
+            while (json.hasNext()) {
+                String key = json.nextName();
+                JsonToken token = json.peek();
+                if (token == JsonToken.NULL) {
+                    json.nextNull();
+                    continue;
+                }
+                if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+                    json.skipValue(); // Вкладені об'єкти, масиви, true/false нам не потрібні
+                    if (isKnownField(key)) {
+                        invalidField = key;
+                    }
+                    continue;
+                }
+                String value = json.nextString(); // Числа JsonReader теж віддає як текст - без втрат точності
+                switch (key) {
+                    case NAME: name = value; break;
+                    case INGREDIENTS: ingredients = value; break;
+                    case PRICE: price = value; break;
+                    case SIZE: size = value; break;
+                    case DESCRIPTION: description = value; break;
+                    case STATUS: status = value; break;
+                    default: break; // Невідомі поля пропускаємо
+                }
+            }
+            json.endObject();
+
+            try {
+                if (invalidField != null) {
+                    throw new IllegalArgumentException("Поле \"" + invalidField + "\" має бути текстом або числом");
+                }
+                session.add(toPizza(name, ingredients, price, size, description, status));
+            } catch (IllegalArgumentException e) {
+                session.reject("Піца №" + index + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Збирає піцу з текстових полів і перевіряє її правилами PizzaEntity.
+     * @throws IllegalArgumentException Якщо якесь поле неправильне (NumberFormatException - теж сюди).
+     */
+    @NonNull
+    static PizzaEntity toPizza(@Nullable String name, @Nullable String ingredients, @Nullable String price,
+                               @Nullable String size, @Nullable String description, @Nullable String status) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(requireText(name, NAME));
+        pizza.setIngredients(requireText(ingredients, INGREDIENTS));
+        pizza.setPriceKopecks(Money.parseKopecks(requireText(price, PRICE)));
+        pizza.setSize(Integer.parseInt(requireText(size, SIZE)));
+        pizza.setDescription(description == null || description.trim().isEmpty() ? null : description.trim());
+        if (status != null && !status.trim().isEmpty()) {
+            pizza.setStatus(PizzaStatus.fromLabel(status.trim()));
+        }
+        return pizza;
+    }
+
+    private static String requireText(@Nullable String value, String column) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Порожнє поле \"" + column + "\"");
+        }
+        return value.trim();
+    }
+
+    private static int requireColumn(List<String> header, String column) throws IOException {
+        int index = header.indexOf(column);
+        if (index < 0) {
+            throw new IOException("У файлі немає колонки \"" + column + "\"");
+        }
+        return index;
+    }
+
+    @Nullable
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    private static boolean isKnownField(String key) {
+        return NAME.equals(key) || INGREDIENTS.equals(key) || PRICE.equals(key)
+                || SIZE.equals(key) || DESCRIPTION.equals(key) || STATUS.equals(key);
+    }
+
+    /**
+     * Стан одного імпорту: поточна порція, лічильники і помилки.
+     */
+    private final class Session {
+
+        private final MenuProgressListener listener;
+        private final List<PizzaEntity> chunk = new ArrayList<>(chunkSize);
+        private final List<String> errors = new ArrayList<>();
+        private int importedRows;
+        private int rejectedRows;
+
+        Session(@Nullable MenuProgressListener listener) {
+            this.listener = listener;
+        }
+
+        void add(PizzaEntity pizza) {
+            chunk.add(pizza);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(String error) {
+            rejectedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        Result finish() {
+            if (!cancelled) {
+                flush(); // При скасуванні неповну порцію не пишемо
+            }
+            return new Result(importedRows, rejectedRows, cancelled, errors);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            writer.accept(chunk);
+            importedRows += chunk.size();
+            chunk.clear();
+            if (listener != null) {
+                listener.onProgress(importedRows);
+            }
+        }
+    }
+
+    /**
+     * Підсумок імпорту.
+     */
+    public static final class Result {
+
+        private final int importedRows;
+        private final int rejectedRows;
+        private final boolean cancelled;
+        private final List<String> errors;
+
+        Result(int importedRows, int rejectedRows, boolean cancelled, List<String> errors) {
+            this.importedRows = importedRows;
+            this.rejectedRows = rejectedRows;
+            this.cancelled = cancelled;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * Скільки піц записано в базу.
+         */
+        public int getImportedRows() {
+            return importedRows;
+        }
+
+        /**
+         * Скільки рядків пропущено через помилки.
+         */
+        public int getRejectedRows() {
+            return rejectedRows;
+        }
+
+        /**
+         * Чи імпорт зупинили через cancel().
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Перші MAX_REPORTED_ERRORS повідомлень про пропущені рядки.
+         */
+        @NonNull
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.pizzeriapp;
+
+/**
+ * Повідомлення про хід імпорту чи експорту меню.
+ * Викликається у фоновому потоці, де йде робота, тож для показу в UI результат треба передати
+ * в головний потік (наприклад, через MutableLiveData.postValue(...)).
+ */
+public interface MenuProgressListener {
+
+    /**
+     * @param processedRows Скільки піц уже записано (імпорт) або прочитано з бази (експорт).
+     */
+    void onProgress(int processedRows);
+}
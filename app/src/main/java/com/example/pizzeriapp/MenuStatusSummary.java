@@ -0,0 +1,50 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.PrimaryKey; // Унікальний ключ запису
+
+/**
+ * Готовий підсумок меню: скільки піц має кожен статус і скільки вони коштують разом.
+ * Таблицю "menu_status_summary" оновлюють тригери на "pizzas" (див. DatabaseMigrations.createSummaryTriggers),
+ * тож для панелі статистики досить прочитати кілька рядків, хоч би яким великим було меню.
+ */
+@Entity(tableName = "menu_status_summary")
+public class MenuStatusSummary {
+
+    // Один рядок на статус
+    @PrimaryKey
+    @NonNull
+    private PizzaStatus status = PizzaStatus.AVAILABLE;
+
+    // Скільки піц з цим статусом (може стати 0 - тоді рядок просто не показуємо)
+    private int pizzaCount;
+
+    // Сума цін цих піц у копійках
+    private long totalKopecks;
+
+    @NonNull
+    public PizzaStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(@NonNull PizzaStatus status) {
+        this.status = status;
+    }
+
+    public int getPizzaCount() {
+        return pizzaCount;
+    }
+
+    public void setPizzaCount(int pizzaCount) {
+        this.pizzaCount = pizzaCount;
+    }
+
+    public long getTotalKopecks() {
+        return totalKopecks;
+    }
+
+    public void setTotalKopecks(long totalKopecks) {
+        this.totalKopecks = totalKopecks;
+    }
+}
@@ -0,0 +1,469 @@
+package com.example.pizzeriapp;
+
+import android.database.Cursor;     // Курсор - читання результату запиту рядок за рядком
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.lifecycle.LiveData;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PizzaDao, що міряє кожен виклик і передає його справжньому DAO, створеному Room.
+ * Саме його повертає AppDatabase.pizzaDao(), тож решта коду нічого не помічає.
+ * <ul>
+ *     <li>Методи, що виконують запит одразу (вставка, оновлення, getPizzaById...), записують
+ *     свій час у гістограму "dao.&lt;метод&gt;" (див. Metrics).</li>
+ *     <li>Методи, що повертають LiveData / Cursor, лише рахують виклики
+ *     ("dao.&lt;метод&gt;.calls"): сам запит Room виконує пізніше, в іншому потоці,
+ *     і його видно в лічильниках "sql: ..." (QueryCallback, див. DatabaseConfig.withSqlCounting).</li>
+ * </ul>
+ * Кожна метрика береться один раз, у полі, тому виклик DAO не шукає нічого в мапі і не створює об'єктів.
+ * <p>
+ * Ще він скидає в PizzaCache піци, змінені записом, - одразу, щойно транзакція запису завершилась,
+ * а не тоді, коли до кешу дійде фоновий сигнал InvalidationTracker. Нові піци (insert...) кешу не стосуються:
+ * відсутні піци він не запам'ятовує. Якщо запис іде всередині чужої, ширшої транзакції, скидання
+ * відбувається ще до її завершення - тоді свіжі дані в кеші гарантує лише InvalidationTracker.
+ */
+final class MeteredPizzaDao implements PizzaDao {
+
+    private final PizzaDao delegate;
+
+    // Кеш піц цієї бази, який треба скидати після записів
+    private final PizzaCache cache;
+
+    // Підписки на "живі" запити
+    private static final LongAdder GET_ALL_PIZZAS = Metrics.counter("dao.getAllPizzas.calls");
+    private static final LongAdder GET_PIZZA_LIST_ITEMS = Metrics.counter("dao.getPizzaListItems.calls");
+    private static final LongAdder GET_PIZZAS_CURSOR = Metrics.counter("dao.getPizzasCursor.calls");
+    private static final LongAdder GET_PRICE_STATS = Metrics.counter("dao.getPriceStatsByStatus.calls");
+    private static final LongAdder GET_STATUS_SUMMARY = Metrics.counter("dao.getStatusSummary.calls");
+    private static final LongAdder GET_PRICE_HISTOGRAM = Metrics.counter("dao.getPriceHistogram.calls");
+    private static final LongAdder SEARCH_PIZZAS = Metrics.counter("dao.searchPizzas.calls");
+
+    // Запити, що виконуються одразу
+    private static final LatencyHistogram GET_ALL_PIZZAS_NOW = Metrics.histogram("dao.getAllPizzasNow");
+    private static final LatencyHistogram GET_LIST_ITEMS_NOW = Metrics.histogram("dao.getPizzaListItemsNow");
+    private static final LatencyHistogram GET_LIST_ITEMS_BY_STATUS_NOW =
+            Metrics.histogram("dao.getPizzaListItemsByStatusNow");
+    private static final LatencyHistogram GET_LIST_ITEMS_BY_STATUS_AND_PRICE_NOW =
+            Metrics.histogram("dao.getPizzaListItemsByStatusAndPriceNow");
+    // Сторінки списку (PizzaPagingSource); чотири сортування зі статусом - в одній гістограмі
+    private static final LatencyHistogram GET_PAGE_NEWEST_FIRST = Metrics.histogram("dao.getPizzaPageNewestFirst");
+    private static final LatencyHistogram GET_PAGE_OLDEST_FIRST = Metrics.histogram("dao.getPizzaPageOldestFirst");
+    private static final LatencyHistogram GET_PAGE_BY_STATUS = Metrics.histogram("dao.getPizzaPageByStatus");
+    private static final LatencyHistogram COUNT_PIZZAS = Metrics.histogram("dao.countPizzas");
+    private static final LatencyHistogram SEARCH_PIZZAS_NOW = Metrics.histogram("dao.searchPizzasNow");
+    private static final LatencyHistogram INSERT_PIZZA = Metrics.histogram("dao.insertPizza");
+    private static final LatencyHistogram UPDATE_PIZZA = Metrics.histogram("dao.updatePizza");
+    private static final LatencyHistogram DELETE_PIZZA = Metrics.histogram("dao.deletePizza");
+    private static final LatencyHistogram DELETE_PIZZA_BY_ID = Metrics.histogram("dao.deletePizzaById");
+    private static final LatencyHistogram INSERT_PIZZAS = Metrics.histogram("dao.insertPizzas");
+    private static final LatencyHistogram UPDATE_PIZZAS = Metrics.histogram("dao.updatePizzas");
+    private static final LatencyHistogram DELETE_PIZZAS = Metrics.histogram("dao.deletePizzas");
+    private static final LatencyHistogram UPSERT_PIZZAS = Metrics.histogram("dao.upsertPizzas");
+    private static final LatencyHistogram SET_STATUS_FOR_IDS = Metrics.histogram("dao.setStatusForIds");
+    private static final LatencyHistogram SET_STATUS = Metrics.histogram("dao.setStatus");
+    private static final LatencyHistogram GET_PIZZA_BY_ID = Metrics.histogram("dao.getPizzaById");
+    private static final LatencyHistogram SOFT_DELETE_FOR_IDS = Metrics.histogram("dao.softDeleteForIds");
+    private static final LatencyHistogram SOFT_DELETE = Metrics.histogram("dao.softDelete");
+    private static final LatencyHistogram RESTORE_DELETED_FOR_IDS = Metrics.histogram("dao.restoreDeletedForIds");
+    private static final LatencyHistogram RESTORE_DELETED = Metrics.histogram("dao.restoreDeleted");
+    private static final LatencyHistogram PURGE_DELETED = Metrics.histogram("dao.purgeDeletedBefore");
+
+    MeteredPizzaDao(@NonNull PizzaDao delegate, @NonNull PizzaCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public LiveData<List<PizzaEntity>> getAllPizzas() {
+        GET_ALL_PIZZAS.increment();
+        return delegate.getAllPizzas();
+    }
+
+    @Override
+    public LiveData<List<PizzaListItem>> getPizzaListItems() {
+        GET_PIZZA_LIST_ITEMS.increment();
+        return delegate.getPizzaListItems();
+    }
+
+    @Override
+    public List<PizzaEntity> getAllPizzasNow() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllPizzasNow();
+        } finally {
+            GET_ALL_PIZZAS_NOW.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PizzaListItem> getPizzaListItemsNow() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaListItemsNow();
+        } finally {
+            GET_LIST_ITEMS_NOW.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PizzaListItem> getPizzaListItemsByStatusNow(PizzaStatus status) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaListItemsByStatusNow(status);
+        } finally {
+            GET_LIST_ITEMS_BY_STATUS_NOW.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PizzaListItem> getPizzaListItemsByStatusAndPriceNow(PizzaStatus status, long minKopecks,
+                                                                    long maxKopecks) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaListItemsByStatusAndPriceNow(status, minKopecks, maxKopecks);
+        } finally {
+            GET_LIST_ITEMS_BY_STATUS_AND_PRICE_NOW.recordSince(start);
+        }
+    }
+
+    @Override
+    public int countPizzas() {
+        long start = System.nanoTime();
+        try {
+            return delegate.countPizzas();
+        } finally {
+            COUNT_PIZZAS.recordSince(start);
+        }
+    }
+
+    @Override
+    public Cursor getPizzasCursor() {
+        GET_PIZZAS_CURSOR.increment();
+        return delegate.getPizzasCursor();
+    }
+
+    @Override
+    public List<PizzaPageRow> getPizzaPageNewestFirst(int afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaPageNewestFirst(afterId, limit);
+        } finally {
+            GET_PAGE_NEWEST_FIRST.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PizzaPageRow> getPizzaPageOldestFirst(int afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaPageOldestFirst(afterId, limit);
+        } finally {
+            GET_PAGE_OLDEST_FIRST.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PizzaPageRow> getPizzaPageByStatusPriceAsc(PizzaStatus status, long afterKey, int afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaPageByStatusPriceAsc(status, afterKey, afterId, limit);
+        } finally {
+            GET_PAGE_BY_STATUS.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PizzaPageRow> getPizzaPageByStatusPriceDesc(PizzaStatus status, long afterKey, int afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaPageByStatusPriceDesc(status, afterKey, afterId, limit);
+        } finally {
+            GET_PAGE_BY_STATUS.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PizzaPageRow> getPizzaPageByStatusSizeAsc(PizzaStatus status, long afterKey, int afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaPageByStatusSizeAsc(status, afterKey, afterId, limit);
+        } finally {
+            GET_PAGE_BY_STATUS.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PizzaPageRow> getPizzaPageByStatusSizeDesc(PizzaStatus status, long afterKey, int afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaPageByStatusSizeDesc(status, afterKey, afterId, limit);
+        } finally {
+            GET_PAGE_BY_STATUS.recordSince(start);
+        }
+    }
+
+    @Override
+    public LiveData<List<StatusPriceStats>> getPriceStatsByStatus() {
+        GET_PRICE_STATS.increment();
+        return delegate.getPriceStatsByStatus();
+    }
+
+    @Override
+    public LiveData<List<StatusPriceStats>> getStatusSummary() {
+        GET_STATUS_SUMMARY.increment();
+        return delegate.getStatusSummary();
+    }
+
+    @Override
+    public LiveData<List<PriceHistogramBucket>> getPriceHistogram(long bucketKopecks) {
+        GET_PRICE_HISTOGRAM.increment();
+        return delegate.getPriceHistogram(bucketKopecks);
+    }
+
+    @Override
+    public LiveData<List<PizzaListItem>> searchPizzas(String matchQuery, int limit) {
+        SEARCH_PIZZAS.increment();
+        return delegate.searchPizzas(matchQuery, limit);
+    }
+
+    @Override
+    public List<PizzaListItem> searchPizzasNow(String matchQuery, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchPizzasNow(matchQuery, limit);
+        } finally {
+            SEARCH_PIZZAS_NOW.recordSince(start);
+        }
+    }
+
+    @Override
+    public long insertPizza(PizzaEntity pizza) {
+        long start = System.nanoTime();
+        try {
+            return delegate.insertPizza(pizza);
+        } finally {
+            INSERT_PIZZA.recordSince(start);
+        }
+    }
+
+    @Override
+    public void updatePizza(PizzaEntity pizza) {
+        long start = System.nanoTime();
+        try {
+            delegate.updatePizza(pizza);
+            cache.invalidate(pizza.getId());
+        } finally {
+            UPDATE_PIZZA.recordSince(start);
+        }
+    }
+
+    @Override
+    public void deletePizza(PizzaEntity pizza) {
+        long start = System.nanoTime();
+        try {
+            delegate.deletePizza(pizza);
+            cache.invalidate(pizza.getId());
+        } finally {
+            DELETE_PIZZA.recordSince(start);
+        }
+    }
+
+    @Override
+    public int deletePizzaById(int pizzaId) {
+        long start = System.nanoTime();
+        try {
+            int deleted = delegate.deletePizzaById(pizzaId);
+            cache.invalidate(pizzaId);
+            return deleted;
+        } finally {
+            DELETE_PIZZA_BY_ID.recordSince(start);
+        }
+    }
+
+    @Override
+    public void insertPizzas(List<PizzaEntity> pizzas) {
+        long start = System.nanoTime();
+        try {
+            delegate.insertPizzas(pizzas);
+        } finally {
+            INSERT_PIZZAS.recordSince(start);
+        }
+    }
+
+    @Override
+    public void updatePizzas(List<PizzaEntity> pizzas) {
+        long start = System.nanoTime();
+        try {
+            delegate.updatePizzas(pizzas);
+            cache.invalidateAll();
+        } finally {
+            UPDATE_PIZZAS.recordSince(start);
+        }
+    }
+
+    @Override
+    public void deletePizzas(List<PizzaEntity> pizzas) {
+        long start = System.nanoTime();
+        try {
+            delegate.deletePizzas(pizzas);
+            cache.invalidateAll();
+        } finally {
+            DELETE_PIZZAS.recordSince(start);
+        }
+    }
+
+    @Override
+    public void upsertPizzas(List<PizzaEntity> pizzas) {
+        long start = System.nanoTime();
+        try {
+            delegate.upsertPizzas(pizzas);
+            cache.invalidateAll();
+        } finally {
+            UPSERT_PIZZAS.recordSince(start);
+        }
+    }
+
+    @Override
+    public int setStatusForIds(List<Integer> pizzaIds, PizzaStatus status) {
+        long start = System.nanoTime();
+        try {
+            int updated = delegate.setStatusForIds(pizzaIds, status);
+            cache.invalidateAll();
+            return updated;
+        } finally {
+            SET_STATUS_FOR_IDS.recordSince(start);
+        }
+    }
+
+    /**
+     * Передаємо справжньому DAO, а не виконуємо типову реалізацію тут:
+     * лише у Room-версії setStatus(...) загорнутий у транзакцію.
+     */
+    @Override
+    public int setStatus(List<Integer> pizzaIds, PizzaStatus status) {
+        long start = System.nanoTime();
+        try {
+            int updated = delegate.setStatus(pizzaIds, status);
+            cache.invalidateAll();
+            return updated;
+        } finally {
+            SET_STATUS.recordSince(start);
+        }
+    }
+
+    @Override
+    public int softDeleteForIds(List<Integer> pizzaIds, long deletedAt) {
+        long start = System.nanoTime();
+        try {
+            int updated = delegate.softDeleteForIds(pizzaIds, deletedAt);
+            cache.invalidateAll();
+            return updated;
+        } finally {
+            SOFT_DELETE_FOR_IDS.recordSince(start);
+        }
+    }
+
+    // Як і setStatus(...): транзакція є лише в Room-версії, тож передаємо далі
+
+    @Override
+    public int softDelete(List<Integer> pizzaIds, long deletedAt) {
+        long start = System.nanoTime();
+        try {
+            int updated = delegate.softDelete(pizzaIds, deletedAt);
+            cache.invalidateAll();
+            return updated;
+        } finally {
+            SOFT_DELETE.recordSince(start);
+        }
+    }
+
+    @Override
+    public int restoreDeletedForIds(List<Integer> pizzaIds, long deletedAt) {
+        long start = System.nanoTime();
+        try {
+            int updated = delegate.restoreDeletedForIds(pizzaIds, deletedAt);
+            cache.invalidateAll();
+            return updated;
+        } finally {
+            RESTORE_DELETED_FOR_IDS.recordSince(start);
+        }
+    }
+
+    @Override
+    public int restoreDeleted(List<Integer> pizzaIds, long deletedAt) {
+        long start = System.nanoTime();
+        try {
+            int updated = delegate.restoreDeleted(pizzaIds, deletedAt);
+            cache.invalidateAll();
+            return updated;
+        } finally {
+            RESTORE_DELETED.recordSince(start);
+        }
+    }
+
+    @Override
+    public int purgeDeletedBefore(long before, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.purgeDeletedBefore(before, limit);
+        } finally {
+            PURGE_DELETED.recordSince(start);
+        }
+    }
+
+    @Override
+    public PizzaEntity getPizzaById(int pizzaId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPizzaById(pizzaId);
+        } finally {
+            GET_PIZZA_BY_ID.recordSince(start);
+        }
+    }
+
+    // "Цеглинки" записів: їх викликають лише типові методи PizzaDao всередині транзакції Room,
+    // а заміряні вони разом з insertPizza(...) / updatePizza(...) і т.д., тож тут просто передаємо далі.
+
+    @Override
+    public long insertPizzaRow(PizzaEntity pizza) {
+        return delegate.insertPizzaRow(pizza);
+    }
+
+    @Override
+    public long[] insertPizzaRows(List<PizzaEntity> pizzas) {
+        return delegate.insertPizzaRows(pizzas);
+    }
+
+    @Override
+    public int updatePizzaRow(PizzaEdit edit) {
+        return delegate.updatePizzaRow(edit);
+    }
+
+    @Override
+    public boolean updatePizzaIfExists(PizzaEntity pizza) {
+        return delegate.updatePizzaIfExists(pizza);
+    }
+
+    @Override
+    public void addIngredient(String name) {
+        delegate.addIngredient(name);
+    }
+
+    @Override
+    public void linkIngredient(int pizzaId, String name) {
+        delegate.linkIngredient(pizzaId, name);
+    }
+
+    @Override
+    public void unlinkIngredients(int pizzaId) {
+        delegate.unlinkIngredients(pizzaId);
+    }
+
+    @Override
+    public void indexIngredients(int pizzaId, String ingredients) {
+        delegate.indexIngredients(pizzaId, ingredients);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.pizzeriapp;
+
+import android.util.Log; // Вивід у logcat
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder; // Лічильник, який не "б'ється" між потоками
+
+/**
+ * Один на весь додаток реєстр метрик: лічильники і гістограми часу (LatencyHistogram).
+ * <p>
+ * Метрику за назвою беремо один раз (наприклад, у static final поле), а на гарячому шляху
+ * лише записуємо - без пошуку в мапі, замків і нових об'єктів:
+ * <pre>
+ * private static final LatencyHistogram BIND = Metrics.histogram("ui.onBindViewHolder");
+ * long start = System.nanoTime();
+ * ...
+ * BIND.recordSince(start);
+ * </pre>
+ * dump() / logDump() показують p50 / p99 / max по всіх гістограмах і значення лічильників.
+ */
+public final class Metrics {
+
+    private static final String TAG = "PizzeriaMetrics";
+
+    // Префікс лічильників SQL-запитів з Room QueryCallback
+    static final String SQL_PREFIX = "sql: ";
+
+    private static final ConcurrentHashMap<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+        // Лише статичні методи
+    }
+
+    /**
+     * Гістограма з такою назвою (створюється при першому зверненні).
+     */
+    @NonNull
+    public static LatencyHistogram histogram(@NonNull String name) {
+        return HISTOGRAMS.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Лічильник з такою назвою (створюється при першому зверненні).
+     */
+    @NonNull
+    public static LongAdder counter(@NonNull String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Для Room QueryCallback: рахує, скільки разів виконувався кожен SQL-запит.
+     * Час самих запитів міряють обгортки DAO (див. MeteredPizzaDao) - Room повідомляє
+     * лише про початок запиту, а не про його тривалість.
+     */
+    static void onSqlQuery(@NonNull String sql, @NonNull List<Object> bindArgs) {
+        counter(SQL_PREFIX + sql).increment();
+    }
+
+    /**
+     * Усі метрики текстом, за алфавітом, по одній на рядок.
+     */
+    @NonNull
+    public static String dump() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                out.append(entry.getKey()).append(": ").append(entry.getValue().summary()).append('\n');
+            }
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(COUNTERS).entrySet()) {
+            out.append(entry.getKey()).append(" = ").append(entry.getValue().sum()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Виводить dump() у logcat (тег "PizzeriaMetrics"), рядок за рядком -
+     * logcat обрізає занадто довгі повідомлення.
+     */
+    public static void logDump() {
+        for (String line : dump().split("\n")) {
+            if (!line.isEmpty()) {
+                Log.i(TAG, line);
+            }
+        }
+    }
+
+    /**
+     * Очищає всі метрики (самі об'єкти залишаються - на них можуть посилатися поля).
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            histogram.reset();
+        }
+        for (LongAdder counter : COUNTERS.values()) {
+            counter.reset();
+        }
+    }
+}
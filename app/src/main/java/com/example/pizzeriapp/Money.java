@@ -0,0 +1,127 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+/**
+ * Гроші в копійках.
+ * Ціни зберігаємо цілим числом копійок (long), а не double: так суми й середні
+ * рахуються точно, навіть прямо в SQL, і не з'являються "копійки" на кшталт 0.1 + 0.2.
+ * Розбір і форматування зроблені вручну - без String.format, Double і зайвих об'єктів.
+ */
+public final class Money {
+
+    private static final int KOPECKS_PER_HRYVNIA = 100;
+
+    // Скільки копійок. Для цін завжди більше за нуль.
+    private final long kopecks;
+
+    private Money(long kopecks) {
+        this.kopecks = kopecks;
+    }
+
+    @NonNull
+    public static Money ofKopecks(long kopecks) {
+        return new Money(kopecks);
+    }
+
+    /**
+     * Розбирає суму, яку ввів користувач, наприклад "149", "149.5" або "149,50".
+     */
+    @NonNull
+    public static Money parse(@NonNull CharSequence text) {
+        return new Money(parseKopecks(text));
+    }
+
+    public long getKopecks() {
+        return kopecks;
+    }
+
+    /**
+     * Перетворює текст на кількість копійок.
+     * Дозволено: цифри, одна крапка або кома, не більше двох цифр після неї.
+     * @param text Сума в гривнях, наприклад "149,50".
+     * @return Кількість копійок, наприклад 14950.
+     * @throws NumberFormatException якщо текст не схожий на суму.
+     */
+    public static long parseKopecks(@NonNull CharSequence text) {
+        long hryvnias = 0;
+        long fraction = 0;
+        int fractionDigits = -1; // -1 - ще не зустріли крапку/кому
+        boolean anyDigit = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                int digit = c - '0';
+                if (fractionDigits < 0) {
+                    if (hryvnias > (Long.MAX_VALUE / KOPECKS_PER_HRYVNIA - 1 - digit) / 10) {
+                        throw new NumberFormatException("Завелика сума: " + text);
+                    }
+                    hryvnias = hryvnias * 10 + digit;
+                } else if (fractionDigits < 2) {
+                    fraction = fraction * 10 + digit;
+                    fractionDigits++;
+                } else {
+                    throw new NumberFormatException("Не більше двох цифр після коми: " + text);
+                }
+            } else if ((c == '.' || c == ',') && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                throw new NumberFormatException("Це не схоже на суму: " + text);
+            }
+        }
+        if (!anyDigit) {
+            throw new NumberFormatException("Це не схоже на суму: " + text);
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10; // "149,5" - це 50 копійок, а не 5
+        }
+        return hryvnias * KOPECKS_PER_HRYVNIA + fraction;
+    }
+
+    /**
+     * Дописує суму у вигляді "149,50" в кінець out. Нових рядків не створює,
+     * тому підходить для "гарячих" місць на кшталт заповнення рядків списку.
+     * @param out Куди дописувати.
+     * @param kopecks Сума в копійках.
+     * @param decimalSeparator Роздільник, наприклад ',' або '.'.
+     * @return Той самий out, щоб можна було продовжити append(...).
+     */
+    @NonNull
+    public static StringBuilder appendTo(@NonNull StringBuilder out, long kopecks, char decimalSeparator) {
+        if (kopecks < 0) {
+            out.append('-');
+            kopecks = -kopecks;
+        }
+        long fraction = kopecks % KOPECKS_PER_HRYVNIA;
+        out.append(kopecks / KOPECKS_PER_HRYVNIA).append(decimalSeparator);
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+
+    /**
+     * Сума у вигляді "149.50" - зручно, наприклад, для поля вводу ціни.
+     */
+    @NonNull
+    public static String format(long kopecks) {
+        return appendTo(new StringBuilder(24), kopecks, '.').toString();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return format(kopecks);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money && ((Money) other).kopecks == kopecks;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(kopecks);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;  // Позначка, що значення не може бути null
+import androidx.lifecycle.LiveData;  // Дані, які самі оновлюються в UI
+import androidx.room.Dao;            // Об'єкт для доступу до даних
+import androidx.room.Insert;         // Вставка нового запису
+import androidx.room.Query;          // Власний SQL-запит
+import androidx.room.Transaction;    // Кілька запитів як одна транзакція
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Робота із замовленнями: оформлення (checkout) і читання вже проданого.
+ * Оформлення одразу списує інгредієнти зі складу (див. InventoryStock).
+ */
+@Dao
+public interface OrderDao extends InventoryStock {
+
+    @Insert
+    long insertOrder(OrderEntity order);
+
+    @Insert
+    void insertItems(List<OrderItemEntity> items);
+
+    /**
+     * Назви, ціни і статуси потрібних піц - одним запитом, без решти полів. Піц з кошика тут немає.
+     */
+    @Query("SELECT id, name, priceKopecks, status FROM pizzas WHERE id IN (:pizzaIds) AND " + PizzaDao.NOT_DELETED)
+    List<PizzaPriceSnapshot> getPriceSnapshots(List<Integer> pizzaIds);
+
+    /**
+     * Останні замовлення, новіші першими. Індекс за createdAt віддає їх уже відсортованими.
+     */
+    @Query("SELECT * FROM orders ORDER BY createdAt DESC LIMIT :limit")
+    LiveData<List<OrderEntity>> getRecentOrders(int limit);
+
+    @Query("SELECT * FROM orders WHERE id = :orderId")
+    OrderEntity getOrderById(long orderId);
+
+    @Query("SELECT * FROM order_items WHERE orderId = :orderId ORDER BY id")
+    List<OrderItemEntity> getItemsForOrder(long orderId);
+
+    /**
+     * Найпопулярніші піци з готової таблиці-підсумку "pizza_sales_summary".
+     * Індекс за soldCount віддає перші limit рядків одразу, без перебору всіх продажів.
+     * @param limit Скільки піц показати.
+     */
+    @Query("SELECT s.pizzaId AS pizzaId, p.name AS pizzaName, s.soldCount AS soldCount, "
+            + "s.revenueKopecks AS revenueKopecks "
+            + "FROM pizza_sales_summary AS s JOIN pizzas AS p ON p.id = s.pizzaId "
+            + "WHERE p." + PizzaDao.NOT_DELETED + " "
+            + "ORDER BY s.soldCount DESC LIMIT :limit")
+    LiveData<List<PizzaSales>> getTopSellingPizzas(int limit);
+
+    /**
+     * Оформлює замовлення однією короткою транзакцією:
+     * один запит цін, одне списання зі складу на кожну піцу, одна вставка замовлення,
+     * одна пакетна вставка рядків і один UPDATE статусів піц, для яких щось закінчилося.
+     * Ціни й назви беруться з бази саме зараз і копіюються в рядки замовлення.
+     * Якщо чогось бракує (піцу видалили, її немає в наявності чи не вистачає інгредієнтів) -
+     * не записується і не списується нічого.
+     * @param lines Що замовили. Одна піца може бути в кількох рядках.
+     * @param createdAt Час оформлення (System.currentTimeMillis()).
+     * @return Номер нового замовлення.
+     * @throws IllegalArgumentException Якщо замовлення порожнє або піци немає в меню.
+     * @throws IllegalStateException Якщо піци немає в наявності або на неї не вистачає інгредієнтів.
+     */
+    @Transaction
+    default long checkout(@NonNull List<OrderLine> lines, long createdAt) {
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("Замовлення порожнє!");
+        }
+        if (lines.size() > PizzaDao.MAX_IDS_PER_QUERY) {
+            throw new IllegalArgumentException("Забагато рядків в одному замовленні: " + lines.size());
+        }
+
+        List<Integer> pizzaIds = new ArrayList<>(lines.size());
+        for (OrderLine line : lines) {
+            pizzaIds.add(line.getPizzaId());
+        }
+        Map<Integer, PizzaPriceSnapshot> pizzasById = new HashMap<>();
+        for (PizzaPriceSnapshot pizza : getPriceSnapshots(pizzaIds)) {
+            pizzasById.put(pizza.id, pizza);
+        }
+
+        List<OrderItemEntity> items = new ArrayList<>(lines.size());
+        long totalKopecks = 0;
+        for (OrderLine line : lines) {
+            PizzaPriceSnapshot pizza = pizzasById.get(line.getPizzaId());
+            if (pizza == null) {
+                throw new IllegalArgumentException("Піци №" + line.getPizzaId() + " немає в меню");
+            }
+            if (pizza.status == PizzaStatus.UNAVAILABLE) {
+                throw new IllegalStateException("Піци \"" + pizza.name + "\" немає в наявності");
+            }
+            OrderItemEntity item = new OrderItemEntity();
+            item.setPizzaId(pizza.id);
+            item.setPizzaName(pizza.name);
+            item.setUnitPriceKopecks(pizza.priceKopecks);
+            item.setQuantity(line.getQuantity());
+            totalKopecks = Math.addExact(totalKopecks, item.getLineTotalKopecks());
+            items.add(item);
+        }
+
+        // Одна піца може бути в кількох рядках - списуємо за всі разом
+        Map<Integer, Integer> portionsByPizza = new LinkedHashMap<>();
+        for (OrderLine line : lines) {
+            portionsByPizza.merge(line.getPizzaId(), line.getQuantity(), Integer::sum);
+        }
+        for (Map.Entry<Integer, Integer> entry : portionsByPizza.entrySet()) {
+            List<String> missing = takeStock(entry.getKey(), entry.getValue());
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Для піци \"" + pizzasById.get(entry.getKey()).name
+                        + "\" не вистачає: " + String.join(", ", missing));
+            }
+        }
+        markPizzasOutOfStock(PizzaStatus.AVAILABLE, PizzaStatus.UNAVAILABLE);
+
+        OrderEntity order = new OrderEntity();
+        order.setCreatedAt(createdAt);
+        order.setTotalKopecks(totalKopecks);
+        long orderId = insertOrder(order);
+        for (OrderItemEntity item : items) {
+            item.setOrderId(orderId);
+        }
+        insertItems(items);
+        return orderId;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.pizzeriapp;
+
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.Index;      // Індекс для швидкого пошуку і сортування
+import androidx.room.PrimaryKey; // Унікальний номер запису
+
+/**
+ * Одне замовлення (один чек). Самі піци в ньому - у таблиці "order_items" (див. OrderItemEntity).
+ * У базі даних це таблиця "orders".
+ */
+// Індекс за часом: останні замовлення і звіти за день читаються без перебору всієї таблиці.
+@Entity(tableName = "orders",
+        indices = {@Index(value = {"createdAt"})})
+public class OrderEntity {
+
+    /**
+     * Номер замовлення. База призначає його сама.
+     */
+    @PrimaryKey(autoGenerate = true)
+    private long id;
+
+    /**
+     * Коли оформили замовлення (мілісекунди від 1970 року, як System.currentTimeMillis()).
+     */
+    private long createdAt;
+
+    /**
+     * Сума до оплати в копійках. Рахується з цін на момент оформлення.
+     */
+    private long totalKopecks;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getTotalKopecks() {
+        return totalKopecks;
+    }
+
+    public void setTotalKopecks(long totalKopecks) {
+        if (totalKopecks < 0) {
+            throw new IllegalArgumentException("Сума замовлення не може бути від'ємною");
+        }
+        this.totalKopecks = totalKopecks;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Значення не може бути null
+import androidx.annotation.Nullable; // Значення може бути null
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.ForeignKey; // Зв'язок з іншою таблицею
+import androidx.room.Index;      // Індекс для швидкого пошуку
+import androidx.room.PrimaryKey; // Унікальний номер запису
+
+/**
+ * Один рядок замовлення: яка піца, скільки штук і за якою ціною.
+ * Назва і ціна копіюються з піци в момент оформлення, тож подальша зміна меню
+ * (чи навіть видалення піци) не змінює вже продані замовлення.
+ */
+// Видалили замовлення - видаляються і його рядки (CASCADE).
+// Видалили піцу з меню - рядок залишається, лише pizzaId стає null (SET_NULL).
+// Індекси на обох зв'язках: без них SQLite перебирав би всю таблицю при кожному видаленні.
+@Entity(tableName = "order_items",
+        foreignKeys = {
+                @ForeignKey(entity = OrderEntity.class,
+                        parentColumns = "id",
+                        childColumns = "orderId",
+                        onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = PizzaEntity.class,
+                        parentColumns = "id",
+                        childColumns = "pizzaId",
+                        onDelete = ForeignKey.SET_NULL)
+        },
+        indices = {
+                @Index(value = {"orderId"}),
+                @Index(value = {"pizzaId"})
+        })
+public class OrderItemEntity {
+
+    @PrimaryKey(autoGenerate = true)
+    private long id;
+
+    // До якого замовлення належить рядок
+    private long orderId;
+
+    // Яка піца; null, якщо її вже видалили з меню
+    @Nullable
+    private Integer pizzaId;
+
+    // Назва піци на момент продажу
+    @NonNull
+    private String pizzaName = "";
+
+    // Ціна однієї піци на момент продажу, в копійках
+    private long unitPriceKopecks;
+
+    // Скільки штук
+    private int quantity;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(long orderId) {
+        this.orderId = orderId;
+    }
+
+    @Nullable
+    public Integer getPizzaId() {
+        return pizzaId;
+    }
+
+    public void setPizzaId(@Nullable Integer pizzaId) {
+        this.pizzaId = pizzaId;
+    }
+
+    @NonNull
+    public String getPizzaName() {
+        return pizzaName;
+    }
+
+    public void setPizzaName(@NonNull String pizzaName) {
+        this.pizzaName = pizzaName;
+    }
+
+    public long getUnitPriceKopecks() {
+        return unitPriceKopecks;
+    }
+
+    public void setUnitPriceKopecks(long unitPriceKopecks) {
+        if (unitPriceKopecks <= 0) {
+            throw new IllegalArgumentException("Ціна повинна бути більшою за нуль");
+        }
+        this.unitPriceKopecks = unitPriceKopecks;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Кількість повинна бути більшою за нуль!");
+        }
+        this.quantity = quantity;
+    }
+
+    /**
+     * Вартість рядка: ціна × кількість, у копійках.
+     */
+    public long getLineTotalKopecks() {
+        return unitPriceKopecks * quantity;
+    }
+}
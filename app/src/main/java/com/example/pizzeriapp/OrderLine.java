@@ -0,0 +1,27 @@
+package com.example.pizzeriapp;
+
+/**
+ * Рядок "кошика" перед оформленням: лише номер піци і кількість.
+ * Ціну тут не передаємо - OrderDao.checkout(...) сам бере її з бази в момент оформлення.
+ */
+public final class OrderLine {
+
+    private final int pizzaId;
+    private final int quantity;
+
+    public OrderLine(int pizzaId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Кількість повинна бути більшою за нуль!");
+        }
+        this.pizzaId = pizzaId;
+        this.quantity = quantity;
+    }
+
+    public int getPizzaId() {
+        return pizzaId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
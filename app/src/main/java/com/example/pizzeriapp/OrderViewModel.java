@@ -0,0 +1,118 @@
+package com.example.pizzeriapp;
+
+import android.app.Application; // Контекст додатка для доступу до бази
+
+import androidx.annotation.NonNull; // Помітка, що параметр не може бути null
+import androidx.lifecycle.AndroidViewModel; // ViewModel, яка "знає" про контекст додатка
+import androidx.lifecycle.LiveData;         // Дані, за якими можна спостерігати з UI
+import androidx.lifecycle.MutableLiveData;  // LiveData, значення якої ми змінюємо самі
+
+import java.util.ArrayList; // Для копіювання списку перед передачею у фоновий потік
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ViewModel для замовлень: оформлення та список останніх продажів.
+ * Як і PizzaViewModel, усі записи робить у спільному потоці запису бази.
+ * Оформлене замовлення одразу йде в чергу кухні (KitchenScheduler).
+ */
+public class OrderViewModel extends AndroidViewModel {
+
+    // Скільки останніх замовлень показуємо
+    private static final int RECENT_ORDERS_LIMIT = 50;
+
+    // За скільки обіцяємо віддати замовлення
+    static final long PROMISED_WITHIN_MS = 30 * 60_000L;
+
+    private final AppDatabase db;
+
+    private final OrderDao orderDao;
+
+    // Останні замовлення, оновлюються самі після кожного оформлення
+    private final LiveData<List<OrderEntity>> recentOrders;
+
+    // Номер щойно оформленого замовлення
+    private final MutableLiveData<Long> lastOrderId = new MutableLiveData<>();
+
+    // Чому не вдалося оформити замовлення (наприклад, піци вже немає в наявності)
+    private final MutableLiveData<String> checkoutError = new MutableLiveData<>();
+
+    // Замовлення оформлене, але не потрапило в чергу кухні - про нього треба сказати кухні вручну
+    private final MutableLiveData<String> kitchenError = new MutableLiveData<>();
+
+    // Спільний на весь додаток потік запису (див. AppDatabase.getWriteExecutor())
+    private final DatabaseWriteExecutor writeExecutor = AppDatabase.getWriteExecutor();
+
+    public OrderViewModel(@NonNull Application application) {
+        super(application);
+        db = AppDatabase.getInstance(application);
+        orderDao = db.orderDao();
+        recentOrders = orderDao.getRecentOrders(RECENT_ORDERS_LIMIT);
+    }
+
+    public LiveData<List<OrderEntity>> getRecentOrders() {
+        return recentOrders;
+    }
+
+    public LiveData<Long> getLastOrderId() {
+        return lastOrderId;
+    }
+
+    public LiveData<String> getCheckoutError() {
+        return checkoutError;
+    }
+
+    /**
+     * Сюди приходить повідомлення, якщо замовлення оформлене (getLastOrderId()), але в чергу кухні не потрапило.
+     * Це не помилка оформлення: гроші й списання зі складу вже в базі, повторно оформлювати не треба.
+     */
+    public LiveData<String> getKitchenError() {
+        return kitchenError;
+    }
+
+    /**
+     * Оформлює замовлення у фоновому потоці. Результат приходить у getLastOrderId()
+     * або, якщо щось не так, у getCheckoutError(). Якщо оформлене замовлення не вдалося
+     * поставити в чергу кухні - у getKitchenError().
+     * @param lines Рядки кошика.
+     */
+    public void checkout(List<OrderLine> lines) {
+        List<OrderLine> linesCopy = new ArrayList<>(lines); // Кошик можуть змінити, поки задача чекає в черзі
+        long createdAt = System.currentTimeMillis();
+        boolean accepted = writeExecutor.execute(() -> {
+            long orderId;
+            try {
+                orderId = orderDao.checkout(linesCopy, createdAt);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                checkoutError.postValue(e.getMessage());
+                return;
+            }
+            lastOrderId.postValue(orderId);
+            // Замовлення вже в базі: що б не сталося з чергою кухні, оформлення це не скасовує
+            try {
+                db.kitchenScheduler().submitOrder(orderId, linesCopy, pizzasOf(linesCopy),
+                        createdAt + PROMISED_WITHIN_MS);
+            } catch (RuntimeException e) {
+                kitchenError.postValue("Замовлення №" + orderId + " не потрапило в чергу кухні: " + e.getMessage());
+            }
+        });
+        if (!accepted) {
+            // Черга запису переповнена - не чекаємо в головному потоці, а просимо спробувати ще раз
+            checkoutError.postValue("Каса зараз перевантажена - замовлення не оформлено, спробуйте ще раз");
+        }
+    }
+
+    // Назви й розміри піц замовлення - з кешу, зазвичай без запитів до бази
+    private Map<Integer, PizzaEntity> pizzasOf(List<OrderLine> lines) {
+        Map<Integer, PizzaEntity> pizzas = new HashMap<>();
+        PizzaCache cache = db.pizzaCache();
+        for (OrderLine line : lines) {
+            PizzaEntity pizza = cache.getPizzaById(line.getPizzaId());
+            if (pizza != null) {
+                pizzas.put(pizza.getId(), pizza);
+            }
+        }
+        return pizzas;
+    }
+}
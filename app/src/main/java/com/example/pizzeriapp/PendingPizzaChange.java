@@ -0,0 +1,53 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;  // Позначка, що значення не може бути null
+import androidx.annotation.Nullable; // Позначка, що значення може бути null
+
+/**
+ * Рядок журналу змін (pizza_changes) разом з поточними даними піци, якщо вона ще є.
+ * Room заповнює поля за назвами колонок у SyncDao.getPendingChanges(...).
+ */
+public class PendingPizzaChange {
+
+    public long seq;
+
+    @NonNull
+    public String uuid = "";
+
+    public boolean deleted;
+
+    public long baseVersion;
+
+    public long changedAt;
+
+    // Далі - поля піци; для видаленої піци порожні
+    public long updatedAt;
+
+    @Nullable
+    public String name;
+
+    @Nullable
+    public String ingredients;
+
+    public long priceKopecks;
+
+    public int size;
+
+    @Nullable
+    public String description;
+
+    @Nullable
+    public PizzaStatus status;
+
+    /**
+     * Зміна в тому вигляді, в якому її відправляємо на сервер.
+     */
+    @NonNull
+    SyncRecord toRecord() {
+        if (deleted) {
+            return SyncRecord.deleted(uuid, baseVersion, changedAt);
+        }
+        return new SyncRecord(uuid, baseVersion, updatedAt, false, name, ingredients, priceKopecks, size,
+                description, status);
+    }
+}
@@ -6,42 +6,86 @@ import android.view.ViewGroup;     // Контейнер для інших View
 import android.widget.TextView;    // Для відображення тексту
 
 import androidx.annotation.NonNull; // Позначка, що щось не може бути null
+import androidx.recyclerview.widget.AsyncListDiffer; // Порівнює старий і новий списки у фоновому потоці
 import androidx.recyclerview.widget.RecyclerView; // Для створення списків
 
+import java.text.DecimalFormatSymbols; // Щоб дізнатися роздільник копійок для мови пристрою
 import java.util.List;       // Для роботи зі списками
-import java.util.Locale;     // Для форматування тексту, наприклад, ціни відповідно до мови
 
 /**
  * Це Адаптер. Він як міст між нашими даними (списком піц)
  * та тим, як вони відображаються на екрані у вигляді списку (RecyclerView).
  * Він відповідає за створення кожного елемента списку та заповнення його даними.
+ * Рядок заповнюється з PizzaListItem - лише назва, склад і ціна, без решти полів піци.
  */
 public class PizzaAdapter extends RecyclerView.Adapter<PizzaAdapter.PizzaViewHolder> {
 
-    // Тут зберігатиметься наш список піц, який ми хочемо показати
-    private List<PizzaEntity> pizzaList;
+    // Тут зберігатиметься наш список піц, який ми хочемо показати.
+    // AsyncListDiffer сам порівнює старий і новий списки у фоновому потоці
+    // і повідомляє RecyclerView лише про ті рядки, які справді змінилися.
+    private final AsyncListDiffer<PizzaListItem> differ =
+            new AsyncListDiffer<>(this, PizzaDiffCallback.INSTANCE);
+
+    // Скільки триває створення і заповнення рядка (спільні й для PizzaPagingAdapter).
+    // Запис у гістограму не створює об'єктів, тож прокрутку не сповільнює.
+    static final LatencyHistogram CREATE_LATENCY = Metrics.histogram("ui.onCreateViewHolder");
+    static final LatencyHistogram BIND_LATENCY = Metrics.histogram("ui.onBindViewHolder");
 
     // Це "слухачі" натискань на елементи списку.
     // MainActivity підпишеться на них, щоб знати, коли користувач щось натиснув.
 
     // Для звичайного (короткого) кліку
     public interface OnPizzaClickListener {
-        void onPizzaClick(PizzaEntity pizza); // Передаємо натиснуту піцу
+        void onPizzaClick(PizzaListItem pizza); // Передаємо натиснуту піцу
     }
     private OnPizzaClickListener clickListener;
 
     // Для довгого кліку (зазвичай використовується для видалення)
     public interface OnPizzaLongClickListener {
-        void onPizzaLongClick(PizzaEntity pizza); // Передаємо натиснуту піцу
+        void onPizzaLongClick(PizzaListItem pizza); // Передаємо натиснуту піцу
     }
     private OnPizzaLongClickListener longClickListener;
 
+    /**
+     * Що робити, коли натиснули рядок з певним номером (позицією).
+     * ViewHolder вішає обробники кліків один раз при створенні і лише повідомляє позицію,
+     * а вже адаптер знаходить за нею актуальну піцу. Так при заповненні рядка
+     * не створюються нові об'єкти-обробники.
+     */
+    interface RowClickHandler {
+        void onRowClick(int position);
+
+        boolean onRowLongClick(int position);
+    }
+
+    // Перетворює позицію рядка на піцу і передає її "слухачам"
+    private final RowClickHandler rowClickHandler = new RowClickHandler() {
+        @Override
+        public void onRowClick(int position) {
+            if (clickListener != null) {
+                clickListener.onPizzaClick(differ.getCurrentList().get(position)); // Повідомляємо "слухача" про клік
+            }
+        }
+
+        @Override
+        public boolean onRowLongClick(int position) {
+            if (longClickListener != null) {
+                longClickListener.onPizzaLongClick(differ.getCurrentList().get(position)); // Повідомляємо "слухача"
+                return true; // Кажемо системі, що ми обробили цей довгий клік
+            }
+            return false; // Якщо слухача немає, кажемо, що не обробили
+        }
+    };
+
     /**
      * Конструктор Адаптера. Сюди ми передаємо початковий список піц.
      * @param pizzaList Список піц для відображення.
      */
-    public PizzaAdapter(List<PizzaEntity> pizzaList) {
-        this.pizzaList = pizzaList;
+    public PizzaAdapter(List<PizzaListItem> pizzaList) {
+        // Номер піци в базі не змінюється, тож RecyclerView може на нього покладатися
+        // і не перестворювати рядки при зсувах списку.
+        setHasStableIds(true);
+        differ.submitList(pizzaList);
     }
 
     /**
@@ -52,11 +96,14 @@ public class PizzaAdapter extends RecyclerView.Adapter<PizzaAdapter.PizzaViewHol
     @NonNull
     @Override
     public PizzaViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        long start = System.nanoTime();
         // Беремо наш XML-файл item_pizza.xml і створюємо з нього View-об'єкт
         // ВАЖЛИВО: Переконайтесь, що ви перейменували свій layout файл на R.layout.item_pizza
         View itemView = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_pizza, parent, false);
-        return new PizzaViewHolder(itemView); // Повертаємо наш новий PizzaViewHolder
+        PizzaViewHolder holder = new PizzaViewHolder(itemView, rowClickHandler);
+        CREATE_LATENCY.recordSince(start);
+        return holder; // Повертаємо наш новий PizzaViewHolder
     }
 
     /**
@@ -66,33 +113,39 @@ public class PizzaAdapter extends RecyclerView.Adapter<PizzaAdapter.PizzaViewHol
      */
     @Override
     public void onBindViewHolder(@NonNull PizzaViewHolder holder, int position) {
+        long start = System.nanoTime();
         // Беремо конкретну піцу зі списку за її номером
-        PizzaEntity currentPizza = pizzaList.get(position);
+        PizzaListItem currentPizza = differ.getCurrentList().get(position);
 
-        // Тепер заповнюємо текстові поля в нашому ViewHolder'і даними з піци
-        holder.pizzaNameText.setText(currentPizza.getName()); // Встановлюємо назву
-
-        // Формуємо рядок з інгредієнтами та ціною для другого текстового поля
-        // Припускаємо, що у PizzaEntity є метод getIngredients()
-        String info = String.format(Locale.getDefault(), "%s - %.2f грн",
-                currentPizza.getIngredients(), currentPizza.getPrice());
-        holder.pizzaInfoText.setText(info); // Встановлюємо інформацію
+        // Тепер заповнюємо текстові поля в нашому ViewHolder'і даними з піци.
+        // Кліки вже налаштовані при створенні ViewHolder'а, тут нічого нового не створюємо.
+        holder.bind(currentPizza);
+        BIND_LATENCY.recordSince(start);
+    }
 
-        // Налаштовуємо реакцію на короткий клік по цьому елементу списку
-        holder.itemView.setOnClickListener(view -> {
-            if (clickListener != null) {
-                clickListener.onPizzaClick(currentPizza); // Повідомляємо "слухача" про клік
-            }
-        });
+    /**
+     * Часткове оновлення рядка. Якщо PizzaDiffCallback повідомив, що змінилася
+     * лише ціна, не перемальовуємо весь рядок, а тільки потрібну частину.
+     * @param payloads Позначки змін; порожній список означає повне оновлення.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull PizzaViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position); // Звичайне повне заповнення рядка
+            return;
+        }
+        long start = System.nanoTime();
+        PizzaListItem currentPizza = differ.getCurrentList().get(position);
+        holder.bindChanges(currentPizza, PizzaDiffCallback.mergePayloads(payloads));
+        BIND_LATENCY.recordSince(start);
+    }
 
-        // Налаштовуємо реакцію на довгий клік
-        holder.itemView.setOnLongClickListener(view -> {
-            if (longClickListener != null) {
-                longClickListener.onPizzaLongClick(currentPizza); // Повідомляємо "слухача"
-                return true; // Кажемо системі, що ми обробили цей довгий клік
-            }
-            return false; // Якщо слухача немає, кажемо, що не обробили
-        });
+    /**
+     * Номер рядка для RecyclerView - це просто номер піци в базі.
+     */
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
     /**
@@ -101,18 +154,19 @@ public class PizzaAdapter extends RecyclerView.Adapter<PizzaAdapter.PizzaViewHol
      */
     @Override
     public int getItemCount() {
-        // Якщо список не порожній, повертаємо його розмір, інакше 0
-        return pizzaList != null ? pizzaList.size() : 0;
+        return differ.getCurrentList().size();
     }
 
     /**
      * Цей метод дозволяє оновити список піц в адаптері.
      * Наприклад, коли ми додали нову піцу або видалили стару.
+     * Різниця рахується у фоновому потоці, і перемальовуються лише змінені рядки.
+     * ВАЖЛИВО: кожного разу передавайте новий об'єкт списку (як це робить Room),
+     * бо той самий список AsyncListDiffer вважає незміненим.
      * @param newPizzaList Новий список піц.
      */
-    public void setPizzaList(List<PizzaEntity> newPizzaList) {
-        this.pizzaList = newPizzaList;
-        notifyDataSetChanged(); // Дуже важлива команда! Повідомляє RecyclerView, що дані змінилися і треба все перемалювати.
+    public void setPizzaList(List<PizzaListItem> newPizzaList) {
+        differ.submitList(newPizzaList);
     }
 
     /**
@@ -124,11 +178,57 @@ public class PizzaAdapter extends RecyclerView.Adapter<PizzaAdapter.PizzaViewHol
         TextView pizzaNameText;  // Тут буде назва піци
         TextView pizzaInfoText;  // Тут буде склад і ціна
 
-        public PizzaViewHolder(@NonNull View itemView) {
+        // Збирає текст "склад - ціна" у власні буфери цього рядка, без нових об'єктів.
+        // Роздільник копійок ("," чи ".") для мови пристрою дізнаємося один раз.
+        private final PizzaInfoFormatter infoFormatter =
+                new PizzaInfoFormatter(DecimalFormatSymbols.getInstance().getDecimalSeparator());
+
+        PizzaViewHolder(@NonNull View itemView, @NonNull RowClickHandler clickHandler) {
             super(itemView); // Викликаємо конструктор батька
             // Знаходимо наші текстові поля в макеті item_pizza.xml за їх ID
             pizzaNameText = itemView.findViewById(R.id.textPizzaName);
             pizzaInfoText = itemView.findViewById(R.id.textPizzaInfo);
+
+            // Обробники кліків вішаємо один раз на весь час життя рядка.
+            // Яку піцу натиснули, дізнаємося вже під час кліку - за поточною позицією рядка.
+            itemView.setOnClickListener(view -> {
+                int position = getBindingAdapterPosition();
+                if (position != RecyclerView.NO_POSITION) { // Рядок міг щойно зникнути зі списку
+                    clickHandler.onRowClick(position);
+                }
+            });
+            itemView.setOnLongClickListener(view -> {
+                int position = getBindingAdapterPosition();
+                return position != RecyclerView.NO_POSITION && clickHandler.onRowLongClick(position);
+            });
+        }
+
+        /**
+         * Заповнює рядок даними однієї піци.
+         * Винесено сюди, щоб звичайний і посторінковий адаптери малювали рядок однаково.
+         * @param pizza Піца, яку показуємо в цьому рядку.
+         */
+        void bind(PizzaListItem pizza) {
+            pizzaNameText.setText(pizza.getName()); // Встановлюємо назву
+            bindInfo(pizza);
+        }
+
+        /**
+         * Часткове оновлення рядка за позначками з PizzaDiffCallback.
+         * @param pizza Піца з новими даними.
+         * @param changes Позначки PizzaDiffCallback (PAYLOAD_PRICE).
+         */
+        void bindChanges(PizzaListItem pizza, int changes) {
+            if ((changes & PizzaDiffCallback.PAYLOAD_PRICE) != 0) {
+                bindInfo(pizza); // Ціна живе в другому текстовому полі
+            }
+        }
+
+        private void bindInfo(PizzaListItem pizza) {
+            // Формуємо рядок з інгредієнтами та ціною для другого текстового поля.
+            // setText(char[], ...) не робить з масиву новий String - TextView лише запам'ятовує його.
+            int length = infoFormatter.format(pizza);
+            pizzaInfoText.setText(infoFormatter.chars(), 0, length); // Встановлюємо інформацію
         }
     }
 
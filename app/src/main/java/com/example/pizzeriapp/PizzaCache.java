@@ -0,0 +1,133 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;   // Позначка, що значення не може бути null
+import androidx.annotation.Nullable;  // Позначка, що значення може бути null
+import androidx.annotation.WorkerThread; // Метод не можна викликати з головного потоку
+import androidx.collection.LruCache;  // Кеш, що викидає записи, якими найдовше не користувалися
+import androidx.room.InvalidationTracker; // Room повідомляє, коли змінилась таблиця
+
+import java.util.Set;
+import java.util.function.IntFunction; // "Функція від int" - тут це запит піци за id
+
+/**
+ * Невеликий кеш у пам'яті перед PizzaDao.getPizzaById(...).
+ * Замовлення та редагування постійно шукають ті самі кілька піц, і щоразу йти в SQLite
+ * немає сенсу. Кеш тримає не більше maxEntries піц і викидає ті, що давно не потрібні.
+ * <p>
+ * Щоб кеш ніколи не віддав старі дані після запису:
+ * <ul>
+ *     <li>кожен запис через AppDatabase.pizzaDao() (MeteredPizzaDao) скидає змінені піци ще до того,
+ *     як метод запису поверне керування, - тож наступний getPizzaById(...) уже бачить нові дані;</li>
+ *     <li>про зміни таблиці "pizzas" з інших місць (синхронізація, склад, запис усередині чужої транзакції)
+ *     повідомляє InvalidationTracker від Room. Він спрацьовує у фоновому потоці вже після запису,
+ *     тож такі зміни стають видні трохи пізніше;</li>
+ *     <li>кожне скидання збільшує "покоління" кешу. Якщо хтось читав піцу з бази
+ *     під час запису, його (можливо, вже старий) результат у кеш не потрапить.</li>
+ * </ul>
+ * Піца, знайдена в кеші, не коштує жодного запиту до бази.
+ * Кожен виклик повертає власну копію піци: її можна змінювати, кеш від цього не зміниться.
+ */
+public final class PizzaCache {
+
+    // Скільки піц тримаємо за замовчуванням. Цього вистачає на "робочий набір" замовлень.
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    // Звідки брати піцу, якої немає в кеші (зазвичай pizzaDao::getPizzaById)
+    private final IntFunction<PizzaEntity> loader;
+
+    private final LruCache<Integer, PizzaEntity> entries;
+
+    // Збільшується при кожному скиданні кешу. Захищене замком "this".
+    private long generation;
+
+    public PizzaCache(@NonNull IntFunction<PizzaEntity> loader, int maxEntries) {
+        this.loader = loader;
+        this.entries = new LruCache<>(maxEntries);
+    }
+
+    /**
+     * Піца за номером: з кешу, а якщо її там немає - з бази (і тоді кладемо в кеш).
+     * @param pizzaId Номер піци.
+     * @return Копія піци або null, якщо такої немає.
+     */
+    @WorkerThread
+    @Nullable
+    public PizzaEntity getPizzaById(int pizzaId) {
+        PizzaEntity cached = entries.get(pizzaId);
+        if (cached != null) {
+            return PizzaEntity.copyOf(cached);
+        }
+
+        long generationBeforeLoad;
+        synchronized (this) {
+            generationBeforeLoad = generation;
+        }
+        PizzaEntity loaded = loader.apply(pizzaId); // Запит до бази - поза замком
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (this) {
+            // Поки ми читали, кеш могли скинути через запис - тоді результат уже може бути старим
+            if (generation == generationBeforeLoad) {
+                entries.put(pizzaId, loaded);
+            }
+        }
+        return PizzaEntity.copyOf(loaded); // Сам loaded лежить у кеші - назовні віддаємо копію
+    }
+
+    /**
+     * Скинути одну піцу (наприклад, після її оновлення чи видалення).
+     */
+    public synchronized void invalidate(int pizzaId) {
+        generation++;
+        entries.remove(pizzaId);
+    }
+
+    /**
+     * Скинути весь кеш (наприклад, після пакетного запису).
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.evictAll();
+    }
+
+    /**
+     * Підписує кеш на зміни таблиці "pizzas", зроблені будь-де в додатку.
+     */
+    void attachTo(@NonNull InvalidationTracker tracker) {
+        tracker.addObserver(new InvalidationTracker.Observer("pizzas") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Скільки разів піцу знайшли в кеші.
+     */
+    public int getHitCount() {
+        return entries.hitCount();
+    }
+
+    /**
+     * Скільки разів довелося йти в базу.
+     */
+    public int getMissCount() {
+        return entries.missCount();
+    }
+
+    /**
+     * Скільки піц викинуто з кешу, бо він заповнився.
+     */
+    public int getEvictionCount() {
+        return entries.evictionCount();
+    }
+
+    /**
+     * Скільки піц зараз у кеші.
+     */
+    public int size() {
+        return entries.size();
+    }
+}
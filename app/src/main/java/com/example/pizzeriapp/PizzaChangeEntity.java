@@ -0,0 +1,75 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.Index;      // Індекс для швидкого пошуку
+import androidx.room.PrimaryKey; // Унікальний ключ запису
+
+/**
+ * Журнал змін піц, які ще не відправлені на сервер синхронізації.
+ * Рядки додають тригери на "pizzas" (див. DatabaseMigrations.createSyncTriggers) - при будь-якому
+ * записі, звідки б він не прийшов. На кожну піцу (uuid) - не більше одного рядка: кілька змін
+ * поспіль зливаються в одну, тож на сервер іде лише останній стан, а не вся історія.
+ */
+@Entity(tableName = "pizza_changes",
+        indices = {@Index(value = {"uuid"}, unique = true)})
+public class PizzaChangeEntity {
+
+    // Порядковий номер зміни. AUTOINCREMENT не видає номери повторно, тож новіша зміна
+    // тієї самої піци завжди має більший номер (див. SyncDao.acknowledge).
+    @PrimaryKey(autoGenerate = true)
+    private long seq;
+
+    @NonNull
+    private String uuid = "";
+
+    // true - піцу видалили
+    private boolean deleted;
+
+    // Версія піци на сервері, від якої зроблено зміну; сервер порівнює її зі своєю
+    private long baseVersion;
+
+    // Коли зробили зміну, мс від 1970 року
+    private long changedAt;
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    @NonNull
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(@NonNull String uuid) {
+        this.uuid = uuid;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    public long getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(long changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.pizzeriapp;
 
+import android.database.Cursor;     // Курсор - читання результату запиту рядок за рядком
+
 import androidx.lifecycle.LiveData; // Потрібно для LiveData, щоб дані оновлювалися автоматично в UI
 import androidx.room.Dao;          // Говорить Room, що це Data Access Object (об'єкт для доступу до даних)
 import androidx.room.Delete;       // Анотація для методу видалення запису
 import androidx.room.Insert;       // Анотація для методу вставки нового запису
 import androidx.room.Query;        // Анотація для написання власних SQL-запитів
+import androidx.room.Transaction;  // Виконати кілька запитів як одну транзакцію
 import androidx.room.Update;       // Анотація для методу оновлення запису
 
 import java.util.List;
@@ -15,43 +18,385 @@ import java.util.List;
  * Ми просто описуємо, які дії хочемо виконувати.
  */
 @Dao
-public interface PizzaDao {
+public interface PizzaDao extends PizzaIngredientIndex {
+
+    /**
+     * Скільки номерів (id) підставляємо в один запит "... WHERE id IN (...)".
+     * Старі версії SQLite на Android дозволяють не більше 999 параметрів на запит,
+     * тому великі списки ділимо на частини з запасом.
+     */
+    int MAX_IDS_PER_QUERY = 900;
+
+    /**
+     * Колонки, які показує рядок списку (див. PizzaListItem). Запити для списку читають лише їх,
+     * а не SELECT *, щоб опис та інші поля не займали вікно курсора і пам'ять.
+     */
+    String LIST_COLUMNS = "id, name, ingredients, priceKopecks";
+
+    /**
+     * Умова "піца не в кошику". Її мають усі запити, що читають меню: видалені піци (deletedAt > 0)
+     * чекають на остаточну очистку (PizzaPurgeJob) і ніде не показуються.
+     * Стоїть першою в кожному індексі піц, тож видалені рядки запити навіть не переглядають.
+     */
+    String NOT_DELETED = "deletedAt = 0";
+
+    /**
+     * Поточний час у мілісекундах від 1970 року, порахований самою SQLite, - для updatedAt у запитах UPDATE.
+     * Тригер синхронізації updatedAt не ставить: кожен локальний запис піци ставить його сам.
+     */
+    String NOW_MILLIS = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
 
     /**
      * Дістає всі-всі піци з таблиці "pizzas".
      * Вони будуть відсортовані за номером (id) так, щоб новіші були першими.
      * LiveData дозволяє екрану автоматично оновлювати список, якщо щось змінилося в базі.
      */
-    @Query("SELECT * FROM pizzas ORDER BY id DESC")
+    @Query("SELECT * FROM pizzas WHERE " + NOT_DELETED + " ORDER BY id DESC")
     LiveData<List<PizzaEntity>> getAllPizzas();
 
+    /**
+     * Усі піци для звичайного (не посторінкового) списку, новіші першими - лише колонки рядка списку.
+     */
+    @Query("SELECT " + LIST_COLUMNS + " FROM pizzas WHERE " + NOT_DELETED + " ORDER BY id DESC")
+    LiveData<List<PizzaListItem>> getPizzaListItems();
+
+    /**
+     * Усі піци одразу, звичайним списком, без LiveData.
+     * Лише для фонових потоків (імпорт, заміри швидкості): читає всю таблицю за раз.
+     * @return Список усіх піц, новіші першими.
+     */
+    @Query("SELECT * FROM pizzas WHERE " + NOT_DELETED + " ORDER BY id DESC")
+    List<PizzaEntity> getAllPizzasNow();
+
+    /**
+     * Те саме, що getPizzaListItems(), але одразу, без LiveData - для фонових потоків (див. PizzaStreams).
+     */
+    @Query("SELECT " + LIST_COLUMNS + " FROM pizzas WHERE " + NOT_DELETED + " ORDER BY id DESC")
+    List<PizzaListItem> getPizzaListItemsNow();
+
+    /**
+     * Піци з одним статусом, від найдешевшої (індекс (deletedAt, status, priceKopecks)). Одразу, без LiveData.
+     */
+    @Query("SELECT " + LIST_COLUMNS + " FROM pizzas WHERE " + NOT_DELETED + " AND status = :status "
+            + "ORDER BY priceKopecks ASC")
+    List<PizzaListItem> getPizzaListItemsByStatusNow(PizzaStatus status);
+
+    /**
+     * Піци з одним статусом і ціною від minKopecks до maxKopecks включно, від найдешевшої.
+     * Піци з однаковою ціною - за номером. Усі умови і порядок обслуговує індекс (deletedAt, status, priceKopecks).
+     */
+    @Query("SELECT " + LIST_COLUMNS + " FROM pizzas WHERE " + NOT_DELETED + " AND status = :status "
+            + "AND priceKopecks BETWEEN :minKopecks AND :maxKopecks ORDER BY priceKopecks ASC, id ASC")
+    List<PizzaListItem> getPizzaListItemsByStatusAndPriceNow(PizzaStatus status, long minKopecks, long maxKopecks);
+
+    /**
+     * Скільки всього піц у меню.
+     */
+    @Query("SELECT COUNT(*) FROM pizzas WHERE " + NOT_DELETED)
+    int countPizzas();
+
+    /**
+     * Усі піци у вигляді курсора - по одному рядку, без списку в пам'яті. Для експорту меню.
+     * Курсор обов'язково треба закрити після використання.
+     * @return Курсор по таблиці "pizzas", старіші піци першими.
+     */
+    @Query("SELECT * FROM pizzas WHERE " + NOT_DELETED + " ORDER BY id")
+    Cursor getPizzasCursor();
+
+    // Сторінки списку для PizzaPagingSource. Замість LIMIT / OFFSET кожна наступна сторінка починається
+    // одразу після останнього показаного рядка ("ключ" - значення sortKey і номер цього рядка),
+    // тож база стрибає індексом просто на потрібне місце, а не переглядає всі попередні сторінки.
+    // Піци з однаковою ціною чи розміром ідуть за номером - так порядок однозначний і жодна не загубиться.
+    // Умову "після (afterKey, afterId)" записано без (a, b) > (x, y): такого порівняння немає у SQLite старих Android.
+
+    /**
+     * Сторінка всіх піц, новіші першими: ті, що йдуть після піци з номером afterId.
+     * Обслуговує індекс (deletedAt) - він містить і номер рядка, тож сортувати нічого не треба.
+     */
+    @Query("SELECT " + LIST_COLUMNS + ", id AS sortKey FROM pizzas WHERE " + NOT_DELETED + " AND id < :afterId "
+            + "ORDER BY id DESC LIMIT :limit")
+    List<PizzaPageRow> getPizzaPageNewestFirst(int afterId, int limit);
+
+    /**
+     * Те саме в зворотному порядку (старіші першими) - щоб дочитати сторінку перед уже показаною.
+     */
+    @Query("SELECT " + LIST_COLUMNS + ", id AS sortKey FROM pizzas WHERE " + NOT_DELETED + " AND id > :afterId "
+            + "ORDER BY id ASC LIMIT :limit")
+    List<PizzaPageRow> getPizzaPageOldestFirst(int afterId, int limit);
+
+    // Піци з одним статусом, посортовані за ціною або розміром.
+    // Кожен запит повністю обслуговує індекс (deletedAt, status, priceKopecks) або (deletedAt, status, size):
+    // база не перебирає всю таблицю і не сортує результат окремо.
+
+    /**
+     * Сторінка піц з потрібним статусом, від найдешевшої до найдорожчої:
+     * ті, що йдуть після піци з ціною afterKey і номером afterId.
+     * @param status - статус, наприклад PizzaStatus.AVAILABLE.
+     */
+    @Query("SELECT " + LIST_COLUMNS + ", priceKopecks AS sortKey FROM pizzas WHERE " + NOT_DELETED
+            + " AND status = :status AND priceKopecks >= :afterKey AND (priceKopecks > :afterKey OR id > :afterId) "
+            + "ORDER BY priceKopecks ASC, id ASC LIMIT :limit")
+    List<PizzaPageRow> getPizzaPageByStatusPriceAsc(PizzaStatus status, long afterKey, int afterId, int limit);
+
+    /**
+     * Сторінка піц з потрібним статусом, від найдорожчої до найдешевшої.
+     */
+    @Query("SELECT " + LIST_COLUMNS + ", priceKopecks AS sortKey FROM pizzas WHERE " + NOT_DELETED
+            + " AND status = :status AND priceKopecks <= :afterKey AND (priceKopecks < :afterKey OR id < :afterId) "
+            + "ORDER BY priceKopecks DESC, id DESC LIMIT :limit")
+    List<PizzaPageRow> getPizzaPageByStatusPriceDesc(PizzaStatus status, long afterKey, int afterId, int limit);
+
+    /**
+     * Сторінка піц з потрібним статусом, від найменшої до найбільшої.
+     */
+    @Query("SELECT " + LIST_COLUMNS + ", size AS sortKey FROM pizzas WHERE " + NOT_DELETED
+            + " AND status = :status AND size >= :afterKey AND (size > :afterKey OR id > :afterId) "
+            + "ORDER BY size ASC, id ASC LIMIT :limit")
+    List<PizzaPageRow> getPizzaPageByStatusSizeAsc(PizzaStatus status, long afterKey, int afterId, int limit);
+
+    /**
+     * Сторінка піц з потрібним статусом, від найбільшої до найменшої.
+     */
+    @Query("SELECT " + LIST_COLUMNS + ", size AS sortKey FROM pizzas WHERE " + NOT_DELETED
+            + " AND status = :status AND size <= :afterKey AND (size < :afterKey OR id < :afterId) "
+            + "ORDER BY size DESC, id DESC LIMIT :limit")
+    List<PizzaPageRow> getPizzaPageByStatusSizeDesc(PizzaStatus status, long afterKey, int afterId, int limit);
+
+    /**
+     * Кількість піц і сума їхніх цін для кожного статусу.
+     * Рахується прямо в SQL по цілих копійках, тому результат точний.
+     * @return По одному рядку на кожен статус, у якому є хоча б одна піца.
+     */
+    @Query("SELECT status, COUNT(*) AS pizzaCount, SUM(priceKopecks) AS totalKopecks "
+            + "FROM pizzas WHERE " + NOT_DELETED + " GROUP BY status")
+    LiveData<List<StatusPriceStats>> getPriceStatsByStatus();
+
+    /**
+     * Те саме, що getPriceStatsByStatus(), але з готової таблиці-підсумку "menu_status_summary".
+     * Її тримають в актуальному стані тригери, тож читаються лише кілька рядків - швидко при будь-якому меню.
+     * @return По одному рядку на кожен статус, у якому є хоча б одна піца.
+     */
+    @Query("SELECT status, pizzaCount, totalKopecks FROM menu_status_summary "
+            + "WHERE pizzaCount > 0 ORDER BY status")
+    LiveData<List<StatusPriceStats>> getStatusSummary();
+
+    /**
+     * Гістограма цін для кожного розміру: скільки піц потрапляє в кожен ціновий "кошик".
+     * @param bucketKopecks Ширина кошика в копійках, наприклад 5000 (50 грн).
+     * @return Лише непорожні кошики, за розміром і ціною.
+     */
+    @Query("SELECT size, (priceKopecks / :bucketKopecks) * :bucketKopecks AS bucketStartKopecks, "
+            + "COUNT(*) AS pizzaCount FROM pizzas WHERE " + NOT_DELETED + " "
+            + "GROUP BY size, bucketStartKopecks ORDER BY size, bucketStartKopecks")
+    LiveData<List<PriceHistogramBucket>> getPriceHistogram(long bucketKopecks);
+
+    /**
+     * Шукає піци за словами в назві, інгредієнтах або описі.
+     * Пошук іде через індекс "pizzas_fts", а не перебором усієї таблиці через LIKE,
+     * тому навіть на великому меню займає мілісекунди.
+     * @param matchQuery - запит у форматі FTS, див. PizzaFts.toMatchQuery(...).
+     * @param limit - найбільша кількість результатів.
+     * @return "Живий" список знайдених піц, новіші першими.
+     */
+    @Query("SELECT pizzas.id, pizzas.name, pizzas.ingredients, pizzas.priceKopecks "
+            + "FROM pizzas JOIN pizzas_fts ON pizzas.id = pizzas_fts.rowid "
+            + "WHERE pizzas_fts MATCH :matchQuery AND pizzas." + NOT_DELETED + " "
+            + "ORDER BY pizzas.id DESC LIMIT :limit")
+    LiveData<List<PizzaListItem>> searchPizzas(String matchQuery, int limit);
+
+    /**
+     * Те саме, що searchPizzas(...), але одразу, без LiveData - для фонових потоків.
+     */
+    @Query("SELECT pizzas.id, pizzas.name, pizzas.ingredients, pizzas.priceKopecks "
+            + "FROM pizzas JOIN pizzas_fts ON pizzas.id = pizzas_fts.rowid "
+            + "WHERE pizzas_fts MATCH :matchQuery AND pizzas." + NOT_DELETED + " "
+            + "ORDER BY pizzas.id DESC LIMIT :limit")
+    List<PizzaListItem> searchPizzasNow(String matchQuery, int limit);
+
+    // Записи піц. Склад кожної записаної піци тут же розбирається на інгредієнти
+    // в "pizza_ingredient" (indexIngredients з PizzaIngredientIndex) - у тій самій транзакції.
+    // Методи з "Row" у назві пишуть лише саму піцу; ззовні ними не користуйтеся.
+
+    @Insert
+    long insertPizzaRow(PizzaEntity pizza);
+
+    @Insert
+    long[] insertPizzaRows(List<PizzaEntity> pizzas);
+
+    // Пише все, крім uuid, version і deletedAt (див. PizzaEdit)
+    @Update(entity = PizzaEntity.class)
+    int updatePizzaRow(PizzaEdit edit);
+
     /**
      * Додає нову піцу в базу.
      * @param pizza - це та піца, яку ми хочемо зберегти.
+     * @return Номер (id), який база дала новій піці.
      */
-    @Insert
-    void insertPizza(PizzaEntity pizza);
+    @Transaction
+    default long insertPizza(PizzaEntity pizza) {
+        long id = insertPizzaRow(pizza);
+        indexIngredients((int) id, pizza.getIngredients());
+        return id;
+    }
 
     /**
-     * Оновлює інформацію про вже існуючу піцу.
+     * Оновлює інформацію про вже існуючу піцу. uuid, версію синхронізації і кошик (deletedAt) не чіпає,
+     * тож pizza може бути й щойно створеним об'єктом лише з потрібним id. Піца з кошика так і лишається в ньому.
      * @param pizza - піца з новими даними, яка замінить стару в базі.
      */
-    @Update
-    void updatePizza(PizzaEntity pizza);
+    @Transaction
+    default void updatePizza(PizzaEntity pizza) {
+        updatePizzaIfExists(pizza);
+    }
+
+    // Оновлює піцу і її інгредієнти; false - такої піци немає. Викликати лише всередині транзакції.
+    default boolean updatePizzaIfExists(PizzaEntity pizza) {
+        if (updatePizzaRow(PizzaEdit.of(pizza, System.currentTimeMillis())) == 0) {
+            return false; // Піци могло вже не бути - тоді й індексувати нічого
+        }
+        indexIngredients(pizza.getId(), pizza.getIngredients());
+        return true;
+    }
 
     /**
-     * Видаляє піцу з бази.
+     * Видаляє піцу з бази одразу й остаточно, без кошика (для екрана є softDelete(...)).
      * @param pizza - та піца, яку треба видалити.
      */
     @Delete
     void deletePizza(PizzaEntity pizza);
 
+    /**
+     * Видаляє піцу за номером - коли в руках лише рядок списку (PizzaListItem), а не вся піца.
+     * Теж остаточно, без кошика.
+     * @return Скільки піц видалено (0, якщо її вже не було).
+     */
+    @Query("DELETE FROM pizzas WHERE id = :pizzaId")
+    int deletePizzaById(int pizzaId);
+
+    /**
+     * Додає одразу багато піц. Room робить це в одній транзакції,
+     * тобто база записує зміни на диск один раз, а не для кожної піци окремо.
+     * @param pizzas - список нових піц.
+     */
+    @Transaction
+    default void insertPizzas(List<PizzaEntity> pizzas) {
+        long[] ids = insertPizzaRows(pizzas);
+        for (int i = 0; i < ids.length; i++) {
+            indexIngredients((int) ids[i], pizzas.get(i).getIngredients());
+        }
+    }
+
+    /**
+     * Оновлює одразу багато піц в одній транзакції.
+     * @param pizzas - піци з новими даними (шукаються за id).
+     */
+    @Transaction
+    default void updatePizzas(List<PizzaEntity> pizzas) {
+        for (int i = 0; i < pizzas.size(); i++) {
+            updatePizza(pizzas.get(i));
+        }
+    }
+
+    /**
+     * Видаляє одразу багато піц в одній транзакції - остаточно, без кошика.
+     * @param pizzas - піци, які треба видалити (шукаються за id).
+     */
+    @Delete
+    void deletePizzas(List<PizzaEntity> pizzas);
+
+    /**
+     * "Вставити або оновити" для цілого списку в одній транзакції.
+     * Піци з id = 0 (або з id, якого ще немає в базі) додаються як нові,
+     * решта - оновлюються. Зручно для завантаження меню на початку зміни.
+     * @param pizzas - піци, які треба зберегти.
+     */
+    @Transaction
+    default void upsertPizzas(List<PizzaEntity> pizzas) {
+        // Не @Upsert: він переписав би наявним піцам uuid і версію синхронізації (див. PizzaEdit)
+        for (int i = 0; i < pizzas.size(); i++) {
+            PizzaEntity pizza = pizzas.get(i);
+            if (pizza.getId() == 0 || !updatePizzaIfExists(pizza)) {
+                indexIngredients((int) insertPizzaRow(pizza), pizza.getIngredients());
+            }
+        }
+    }
+
+    /**
+     * Змінює статус багатьом піцам одним SQL-запитом.
+     * Список не повинен бути довшим за MAX_IDS_PER_QUERY - для довших є setStatus(...).
+     * @param pizzaIds - номери піц.
+     * @param status - новий статус.
+     * @return Скільки піц реально оновлено.
+     */
+    @Query("UPDATE pizzas SET status = :status, updatedAt = " + NOW_MILLIS + " "
+            + "WHERE id IN (:pizzaIds) AND " + NOT_DELETED)
+    int setStatusForIds(List<Integer> pizzaIds, PizzaStatus status);
+
+    /**
+     * Змінює статус списку піц будь-якої довжини в одній транзакції.
+     * Якщо номерів більше за MAX_IDS_PER_QUERY, запит виконується кількома частинами,
+     * але на диск усе одно записується один раз.
+     * @param pizzaIds - номери піц.
+     * @param status - новий статус.
+     * @return Скільки піц реально оновлено.
+     */
+    @Transaction
+    default int setStatus(List<Integer> pizzaIds, PizzaStatus status) {
+        return IdChunks.sum(pizzaIds, chunk -> setStatusForIds(chunk, status));
+    }
+
+    // Кошик. Видалена з екрана піца лише отримує deletedAt і зникає з усіх запитів,
+    // тож її можна повернути ("Скасувати"). Остаточно її прибирає PizzaPurgeJob через PURGE_AFTER_MS.
+
+    @Query("UPDATE pizzas SET deletedAt = :deletedAt, updatedAt = " + NOW_MILLIS + " "
+            + "WHERE id IN (:pizzaIds) AND " + NOT_DELETED)
+    int softDeleteForIds(List<Integer> pizzaIds, long deletedAt);
+
+    @Query("UPDATE pizzas SET deletedAt = 0, updatedAt = " + NOW_MILLIS + " "
+            + "WHERE id IN (:pizzaIds) AND deletedAt = :deletedAt")
+    int restoreDeletedForIds(List<Integer> pizzaIds, long deletedAt);
+
+    /**
+     * Кладе піци в кошик однією транзакцією (довгі списки - частинами по MAX_IDS_PER_QUERY).
+     * Тригери прибирають їх з таблиці-підсумку і записують видалення в журнал синхронізації.
+     * @param pizzaIds - номери піц.
+     * @param deletedAt - час видалення (System.currentTimeMillis()). Він же - "квитанція" для restoreDeleted(...).
+     * @return Скільки піц видалено (тих, яких немає або які вже в кошику, не рахуємо).
+     */
+    @Transaction
+    default int softDelete(List<Integer> pizzaIds, long deletedAt) {
+        if (deletedAt <= 0) {
+            throw new IllegalArgumentException("Час видалення повинен бути більшим за нуль");
+        }
+        return IdChunks.sum(pizzaIds, chunk -> softDeleteForIds(chunk, deletedAt));
+    }
+
+    /**
+     * Повертає з кошика піци, видалені саме тим викликом softDelete(...), що отримав deletedAt.
+     * Піци, які відтоді видалили вдруге або вже прибрали остаточно, не чіпає.
+     * @return Скільки піц повернуто.
+     */
+    @Transaction
+    default int restoreDeleted(List<Integer> pizzaIds, long deletedAt) {
+        return IdChunks.sum(pizzaIds, chunk -> restoreDeletedForIds(chunk, deletedAt));
+    }
+
+    /**
+     * Остаточно видаляє не більше limit піц, покладених у кошик раніше за before.
+     * Один запит - одна коротка транзакція, тож записи з екрана між частинами не чекають.
+     * Разом з піцою зникають її інгредієнти й рецепт (CASCADE); у старих замовленнях лишаються назва і ціна.
+     * @return Скільки піц видалено; менше за limit - більше нічого давнього в кошику немає.
+     */
+    @Query("DELETE FROM pizzas WHERE id IN ("
+            + "SELECT id FROM pizzas WHERE deletedAt > 0 AND deletedAt < :before LIMIT :limit)")
+    int purgeDeletedBefore(long before, int limit);
+
     /**
      * Знаходить і повертає одну конкретну піцу за її унікальним номером (id).
      * @param pizzaId - номер піци, яку шукаємо.
-     * @return Знайдена піца або null, якщо такої немає.
+     * @return Знайдена піца або null, якщо такої немає (або вона в кошику).
      */
     // Назва таблиці "pizzas" і поле "id"
-    @Query("SELECT * FROM pizzas WHERE id = :pizzaId LIMIT 1")
+    @Query("SELECT * FROM pizzas WHERE id = :pizzaId AND " + NOT_DELETED + " LIMIT 1")
     PizzaEntity getPizzaById(int pizzaId);
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що параметр не може бути null
+import androidx.recyclerview.widget.DiffUtil; // Інструмент, що шукає різницю між двома списками
+
+import java.util.List;    // Для списку позначок (payloads)
+
+/**
+ * Пояснює списку, як порівнювати дві піци.
+ * Завдяки цьому RecyclerView перемальовує лише ті рядки, які справді змінилися,
+ * а не весь список. Порівнюються лише поля, що видно в рядку (PizzaListItem):
+ * зміна, наприклад, опису рядок не перемальовує.
+ */
+public class PizzaDiffCallback extends DiffUtil.ItemCallback<PizzaListItem> {
+
+    // Один спільний екземпляр - стану в нього немає, тож створювати нові немає сенсу.
+    public static final PizzaDiffCallback INSTANCE = new PizzaDiffCallback();
+
+    // "Позначки" (payload) про те, що саме змінилося в піці.
+    // Якщо змінилася лише ціна, рядок можна оновити частково.
+    // (Статус у рядку не показується і в PizzaListItem його немає, тож окремої позначки для нього вже не треба.)
+    public static final int PAYLOAD_PRICE = 1;
+
+    /**
+     * Чи це та сама піца? Порівнюємо лише за номером (id) у базі.
+     */
+    @Override
+    public boolean areItemsTheSame(@NonNull PizzaListItem oldPizza, @NonNull PizzaListItem newPizza) {
+        return oldPizza.getId() == newPizza.getId();
+    }
+
+    /**
+     * Чи однакові в неї дані? Порівнюємо всі поля по черзі.
+     */
+    @Override
+    public boolean areContentsTheSame(@NonNull PizzaListItem oldPizza, @NonNull PizzaListItem newPizza) {
+        return oldPizza.getName().equals(newPizza.getName())
+                && oldPizza.getIngredients().equals(newPizza.getIngredients())
+                && oldPizza.getPriceKopecks() == newPizza.getPriceKopecks();
+    }
+
+    /**
+     * Викликається, коли піца та сама, але дані різні.
+     * Якщо змінилася тільки ціна, повертаємо позначку PAYLOAD_PRICE,
+     * і адаптер оновить лише потрібну частину рядка.
+     * Якщо змінилося ще щось - повертаємо null, і рядок перемалюється повністю.
+     */
+    @Override
+    public Object getChangePayload(@NonNull PizzaListItem oldPizza, @NonNull PizzaListItem newPizza) {
+        boolean sameOtherFields = oldPizza.getName().equals(newPizza.getName())
+                && oldPizza.getIngredients().equals(newPizza.getIngredients());
+        if (!sameOtherFields) {
+            return null;
+        }
+        return oldPizza.getPriceKopecks() != newPizza.getPriceKopecks() ? PAYLOAD_PRICE : 0;
+    }
+
+    /**
+     * Збирає всі позначки, які прийшли для рядка, в одне число.
+     * RecyclerView може накопичити кілька часткових оновлень до наступного малювання.
+     * @param payloads Список позначок з onBindViewHolder.
+     * @return Об'єднані позначки (PAYLOAD_PRICE).
+     */
+    public static int mergePayloads(@NonNull List<Object> payloads) {
+        int changes = 0;
+        for (int i = 0; i < payloads.size(); i++) {
+            Object payload = payloads.get(i);
+            if (payload instanceof Integer) {
+                changes |= (Integer) payload;
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+/**
+ * Те, що змінює в піці локальне оновлення (PizzaDao.updatePizza(...)): усі колонки, крім uuid, version
+ * і deletedAt. Room пише лише колонки з цього класу (@Update(entity = PizzaEntity.class)), тож піцу можна
+ * оновлювати об'єктом, створеним з нуля (як у діалозі редагування), - номер для синхронізації, версія сервера
+ * і кошик лишаються ті, що в базі. Інакше діалог, збережений уже після видалення піци, повернув би її з кошика.
+ * updatedAt ставить сам PizzaDao, а не тригер.
+ */
+public class PizzaEdit {
+
+    public int id;
+
+    @NonNull
+    public String name = "";
+
+    @NonNull
+    public String ingredients = "";
+
+    public long priceKopecks;
+
+    public int size;
+
+    public String description;
+
+    @NonNull
+    public PizzaStatus status = PizzaStatus.AVAILABLE;
+
+    public long updatedAt;
+
+    /**
+     * Зміна, що переписує піцу з бази з тим самим id даними pizza.
+     * @param updatedAt Час зміни, у мілісекундах від 1970 року.
+     */
+    @NonNull
+    static PizzaEdit of(@NonNull PizzaEntity pizza, long updatedAt) {
+        PizzaEdit edit = new PizzaEdit();
+        edit.id = pizza.getId();
+        edit.name = pizza.getName();
+        edit.ingredients = pizza.getIngredients();
+        edit.priceKopecks = pizza.getPriceKopecks();
+        edit.size = pizza.getSize();
+        edit.description = pizza.getDescription();
+        edit.status = pizza.getStatus();
+        edit.updatedAt = updatedAt;
+        return edit;
+    }
+}
@@ -1,14 +1,31 @@
 package com.example.pizzeriapp;
 
+import androidx.room.ColumnInfo; // Налаштування колонки (тут - значення за замовчуванням)
 import androidx.room.Entity;     // Ця штука каже, що клас буде табличкою в базі даних
+import androidx.room.Index;      // Індекс - "зміст" таблиці, щоб швидко шукати і сортувати без перебору
 import androidx.room.PrimaryKey;  // А це – що поле буде унікальним ключем, як номер паспорта
 import androidx.annotation.NonNull; // Це означає "не можна залишати порожнім" (null)
 
+import java.util.UUID; // Випадковий номер піци, однаковий на всіх планшетах
+
 /**
  * Це наша "Піца". Описує, яку інформацію про кожну піцу ми зберігаємо.
  * У базі даних це буде окрема таблиця під назвою "pizzas".
  */
-@Entity(tableName = "pizzas")
+// Індекси (deletedAt, status, priceKopecks) і (deletedAt, status, size): база одразу знаходить
+// невидалені піци з потрібним статусом і віддає їх уже відсортованими за ціною чи розміром,
+// без перебору і сортування в пам'яті. Видалені піци лежать в іншій частині індексу і не заважають.
+// Індекс (deletedAt) - для списку "усі піци, новіші першими" (у ньому записи йдуть за id)
+// і для очистки кошика (PizzaPurgeJob), яка шукає давно видалені піци.
+// Частковий індекс ("... WHERE deletedAt = 0") Room оголосити не дає, тому deletedAt стоїть першим.
+// Унікальний індекс по uuid - щоб синхронізація швидко знаходила піцу, яка прийшла з іншого планшета.
+@Entity(tableName = "pizzas",
+        indices = {
+                @Index(value = {"deletedAt", "status", "priceKopecks"}),
+                @Index(value = {"deletedAt", "status", "size"}),
+                @Index(value = {"deletedAt"}),
+                @Index(value = {"uuid"}, unique = true)
+        })
 public class PizzaEntity {
 
     /**
@@ -33,9 +50,10 @@ public class PizzaEntity {
     private String ingredients;
 
     /**
-     * Скільки коштує наша піца. Може бути з копійками, тому double.
+     * Скільки коштує наша піца - в копійках (149,50 грн = 14950).
+     * Ціле число замість double: суми рахуються точно, а для показу є клас Money.
      */
-    private double price;
+    private long priceKopecks;
 
     /**
      * Розмір піци, зазвичай в сантиметрах (діаметр).
@@ -51,9 +69,43 @@ public class PizzaEntity {
     /**
      * Показує, чи є піца зараз, чи її треба готувати.
      * За замовчуванням, коли додаємо нову, вважаємо, що вона "В наявності".
+     * У базі зберігається як число (див. PizzaStatusConverter).
+     */
+    @NonNull
+    private PizzaStatus status = PizzaStatus.AVAILABLE;
+
+    // Поля для синхронізації між планшетами (див. SyncEngine).
+    // Звичайний код їх не чіпає: PizzaDao.updatePizza(...) пише піцу без uuid і версії (див. PizzaEdit),
+    // тож її можна оновлювати й щойно створеним об'єктом (як у діалозі редагування).
+
+    /**
+     * Номер піци, однаковий на всіх планшетах. id у кожної бази свій, тож для синхронізації він не годиться.
      */
     @NonNull
-    private String status = "В наявності";
+    @ColumnInfo(defaultValue = "''")
+    private String uuid = newUuid();
+
+    /**
+     * Версія піци на сервері, на якій базується цей рядок (0 - ще жодного разу не синхронізували).
+     * Збільшує лише синхронізація; локальні зміни версію не чіпають.
+     */
+    @ColumnInfo(defaultValue = "0")
+    private long version;
+
+    /**
+     * Коли піцу востаннє змінили, у мілісекундах від 1970 року. При локальних змінах
+     * ставить PizzaDao; при конфлікті перемагає новіша зміна (див. SyncConflictResolver).
+     */
+    @ColumnInfo(defaultValue = "0")
+    private long updatedAt = System.currentTimeMillis();
+
+    /**
+     * Коли піцу видалили (поклали в кошик), у мілісекундах від 1970 року; 0 - піца в меню.
+     * Видалену піцу не показує жоден запит, але її ще можна повернути (PizzaDao.restoreDeleted(...)),
+     * поки PizzaPurgeJob не прибере її остаточно.
+     */
+    @ColumnInfo(defaultValue = "0")
+    private long deletedAt;
 
     // Далі йдуть методи, щоб дізнатися або змінити інформацію про піцу.
     // Це як кнопки на пульті: одна показує, інша змінює.
@@ -84,18 +136,18 @@ public class PizzaEntity {
         this.ingredients = ingredients; // Змінити склад
     }
 
-    public double getPrice() {
-        return price; // Дізнатися ціну
+    public long getPriceKopecks() {
+        return priceKopecks; // Дізнатися ціну в копійках
     }
 
     /**
-     * Встановлюємо ціну. Перевіряємо, щоб вона не була меншою за нуль.
+     * Встановлюємо ціну в копійках. Перевіряємо, щоб вона була більшою за нуль.
      */
-    public void setPrice(double price) {
-        if (price <= 0) {
+    public void setPriceKopecks(long priceKopecks) {
+        if (priceKopecks <= 0) {
             throw new IllegalArgumentException("Ціна повинна бути більшою за нуль");
         }
-        this.price = price;
+        this.priceKopecks = priceKopecks;
     }
 
     public int getSize() {
@@ -122,20 +174,81 @@ public class PizzaEntity {
     }
 
     @NonNull
-    public String getStatus() {
+    public PizzaStatus getStatus() {
         return status; // Дізнатися статус
     }
 
     /**
-     * Встановлюємо статус. Є лише кілька дозволених варіантів для піцерії.
+     * Встановлюємо статус. Дозволені варіанти перелічені в PizzaStatus,
+     * тож іншого статусу передати просто не вийде.
      */
-    public void setStatus(@NonNull String status) {
-        // Статуси оновлено для відповідності до логіки піцерії
-        if (status.equals("В наявності") || status.equals("Готується") || status.equals("Немає в наявності")) {
-            this.status = status;
-        } else {
-            // Якщо вказати якийсь незрозумілий статус, програма повідомить про помилку.
-            throw new IllegalArgumentException("Такого статусу немає! Можна: 'В наявності', 'Готується', 'Немає в наявності'.");
+    public void setStatus(@NonNull PizzaStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Статус не може бути порожнім!");
+        }
+        this.status = status;
+    }
+
+    @NonNull
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(@NonNull String uuid) {
+        this.uuid = uuid;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(long deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    // Окрема копія піци з усіма полями (InMemoryPizzaRepository, PizzaCache).
+    // Ціну і розмір копіюємо, лише якщо їх задали: сеттери не приймають 0, а в новій PizzaEntity там саме 0
+    static PizzaEntity copyOf(PizzaEntity pizza) {
+        PizzaEntity copy = new PizzaEntity();
+        copy.setId(pizza.getId());
+        copy.setName(pizza.getName());
+        copy.setIngredients(pizza.getIngredients());
+        copy.setDescription(pizza.getDescription());
+        copy.setStatus(pizza.getStatus());
+        copy.setUuid(pizza.getUuid());
+        copy.setVersion(pizza.getVersion());
+        copy.setUpdatedAt(pizza.getUpdatedAt());
+        copy.setDeletedAt(pizza.getDeletedAt());
+        if (pizza.getPriceKopecks() > 0) {
+            copy.setPriceKopecks(pizza.getPriceKopecks());
+        }
+        if (pizza.getSize() > 0) {
+            copy.setSize(pizza.getSize());
         }
+        return copy;
+    }
+
+    /**
+     * Новий випадковий uuid: 32 шістнадцяткові цифри, як і ті, що міграція дає наявним піцам.
+     */
+    @NonNull
+    static String newUuid() {
+        return UUID.randomUUID().toString().replace("-", "");
     }
-}
\ No newline at end of file
+}
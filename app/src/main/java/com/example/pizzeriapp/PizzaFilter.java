@@ -0,0 +1,66 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;   // Позначка, що значення не може бути null
+import androidx.annotation.Nullable;  // Позначка, що значення може бути null
+
+/**
+ * Що саме показувати в списку піц: фільтр за статусом і порядок сортування.
+ * Об'єкт незмінний - щоб змінити фільтр, створюємо новий через withStatus(...) / withSortOrder(...).
+ */
+public final class PizzaFilter {
+
+    /**
+     * Як сортувати піци всередині одного статусу.
+     * Кожен варіант обслуговує свій індекс: (status, price) або (status, size).
+     */
+    public enum SortOrder {
+        PRICE_ASC,  // Від найдешевшої
+        PRICE_DESC, // Від найдорожчої
+        SIZE_ASC,   // Від найменшої
+        SIZE_DESC   // Від найбільшої
+    }
+
+    // Без фільтра: усі піци, новіші першими
+    public static final PizzaFilter ALL = new PizzaFilter(null, SortOrder.PRICE_ASC);
+
+    // Статус, за яким фільтруємо; null - показувати всі
+    @Nullable
+    private final PizzaStatus status;
+
+    // Порядок сортування. Діє лише тоді, коли вибрано статус:
+    // для всіх піц разом список завжди йде від новіших до старіших.
+    @NonNull
+    private final SortOrder sortOrder;
+
+    private PizzaFilter(@Nullable PizzaStatus status, @NonNull SortOrder sortOrder) {
+        this.status = status;
+        this.sortOrder = sortOrder;
+    }
+
+    @Nullable
+    public PizzaStatus getStatus() {
+        return status;
+    }
+
+    @NonNull
+    public SortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    /**
+     * Той самий фільтр, але з іншим статусом.
+     * @param status Статус або null, щоб показати всі піци.
+     */
+    @NonNull
+    public PizzaFilter withStatus(@Nullable PizzaStatus status) {
+        return new PizzaFilter(status, sortOrder);
+    }
+
+    /**
+     * Той самий фільтр, але з іншим порядком сортування.
+     */
+    @NonNull
+    public PizzaFilter withSortOrder(@NonNull SortOrder sortOrder) {
+        return new PizzaFilter(status, sortOrder);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Це означає "не можна залишати порожнім" (null)
+import androidx.room.Entity;         // Ця штука каже, що клас буде табличкою в базі даних
+import androidx.room.Fts4;           // Повнотекстова (FTS4) табличка для швидкого пошуку по словах
+import androidx.room.FtsOptions;     // Налаштування FTS, наприклад, як ділити текст на слова
+
+/**
+ * Пошуковий індекс по піцах (віртуальна таблиця "pizzas_fts").
+ * Сама таблиця не зберігає тексти - вона посилається на "pizzas" (contentEntity),
+ * а Room створює тригери, які оновлюють індекс при кожній вставці, зміні чи видаленні піци.
+ * Номер рядка (rowid) в індексі дорівнює id піци.
+ */
+// tokenize=unicode61 - щоб пошук не залежав від регістру і для кирилиці, а не лише для латиниці.
+@Fts4(contentEntity = PizzaEntity.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "pizzas_fts")
+public class PizzaFts {
+
+    @NonNull
+    private String name;
+
+    @NonNull
+    private String ingredients;
+
+    private String description;
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+
+    @NonNull
+    public String getIngredients() {
+        return ingredients;
+    }
+
+    public void setIngredients(@NonNull String ingredients) {
+        this.ingredients = ingredients;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Перетворює те, що ввів користувач, на запит для FTS "MATCH".
+     * Кожне слово шукаємо за початком ("марг" знайде "Маргарита"),
+     * а всі слова мають бути в піці одночасно.
+     * Усі символи, крім букв і цифр, відкидаємо, щоб не зламати синтаксис FTS.
+     * @param userInput Текст з поля пошуку.
+     * @return Готовий запит, наприклад "марг* сир*", або null, якщо шукати нічого.
+     */
+    public static String toMatchQuery(String userInput) {
+        if (userInput == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        boolean inWord = false;
+        for (int i = 0; i < userInput.length(); i++) {
+            char c = userInput.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (!inWord && query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append(c);
+                inWord = true;
+            } else if (inWord) {
+                query.append('*'); // Кінець слова - шукаємо за початком
+                inWord = false;
+            }
+        }
+        if (inWord) {
+            query.append('*');
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+}
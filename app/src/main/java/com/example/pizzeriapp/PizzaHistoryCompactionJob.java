@@ -0,0 +1,76 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.annotation.WorkerThread; // Метод не можна викликати з головного потоку
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Проріджування старої історії цін і статусів (PizzaHistoryEntity).
+ * Останні KEEP_FULL_MS історія лежить повністю; старіша проріджується до одного рядка на добу -
+ * стану на кінець доби (PizzaHistoryDao.downsample(...)). Межа діб - за UTC, тобто для Києва
+ * о 2-3 годині ночі, коли піцерія зачинена. "Скільки коштувала минулого вівторка" для старих днів
+ * так і лишається відомим, а таблиця не росте від кожної зміни ціни протягом дня.
+ * Кожна піца - окрема коротка транзакція, тож записи з екрана й каси на всю роботу не чекають.
+ * Зазвичай запускається через AppDatabase.compactPizzaHistoryInBackground().
+ */
+public final class PizzaHistoryCompactionJob {
+
+    // Скільки днів історії лишається повною - вистачає на звірку чеків за квартал
+    static final long KEEP_FULL_MS = 90 * 24 * 60 * 60_000L;
+
+    // Крок проріджування: один рядок на добу
+    static final long BUCKET_MS = 24 * 60 * 60_000L;
+
+    // Не частіше ніж раз на добу: за добу межа KEEP_FULL_MS зсувається лише на один проміжок
+    static final long MIN_INTERVAL_MS = 24 * 60 * 60_000L;
+
+    private static final LatencyHistogram RUN = Metrics.histogram("history.compact");
+    private static final LongAdder REMOVED = Metrics.counter("history.compact.rows");
+    private static final LongAdder FAILED = Metrics.counter("history.compact.failed");
+
+    private final PizzaHistoryDao historyDao;
+    private final LongSupplier clock;
+
+    // Не частіше ніж раз на MIN_INTERVAL_MS і не двічі одночасно
+    private final ThrottledRunner runner;
+
+    /**
+     * @param historyDao Історія цін (AppDatabase.pizzaHistoryDao()).
+     * @param clock Поточний час у мс (System::currentTimeMillis; у тестах - свій).
+     */
+    public PizzaHistoryCompactionJob(@NonNull PizzaHistoryDao historyDao, @NonNull LongSupplier clock) {
+        this.historyDao = historyDao;
+        this.clock = clock;
+        this.runner = new ThrottledRunner(MIN_INTERVAL_MS, clock, FAILED);
+    }
+
+    /**
+     * Запускає run() в executor, якщо з попереднього запуску минуло MIN_INTERVAL_MS
+     * і попереднє проріджування вже закінчилось. Можна викликати з будь-якого потоку і як завгодно часто.
+     * @return true, якщо проріджування заплановано.
+     */
+    public boolean runIfDue(@NonNull Executor executor) {
+        return runner.runIfDue(executor, this::run);
+    }
+
+    /**
+     * Проріджує історію всіх піц. Лише з фонового потоку.
+     * @return Скільки рядків історії прибрано.
+     */
+    @WorkerThread
+    public int run() {
+        long start = System.nanoTime();
+        // Межу вирівнюємо на початок доби, щоб остання проріджена доба не обрізалася посередині
+        long before = (clock.getAsLong() - KEEP_FULL_MS) / BUCKET_MS * BUCKET_MS;
+        int removed = 0;
+        for (int pizzaId : historyDao.getHistoryPizzaIds()) {
+            removed += historyDao.downsample(pizzaId, before, BUCKET_MS);
+        }
+        REMOVED.add(removed);
+        RUN.recordSince(start);
+        return removed;
+    }
+}
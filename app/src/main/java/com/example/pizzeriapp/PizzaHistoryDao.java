@@ -0,0 +1,76 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;  // Позначка, що значення не може бути null
+import androidx.annotation.Nullable; // Позначка, що значення може бути null
+import androidx.room.Dao;          // Об'єкт для доступу до даних
+import androidx.room.Query;        // Анотація для написання власних SQL-запитів
+import androidx.room.Transaction;  // Кілька запитів як одна транзакція
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Історія цін і статусів піц: "скільки коштувала минулого вівторка", звірка старих чеків.
+ * Пишуть у таблицю лише тригери (див. PizzaHistoryEntity), тож методів вставки тут немає.
+ * Усі методи - лише для фонових потоків.
+ */
+@Dao
+public interface PizzaHistoryDao {
+
+    /**
+     * Ціна і статус піци в момент at.
+     * @return Останній рядок історії не пізніше за at або null, якщо піци тоді ще не було.
+     */
+    @Nullable
+    @Query("SELECT * FROM pizza_history WHERE pizzaId = :pizzaId AND changedAt <= :at "
+            + "ORDER BY changedAt DESC, id DESC LIMIT 1")
+    PizzaHistoryEntity getStateAt(int pizzaId, long at);
+
+    /**
+     * Ціни і статуси кількох піц у момент at - наприклад, усіх рядків одного чека.
+     * Кожна піца - один крок по індексу, а не перебір її історії.
+     * @return Номер піци -> стан; піц, яких тоді ще не було, у відповіді немає.
+     */
+    @NonNull
+    @Transaction
+    default Map<Integer, PizzaHistoryEntity> getStatesAt(@NonNull List<Integer> pizzaIds, long at) {
+        Map<Integer, PizzaHistoryEntity> states = new LinkedHashMap<>();
+        for (Integer pizzaId : pizzaIds) {
+            PizzaHistoryEntity state = getStateAt(pizzaId, at);
+            if (state != null) {
+                states.put(pizzaId, state);
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Історія піци за період від from до to, від старіших змін до новіших.
+     * Першим іде стан, що діяв у момент from (якщо піца тоді вже була), - щоб було видно ціну з початку періоду.
+     */
+    @Query("SELECT * FROM pizza_history WHERE pizzaId = :pizzaId AND changedAt <= :to "
+            + "AND changedAt >= COALESCE((SELECT MAX(changedAt) FROM pizza_history "
+            + "WHERE pizzaId = :pizzaId AND changedAt <= :from), :from) "
+            + "ORDER BY changedAt, id")
+    List<PizzaHistoryEntity> getHistoryBetween(int pizzaId, long from, long to);
+
+    /**
+     * Номери всіх піц, що мають історію, - і тих, яких у меню вже немає.
+     */
+    @Query("SELECT DISTINCT pizzaId FROM pizza_history ORDER BY pizzaId")
+    List<Integer> getHistoryPizzaIds();
+
+    /**
+     * Проріджує історію піци, старішу за before: з кожного проміжку bucketMs (наприклад, доби)
+     * лишається лише останній рядок - стан на кінець проміжку. Рядки, новіші за before, не чіпає.
+     * Для кожного рядка сусіда шукаємо лише в межах його проміжку, тож це один прохід по індексу.
+     * @return Скільки рядків прибрано.
+     */
+    @Query("DELETE FROM pizza_history WHERE pizzaId = :pizzaId AND changedAt < :before AND EXISTS ("
+            + "SELECT 1 FROM pizza_history AS n WHERE n.pizzaId = pizza_history.pizzaId "
+            + "AND n.changedAt >= pizza_history.changedAt "
+            + "AND n.changedAt < MIN(:before, (pizza_history.changedAt / :bucketMs + 1) * :bucketMs) "
+            + "AND (n.changedAt > pizza_history.changedAt OR n.id > pizza_history.id))")
+    int downsample(int pizzaId, long before, long bucketMs);
+}
@@ -0,0 +1,33 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.Index;      // Індекс для швидкого пошуку
+import androidx.room.PrimaryKey; // Унікальний номер запису
+
+/**
+ * Один рядок історії цін і статусів піци: з моменту changedAt піца коштувала priceKopecks і мала статус status.
+ * Рядки лише додаються - їх пишуть тригери на "pizzas" (див. DatabaseMigrations.createHistoryTriggers)
+ * у тій самій транзакції, що й зміну піци. Прибирає старі рядки лише PizzaHistoryCompactionJob.
+ * Без зовнішнього ключа на "pizzas": історія потрібна і для чеків піц, яких у меню вже немає.
+ */
+// Індекс (pizzaId, changedAt): "скільки коштувала о такій-то годині" - один крок по індексу,
+// а історія за період - один відрізок індексу, вже в порядку часу
+@Entity(tableName = "pizza_history",
+        indices = {@Index(value = {"pizzaId", "changedAt"})})
+public class PizzaHistoryEntity {
+
+    // Без AUTOINCREMENT: номер видає сама SQLite, і вставка не пише ще й у sqlite_sequence
+    @PrimaryKey
+    public long id;
+
+    public int pizzaId;
+
+    // Коли ціна чи статус стали такими, мс від 1970 року
+    public long changedAt;
+
+    public long priceKopecks;
+
+    @NonNull
+    public PizzaStatus status = PizzaStatus.AVAILABLE;
+}
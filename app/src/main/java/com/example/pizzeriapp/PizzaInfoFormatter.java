@@ -0,0 +1,57 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+/**
+ * Збирає другий рядок елемента списку - "склад - ціна грн".
+ * Кожен PizzaViewHolder має власний екземпляр і використовує його повторно:
+ * текст пишеться в один і той самий StringBuilder, а потім копіюється в один і той самий
+ * масив символів. Після того як буфери "розігрілися" до потрібного розміру,
+ * заповнення рядка списку не створює жодного нового об'єкта.
+ * Android тут не потрібен, тож клас можна перевіряти звичайним JVM-тестом.
+ */
+public final class PizzaInfoFormatter {
+
+    private static final String SEPARATOR = " - ";
+    private static final String CURRENCY = " грн";
+
+    // Сюди збираємо текст. setLength(0) не звільняє пам'ять, тож буфер живе весь час.
+    private final StringBuilder builder = new StringBuilder(64);
+
+    // Роздільник копійок ("," чи "."), залежить від мови пристрою
+    private final char decimalSeparator;
+
+    // Готовий текст для TextView.setText(char[], int, int). Росте лише тоді, коли текст довший за нього.
+    private char[] chars = new char[64];
+
+    public PizzaInfoFormatter(char decimalSeparator) {
+        this.decimalSeparator = decimalSeparator;
+    }
+
+    /**
+     * Записує текст для піци в масив chars().
+     * @param pizza Піца, для якої збираємо текст.
+     * @return Довжина тексту - скільки перших символів chars() заповнено.
+     */
+    public int format(@NonNull PizzaListItem pizza) {
+        builder.setLength(0);
+        builder.append(pizza.getIngredients()).append(SEPARATOR);
+        Money.appendTo(builder, pizza.getPriceKopecks(), decimalSeparator).append(CURRENCY);
+
+        int length = builder.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        builder.getChars(0, length, chars, 0);
+        return length;
+    }
+
+    /**
+     * Масив, у який format(...) записав текст. Не змінювати і не зберігати надовго:
+     * наступний виклик format(...) перезапише його.
+     */
+    @NonNull
+    public char[] chars() {
+        return chars;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.pizzeriapp;
+
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.ForeignKey; // Зв'язок з іншою таблицею
+import androidx.room.Index;      // Індекс для швидкого пошуку
+
+/**
+ * Зв'язок "піца - інгредієнт": один рядок на кожен інгредієнт кожної піци.
+ * Це "обернений індекс" до складу піци: за інгредієнтом одразу видно всі піци з ним,
+ * без LIKE '%...%' по кожному рядку меню.
+ */
+// Первинний ключ (pizzaId, ingredientId) - інгредієнти однієї піци; індекс (ingredientId, pizzaId) -
+// піци з одним інгредієнтом. Обидва напрямки читаються лише з індексу.
+// Видалили піцу чи інгредієнт - зникають і їхні зв'язки (CASCADE).
+@Entity(tableName = "pizza_ingredient",
+        primaryKeys = {"pizzaId", "ingredientId"},
+        foreignKeys = {
+                @ForeignKey(entity = PizzaEntity.class,
+                        parentColumns = "id",
+                        childColumns = "pizzaId",
+                        onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = IngredientEntity.class,
+                        parentColumns = "id",
+                        childColumns = "ingredientId",
+                        onDelete = ForeignKey.CASCADE)
+        },
+        indices = {@Index(value = {"ingredientId", "pizzaId"})})
+public class PizzaIngredientCrossRef {
+
+    private int pizzaId;
+
+    private int ingredientId;
+
+    public int getPizzaId() {
+        return pizzaId;
+    }
+
+    public void setPizzaId(int pizzaId) {
+        this.pizzaId = pizzaId;
+    }
+
+    public int getIngredientId() {
+        return ingredientId;
+    }
+
+    public void setIngredientId(int ingredientId) {
+        this.ingredientId = ingredientId;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.Nullable; // Позначка, що значення може бути null
+import androidx.room.Query;        // Анотація для написання власних SQL-запитів
+
+import java.util.List;
+
+/**
+ * Запити, які тримають "pizza_ingredient" в актуальному стані. Їх успадковують усі DAO,
+ * що пишуть у "pizzas" (PizzaDao, SyncDao), і викликають indexIngredients(...)
+ * у тій самій транзакції, що й запис піци.
+ * <p>
+ * Тригером тут не обійтися: SQLite в тригерах не вміє розбити рядок складу на частини.
+ * Видаляти зв'язки при видаленні піци не треба - це робить CASCADE.
+ */
+interface PizzaIngredientIndex {
+
+    /**
+     * Додає інгредієнт, якщо такого ще немає.
+     */
+    @Query("INSERT OR IGNORE INTO ingredients (name) VALUES (:name)")
+    void addIngredient(String name);
+
+    /**
+     * Пов'язує піцу з інгредієнтом за назвою (сам інгредієнт уже має бути в таблиці).
+     */
+    @Query("INSERT OR IGNORE INTO pizza_ingredient (pizzaId, ingredientId) "
+            + "SELECT :pizzaId, id FROM ingredients WHERE name = :name")
+    void linkIngredient(int pizzaId, String name);
+
+    /**
+     * Прибирає всі зв'язки піци з інгредієнтами.
+     */
+    @Query("DELETE FROM pizza_ingredient WHERE pizzaId = :pizzaId")
+    void unlinkIngredients(int pizzaId);
+
+    /**
+     * Записує інгредієнти піци заново за її складом. Викликати лише всередині транзакції,
+     * після того як піца з таким номером вже є в "pizzas".
+     * @param ingredients Склад піци як є, див. Ingredients.parse(...).
+     */
+    default void indexIngredients(int pizzaId, @Nullable String ingredients) {
+        unlinkIngredients(pizzaId);
+        List<String> names = Ingredients.parse(ingredients);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            addIngredient(name);
+            linkIngredient(pizzaId, name);
+        }
+    }
+}
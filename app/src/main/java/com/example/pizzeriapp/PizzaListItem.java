@@ -0,0 +1,74 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.annotation.Nullable; // Позначка, що значення може бути null
+
+/**
+ * Лише те про піцу, що видно в рядку списку: назва, склад і ціна (плюс номер, щоб її знайти).
+ * Запити для списку читають тільки ці колонки, тож довгий опис та інші поля
+ * не потрапляють ні у вікно курсора SQLite, ні в пам'ять для кожного рядка.
+ * Повну піцу (PizzaEntity) завантажуємо окремо, коли її відкривають для редагування.
+ * Room створює об'єкт через конструктор, зіставляючи його параметри з колонками запиту.
+ */
+public final class PizzaListItem {
+
+    private final int id;
+    @NonNull
+    private final String name;
+    @NonNull
+    private final String ingredients;
+    private final long priceKopecks;
+
+    public PizzaListItem(int id, @NonNull String name, @NonNull String ingredients, long priceKopecks) {
+        this.id = id;
+        this.name = name;
+        this.ingredients = ingredients;
+        this.priceKopecks = priceKopecks;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @NonNull
+    public String getIngredients() {
+        return ingredients;
+    }
+
+    public long getPriceKopecks() {
+        return priceKopecks;
+    }
+
+    /**
+     * Два рядки рівні, якщо збігаються всі поля. Так "живі" списки (PizzaStreams, getAllPizzas())
+     * можуть не повідомляти про новий список, якщо він такий самий, як попередній.
+     */
+    @Override
+    public boolean equals(@Nullable Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PizzaListItem)) {
+            return false;
+        }
+        PizzaListItem item = (PizzaListItem) other;
+        return id == item.id
+                && priceKopecks == item.priceKopecks
+                && name.equals(item.name)
+                && ingredients.equals(item.ingredients);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = id;
+        result = 31 * result + name.hashCode();
+        result = 31 * result + ingredients.hashCode();
+        result = 31 * result + Long.hashCode(priceKopecks);
+        return result;
+    }
+}
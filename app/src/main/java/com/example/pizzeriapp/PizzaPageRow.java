@@ -0,0 +1,33 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.Embedded;      // Колонки вкладеного об'єкта читаються з того самого рядка запиту
+
+/**
+ * Рядок однієї сторінки списку (див. PizzaPagingSource): той самий PizzaListItem
+ * плюс значення колонки, за якою посортована сторінка (sortKey - id, ціна або розмір).
+ * З останнього рядка сторінки береться ключ наступної: "після такої ціни і такого номера".
+ * Room створює об'єкт через конструктор, зіставляючи його параметри з полями.
+ */
+public final class PizzaPageRow {
+
+    @Embedded
+    @NonNull
+    private final PizzaListItem item;
+
+    private final long sortKey;
+
+    public PizzaPageRow(@NonNull PizzaListItem item, long sortKey) {
+        this.item = item;
+        this.sortKey = sortKey;
+    }
+
+    @NonNull
+    public PizzaListItem getItem() {
+        return item;
+    }
+
+    public long getSortKey() {
+        return sortKey;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.pizzeriapp;
+
+import android.view.LayoutInflater; // Допомагає "надути" (створити) вигляд з XML-файлу
+import android.view.View;          // Базовий клас для всіх елементів UI
+import android.view.ViewGroup;     // Контейнер для інших View
+
+import androidx.annotation.NonNull; // Позначка, що щось не може бути null
+import androidx.paging.PagingDataAdapter; // Адаптер, який сам отримує дані сторінками
+
+import java.util.List; // Для списку позначок (payloads)
+
+/**
+ * Посторінкова версія PizzaAdapter.
+ * Дані приходять від PizzaViewModel.getPagedPizzas() частинами, тому в пам'яті
+ * тримаються лише ті піци, що поруч з видимою частиною списку.
+ * Різницю між старими та новими даними рахує PizzaDiffCallback у фоновому потоці.
+ */
+public class PizzaPagingAdapter extends PagingDataAdapter<PizzaListItem, PizzaAdapter.PizzaViewHolder> {
+
+    // Ті самі "слухачі" натискань, що й у звичайному PizzaAdapter
+    private PizzaAdapter.OnPizzaClickListener clickListener;
+    private PizzaAdapter.OnPizzaLongClickListener longClickListener;
+
+    // Перетворює позицію натиснутого рядка на піцу. peek(...), на відміну від getItem(...),
+    // не просить завантажити нові сторінки - лише дивиться, що вже є.
+    private final PizzaAdapter.RowClickHandler rowClickHandler = new PizzaAdapter.RowClickHandler() {
+        @Override
+        public void onRowClick(int position) {
+            PizzaListItem pizza = peek(position);
+            if (pizza != null && clickListener != null) {
+                clickListener.onPizzaClick(pizza);
+            }
+        }
+
+        @Override
+        public boolean onRowLongClick(int position) {
+            PizzaListItem pizza = peek(position);
+            if (pizza != null && longClickListener != null) {
+                longClickListener.onPizzaLongClick(pizza);
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public PizzaPagingAdapter() {
+        super(PizzaDiffCallback.INSTANCE); // Пояснюємо, як порівнювати піци
+    }
+
+    @NonNull
+    @Override
+    public PizzaAdapter.PizzaViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        long start = System.nanoTime();
+        View itemView = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_pizza, parent, false);
+        PizzaAdapter.PizzaViewHolder holder = new PizzaAdapter.PizzaViewHolder(itemView, rowClickHandler);
+        PizzaAdapter.CREATE_LATENCY.recordSince(start); // Ті самі метрики, що й у PizzaAdapter
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PizzaAdapter.PizzaViewHolder holder, int position) {
+        long start = System.nanoTime();
+        // getItem сам підвантажить сусідню сторінку, якщо ми наближаємося до її краю
+        PizzaListItem currentPizza = getItem(position);
+        if (currentPizza == null) {
+            return; // Сторінка ще не завантажилась
+        }
+
+        holder.bind(currentPizza); // Кліки вже налаштовані в самому ViewHolder'і
+        PizzaAdapter.BIND_LATENCY.recordSince(start);
+    }
+
+    /**
+     * Часткове оновлення рядка, якщо змінилася лише ціна.
+     * Стабільні id тут не вмикаємо: PagingDataAdapter їх не підтримує,
+     * зате DiffUtil однаково знаходить піци за їхнім id.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull PizzaAdapter.PizzaViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        long start = System.nanoTime();
+        PizzaListItem currentPizza = getItem(position);
+        if (currentPizza == null) {
+            return;
+        }
+        holder.bindChanges(currentPizza, PizzaDiffCallback.mergePayloads(payloads));
+        PizzaAdapter.BIND_LATENCY.recordSince(start);
+    }
+
+    // Методи, щоб MainActivity могла "підписатися" на події кліків
+
+    public void setOnPizzaClickListener(PizzaAdapter.OnPizzaClickListener listener) {
+        this.clickListener = listener;
+    }
+
+    public void setOnPizzaLongClickListener(PizzaAdapter.OnPizzaLongClickListener listener) {
+        this.longClickListener = listener;
+    }
+}
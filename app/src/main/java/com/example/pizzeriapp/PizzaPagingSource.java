@@ -0,0 +1,225 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;  // Позначка, що значення не може бути null
+import androidx.annotation.Nullable; // Позначка, що значення може бути null
+import androidx.paging.PagingState;  // Що зараз завантажено і де список прокручено
+import androidx.paging.rxjava3.RxPagingSource; // Джерело сторінок, яке віддає кожну сторінку як Single
+import androidx.room.InvalidationTracker; // Сигнал від Room "таблицю змінено"
+
+import java.util.ArrayList;
+import java.util.Collections; // Щоб перевернути сторінку, прочитану назад
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean; // Підписатися на зміни лише один раз
+
+import io.reactivex.rxjava3.core.Scheduler; // Де виконувати запити
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import kotlin.Unit; // Що повертає колбек для Kotlin-коду Paging
+
+/**
+ * Посторінкове джерело списку піц, що читає сторінки "за ключем" (keyset), а не через LIMIT / OFFSET.
+ * <p>
+ * Джерело Room з OFFSET для кожної наступної сторінки переглядає в індексі всі попередні рядки,
+ * тож чим далі прокручено список, тим довше читається сторінка. Тут ключ сторінки - останній
+ * показаний рядок (значення колонки сортування і номер піци), і запит PizzaDao.getPizzaPage...
+ * одразу стрибає індексом на місце після нього. Час читання сторінки однаковий на початку і в кінці списку.
+ * <p>
+ * Сторінки дочитуються в обидва боки: вперед - тим самим запитом, назад - запитом
+ * із протилежним порядком (результат перевертаємо). Після будь-якої зміни в таблиці "pizzas"
+ * InvalidationTracker повідомляє спостерігача, і джерело робить себе недійсним (invalidate()):
+ * Pager створює нове і починає з того самого місця (getRefreshKey).
+ */
+final class PizzaPagingSource extends RxPagingSource<PizzaPagingSource.Key, PizzaListItem> {
+
+    /**
+     * Ключ сторінки: значення колонки сортування і номер піци, від якої рахувати.
+     * Для дочитування вперед і назад це рядок на краю вже завантаженої сторінки (його не включаємо),
+     * для першої сторінки після оновлення (Refresh) - перший рядок, який треба показати.
+     */
+    static final class Key {
+        final long sortKey;
+        final int id;
+
+        Key(long sortKey, int id) {
+            this.sortKey = sortKey;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return sortKey == key.sortKey && id == key.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(sortKey) + id;
+        }
+    }
+
+    /**
+     * Один із запитів PizzaDao.getPizzaPage...: до limit рядків, що йдуть після (afterKey, afterId).
+     */
+    interface PageQuery {
+        List<PizzaPageRow> load(long afterKey, int afterId, int limit);
+    }
+
+    private final PageQuery forward;  // Рядки в порядку списку
+    private final PageQuery backward; // Ті самі рядки в протилежному порядку
+    private final boolean descending; // Чи йде список від більших значень до менших
+    private final InvalidationTracker tracker;
+    private final Scheduler scheduler;
+
+    // Стежить за таблицею "pizzas" і робить джерело недійсним після першої ж зміни
+    private final InvalidationTracker.Observer observer = new InvalidationTracker.Observer("pizzas") {
+        @Override
+        public void onInvalidated(@NonNull Set<String> tables) {
+            invalidate();
+        }
+    };
+    private final AtomicBoolean observing = new AtomicBoolean();
+
+    PizzaPagingSource(@NonNull PageQuery forward, @NonNull PageQuery backward, boolean descending,
+                      @NonNull InvalidationTracker tracker, @NonNull Scheduler scheduler) {
+        this.forward = forward;
+        this.backward = backward;
+        this.descending = descending;
+        this.tracker = tracker;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Джерело під фільтр списку. Кожен запит зі статусом обслуговує свій індекс,
+     * тож сортування не відбувається в пам'яті.
+     */
+    @NonNull
+    static PizzaPagingSource forFilter(@NonNull AppDatabase db, @NonNull PizzaFilter filter) {
+        PizzaDao dao = db.pizzaDao();
+        InvalidationTracker tracker = db.getInvalidationTracker();
+        Scheduler scheduler = Schedulers.from(db.getQueryExecutor());
+        PizzaStatus status = filter.getStatus();
+        if (status == null) {
+            // Усі піци, новіші першими
+            return new PizzaPagingSource((key, id, limit) -> dao.getPizzaPageNewestFirst(id, limit),
+                    (key, id, limit) -> dao.getPizzaPageOldestFirst(id, limit), true, tracker, scheduler);
+        }
+        switch (filter.getSortOrder()) {
+            case PRICE_DESC:
+                return new PizzaPagingSource(
+                        (key, id, limit) -> dao.getPizzaPageByStatusPriceDesc(status, key, id, limit),
+                        (key, id, limit) -> dao.getPizzaPageByStatusPriceAsc(status, key, id, limit),
+                        true, tracker, scheduler);
+            case SIZE_ASC:
+                return new PizzaPagingSource(
+                        (key, id, limit) -> dao.getPizzaPageByStatusSizeAsc(status, key, id, limit),
+                        (key, id, limit) -> dao.getPizzaPageByStatusSizeDesc(status, key, id, limit),
+                        false, tracker, scheduler);
+            case SIZE_DESC:
+                return new PizzaPagingSource(
+                        (key, id, limit) -> dao.getPizzaPageByStatusSizeDesc(status, key, id, limit),
+                        (key, id, limit) -> dao.getPizzaPageByStatusSizeAsc(status, key, id, limit),
+                        true, tracker, scheduler);
+            case PRICE_ASC:
+            default:
+                return new PizzaPagingSource(
+                        (key, id, limit) -> dao.getPizzaPageByStatusPriceAsc(status, key, id, limit),
+                        (key, id, limit) -> dao.getPizzaPageByStatusPriceDesc(status, key, id, limit),
+                        false, tracker, scheduler);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Single<LoadResult<Key, PizzaListItem>> loadSingle(@NonNull LoadParams<Key> params) {
+        return Single.fromCallable(() -> load(params)).subscribeOn(scheduler);
+    }
+
+    /**
+     * Ключ, з якого почати нове джерело після зміни в таблиці: перший рядок сторінки,
+     * яку зараз видно. Якщо це перша сторінка - починаємо спочатку.
+     */
+    @Nullable
+    @Override
+    public Key getRefreshKey(@NonNull PagingState<Key, PizzaListItem> state) {
+        Integer anchorPosition = state.getAnchorPosition();
+        if (anchorPosition == null) {
+            return null;
+        }
+        LoadResult.Page<Key, PizzaListItem> page = state.closestPageToPosition(anchorPosition);
+        return page != null ? page.getPrevKey() : null;
+    }
+
+    // Виконується у фоновому потоці Room
+    private LoadResult<Key, PizzaListItem> load(LoadParams<Key> params) {
+        startObserving();
+        if (getInvalid()) {
+            return new LoadResult.Invalid<>();
+        }
+        Key key = params.getKey();
+        int limit = params.getLoadSize();
+        if (params instanceof LoadParams.Prepend) {
+            List<PizzaPageRow> rows = backward.load(key.sortKey, key.id, limit);
+            Collections.reverse(rows);
+            return page(rows, rows.size() < limit ? null : keyOf(rows, 0), keyOf(rows, rows.size() - 1));
+        }
+        if (params instanceof LoadParams.Append) {
+            List<PizzaPageRow> rows = forward.load(key.sortKey, key.id, limit);
+            return page(rows, keyOf(rows, 0), rows.size() < limit ? null : keyOf(rows, rows.size() - 1));
+        }
+        // Refresh: з рядка key включно - "після" рядка з номером на одиницю ближче до початку
+        if (key != null) {
+            List<PizzaPageRow> rows = forward.load(key.sortKey, descending ? key.id + 1 : key.id - 1, limit);
+            if (!rows.isEmpty()) {
+                return page(rows, keyOf(rows, 0), rows.size() < limit ? null : keyOf(rows, rows.size() - 1));
+            }
+            // Від цього місця до кінця все видалили - показуємо список спочатку
+        }
+        List<PizzaPageRow> rows = forward.load(descending ? Long.MAX_VALUE : Long.MIN_VALUE,
+                descending ? Integer.MAX_VALUE : Integer.MIN_VALUE, limit);
+        return page(rows, null, rows.size() < limit ? null : keyOf(rows, rows.size() - 1));
+    }
+
+    /**
+     * Підписується на зміни таблиці перед першим запитом, щоб не пропустити запис між ними.
+     * addObserver звертається до бази, тому викликаємо його тут, у фоновому потоці.
+     * Відписуємося, щойно джерело стало недійсним: далі воно вже нічого не читає.
+     */
+    private void startObserving() {
+        if (observing.compareAndSet(false, true)) {
+            tracker.addObserver(observer);
+            // invalidate() можуть викликати і з головного потоку (оновлення списку в UI)
+            registerInvalidatedCallback(() -> {
+                scheduler.scheduleDirect(() -> tracker.removeObserver(observer));
+                return Unit.INSTANCE;
+            });
+        }
+    }
+
+    private static LoadResult<Key, PizzaListItem> page(List<PizzaPageRow> rows, @Nullable Key prevKey,
+                                                       @Nullable Key nextKey) {
+        List<PizzaListItem> items = new ArrayList<>(rows.size());
+        for (PizzaPageRow row : rows) {
+            items.add(row.getItem());
+        }
+        // Порожня сторінка - далі в цей бік читати нічого
+        return items.isEmpty()
+                ? new LoadResult.Page<>(items, null, null)
+                : new LoadResult.Page<>(items, prevKey, nextKey);
+    }
+
+    @Nullable
+    private static Key keyOf(List<PizzaPageRow> rows, int index) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        PizzaPageRow row = rows.get(index);
+        return new Key(row.getSortKey(), row.getItem().getId());
+    }
+}
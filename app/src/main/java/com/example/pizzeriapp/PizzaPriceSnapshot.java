@@ -0,0 +1,20 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+/**
+ * Лише те про піцу, що потрібно для оформлення замовлення: назва, ціна і статус.
+ * Room заповнює поля за назвами колонок у запиті (id, name, priceKopecks, status).
+ */
+public class PizzaPriceSnapshot {
+
+    public int id;
+
+    @NonNull
+    public String name = "";
+
+    public long priceKopecks;
+
+    @NonNull
+    public PizzaStatus status = PizzaStatus.AVAILABLE;
+}
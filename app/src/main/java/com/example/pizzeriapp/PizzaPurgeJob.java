@@ -0,0 +1,131 @@
+package com.example.pizzeriapp;
+
+import android.database.Cursor;     // Читання результату PRAGMA
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.annotation.WorkerThread; // Метод не можна викликати з головного потоку
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Остаточна очистка кошика піц і повернення місця у файлі бази.
+ * <ul>
+ *     <li>Піци, що пролежали в кошику довше за PURGE_AFTER_MS, видаляються частинами по PURGE_CHUNK
+ *     (PizzaDao.purgeDeletedBefore(...)). Кожна частина - окрема коротка транзакція,
+ *     тож записи з екрана й каси між частинами не чекають на всю очистку.</li>
+ *     <li>Потім звільнені сторінки файлу повертаються системі через PRAGMA incremental_vacuum -
+ *     теж потроху, по VACUUM_PAGES_PER_STEP. Для цього база має бути в режимі auto_vacuum = INCREMENTAL -
+ *     його вмикає AutoVacuumOpenHelperFactory ще при відкритті бази, тож повного VACUUM тут не буває.</li>
+ * </ul>
+ * Так розмір pizzeria.db і час запитів не ростуть від місяців редагування меню.
+ * Зазвичай запускається через AppDatabase.purgeDeletedPizzasInBackground().
+ */
+public final class PizzaPurgeJob {
+
+    // Скільки піца лежить у кошику, поки її ще можна повернути. "Скасувати" на екрані зникає за секунди,
+    // а доба - запас на випадок, якщо видалення ще не пішло на сервер або його захочуть повернути вручну.
+    static final long PURGE_AFTER_MS = 24 * 60 * 60_000L;
+
+    // Найбільше піц, які видаляє одна транзакція
+    static final int PURGE_CHUNK = 200;
+
+    // Скільки сторінок повертає системі один крок incremental_vacuum (при сторінці 4 КіБ - 1 МіБ)
+    static final int VACUUM_PAGES_PER_STEP = 256;
+
+    // Не частіше ніж раз на годину: очистка потрібна проти місяців змін, а не після кожного видалення
+    static final long MIN_INTERVAL_MS = 60 * 60_000L;
+
+    private static final LatencyHistogram RUN = Metrics.histogram("purge.run");
+    private static final LongAdder PURGED = Metrics.counter("purge.pizzas");
+    private static final LongAdder VACUUMED_PAGES = Metrics.counter("purge.vacuumPages");
+    private static final LongAdder FAILED = Metrics.counter("purge.failed");
+
+    private final PizzaDao pizzaDao;
+    private final SupportSQLiteOpenHelper openHelper;
+    private final LongSupplier clock;
+
+    // Не частіше ніж раз на MIN_INTERVAL_MS і не двічі одночасно
+    private final ThrottledRunner runner;
+
+    /**
+     * @param pizzaDao Через нього видаляються піци (AppDatabase.pizzaDao()).
+     * @param openHelper Для PRAGMA incremental_vacuum (RoomDatabase.getOpenHelper()).
+     * @param clock Поточний час у мс (System::currentTimeMillis; у тестах - свій).
+     */
+    public PizzaPurgeJob(@NonNull PizzaDao pizzaDao, @NonNull SupportSQLiteOpenHelper openHelper,
+                         @NonNull LongSupplier clock) {
+        this.pizzaDao = pizzaDao;
+        this.openHelper = openHelper;
+        this.clock = clock;
+        this.runner = new ThrottledRunner(MIN_INTERVAL_MS, clock, FAILED);
+    }
+
+    /**
+     * Запускає run() в executor, якщо з попереднього запуску минуло MIN_INTERVAL_MS
+     * і попередня очистка вже закінчилась. Можна викликати з будь-якого потоку і як завгодно часто.
+     * @return true, якщо очистку заплановано.
+     */
+    public boolean runIfDue(@NonNull Executor executor) {
+        return runner.runIfDue(executor, this::run);
+    }
+
+    /**
+     * Очищає кошик і повертає звільнене місце. Лише з фонового потоку.
+     * @return Скільки піц видалено остаточно.
+     */
+    @WorkerThread
+    public int run() {
+        long start = System.nanoTime();
+        long before = clock.getAsLong() - PURGE_AFTER_MS;
+        int purged = 0;
+        int chunk;
+        do {
+            chunk = pizzaDao.purgeDeletedBefore(before, PURGE_CHUNK);
+            purged += chunk;
+        } while (chunk == PURGE_CHUNK);
+        PURGED.add(purged);
+        VACUUMED_PAGES.add(vacuum(openHelper.getWritableDatabase()));
+        RUN.recordSince(start);
+        return purged;
+    }
+
+    /**
+     * Повертає файловій системі вільні сторінки бази, по VACUUM_PAGES_PER_STEP за крок.
+     * Кожен крок - окрема транзакція, тож інші записи можуть вклинитися між ними.
+     * @return Скільки сторінок звільнено.
+     */
+    static int vacuum(@NonNull SupportSQLiteDatabase db) {
+        if (!AutoVacuumOpenHelperFactory.isIncremental(db)) {
+            // Базу відкрито без AutoVacuumOpenHelperFactory (наприклад, у тестах) - потроху повертати не вийде,
+            // а переписувати весь файл посеред роботи ми не будемо
+            return 0;
+        }
+        int freed = 0;
+        int free = pragmaInt(db, "freelist_count");
+        while (free > 0) {
+            try (Cursor cursor = db.query("PRAGMA incremental_vacuum(" + VACUUM_PAGES_PER_STEP + ")")) {
+                // SQLite повертає сторінки по одній на кожен рядок результату - тож дочитуємо до кінця
+                while (cursor.moveToNext()) {
+                    // Нічого не робимо
+                }
+            }
+            int left = pragmaInt(db, "freelist_count");
+            if (left >= free) {
+                break; // Нічого не звільнилося - не крутимося даремно
+            }
+            freed += free - left;
+            free = left;
+        }
+        return freed;
+    }
+
+    private static int pragmaInt(SupportSQLiteDatabase db, String pragma) {
+        try (Cursor cursor = db.query("PRAGMA " + pragma)) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+}
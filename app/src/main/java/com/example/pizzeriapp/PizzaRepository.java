@@ -0,0 +1,114 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;     // Позначка, що значення не може бути null
+import androidx.annotation.Nullable;    // Позначка, що значення може бути null
+import androidx.annotation.WorkerThread; // Метод не можна викликати з головного потоку
+
+import java.util.List;
+
+/**
+ * Сховище піц без прив'язки до того, де вони лежать.
+ * <p>
+ * Є дві реалізації з однаковою поведінкою (її перевіряє PizzaRepositoryContractTest):
+ * <ul>
+ *     <li>RoomPizzaRepository - справжня база SQLite через PizzaDao;</li>
+ *     <li>InMemoryPizzaRepository - усе в пам'яті, без Android і без бази. Годиться для
+ *     JVM-тестів, замірів і як "гарячий" кеш меню.</li>
+ * </ul>
+ * Усі методи синхронні: з головного потоку їх не викликати (записи - через DatabaseWriteExecutor).
+ * Повернуті піци - копії: змінювати їх можна, у сховищі від цього нічого не зміниться.
+ * Поля синхронізації (uuid, version, updatedAt) у Room веде PizzaDao (див. PizzaEdit), тож порівнювати
+ * їх між реалізаціями не варто.
+ */
+public interface PizzaRepository {
+
+    /**
+     * Піца за номером.
+     * @return Піца або null, якщо такої немає.
+     */
+    @WorkerThread
+    @Nullable
+    PizzaEntity getPizzaById(int pizzaId);
+
+    /**
+     * Усі піци для списку, новіші (з більшим номером) першими.
+     */
+    @WorkerThread
+    @NonNull
+    List<PizzaListItem> getAllPizzas();
+
+    /**
+     * Піци з одним статусом і ціною від minKopecks до maxKopecks включно,
+     * від найдешевшої; піци з однаковою ціною - за номером.
+     */
+    @WorkerThread
+    @NonNull
+    List<PizzaListItem> getPizzasByStatus(@NonNull PizzaStatus status, long minKopecks, long maxKopecks);
+
+    /**
+     * Усі піци з одним статусом, від найдешевшої.
+     */
+    @WorkerThread
+    @NonNull
+    default List<PizzaListItem> getPizzasByStatus(@NonNull PizzaStatus status) {
+        return getPizzasByStatus(status, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Скільки всього піц.
+     */
+    @WorkerThread
+    int count();
+
+    /**
+     * Додає нову піцу. Якщо id = 0, номер дає сховище (завжди більший за всі, що вже були);
+     * якщо піца з таким номером уже є - помилка. Переданий об'єкт не змінюється.
+     * @return Номер нової піци.
+     */
+    @WorkerThread
+    int insert(@NonNull PizzaEntity pizza);
+
+    /**
+     * Додає багато піц за раз: або всі, або (при помилці) жодної.
+     */
+    @WorkerThread
+    void insertAll(@NonNull List<PizzaEntity> pizzas);
+
+    /**
+     * Замінює піцу з тим самим номером. Якщо такої немає - нічого не робить.
+     */
+    @WorkerThread
+    void update(@NonNull PizzaEntity pizza);
+
+    /**
+     * Оновлює багато піц за раз (тих, яких немає, пропускає).
+     */
+    @WorkerThread
+    void updateAll(@NonNull List<PizzaEntity> pizzas);
+
+    /**
+     * "Вставити або оновити": піци з id = 0 або з номером, якого ще немає, додаються, решта - оновлюються.
+     */
+    @WorkerThread
+    void upsertAll(@NonNull List<PizzaEntity> pizzas);
+
+    /**
+     * Видаляє піцу за номером.
+     * @return true, якщо піца була і її видалено.
+     */
+    @WorkerThread
+    boolean deleteById(int pizzaId);
+
+    /**
+     * Видаляє багато піц за раз (шукаються за id).
+     */
+    @WorkerThread
+    void deleteAll(@NonNull List<PizzaEntity> pizzas);
+
+    /**
+     * Змінює статус піцам з переданими номерами (номери, яких немає, пропускаються).
+     * @return Скільки піц оновлено.
+     */
+    @WorkerThread
+    int setStatus(@NonNull List<Integer> pizzaIds, @NonNull PizzaStatus status);
+}
@@ -0,0 +1,20 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+/**
+ * Рядок списку найпопулярніших піц: піца, скільки продано і на яку суму.
+ * Room заповнює поля за назвами колонок у запиті (pizzaId, pizzaName, soldCount, revenueKopecks).
+ */
+public class PizzaSales {
+
+    public int pizzaId;
+
+    // Поточна назва піци з меню
+    @NonNull
+    public String pizzaName = "";
+
+    public long soldCount;
+
+    public long revenueKopecks;
+}
@@ -0,0 +1,56 @@
+package com.example.pizzeriapp;
+
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.ForeignKey; // Зв'язок з таблицею піц
+import androidx.room.Index;      // Індекс для швидкого сортування
+import androidx.room.PrimaryKey; // Унікальний ключ запису
+
+/**
+ * Готовий підсумок продажів однієї піци: скільки штук продано і на яку суму.
+ * Таблицю "pizza_sales_summary" оновлюють тригери на "order_items" (див. DatabaseMigrations.createSummaryTriggers).
+ * Індекс за soldCount віддає найпопулярніші піци без перебору всіх продажів.
+ * Видалили піцу з меню - зникає і її рядок тут (CASCADE).
+ */
+@Entity(tableName = "pizza_sales_summary",
+        foreignKeys = {
+                @ForeignKey(entity = PizzaEntity.class,
+                        parentColumns = "id",
+                        childColumns = "pizzaId",
+                        onDelete = ForeignKey.CASCADE)
+        },
+        indices = {@Index(value = {"soldCount"})})
+public class PizzaSalesSummary {
+
+    @PrimaryKey
+    private int pizzaId;
+
+    // Скільки штук продано
+    private long soldCount;
+
+    // На яку суму, в копійках (за цінами на момент продажу)
+    private long revenueKopecks;
+
+    public int getPizzaId() {
+        return pizzaId;
+    }
+
+    public void setPizzaId(int pizzaId) {
+        this.pizzaId = pizzaId;
+    }
+
+    public long getSoldCount() {
+        return soldCount;
+    }
+
+    public void setSoldCount(long soldCount) {
+        this.soldCount = soldCount;
+    }
+
+    public long getRevenueKopecks() {
+        return revenueKopecks;
+    }
+
+    public void setRevenueKopecks(long revenueKopecks) {
+        this.revenueKopecks = revenueKopecks;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+/**
+ * Усі можливі статуси піци.
+ * У базі зберігається не текст, а маленьке число (code), тому рядки таблиці коротші,
+ * а порівняння і індекси по статусу - швидші. Текст (label) потрібен лише для показу на екрані.
+ */
+public enum PizzaStatus {
+    AVAILABLE(0, "В наявності"),
+    COOKING(1, "Готується"),
+    UNAVAILABLE(2, "Немає в наявності");
+
+    // Число, яке зберігається в колонці "status". НЕ змінювати для наявних статусів!
+    private final int code;
+
+    // Назва для користувача
+    @NonNull
+    private final String label;
+
+    PizzaStatus(int code, @NonNull String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    @NonNull
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Знаходить статус за числом з бази.
+     */
+    @NonNull
+    public static PizzaStatus fromCode(int code) {
+        for (PizzaStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Невідомий код статусу: " + code);
+    }
+
+    /**
+     * Знаходить статус за його назвою (наприклад, "Готується").
+     */
+    @NonNull
+    public static PizzaStatus fromLabel(@NonNull String label) {
+        for (PizzaStatus status : values()) {
+            if (status.label.equals(label)) {
+                return status;
+            }
+        }
+        // Якщо вказати якийсь незрозумілий статус, програма повідомить про помилку.
+        throw new IllegalArgumentException("Такого статусу немає! Можна: 'В наявності', 'Готується', 'Немає в наявності'.");
+    }
+
+    /**
+     * Щоб у випадаючому списку (Spinner) показувалась зрозуміла назва.
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return label;
+    }
+}
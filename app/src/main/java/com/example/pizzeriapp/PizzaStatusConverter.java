@@ -0,0 +1,20 @@
+package com.example.pizzeriapp;
+
+import androidx.room.TypeConverter; // Каже Room, як перетворювати наш тип у те, що вміє зберігати SQLite
+
+/**
+ * Пояснює Room, як зберігати PizzaStatus у базі: як ціле число (код статусу).
+ * Підключається до бази через @TypeConverters в AppDatabase.
+ */
+public class PizzaStatusConverter {
+
+    @TypeConverter
+    public static int toCode(PizzaStatus status) {
+        return status.getCode();
+    }
+
+    @TypeConverter
+    public static PizzaStatus fromCode(int code) {
+        return PizzaStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.rxjava3.RxRoom; // Потік "таблицю змінено" від Room для RxJava
+
+import java.util.Collections; // Для порожнього списку, коли шукати нічого
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;    // Піци з таким номером може не бути, а null у потоці не можна
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger; // Лічильник масових записів, що зараз тривають
+
+import io.reactivex.rxjava3.core.Flowable;  // "Живий" потік значень з підтримкою тиску (backpressure)
+import io.reactivex.rxjava3.core.Scheduler; // Де виконувати запити і таймери
+import io.reactivex.rxjava3.processors.FlowableProcessor;
+import io.reactivex.rxjava3.processors.PublishProcessor; // Сигнал "масовий запис завершився"
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * "Живі" запити до піц на RxJava (Flowable) - для тих, кому LiveData замало.
+ * <p>
+ * Чим це краще за pizzaDao().getPizzaListItems():
+ * <ul>
+ *     <li>Нове значення приходить лише тоді, коли результат запиту справді змінився.
+ *     Room перечитує запит після будь-якого запису в "pizzas", а ми порівнюємо новий
+ *     результат з попереднім (distinctUntilChanged) і однаковий не передаємо далі.</li>
+ *     <li>Кілька змін поспіль зливаються в одне перечитування: перша зміна після тиші
+ *     обробляється одразу, а наступні - не частіше, ніж раз на debounceMs.</li>
+ *     <li>Поки йде масовий запис (runBulk(...), наприклад імпорт 1000 піц частинами),
+ *     запити не перечитуються зовсім - лише один раз, коли запис завершиться.</li>
+ * </ul>
+ * Room повідомляє про зміни цілої таблиці, а не окремих рядків, тож "перечитувати лише
+ * потрібне" тут означає: кожен потік слухає лише "pizzas" і не передає однакові результати.
+ * Запити виконуються на фонових потоках Room; на головний потік переходьте самі.
+ */
+public final class PizzaStreams {
+
+    // Мінімальна пауза між перечитуваннями одного запиту, коли зміни йдуть одна за одною
+    static final long DEBOUNCE_MS = 100;
+
+    // Найбільше результатів пошуку в одному потоці
+    static final int DEFAULT_SEARCH_LIMIT = 100;
+
+    // Сигнали "таблиця pizzas змінилась". Перший сигнал приходить одразу при підписці.
+    private final Flowable<?> invalidations;
+
+    private final PizzaDao pizzaDao;
+
+    // Де виконуються запити до бази і таймери debounce
+    private final Scheduler scheduler;
+
+    private final long debounceMs;
+
+    // Скільки масових записів (runBulk) зараз триває
+    private final AtomicInteger bulkWrites = new AtomicInteger();
+
+    // Сигнал, що останній масовий запис завершився і запити треба перечитати
+    private final FlowableProcessor<Object> bulkFinished = PublishProcessor.create().toSerialized();
+
+    private static final Object BULK_FINISHED = new Object();
+
+    /**
+     * Потоки над таблицею "pizzas" цієї бази. Зазвичай беріть готовий екземпляр з AppDatabase.pizzaStreams().
+     */
+    public PizzaStreams(@NonNull AppDatabase db) {
+        this(RxRoom.createFlowable(db, "pizzas"), db.pizzaDao(),
+                Schedulers.from(db.getQueryExecutor()), DEBOUNCE_MS);
+    }
+
+    /**
+     * Для тестів: власне джерело змін і планувальник (наприклад, TestScheduler).
+     * @param invalidations Сигнали про зміну таблиці; має дати перший сигнал одразу при підписці.
+     */
+    PizzaStreams(@NonNull Flowable<?> invalidations, PizzaDao pizzaDao,
+                 @NonNull Scheduler scheduler, long debounceMs) {
+        this.invalidations = invalidations;
+        this.pizzaDao = pizzaDao;
+        this.scheduler = scheduler;
+        this.debounceMs = debounceMs;
+    }
+
+    /**
+     * Усі піци для списку (як getPizzaListItems()), новіші першими.
+     */
+    public Flowable<List<PizzaListItem>> allPizzas() {
+        return observe(pizzaDao::getPizzaListItemsNow);
+    }
+
+    /**
+     * Піци з одним статусом, від найдешевшої.
+     */
+    public Flowable<List<PizzaListItem>> pizzasByStatus(@NonNull PizzaStatus status) {
+        return observe(() -> pizzaDao.getPizzaListItemsByStatusNow(status));
+    }
+
+    /**
+     * Одна піца за номером. Порожнє значення - піци немає (ще не додали або вже видалили).
+     * Нове значення приходить, лише коли змінилось хоч одне поле саме цієї піци.
+     */
+    public Flowable<Optional<PizzaEntity>> pizzaById(int pizzaId) {
+        return observe(() -> Optional.ofNullable(pizzaDao.getPizzaById(pizzaId)))
+                .distinctUntilChanged(PizzaStreams::sameOptionalPizza);
+    }
+
+    /**
+     * Результати повнотекстового пошуку (див. PizzaFts.toMatchQuery).
+     * @param text Текст, який ввів користувач.
+     * @param limit Найбільше результатів.
+     * @return Потік знайдених піц; якщо шукати нічого - один порожній список.
+     */
+    public Flowable<List<PizzaListItem>> search(String text, int limit) {
+        String matchQuery = PizzaFts.toMatchQuery(text);
+        if (matchQuery == null) {
+            return Flowable.just(Collections.emptyList());
+        }
+        return observe(() -> pizzaDao.searchPizzasNow(matchQuery, limit));
+    }
+
+    public Flowable<List<PizzaListItem>> search(String text) {
+        return search(text, DEFAULT_SEARCH_LIMIT);
+    }
+
+    /**
+     * Виконує масовий запис (імпорт, синхронізацію тощо) так, що потоки не перечитують
+     * запити після кожної його частини, а лише один раз - коли запис завершиться.
+     * Можна вкладати і викликати з кількох потоків: перечитування буде після останнього.
+     * @param write Що записати; виконується тут же, у потоці, що викликав.
+     */
+    public void runBulk(@NonNull Runnable write) {
+        bulkWrites.incrementAndGet();
+        try {
+            write.run();
+        } finally {
+            if (bulkWrites.decrementAndGet() == 0) {
+                bulkFinished.onNext(BULK_FINISHED);
+            }
+        }
+    }
+
+    /**
+     * Чи триває зараз масовий запис.
+     */
+    public boolean isBulkWriteInProgress() {
+        return bulkWrites.get() > 0;
+    }
+
+    /**
+     * Основа всіх потоків: перечитує query після змін у "pizzas" і передає результат,
+     * лише якщо він відрізняється від попереднього (за equals).
+     * Результат query не може бути null (у Flowable null не буває).
+     */
+    <T> Flowable<T> observe(@NonNull Callable<T> query) {
+        return Flowable.merge(invalidations, bulkFinished)
+                // Поки триває масовий запис, зміни ігноруємо: bulkFinished дасть один сигнал у кінці
+                .filter(signal -> bulkWrites.get() == 0)
+                // Перший сигнал - одразу, а далі не частіше ніж раз на debounceMs (з останнім сигналом)
+                .throttleLatest(debounceMs, TimeUnit.MILLISECONDS, scheduler, true)
+                // Поки запит виконується, нові сигнали не накопичуємо: досить пам'ятати останній
+                .onBackpressureLatest()
+                .observeOn(scheduler, false, 1)
+                .map(signal -> query.call())
+                .distinctUntilChanged();
+    }
+
+    // Порівнюємо піци за всіма полями: у PizzaEntity немає equals, а Room щоразу створює нові об'єкти
+    private static boolean sameOptionalPizza(Optional<PizzaEntity> a, Optional<PizzaEntity> b) {
+        if (!a.isPresent() || !b.isPresent()) {
+            return a.isPresent() == b.isPresent();
+        }
+        PizzaEntity x = a.get();
+        PizzaEntity y = b.get();
+        return x.getId() == y.getId()
+                && x.getPriceKopecks() == y.getPriceKopecks()
+                && x.getSize() == y.getSize()
+                && x.getVersion() == y.getVersion()
+                && x.getUpdatedAt() == y.getUpdatedAt()
+                && x.getStatus() == y.getStatus()
+                && Objects.equals(x.getName(), y.getName())
+                && Objects.equals(x.getIngredients(), y.getIngredients())
+                && Objects.equals(x.getDescription(), y.getDescription())
+                && Objects.equals(x.getUuid(), y.getUuid());
+    }
+}
@@ -1,14 +1,24 @@
 package com.example.pizzeriapp;
 
 import android.app.Application; // Потрібен для ViewModel, щоб мати доступ до ресурсів, якщо знадобиться
+import android.os.Handler;      // Дозволяє виконати дію із затримкою
+import android.os.Looper;       // Головний потік, де працює UI
 
 import androidx.annotation.NonNull; // Помітка, що параметр або змінна не можуть бути null
 import androidx.lifecycle.AndroidViewModel; // Базовий клас для ViewModel, яка "знає" про контекст додатка
 import androidx.lifecycle.LiveData;     // Клас для даних, за якими можна "спостерігати" (наприклад, з UI)
+import androidx.lifecycle.MutableLiveData; // LiveData, значення якої ми змінюємо самі
+import androidx.lifecycle.Transformations; // Перетворення одних LiveData в інші
+import androidx.lifecycle.ViewModelKt;  // Дає coroutine scope, який живе рівно стільки, скільки ViewModel
+import androidx.paging.Pager;           // "Пейджер" - створює потік сторінок з PagingSource
+import androidx.paging.PagingConfig;    // Налаштування розміру сторінок
+import androidx.paging.PagingData;      // Одна "порція" посторінкових даних для адаптера
+import androidx.paging.PagingLiveData;  // Перетворює Pager у LiveData
 
+import java.util.ArrayList; // Для копіювання списків перед передачею у фоновий потік
+import java.util.Collections; // Для порожнього списку, коли шукати нічого, і списку з однієї піци
 import java.util.List; // Для використання списків
-import java.util.concurrent.ExecutorService; // Штука для виконання задач в окремому потоці
-import java.util.concurrent.Executors;   // Допомагає створювати ExecutorService
+import java.util.concurrent.Executor; // Де виконувати разові читання з бази
 
 /**
  * Ця ViewModel керує даними про піци для нашого UI (екранів).
@@ -19,16 +29,75 @@ public class PizzaViewModel extends AndroidViewModel {
 
     // Наш інструмент (DAO) для роботи з таблицею піц у базі даних.
     // final означає, що після присвоєння значення цю змінну не можна буде змінити.
+    // Його "живі" запити (LiveData, сторінки) - для списку на екрані.
     private final com.example.pizzeriapp.PizzaDao pizzaDao;
 
+    // Усі записи йдуть через сховище, а не напряму через DAO (див. PizzaRepository).
+    // Виняток - кошик (м'яке видалення і "Скасувати"): він є лише в базі, тож іде через pizzaDao.
+    private final PizzaRepository repository;
+
+    // Кеш піц за номером. Змінені піци з нього скидає сам pizzaDao після кожного запису (див. MeteredPizzaDao).
+    private final PizzaCache pizzaCache;
+
+    // "Живі" запити на RxJava. Масові записи йдуть через pizzaStreams.runBulk(...),
+    // щоб підписники отримали один новий список у кінці, а не по одному на кожну частину.
+    private final PizzaStreams pizzaStreams;
+
     // Список усіх піц, який "живий". Тобто, якщо дані в базі зміняться,
     // цей список автоматично оновить те, що бачить користувач на екрані.
-    private final LiveData<List<PizzaEntity>> allPizzas;
+    // Лише колонки рядка списку (PizzaListItem), без опису та інших полів.
+    private final LiveData<List<PizzaListItem>> allPizzas;
+
+    // Скільки піц читаємо з бази за один раз. Приблизно два-три екрани рядків.
+    private static final int PAGE_SIZE = 30;
+
+    // Найбільше піц, які одночасно тримаємо в пам'яті. Сторінки, що далеко
+    // від видимої частини списку, викидаються і за потреби читаються знову.
+    private static final int MAX_LOADED_PIZZAS = PAGE_SIZE * 10;
+
+    // Поточний фільтр (статус) і сортування списку
+    private final MutableLiveData<PizzaFilter> filter = new MutableLiveData<>(PizzaFilter.ALL);
+
+    // Той самий список піц, але посторінково: у пам'яті лише те, що поруч з екраном.
+    // Враховує поточний фільтр: при його зміні список перечитується з бази.
+    private final LiveData<PagingData<PizzaListItem>> pagedPizzas;
+
+    // Скільки чекаємо після останнього натискання клавіші, перш ніж шукати.
+    // Так під час набору слова ми не запускаємо запит на кожну літеру.
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+
+    // Найбільше результатів пошуку, які показуємо.
+    private static final int SEARCH_LIMIT = 100;
+
+    // Для відкладеного запуску пошуку в головному потоці
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+
+    // Останній введений текст пошуку, який ще чекає своєї черги
+    private String pendingSearchQuery;
+
+    // Текст пошуку, який вже "відстоявся" (користувач перестав друкувати)
+    private final MutableLiveData<String> searchQuery = new MutableLiveData<>();
+
+    // Результати пошуку. Автоматично перезапускаються, коли змінюється searchQuery.
+    private final LiveData<List<PizzaListItem>> searchResults;
 
-    // Створюємо окремий потік для роботи з базою даних.
+    // Дія, яка передає відкладений текст у searchQuery
+    private final Runnable applySearchQuery = () -> searchQuery.setValue(pendingSearchQuery);
+
+    // Спільний на весь додаток потік для запису в базу даних.
     // Це важливо, щоб не "гальмувати" основний потік, де малюється інтерфейс.
-    // newSingleThreadExecutor() означає, що всі операції з базою будуть виконуватися по черзі в одному потоці.
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    // Він належить не цій ViewModel, а базі, тож записи не губляться, коли ViewModel знищується.
+    private final DatabaseWriteExecutor writeExecutor = AppDatabase.getWriteExecutor();
+
+    // Повідомлення, якщо зміну не прийнято: черга запису переповнена (див. write(...))
+    private final MutableLiveData<String> writeError = new MutableLiveData<>();
+
+    // Фонові потоки Room для читання - для разових запитів на кшталт loadPizza(...)
+    private final Executor queryExecutor;
+
+    // Час від виклику loadPizza(...) до готового результату, разом з чеканням вільного потоку.
+    // Задачі запису міряє сам DatabaseWriteExecutor ("db.write.latency" / "db.write.run").
+    private static final LatencyHistogram LOAD_PIZZA_LATENCY = Metrics.histogram("vm.loadPizza");
 
     /**
      * Це конструктор. Він викликається, коли система створює нашу ViewModel.
@@ -40,53 +109,285 @@ public class PizzaViewModel extends AndroidViewModel {
         AppDatabase db = AppDatabase.getInstance(application);
         // Через базу даних отримуємо наш інструмент (DAO) для роботи з піцами
         pizzaDao = db.pizzaDao();
+        repository = db.pizzaRepository();
+        pizzaCache = db.pizzaCache();
+        pizzaStreams = db.pizzaStreams();
         // Запитуємо у DAO список усіх піц. Цей список буде "живим".
-        allPizzas = pizzaDao.getAllPizzas();
+        // Room перечитує його після будь-якого запису в "pizzas"; однаковий список далі не передаємо.
+        allPizzas = Transformations.distinctUntilChanged(pizzaDao.getPizzaListItems());
+        queryExecutor = db.getQueryExecutor();
+        // Заодно прибираємо давно видалені піци, якщо давно цього не робили
+        db.purgeDeletedPizzasInBackground();
+
+        // Налаштовуємо посторінкове читання. Заглушки (placeholders) вимкнені,
+        // щоб адаптер не тримав порожній рядок під кожну піцу з усієї таблиці.
+        // Щоразу, коли змінюється фільтр, створюємо новий Pager з відповідним запитом.
+        LiveData<PagingData<PizzaListItem>> filteredPages = Transformations.switchMap(filter, currentFilter -> {
+            Pager<PizzaPagingSource.Key, PizzaListItem> pager = new Pager<>(
+                    new PagingConfig(PAGE_SIZE, PAGE_SIZE, false, PAGE_SIZE * 3, MAX_LOADED_PIZZAS),
+                    () -> PizzaPagingSource.forFilter(db, currentFilter));
+            return PagingLiveData.getLiveData(pager);
+        });
+        // cachedIn - щоб при повороті екрана не читати сторінки з бази заново.
+        pagedPizzas = PagingLiveData.cachedIn(filteredPages, ViewModelKt.getViewModelScope(this));
+
+        // Щоразу, коли змінюється текст пошуку, перемикаємося на новий запит до індексу
+        searchResults = Transformations.switchMap(searchQuery, query -> {
+            String matchQuery = PizzaFts.toMatchQuery(query);
+            if (matchQuery == null) {
+                return new MutableLiveData<>(Collections.emptyList()); // Шукати нічого
+            }
+            return Transformations.distinctUntilChanged(pizzaDao.searchPizzas(matchQuery, SEARCH_LIMIT));
+        });
     }
 
     /**
      * Цей метод дозволяє іншим частинам програми (наприклад, нашому Activity)
      * отримати "живий" список усіх піц.
-     * @return LiveData зі списком PizzaEntity.
+     * @return LiveData зі списком PizzaListItem.
      */
-    public LiveData<List<PizzaEntity>> getAllPizzas() {
+    public LiveData<List<PizzaListItem>> getAllPizzas() {
         return allPizzas;
     }
 
+    /**
+     * Посторінковий "живий" список піц для PizzaPagingAdapter.
+     * На відміну від getAllPizzas(), не читає всю таблицю при кожній зміні.
+     * Показує лише піци, що підходять під поточний фільтр (див. setStatusFilter / setSortOrder).
+     * @return LiveData з порціями PagingData.
+     */
+    public LiveData<PagingData<PizzaListItem>> getPagedPizzas() {
+        return pagedPizzas;
+    }
+
+    /**
+     * Поточний фільтр списку, наприклад, щоб показати його в UI.
+     */
+    public LiveData<PizzaFilter> getFilter() {
+        return filter;
+    }
+
+    /**
+     * Показувати лише піци з цим статусом.
+     * Викликати з головного потоку.
+     * @param status Один із дозволених статусів або null, щоб показати всі піци.
+     */
+    public void setStatusFilter(PizzaStatus status) {
+        filter.setValue(currentFilter().withStatus(status));
+    }
+
+    /**
+     * Змінити порядок сортування (діє, коли вибрано статус).
+     * Викликати з головного потоку.
+     */
+    public void setSortOrder(PizzaFilter.SortOrder sortOrder) {
+        filter.setValue(currentFilter().withSortOrder(sortOrder));
+    }
+
+    private PizzaFilter currentFilter() {
+        PizzaFilter current = filter.getValue();
+        return current != null ? current : PizzaFilter.ALL;
+    }
+
+    /**
+     * Задає текст пошуку. Сам пошук запуститься, коли користувач
+     * на SEARCH_DEBOUNCE_MS перестане друкувати.
+     * Викликати з головного потоку (наприклад, з поля пошуку).
+     * @param query Текст, який ввів користувач.
+     */
+    public void setSearchQuery(String query) {
+        pendingSearchQuery = query;
+        searchHandler.removeCallbacks(applySearchQuery); // Скасовуємо попередній відкладений пошук
+        searchHandler.postDelayed(applySearchQuery, SEARCH_DEBOUNCE_MS);
+    }
+
+    /**
+     * "Живі" результати пошуку за текстом з setSearchQuery(...).
+     * @return LiveData зі знайденими піцами (порожній список, якщо шукати нічого).
+     */
+    public LiveData<List<PizzaListItem>> getSearchResults() {
+        return searchResults;
+    }
+
+    /**
+     * "Живі" запити на RxJava: за номером, за статусом, пошук (див. PizzaStreams).
+     */
+    public PizzaStreams getPizzaStreams() {
+        return pizzaStreams;
+    }
+
+    /**
+     * Кеш піц за номером - для екранів, які часто шукають ту саму піцу.
+     * Читати з нього можна лише у фоновому потоці.
+     */
+    public PizzaCache getPizzaCache() {
+        return pizzaCache;
+    }
+
+    /**
+     * Завантажує повну піцу (з описом, розміром, статусом) за номером - наприклад,
+     * коли рядок списку відкривають для редагування. Список сам тримає лише PizzaListItem.
+     * Читає через кеш у фоновому потоці Room.
+     * @param pizzaId Номер піци.
+     * @return LiveData, у яку один раз прийде піца (або null, якщо її вже видалили).
+     */
+    public LiveData<PizzaEntity> loadPizza(int pizzaId) {
+        MutableLiveData<PizzaEntity> result = new MutableLiveData<>();
+        long requestedAt = System.nanoTime();
+        queryExecutor.execute(() -> {
+            PizzaEntity pizza = pizzaCache.getPizzaById(pizzaId);
+            LOAD_PIZZA_LATENCY.recordSince(requestedAt);
+            result.postValue(pizza);
+        });
+        return result;
+    }
+
+    /**
+     * Сюди приходить повідомлення, якщо зміну не вдалося поставити в чергу запису.
+     * Таку зміну не збережено - її треба повторити трохи згодом.
+     */
+    public LiveData<String> getWriteError() {
+        return writeError;
+    }
+
+    // Ставить запис у спільну чергу. Головний потік ніколи не чекає: якщо черга переповнена
+    // (наприклад, саме йде великий імпорт), запис не приймається, а екран дізнається про це з getWriteError()
+    private void write(Runnable task) {
+        reportIfRejected(writeExecutor.execute(task));
+    }
+
+    private void reportIfRejected(boolean accepted) {
+        if (!accepted) {
+            writeError.postValue("Забагато змін одночасно - зміну не збережено, спробуйте ще раз");
+        }
+    }
+
     /**
      * Додає нову піцу до бази даних.
      * Робить це в окремому потоці, щоб не заблокувати UI.
      * @param pizza - об'єкт піци, який потрібно зберегти.
      */
     public void insert(PizzaEntity pizza) {
-        executorService.execute(() -> pizzaDao.insertPizza(pizza));
+        write(() -> repository.insert(pizza));
     }
 
     /**
      * Оновлює інформацію про існуючу піцу в базі даних.
-     * Робить це в окремому потоці.
+     * Робить це в окремому потоці. Якщо ту саму піцу швидко змінили кілька разів,
+     * у базу піде лише останній варіант.
      * @param pizza - об'єкт піци з новими даними.
      */
     public void update(PizzaEntity pizza) {
-        executorService.execute(() -> pizzaDao.updatePizza(pizza));
+        reportIfRejected(writeExecutor.executeCoalesced(pizza.getId(), () -> repository.update(pizza)));
     }
 
     /**
-     * Видаляє піцу з бази даних.
+     * Кладе піцу в кошик: вона одразу зникає зі списку, але її можна повернути через undoDelete(...).
+     * Остаточно її прибере PizzaPurgeJob через PizzaPurgeJob.PURGE_AFTER_MS.
      * Робить це в окремому потоці.
      * @param pizza - об'єкт піци, який потрібно видалити.
+     * @return "Квитанція" (час видалення) для undoDelete(...).
+     */
+    public long delete(PizzaEntity pizza) {
+        return deleteById(pizza.getId());
+    }
+
+    /**
+     * Кладе піцу в кошик за номером - для рядків списку, де повної піци немає.
+     * @param pizzaId - номер піци.
+     * @return "Квитанція" (час видалення) для undoDelete(...).
+     */
+    public long deleteById(int pizzaId) {
+        long deletedAt = System.currentTimeMillis();
+        write(() -> pizzaDao.softDelete(Collections.singletonList(pizzaId), deletedAt));
+        return deletedAt;
+    }
+
+    /**
+     * "Скасувати": повертає з кошика піцу, видалену з цією квитанцією.
+     * Якщо її відтоді видалили ще раз або вже прибрали остаточно, нічого не робить.
+     * @param pizzaId - номер піци.
+     * @param deletedAt - те, що повернув delete(...) / deleteById(...).
+     */
+    public void undoDelete(int pizzaId, long deletedAt) {
+        undoDelete(Collections.singletonList(pizzaId), deletedAt);
+    }
+
+    /**
+     * "Скасувати" для deleteAll(...): повертає з кошика всі піци з цією квитанцією.
+     * @param pizzaIds - номери піц.
+     * @param deletedAt - те, що повернув deleteAll(...).
+     */
+    public void undoDelete(List<Integer> pizzaIds, long deletedAt) {
+        List<Integer> ids = new ArrayList<>(pizzaIds);
+        write(() -> pizzaStreams.runBulk(() -> pizzaDao.restoreDeleted(ids, deletedAt)));
+    }
+
+    /**
+     * Додає багато піц за один раз - однією задачею і однією транзакцією в базі.
+     * @param pizzas - список нових піц.
+     */
+    public void insertAll(List<PizzaEntity> pizzas) {
+        // Копіюємо список, щоб зміни в ньому після виклику не вплинули на запис у фоні
+        List<PizzaEntity> copy = new ArrayList<>(pizzas);
+        write(() -> pizzaStreams.runBulk(() -> repository.insertAll(copy)));
+    }
+
+    /**
+     * Оновлює багато піц за один раз.
+     * @param pizzas - піци з новими даними.
+     */
+    public void updateAll(List<PizzaEntity> pizzas) {
+        List<PizzaEntity> copy = new ArrayList<>(pizzas);
+        write(() -> pizzaStreams.runBulk(() -> repository.updateAll(copy)));
+    }
+
+    /**
+     * Кладе в кошик багато піц за один раз - однією транзакцією.
+     * @param pizzas - піци, які треба видалити.
+     * @return "Квитанція" (час видалення) для undoDelete(...).
+     */
+    public long deleteAll(List<PizzaEntity> pizzas) {
+        List<Integer> ids = new ArrayList<>(pizzas.size());
+        for (PizzaEntity pizza : pizzas) {
+            ids.add(pizza.getId());
+        }
+        long deletedAt = System.currentTimeMillis();
+        write(() -> pizzaStreams.runBulk(() -> pizzaDao.softDelete(ids, deletedAt)));
+        return deletedAt;
+    }
+
+    /**
+     * Зберігає список піц: нові додає, існуючі оновлює. Все в одній транзакції.
+     * @param pizzas - піци, які треба зберегти.
+     */
+    public void upsertAll(List<PizzaEntity> pizzas) {
+        List<PizzaEntity> copy = new ArrayList<>(pizzas);
+        write(() -> pizzaStreams.runBulk(() -> repository.upsertAll(copy)));
+    }
+
+    /**
+     * Змінює статус одразу багатьом піцам (наприклад, на "Немає в наявності" на початку зміни).
+     * Замість завантаження і збереження кожної піци окремо - один UPDATE-запит.
+     * @param pizzaIds - номери піц.
+     * @param status - новий статус.
      */
-    public void delete(PizzaEntity pizza) {
-        executorService.execute(() -> pizzaDao.deletePizza(pizza));
+    public void setStatusForIds(List<Integer> pizzaIds, PizzaStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Статус не може бути порожнім!");
+        }
+        // Копіюємо список, щоб зміни в ньому після виклику не вплинули на запит у фоні
+        List<Integer> ids = new ArrayList<>(pizzaIds);
+        write(() -> pizzaStreams.runBulk(() -> repository.setStatus(ids, status)));
     }
 
     /**
      * Цей метод викликається, коли ViewModel більше не потрібна і буде знищена.
-     * Важливо "закрити" наш ExecutorService, щоб уникнути витоків ресурсів.
+     * Потік запису в базу не зупиняємо - він спільний, і записи з черги мають завершитися.
      */
     @Override
     protected void onCleared() {
         super.onCleared();
-        executorService.shutdown(); // "Вимикаємо" наш окремий потік
+        searchHandler.removeCallbacks(applySearchQuery); // Відкладений пошук більше не потрібен
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.pizzeriapp;
+
+/**
+ * Один "стовпчик" гістограми цін: піци одного розміру з ціною
+ * від bucketStartKopecks (включно) до bucketStartKopecks + ширина стовпчика (не включно).
+ * Room заповнює поля за назвами колонок у запиті (size, bucketStartKopecks, pizzaCount).
+ */
+public class PriceHistogramBucket {
+
+    public int size;
+
+    public long bucketStartKopecks;
+
+    public int pizzaCount;
+}
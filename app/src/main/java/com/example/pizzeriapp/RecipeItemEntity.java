@@ -0,0 +1,65 @@
+package com.example.pizzeriapp;
+
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.ForeignKey; // Зв'язок з іншою таблицею
+import androidx.room.Index;      // Індекс для швидкого пошуку
+
+/**
+ * Один рядок рецепта: скільки інгредієнта йде на одну піцу.
+ * Рецепт окремий від "pizza_ingredient": той перебудовується зі складу при кожному записі піци,
+ * а кількості задає кухня і вони мають залишатися.
+ * Піца з рецептом сама стає "Немає в наявності", коли якогось інгредієнта не вистачає на одну порцію,
+ * і знову "В наявності", коли склад поповнили (див. InventoryStock).
+ */
+// Первинний ключ (pizzaId, ingredientId) - рецепт однієї піци; індекс (ingredientId, pizzaId) -
+// піци, яким потрібен інгредієнт, що закінчився.
+// Видалили піцу чи інгредієнт - зникають і рядки рецепта (CASCADE).
+@Entity(tableName = "recipe_items",
+        primaryKeys = {"pizzaId", "ingredientId"},
+        foreignKeys = {
+                @ForeignKey(entity = PizzaEntity.class,
+                        parentColumns = "id",
+                        childColumns = "pizzaId",
+                        onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = IngredientEntity.class,
+                        parentColumns = "id",
+                        childColumns = "ingredientId",
+                        onDelete = ForeignKey.CASCADE)
+        },
+        indices = {@Index(value = {"ingredientId", "pizzaId"})})
+public class RecipeItemEntity {
+
+    private int pizzaId;
+
+    private int ingredientId;
+
+    // Скільки на одну піцу, у тих самих одиницях, що й залишок (StockEntity)
+    private long quantity;
+
+    public int getPizzaId() {
+        return pizzaId;
+    }
+
+    public void setPizzaId(int pizzaId) {
+        this.pizzaId = pizzaId;
+    }
+
+    public int getIngredientId() {
+        return ingredientId;
+    }
+
+    public void setIngredientId(int ingredientId) {
+        this.ingredientId = ingredientId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Кількість повинна бути більшою за нуль!");
+        }
+        this.quantity = quantity;
+    }
+}
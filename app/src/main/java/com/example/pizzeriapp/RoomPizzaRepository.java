@@ -0,0 +1,80 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.util.List;
+
+/**
+ * PizzaRepository над справжньою базою: кожен метод - один запит (або одна транзакція) PizzaDao.
+ * Зазвичай беріть готовий екземпляр з AppDatabase.pizzaRepository().
+ */
+public final class RoomPizzaRepository implements PizzaRepository {
+
+    private final PizzaDao pizzaDao;
+
+    public RoomPizzaRepository(@NonNull PizzaDao pizzaDao) {
+        this.pizzaDao = pizzaDao;
+    }
+
+    @Override
+    public PizzaEntity getPizzaById(int pizzaId) {
+        return pizzaDao.getPizzaById(pizzaId);
+    }
+
+    @NonNull
+    @Override
+    public List<PizzaListItem> getAllPizzas() {
+        return pizzaDao.getPizzaListItemsNow();
+    }
+
+    @NonNull
+    @Override
+    public List<PizzaListItem> getPizzasByStatus(@NonNull PizzaStatus status, long minKopecks, long maxKopecks) {
+        return pizzaDao.getPizzaListItemsByStatusAndPriceNow(status, minKopecks, maxKopecks);
+    }
+
+    @Override
+    public int count() {
+        return pizzaDao.countPizzas();
+    }
+
+    @Override
+    public int insert(@NonNull PizzaEntity pizza) {
+        return (int) pizzaDao.insertPizza(pizza);
+    }
+
+    @Override
+    public void insertAll(@NonNull List<PizzaEntity> pizzas) {
+        pizzaDao.insertPizzas(pizzas);
+    }
+
+    @Override
+    public void update(@NonNull PizzaEntity pizza) {
+        pizzaDao.updatePizza(pizza);
+    }
+
+    @Override
+    public void updateAll(@NonNull List<PizzaEntity> pizzas) {
+        pizzaDao.updatePizzas(pizzas);
+    }
+
+    @Override
+    public void upsertAll(@NonNull List<PizzaEntity> pizzas) {
+        pizzaDao.upsertPizzas(pizzas);
+    }
+
+    @Override
+    public boolean deleteById(int pizzaId) {
+        return pizzaDao.deletePizzaById(pizzaId) > 0;
+    }
+
+    @Override
+    public void deleteAll(@NonNull List<PizzaEntity> pizzas) {
+        pizzaDao.deletePizzas(pizzas);
+    }
+
+    @Override
+    public int setStatus(@NonNull List<Integer> pizzaIds, @NonNull PizzaStatus status) {
+        return pizzaDao.setStatus(pizzaIds, status);
+    }
+}
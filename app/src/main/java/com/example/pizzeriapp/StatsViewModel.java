@@ -0,0 +1,56 @@
+package com.example.pizzeriapp;
+
+import android.app.Application; // Контекст додатка для доступу до бази
+
+import androidx.annotation.NonNull; // Помітка, що параметр не може бути null
+import androidx.lifecycle.AndroidViewModel; // ViewModel, яка "знає" про контекст додатка
+import androidx.lifecycle.LiveData;         // Дані, за якими можна спостерігати з UI
+
+import java.util.List;
+
+/**
+ * ViewModel для панелі статистики: піци за статусами, гістограма цін і найпопулярніші піци.
+ * Усе рахує база (SQL-підсумки і таблиці-підсумки з тригерами), сюди приходять лише готові числа.
+ * Дані самі оновлюються, коли змінюються меню чи продажі.
+ */
+public class StatsViewModel extends AndroidViewModel {
+
+    // Ширина "кошика" гістограми цін - 50 грн
+    static final long HISTOGRAM_BUCKET_KOPECKS = 5_000;
+
+    // Скільки найпопулярніших піц показуємо
+    static final int TOP_SELLERS_LIMIT = 10;
+
+    private final LiveData<List<StatusPriceStats>> statusSummary;
+    private final LiveData<List<PriceHistogramBucket>> priceHistogram;
+    private final LiveData<List<PizzaSales>> topSellers;
+
+    public StatsViewModel(@NonNull Application application) {
+        super(application);
+        AppDatabase db = AppDatabase.getInstance(application);
+        statusSummary = db.pizzaDao().getStatusSummary();
+        priceHistogram = db.pizzaDao().getPriceHistogram(HISTOGRAM_BUCKET_KOPECKS);
+        topSellers = db.orderDao().getTopSellingPizzas(TOP_SELLERS_LIMIT);
+    }
+
+    /**
+     * Кількість, сума і середня ціна (StatusPriceStats.getAverageKopecks()) для кожного статусу.
+     */
+    public LiveData<List<StatusPriceStats>> getStatusSummary() {
+        return statusSummary;
+    }
+
+    /**
+     * Скільки піц кожного розміру в кожному ціновому діапазоні по HISTOGRAM_BUCKET_KOPECKS.
+     */
+    public LiveData<List<PriceHistogramBucket>> getPriceHistogram() {
+        return priceHistogram;
+    }
+
+    /**
+     * TOP_SELLERS_LIMIT піц, яких продано найбільше.
+     */
+    public LiveData<List<PizzaSales>> getTopSellers() {
+        return topSellers;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+/**
+ * Маленький результат запиту-підсумку: скільки піц має статус і скільки вони коштують разом.
+ * Room заповнює поля за назвами колонок у запиті (status, pizzaCount, totalKopecks).
+ */
+public class StatusPriceStats {
+
+    @NonNull
+    public PizzaStatus status = PizzaStatus.AVAILABLE;
+
+    // Скільки піц з цим статусом
+    public int pizzaCount;
+
+    // Сума цін цих піц у копійках
+    public long totalKopecks;
+
+    /**
+     * Середня ціна в копійках, округлена до найближчої копійки.
+     * Рахуємо з точної суми, тож похибок double тут немає.
+     */
+    public long getAverageKopecks() {
+        if (pizzaCount == 0) {
+            return 0;
+        }
+        return (totalKopecks + pizzaCount / 2) / pizzaCount;
+    }
+}
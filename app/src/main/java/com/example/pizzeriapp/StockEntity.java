@@ -0,0 +1,48 @@
+package com.example.pizzeriapp;
+
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.ForeignKey; // Зв'язок з іншою таблицею
+import androidx.room.PrimaryKey; // Унікальний номер запису
+
+/**
+ * Скільки інгредієнта лишилося на складі. Рядок є лише в тих інгредієнтів, які ми рахуємо:
+ * інгредієнт без рядка (наприклад, сіль) ніколи не "закінчується".
+ * Кількість - у найменших одиницях (грамах, штуках), ті самі одиниці, що й у рецептах (RecipeItemEntity).
+ * Змінюється лише запитами InventoryDao та OrderDao.checkout(...) - кожен віднімає або додає одним UPDATE,
+ * тож паралельні продажі не перезаписують один одного.
+ */
+// Видалили інгредієнт - зникає і його залишок (CASCADE)
+@Entity(tableName = "ingredient_stock",
+        foreignKeys = {
+                @ForeignKey(entity = IngredientEntity.class,
+                        parentColumns = "id",
+                        childColumns = "ingredientId",
+                        onDelete = ForeignKey.CASCADE)
+        })
+public class StockEntity {
+
+    @PrimaryKey
+    private int ingredientId;
+
+    // Не буває менше нуля: продаж, якому не вистачає, не віднімає нічого
+    private long quantity;
+
+    public int getIngredientId() {
+        return ingredientId;
+    }
+
+    public void setIngredientId(int ingredientId) {
+        this.ingredientId = ingredientId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Залишок не може бути від'ємним");
+        }
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.pizzeriapp;
+
+import android.util.JsonReader; // Потоковий читач JSON
+import android.util.JsonToken;  // Що лежить далі у JSON
+import android.util.JsonWriter; // Потоковий запис JSON
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;  // Стиснення: меню з назвами й описами стискається в кілька разів
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Формат обміну з сервером синхронізації: JSON, стиснутий gzip.
+ * Тут і запис, і читання для обох сторін, щоб клієнт (HttpSyncTransport) і сервер
+ * (у тестах - фейковий) гарантовано говорили однаково.
+ * <pre>
+ * push, запит:     {"changes": [запис, ...]}
+ * push, відповідь: {"accepted": [{"uuid": "...", "version": 12}, ...], "conflicts": [запис, ...]}
+ * pull, відповідь: {"records": [запис, ...], "latestVersion": 40, "hasMore": false}
+ * запис:           {"uuid", "version", "updatedAt", "deleted", "name", "ingredients",
+ *                   "priceKopecks", "size", "description", "status"}
+ * </pre>
+ * Статус передається назвою (AVAILABLE...), а не кодом з бази; у видаленого запису - лише перші чотири поля.
+ * Відповіді сервера клієнт читає й нестиснутими (readPushResult / readPullResult з gzip = false):
+ * "Accept-Encoding: gzip" для сервера лише побажання, а чи стиснуто відповідь, каже її Content-Encoding.
+ * Усі методи закривають переданий потік.
+ */
+public final class SyncCodec {
+
+    private SyncCodec() {
+        // Лише статичні методи
+    }
+
+    public static void writePushRequest(@NonNull OutputStream out, @NonNull List<SyncRecord> changes)
+            throws IOException {
+        try (JsonWriter json = openWriter(out)) {
+            json.beginObject();
+            json.name("changes");
+            writeRecords(json, changes);
+            json.endObject();
+        }
+    }
+
+    @NonNull
+    public static List<SyncRecord> readPushRequest(@NonNull InputStream in) throws IOException {
+        List<SyncRecord> changes = new ArrayList<>();
+        try (JsonReader json = openReader(in)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                if (json.nextName().equals("changes")) {
+                    readRecords(json, changes);
+                } else {
+                    json.skipValue(); // Невідомі поля ігноруємо - так старий клієнт переживе новий сервер
+                }
+            }
+            json.endObject();
+        }
+        return changes;
+    }
+
+    public static void writePushResult(@NonNull OutputStream out, @NonNull SyncTransport.PushResult result)
+            throws IOException {
+        try (JsonWriter json = openWriter(out)) {
+            json.beginObject();
+            json.name("accepted").beginArray();
+            for (Map.Entry<String, Long> accepted : result.getAcceptedVersions().entrySet()) {
+                json.beginObject();
+                json.name("uuid").value(accepted.getKey());
+                json.name("version").value(accepted.getValue());
+                json.endObject();
+            }
+            json.endArray();
+            json.name("conflicts");
+            writeRecords(json, result.getConflicts());
+            json.endObject();
+        }
+    }
+
+    @NonNull
+    public static SyncTransport.PushResult readPushResult(@NonNull InputStream in) throws IOException {
+        return readPushResult(in, true);
+    }
+
+    /**
+     * @param gzip Чи стиснуто тіло (Content-Encoding відповіді).
+     */
+    @NonNull
+    public static SyncTransport.PushResult readPushResult(@NonNull InputStream in, boolean gzip) throws IOException {
+        Map<String, Long> accepted = new HashMap<>();
+        List<SyncRecord> conflicts = new ArrayList<>();
+        try (JsonReader json = openReader(in, gzip)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "accepted":
+                        json.beginArray();
+                        while (json.hasNext()) {
+                            readAccepted(json, accepted);
+                        }
+                        json.endArray();
+                        break;
+                    case "conflicts":
+                        readRecords(json, conflicts);
+                        break;
+                    default:
+                        json.skipValue();
+                }
+            }
+            json.endObject();
+        }
+        return new SyncTransport.PushResult(accepted, conflicts);
+    }
+
+    public static void writePullResult(@NonNull OutputStream out, @NonNull SyncTransport.PullResult result)
+            throws IOException {
+        try (JsonWriter json = openWriter(out)) {
+            json.beginObject();
+            json.name("records");
+            writeRecords(json, result.getRecords());
+            json.name("latestVersion").value(result.getLatestVersion());
+            json.name("hasMore").value(result.hasMore());
+            json.endObject();
+        }
+    }
+
+    @NonNull
+    public static SyncTransport.PullResult readPullResult(@NonNull InputStream in) throws IOException {
+        return readPullResult(in, true);
+    }
+
+    /**
+     * @param gzip Чи стиснуто тіло (Content-Encoding відповіді).
+     */
+    @NonNull
+    public static SyncTransport.PullResult readPullResult(@NonNull InputStream in, boolean gzip) throws IOException {
+        List<SyncRecord> records = new ArrayList<>();
+        long latestVersion = 0;
+        boolean hasMore = false;
+        try (JsonReader json = openReader(in, gzip)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "records":
+                        readRecords(json, records);
+                        break;
+                    case "latestVersion":
+                        latestVersion = json.nextLong();
+                        break;
+                    case "hasMore":
+                        hasMore = json.nextBoolean();
+                        break;
+                    default:
+                        json.skipValue();
+                }
+            }
+            json.endObject();
+        }
+        return new SyncTransport.PullResult(records, latestVersion, hasMore);
+    }
+
+    private static JsonWriter openWriter(OutputStream out) throws IOException {
+        return new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8)));
+    }
+
+    private static JsonReader openReader(InputStream in) throws IOException {
+        return openReader(in, true);
+    }
+
+    private static JsonReader openReader(InputStream in, boolean gzip) throws IOException {
+        return new JsonReader(new InputStreamReader(gzip ? new GZIPInputStream(in) : in, StandardCharsets.UTF_8));
+    }
+
+    private static void writeRecords(JsonWriter json, List<SyncRecord> records) throws IOException {
+        json.beginArray();
+        for (SyncRecord record : records) {
+            json.beginObject();
+            json.name("uuid").value(record.getUuid());
+            json.name("version").value(record.getVersion());
+            json.name("updatedAt").value(record.getUpdatedAt());
+            json.name("deleted").value(record.isDeleted());
+            if (!record.isDeleted()) {
+                json.name("name").value(record.getName());
+                json.name("ingredients").value(record.getIngredients());
+                json.name("priceKopecks").value(record.getPriceKopecks());
+                json.name("size").value(record.getSize());
+                if (record.getDescription() != null) {
+                    json.name("description").value(record.getDescription());
+                }
+                json.name("status").value(record.getStatus().name());
+            }
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    private static void readRecords(JsonReader json, List<SyncRecord> into) throws IOException {
+        json.beginArray();
+        while (json.hasNext()) {
+            into.add(readRecord(json));
+        }
+        json.endArray();
+    }
+
+    private static void readAccepted(JsonReader json, Map<String, Long> into) throws IOException {
+        String uuid = null;
+        long version = 0;
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "uuid":
+                    uuid = json.nextString();
+                    break;
+                case "version":
+                    version = json.nextLong();
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+        if (uuid == null || version <= 0) {
+            throw new IOException("Прийнята зміна без uuid чи версії");
+        }
+        into.put(uuid, version);
+    }
+
+    private static SyncRecord readRecord(JsonReader json) throws IOException {
+        String uuid = null;
+        long version = 0;
+        long updatedAt = 0;
+        boolean deleted = false;
+        String name = null;
+        String ingredients = null;
+        long priceKopecks = 0;
+        int size = 0;
+        String description = null;
+        PizzaStatus status = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            String field = json.nextName();
+            if (json.peek() == JsonToken.NULL) {
+                json.nextNull();
+                continue;
+            }
+            switch (field) {
+                case "uuid":
+                    uuid = json.nextString();
+                    break;
+                case "version":
+                    version = json.nextLong();
+                    break;
+                case "updatedAt":
+                    updatedAt = json.nextLong();
+                    break;
+                case "deleted":
+                    deleted = json.nextBoolean();
+                    break;
+                case "name":
+                    name = json.nextString();
+                    break;
+                case "ingredients":
+                    ingredients = json.nextString();
+                    break;
+                case "priceKopecks":
+                    priceKopecks = json.nextLong();
+                    break;
+                case "size":
+                    size = json.nextInt();
+                    break;
+                case "description":
+                    description = json.nextString();
+                    break;
+                case "status":
+                    status = parseStatus(json.nextString());
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+        if (uuid == null) {
+            throw new IOException("Запис синхронізації без uuid");
+        }
+        try {
+            return new SyncRecord(uuid, version, updatedAt, deleted, name, ingredients, priceKopecks, size,
+                    description, status);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static PizzaStatus parseStatus(String name) throws IOException {
+        try {
+            return PizzaStatus.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Невідомий статус: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+/**
+ * Вирішує, що робити, коли ту саму піцу змінили і тут, і на іншому планшеті,
+ * поки ці зміни ще не зустрілися на сервері.
+ */
+public interface SyncConflictResolver {
+
+    /**
+     * Перемагає новіша зміна (за updatedAt); при однаковому часі - сервер,
+     * щоб усі планшети вирішили однаково. Видалення - теж зміна зі своїм часом.
+     */
+    SyncConflictResolver LAST_WRITE_WINS = (local, remote) -> local.getUpdatedAt() > remote.getUpdatedAt();
+
+    /**
+     * @param local Наша ще не відправлена зміна.
+     * @param remote Стан піци на сервері.
+     * @return true - залишити нашу зміну (її буде відправлено знову, вже поверх версії сервера);
+     * false - прийняти стан сервера, а нашу зміну відкинути.
+     */
+    boolean keepLocal(@NonNull SyncRecord local, @NonNull SyncRecord remote);
+}
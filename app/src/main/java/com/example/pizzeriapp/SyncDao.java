@@ -0,0 +1,192 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.Dao;          // Об'єкт для доступу до даних
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;  // Виконати кілька запитів як одну транзакцію
+import androidx.room.Update;
+import androidx.room.Upsert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Запити синхронізації меню: журнал змін, застосування змін з сервера і стан синхронізації.
+ * Звичайний код піц сюди не ходить - журнал заповнюють тригери, а цим DAO користується SyncEngine.
+ */
+@Dao
+public interface SyncDao extends PizzaIngredientIndex {
+
+    /**
+     * Ще не відправлені зміни з номером більшим за afterSeq, по порядку, разом з даними піц.
+     * @param limit Найбільше змін за раз - розмір одного пакета для сервера.
+     */
+    @Query("SELECT c.seq, c.uuid, c.deleted, c.baseVersion, c.changedAt, p.updatedAt, p.name, p.ingredients, "
+            + "p.priceKopecks, p.size, p.description, p.status "
+            + "FROM pizza_changes AS c LEFT JOIN pizzas AS p ON p.uuid = c.uuid "
+            + "WHERE c.seq > :afterSeq ORDER BY c.seq LIMIT :limit")
+    List<PendingPizzaChange> getPendingChanges(long afterSeq, int limit);
+
+    /**
+     * Ще не відправлена зміна однієї піци або null, якщо її немає.
+     */
+    @Query("SELECT c.seq, c.uuid, c.deleted, c.baseVersion, c.changedAt, p.updatedAt, p.name, p.ingredients, "
+            + "p.priceKopecks, p.size, p.description, p.status "
+            + "FROM pizza_changes AS c LEFT JOIN pizzas AS p ON p.uuid = c.uuid WHERE c.uuid = :uuid")
+    PendingPizzaChange getPendingChange(String uuid);
+
+    /**
+     * Скільки змін чекає на відправку.
+     */
+    @Query("SELECT COUNT(*) FROM pizza_changes")
+    int countPendingChanges();
+
+    @Query("SELECT * FROM pizzas WHERE uuid = :uuid")
+    PizzaEntity getPizzaByUuid(String uuid);
+
+    // Записи, які йдуть від сервера. Версія в них більша за локальну, тож тригери синхронізації
+    // не вважають їх новими локальними змінами і не додають у журнал.
+    // Інгредієнти піци після них індексує applyRemote(...) (indexIngredients).
+
+    @Insert
+    long insertPizza(PizzaEntity pizza);
+
+    @Update
+    void updatePizza(PizzaEntity pizza);
+
+    /**
+     * Видаляє піцу за uuid. Тригер при цьому додає в журнал запис про видалення -
+     * викликач має його прибрати (deleteChanges), якщо видалення прийшло з сервера.
+     */
+    @Query("DELETE FROM pizzas WHERE uuid = :uuid")
+    int deletePizzaByUuid(String uuid);
+
+    /**
+     * Ставить піці версію сервера, не вважаючи це локальною зміною.
+     */
+    @Query("UPDATE pizzas SET version = :version WHERE uuid = :uuid AND version < :version")
+    void setVersion(String uuid, long version);
+
+    @Query("UPDATE pizza_changes SET baseVersion = :version WHERE uuid = :uuid")
+    void setBaseVersion(String uuid, long version);
+
+    /**
+     * Прибирає зміну з журналу, але лише якщо після відправки піцу не змінили ще раз
+     * (тоді номер зміни вже більший за seq).
+     */
+    @Query("DELETE FROM pizza_changes WHERE uuid = :uuid AND seq <= :seq")
+    void deleteChangesUpTo(String uuid, long seq);
+
+    @Query("DELETE FROM pizza_changes WHERE uuid = :uuid")
+    void deleteChanges(String uuid);
+
+    /**
+     * Число зі стану синхронізації або null, якщо його ще не записували.
+     */
+    @Query("SELECT value FROM sync_state WHERE name = :name")
+    Long getState(String name);
+
+    @Upsert
+    void putState(SyncStateEntity state);
+
+    /**
+     * Застосовує відповідь сервера на відправлений пакет в одній транзакції:
+     * прийняті зміни позначає новою версією і прибирає з журналу, конфлікти вирішує resolver.
+     * @param sent Відправлені зміни (в тому порядку, що й на сервер).
+     * @return Скільки було конфліктів.
+     */
+    @Transaction
+    default int applyPushResult(@NonNull List<PendingPizzaChange> sent, @NonNull SyncTransport.PushResult result,
+                                @NonNull SyncConflictResolver resolver) {
+        for (PendingPizzaChange change : sent) {
+            Long version = result.getAcceptedVersions().get(change.uuid);
+            if (version != null) {
+                setVersion(change.uuid, version);
+                deleteChangesUpTo(change.uuid, change.seq);
+                setBaseVersion(change.uuid, version); // Якщо піцу змінили вже після відправки
+            }
+        }
+        int conflicts = 0;
+        for (SyncRecord remote : result.getConflicts()) {
+            applyRemote(remote, resolver);
+            conflicts++;
+        }
+        skipOwnVersions(result.getAcceptedVersions().values());
+        return conflicts;
+    }
+
+    /**
+     * Якщо версії, які сервер щойно дав нашим змінам, ідуть одразу за останньою забраною,
+     * то між ними ніхто інший нічого не писав - забирати їх назад з сервера немає сенсу.
+     * Зсуваємо позначку "забрано до версії" через них, до першого пропуску.
+     */
+    default void skipOwnVersions(@NonNull Collection<Long> ownVersions) {
+        List<Long> versions = new ArrayList<>(ownVersions);
+        Collections.sort(versions);
+        Long lastPulled = getState(SyncStateEntity.LAST_PULLED_VERSION);
+        long cursor = lastPulled != null ? lastPulled : 0;
+        for (long version : versions) {
+            if (version != cursor + 1) {
+                break; // Хтось писав між нашими змінами - ці версії заберемо звичайним pull
+            }
+            cursor = version;
+        }
+        if (lastPulled == null || cursor != lastPulled) {
+            putState(new SyncStateEntity(SyncStateEntity.LAST_PULLED_VERSION, cursor));
+        }
+    }
+
+    /**
+     * Застосовує пакет змін із сервера в одній транзакції і запам'ятовує, до якої версії дійшли.
+     * Якщо збій станеться посеред пакета, не застосується нічого, і наступна синхронізація почне з того ж місця.
+     * @return Скільки з них конфліктували з нашими ще не відправленими змінами.
+     */
+    @Transaction
+    default int applyPulled(@NonNull SyncTransport.PullResult result, @NonNull SyncConflictResolver resolver) {
+        int conflicts = 0;
+        for (SyncRecord remote : result.getRecords()) {
+            if (applyRemote(remote, resolver)) {
+                conflicts++;
+            }
+        }
+        putState(new SyncStateEntity(SyncStateEntity.LAST_PULLED_VERSION, result.getLatestVersion()));
+        return conflicts;
+    }
+
+    /**
+     * Застосовує один стан піци з сервера. Викликати лише всередині транзакції.
+     * Старіші за наші записи (наприклад, наші ж зміни, що повернулися з сервера) пропускає.
+     * @return true, якщо була наша неперевірена зміна цієї піци (конфлікт).
+     */
+    default boolean applyRemote(@NonNull SyncRecord remote, @NonNull SyncConflictResolver resolver) {
+        PizzaEntity local = getPizzaByUuid(remote.getUuid());
+        PendingPizzaChange pending = getPendingChange(remote.getUuid());
+        long localVersion = local != null ? local.getVersion() : pending != null ? pending.baseVersion : 0;
+        if (remote.getVersion() <= localVersion) {
+            return false; // Це ми вже маємо
+        }
+        if (pending != null && resolver.keepLocal(pending.toRecord(), remote)) {
+            // Наша зміна залишається; тепер вона зроблена від версії сервера і пройде при наступній відправці
+            setVersion(remote.getUuid(), remote.getVersion());
+            setBaseVersion(remote.getUuid(), remote.getVersion());
+            return true;
+        }
+        if (remote.isDeleted()) {
+            deletePizzaByUuid(remote.getUuid());
+        } else if (local != null) {
+            remote.applyTo(local);
+            local.setDeletedAt(0); // Якщо піца була в кошику, новіший стан із сервера її повертає
+            updatePizza(local);
+            indexIngredients(local.getId(), local.getIngredients());
+        } else {
+            PizzaEntity pizza = new PizzaEntity();
+            remote.applyTo(pizza);
+            indexIngredients((int) insertPizza(pizza), pizza.getIngredients());
+        }
+        deleteChanges(remote.getUuid()); // І те, що додали тригери, і нашу відкинуту зміну
+        return pending != null;
+    }
+}
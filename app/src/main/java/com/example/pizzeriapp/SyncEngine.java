@@ -0,0 +1,132 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;    // Позначка, що значення не може бути null
+import androidx.annotation.WorkerThread; // Лише у фоновому потоці: мережа і запис у базу
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Синхронізація меню між планшетами через сервер: у кожного планшета своя база pizzeria.db,
+ * а зміни меню, цін і статусів на касі доходять до кухні і навпаки.
+ * <p>
+ * Працює "спершу локально": будь-який запис у "pizzas" одразу потрапляє в журнал змін
+ * (тригери, див. PizzaChangeEntity), навіть без мережі. sync() потім:
+ * <ol>
+ *     <li>відправляє журнал пакетами по BATCH_SIZE (лише змінені піци, по одному запису на піцу);</li>
+ *     <li>забирає з сервера все, що змінилося після останньої забраної версії;</li>
+ *     <li>ще раз відправляє зміни, які перемогли в конфліктах і тепер зроблені від нової версії сервера.</li>
+ * </ol>
+ * Конфлікти (ту саму піцу змінили і тут, і деінде) вирішує SyncConflictResolver -
+ * типово перемагає новіша зміна. Кожен пакет застосовується в одній транзакції:
+ * якщо мережа обірветься посередині, наступний sync() продовжить з того самого місця.
+ */
+public final class SyncEngine {
+
+    // Скільки піц в одному запиті до сервера
+    static final int BATCH_SIZE = 200;
+
+    private static final LatencyHistogram PUSH_LATENCY = Metrics.histogram("sync.push");
+    private static final LatencyHistogram PULL_LATENCY = Metrics.histogram("sync.pull");
+
+    @NonNull
+    private final SyncDao syncDao;
+    @NonNull
+    private final SyncTransport transport;
+    @NonNull
+    private final SyncConflictResolver resolver;
+
+    public SyncEngine(@NonNull SyncDao syncDao, @NonNull SyncTransport transport) {
+        this(syncDao, transport, SyncConflictResolver.LAST_WRITE_WINS);
+    }
+
+    public SyncEngine(@NonNull SyncDao syncDao, @NonNull SyncTransport transport,
+                      @NonNull SyncConflictResolver resolver) {
+        this.syncDao = syncDao;
+        this.transport = transport;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Один повний обмін з сервером. Два sync() одночасно не йдуть - другий чекає першого.
+     * @return Скільки піц відправлено, отримано і скільки було конфліктів.
+     * @throws IOException Немає зв'язку або сервер відповів помилкою; вже застосовані пакети залишаються.
+     */
+    @WorkerThread
+    @NonNull
+    public synchronized Result sync() throws IOException {
+        Result result = new Result();
+        push(result);
+        pull(result);
+        if (syncDao.countPendingChanges() > 0) {
+            push(result); // Зміни, що перемогли в конфліктах, а також зроблені під час синхронізації
+        }
+        return result;
+    }
+
+    private void push(Result result) throws IOException {
+        long afterSeq = 0;
+        while (true) {
+            List<PendingPizzaChange> batch = syncDao.getPendingChanges(afterSeq, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<SyncRecord> records = new ArrayList<>(batch.size());
+            for (PendingPizzaChange change : batch) {
+                records.add(change.toRecord());
+            }
+            long start = System.nanoTime();
+            SyncTransport.PushResult response = transport.push(records);
+            PUSH_LATENCY.recordSince(start);
+
+            result.conflicts += syncDao.applyPushResult(batch, response, resolver);
+            result.pushed += response.getAcceptedVersions().size();
+            // Далі йдемо за номером зміни, а не з початку: зміни, що програли чи перемогли в конфлікті,
+            // не відправляємо вдруге в цьому ж проході
+            afterSeq = batch.get(batch.size() - 1).seq;
+        }
+    }
+
+    private void pull(Result result) throws IOException {
+        while (true) {
+            Long lastPulled = syncDao.getState(SyncStateEntity.LAST_PULLED_VERSION);
+            long start = System.nanoTime();
+            SyncTransport.PullResult response = transport.pull(lastPulled != null ? lastPulled : 0, BATCH_SIZE);
+            PULL_LATENCY.recordSince(start);
+
+            result.conflicts += syncDao.applyPulled(response, resolver);
+            result.pulled += response.getRecords().size();
+            if (!response.hasMore()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Підсумок одного sync().
+     */
+    public static final class Result {
+        private int pushed;
+        private int pulled;
+        private int conflicts;
+
+        /**
+         * Скільки змін сервер прийняв.
+         */
+        public int getPushed() {
+            return pushed;
+        }
+
+        /**
+         * Скільки записів прийшло з сервера (разом з нашими ж змінами, що повернулися).
+         */
+        public int getPulled() {
+            return pulled;
+        }
+
+        public int getConflicts() {
+            return conflicts;
+        }
+    }
+}
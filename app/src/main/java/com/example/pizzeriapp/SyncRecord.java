@@ -0,0 +1,137 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;  // Позначка, що значення не може бути null
+import androidx.annotation.Nullable; // Позначка, що значення може бути null
+
+/**
+ * Одна піца в тому вигляді, в якому вона їде між планшетом і сервером синхронізації:
+ * без локального id, зате з uuid, версією сервера і часом зміни.
+ * Для видаленої піци (deleted) решта полів порожні.
+ */
+public final class SyncRecord {
+
+    @NonNull
+    private final String uuid;
+    private final long version;
+    private final long updatedAt;
+    private final boolean deleted;
+    @Nullable
+    private final String name;
+    @Nullable
+    private final String ingredients;
+    private final long priceKopecks;
+    private final int size;
+    @Nullable
+    private final String description;
+    @Nullable
+    private final PizzaStatus status;
+
+    public SyncRecord(@NonNull String uuid, long version, long updatedAt, boolean deleted,
+                      @Nullable String name, @Nullable String ingredients, long priceKopecks, int size,
+                      @Nullable String description, @Nullable PizzaStatus status) {
+        if (!deleted && (name == null || ingredients == null || status == null)) {
+            throw new IllegalArgumentException("Піца " + uuid + " без назви, складу чи статусу");
+        }
+        this.uuid = uuid;
+        this.version = version;
+        this.updatedAt = updatedAt;
+        this.deleted = deleted;
+        this.name = name;
+        this.ingredients = ingredients;
+        this.priceKopecks = priceKopecks;
+        this.size = size;
+        this.description = description;
+        this.status = status;
+    }
+
+    /**
+     * Запис про видалену піцу.
+     */
+    @NonNull
+    public static SyncRecord deleted(@NonNull String uuid, long version, long deletedAt) {
+        return new SyncRecord(uuid, version, deletedAt, true, null, null, 0, 0, null, null);
+    }
+
+    /**
+     * Поточний стан піци з бази.
+     */
+    @NonNull
+    public static SyncRecord of(@NonNull PizzaEntity pizza) {
+        return new SyncRecord(pizza.getUuid(), pizza.getVersion(), pizza.getUpdatedAt(), false,
+                pizza.getName(), pizza.getIngredients(), pizza.getPriceKopecks(), pizza.getSize(),
+                pizza.getDescription(), pizza.getStatus());
+    }
+
+    /**
+     * Той самий запис з іншою версією - так сервер позначає прийняту зміну.
+     */
+    @NonNull
+    public SyncRecord withVersion(long newVersion) {
+        return new SyncRecord(uuid, newVersion, updatedAt, deleted, name, ingredients, priceKopecks, size,
+                description, status);
+    }
+
+    /**
+     * Переносить дані (і версію сервера) в піцу. Для видаленої піци не викликати.
+     * Сеттери перевіряють ціну і розмір так само, як при звичайному збереженні.
+     */
+    void applyTo(@NonNull PizzaEntity pizza) {
+        if (deleted) {
+            throw new IllegalStateException("Піцу " + uuid + " видалено");
+        }
+        pizza.setUuid(uuid);
+        pizza.setName(name);
+        pizza.setIngredients(ingredients);
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(size);
+        pizza.setDescription(description);
+        pizza.setStatus(status);
+        pizza.setVersion(version);
+        pizza.setUpdatedAt(updatedAt);
+    }
+
+    @NonNull
+    public String getUuid() {
+        return uuid;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    public String getIngredients() {
+        return ingredients;
+    }
+
+    public long getPriceKopecks() {
+        return priceKopecks;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Nullable
+    public String getDescription() {
+        return description;
+    }
+
+    @Nullable
+    public PizzaStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+import androidx.room.Entity;     // Клас - це табличка в базі даних
+import androidx.room.Ignore;     // Цей конструктор - лише для нашого коду, Room його не використовує
+import androidx.room.PrimaryKey; // Унікальний ключ запису
+
+/**
+ * Стан синхронізації "назва - число", наприклад, до якої версії сервера ми вже забрали зміни.
+ * Зберігається в тій самій базі, тож оновлюється в одній транзакції з застосованими змінами.
+ */
+@Entity(tableName = "sync_state")
+public class SyncStateEntity {
+
+    // До якої версії сервера вже застосовано зміни (див. SyncEngine)
+    static final String LAST_PULLED_VERSION = "lastPulledVersion";
+
+    @PrimaryKey
+    @NonNull
+    private String name = "";
+
+    private long value;
+
+    public SyncStateEntity() {
+    }
+
+    @Ignore
+    public SyncStateEntity(@NonNull String name, long value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public void setValue(long value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull;    // Позначка, що значення не може бути null
+import androidx.annotation.WorkerThread; // Мережа - лише у фоновому потоці
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Зв'язок із сервером синхронізації меню. Справжня реалізація - HttpSyncTransport;
+ * у тестах - фейковий сервер у тому самому процесі.
+ * <p>
+ * Сервер тримає для кожної піци (за uuid) останній стан і версію. Версії - один зростаючий
+ * лічильник на весь сервер, тож "що змінилося після версії N" - простий запит.
+ */
+public interface SyncTransport {
+
+    /**
+     * Відправляє пакет локальних змін. Сервер приймає зміну, якщо вона зроблена від його
+     * поточної версії піци, інакше повертає свій стан як конфлікт.
+     * @param changes Зміни; getVersion() кожної - версія, від якої її зроблено.
+     */
+    @WorkerThread
+    @NonNull
+    PushResult push(@NonNull List<SyncRecord> changes) throws IOException;
+
+    /**
+     * Забирає зміни, зроблені на сервері після версії sinceVersion, за зростанням версії.
+     * @param limit Найбільше записів за раз; якщо їх більше, PullResult.hasMore() = true.
+     */
+    @WorkerThread
+    @NonNull
+    PullResult pull(long sinceVersion, int limit) throws IOException;
+
+    /**
+     * Відповідь на push(...): нові версії прийнятих змін і стан сервера для конфліктних.
+     */
+    final class PushResult {
+        @NonNull
+        private final Map<String, Long> acceptedVersions;
+        @NonNull
+        private final List<SyncRecord> conflicts;
+
+        public PushResult(@NonNull Map<String, Long> acceptedVersions, @NonNull List<SyncRecord> conflicts) {
+            this.acceptedVersions = Collections.unmodifiableMap(acceptedVersions);
+            this.conflicts = Collections.unmodifiableList(conflicts);
+        }
+
+        /**
+         * uuid прийнятої зміни -> версія, яку їй дав сервер.
+         */
+        @NonNull
+        public Map<String, Long> getAcceptedVersions() {
+            return acceptedVersions;
+        }
+
+        /**
+         * Поточний стан на сервері для змін, які зроблено від застарілої версії.
+         */
+        @NonNull
+        public List<SyncRecord> getConflicts() {
+            return conflicts;
+        }
+    }
+
+    /**
+     * Відповідь на pull(...).
+     */
+    final class PullResult {
+        @NonNull
+        private final List<SyncRecord> records;
+        private final long latestVersion;
+        private final boolean hasMore;
+
+        public PullResult(@NonNull List<SyncRecord> records, long latestVersion, boolean hasMore) {
+            this.records = Collections.unmodifiableList(records);
+            this.latestVersion = latestVersion;
+            this.hasMore = hasMore;
+        }
+
+        @NonNull
+        public List<SyncRecord> getRecords() {
+            return records;
+        }
+
+        /**
+         * До якої версії включно ця відповідь усе покриває - з неї почнеться наступний pull(...).
+         */
+        public long getLatestVersion() {
+            return latestVersion;
+        }
+
+        public boolean hasMore() {
+            return hasMore;
+        }
+    }
+}
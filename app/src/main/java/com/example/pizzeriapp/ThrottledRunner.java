@@ -0,0 +1,62 @@
+package com.example.pizzeriapp;
+
+import androidx.annotation.NonNull; // Позначка, що значення не може бути null
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * "Не частіше ніж раз на minIntervalMs і ніколи двічі одночасно" для фонових робіт з обслуговування бази
+ * (PizzaPurgeJob, PizzaHistoryCompactionJob). Їх запускають мимохідь - з конструктора ViewModel,
+ * після запису, - тож runIfDue(...) можна викликати з будь-якого потоку і як завгодно часто:
+ * зайві виклики просто нічого не роблять.
+ */
+final class ThrottledRunner {
+
+    private final long minIntervalMs;
+    private final LongSupplier clock;
+    private final LongAdder failed;
+
+    // Коли останній раз запускали, і чи не йде робота саме зараз
+    private final AtomicLong lastStartedAt;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * @param minIntervalMs Найменший проміжок між запусками. Перший виклик запускає одразу.
+     * @param clock Поточний час у мс (System::currentTimeMillis; у тестах - свій).
+     * @param failed Лічильник запусків, що впали з RuntimeException.
+     */
+    ThrottledRunner(long minIntervalMs, @NonNull LongSupplier clock, @NonNull LongAdder failed) {
+        this.minIntervalMs = minIntervalMs;
+        this.clock = clock;
+        this.failed = failed;
+        this.lastStartedAt = new AtomicLong(-minIntervalMs);
+    }
+
+    /**
+     * Запускає task в executor, якщо з попереднього запуску минуло minIntervalMs
+     * і попередній уже закінчився.
+     * @return true, якщо task заплановано.
+     */
+    boolean runIfDue(@NonNull Executor executor, @NonNull Runnable task) {
+        long now = clock.getAsLong();
+        if (now - lastStartedAt.get() < minIntervalMs || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        lastStartedAt.set(now);
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Наприклад, базу закрили посеред роботи; наступний запуск почне спочатку
+                failed.increment();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+}
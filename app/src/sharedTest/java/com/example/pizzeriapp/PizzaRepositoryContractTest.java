@@ -0,0 +1,264 @@
+package com.example.pizzeriapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Поведінка, однакова для всіх PizzaRepository. Кожна реалізація має свій тест-нащадок:
+ * InMemoryPizzaRepositoryTest (JVM) і RoomPizzaRepositoryTest (на пристрої, справжня база).
+ */
+public abstract class PizzaRepositoryContractTest {
+
+    protected PizzaRepository repository;
+
+    /**
+     * Нове порожнє сховище для кожного тесту.
+     */
+    protected abstract PizzaRepository createRepository();
+
+    /**
+     * Прибрати за собою (наприклад, закрити базу).
+     */
+    protected void closeRepository() {
+    }
+
+    @Before
+    public void setUpRepository() {
+        repository = createRepository();
+    }
+
+    @After
+    public void tearDownRepository() {
+        closeRepository();
+    }
+
+    @Test
+    public void insert_assignsNewIdsAndReadsBack() {
+        PizzaEntity margherita = pizza("Маргарита", 15_000, PizzaStatus.AVAILABLE);
+        int first = repository.insert(margherita);
+        int second = repository.insert(pizza("Пепероні", 18_000, PizzaStatus.COOKING));
+
+        assertTrue(first > 0);
+        assertTrue(second > first);
+        assertEquals(0, margherita.getId()); // Переданий об'єкт не змінюється
+
+        PizzaEntity loaded = repository.getPizzaById(first);
+        assertNotNull(loaded);
+        assertEquals(first, loaded.getId());
+        assertEquals("Маргарита", loaded.getName());
+        assertEquals("томати, моцарела", loaded.getIngredients());
+        assertEquals(15_000, loaded.getPriceKopecks());
+        assertEquals(30, loaded.getSize());
+        assertEquals("Опис Маргарита", loaded.getDescription());
+        assertEquals(PizzaStatus.AVAILABLE, loaded.getStatus());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    public void getPizzaById_missingIsNull() {
+        assertNull(repository.getPizzaById(42));
+        assertEquals(0, repository.count());
+        assertTrue(repository.getAllPizzas().isEmpty());
+    }
+
+    @Test
+    public void returnedPizza_isACopy() {
+        int id = repository.insert(pizza("Маргарита", 15_000, PizzaStatus.AVAILABLE));
+
+        PizzaEntity loaded = repository.getPizzaById(id);
+        loaded.setName("Змінена");
+        loaded.setPriceKopecks(1);
+
+        assertEquals("Маргарита", repository.getPizzaById(id).getName());
+        assertEquals(15_000, repository.getPizzaById(id).getPriceKopecks());
+    }
+
+    @Test
+    public void insert_existingIdFailsAndChangesNothing() {
+        int id = repository.insert(pizza("Маргарита", 15_000, PizzaStatus.AVAILABLE));
+        PizzaEntity duplicate = pizza("Дубль", 1_000, PizzaStatus.AVAILABLE);
+        duplicate.setId(id);
+
+        try {
+            repository.insert(duplicate);
+            fail("Піцу з тим самим номером додавати не можна");
+        } catch (RuntimeException expected) {
+            // Так і має бути
+        }
+        assertEquals(1, repository.count());
+        assertEquals("Маргарита", repository.getPizzaById(id).getName());
+    }
+
+    @Test
+    public void insertAll_isAllOrNothing() {
+        int id = repository.insert(pizza("Маргарита", 15_000, PizzaStatus.AVAILABLE));
+        PizzaEntity duplicate = pizza("Дубль", 1_000, PizzaStatus.AVAILABLE);
+        duplicate.setId(id);
+
+        try {
+            repository.insertAll(Arrays.asList(pizza("Нова", 10_000, PizzaStatus.AVAILABLE), duplicate));
+            fail("Список з уже наявним номером додавати не можна");
+        } catch (RuntimeException expected) {
+            // Так і має бути
+        }
+        assertEquals(1, repository.count());
+
+        repository.insertAll(Arrays.asList(
+                pizza("Перша", 10_000, PizzaStatus.AVAILABLE),
+                pizza("Друга", 11_000, PizzaStatus.AVAILABLE)));
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    public void getAllPizzas_newestFirst() {
+        int a = repository.insert(pizza("А", 10_000, PizzaStatus.AVAILABLE));
+        int b = repository.insert(pizza("Б", 20_000, PizzaStatus.COOKING));
+        int c = repository.insert(pizza("В", 5_000, PizzaStatus.UNAVAILABLE));
+
+        List<PizzaListItem> all = repository.getAllPizzas();
+        assertEquals(Arrays.asList(c, b, a), ids(all));
+        assertEquals(new PizzaListItem(b, "Б", "томати, моцарела", 20_000), all.get(1));
+    }
+
+    @Test
+    public void idsAreNeverReused() {
+        int first = repository.insert(pizza("А", 10_000, PizzaStatus.AVAILABLE));
+        assertTrue(repository.deleteById(first));
+        int second = repository.insert(pizza("Б", 10_000, PizzaStatus.AVAILABLE));
+        assertTrue(second > first);
+    }
+
+    @Test
+    public void getPizzasByStatus_sortedByPriceThenId_withInclusiveRange() {
+        int cheap = repository.insert(pizza("Дешева", 10_000, PizzaStatus.AVAILABLE));
+        int pricey = repository.insert(pizza("Дорога", 30_000, PizzaStatus.AVAILABLE));
+        int middle1 = repository.insert(pizza("Середня 1", 20_000, PizzaStatus.AVAILABLE));
+        int middle2 = repository.insert(pizza("Середня 2", 20_000, PizzaStatus.AVAILABLE));
+        repository.insert(pizza("Готується", 20_000, PizzaStatus.COOKING));
+
+        assertEquals(Arrays.asList(cheap, middle1, middle2, pricey),
+                ids(repository.getPizzasByStatus(PizzaStatus.AVAILABLE)));
+        assertEquals(Arrays.asList(middle1, middle2, pricey),
+                ids(repository.getPizzasByStatus(PizzaStatus.AVAILABLE, 20_000, 30_000)));
+        assertEquals(Collections.singletonList(cheap),
+                ids(repository.getPizzasByStatus(PizzaStatus.AVAILABLE, 0, 19_999)));
+        assertTrue(repository.getPizzasByStatus(PizzaStatus.UNAVAILABLE).isEmpty());
+        assertTrue(repository.getPizzasByStatus(PizzaStatus.AVAILABLE, 30_001, 40_000).isEmpty());
+    }
+
+    @Test
+    public void update_movesPizzaBetweenIndexes() {
+        int id = repository.insert(pizza("Маргарита", 15_000, PizzaStatus.AVAILABLE));
+
+        PizzaEntity changed = repository.getPizzaById(id);
+        changed.setStatus(PizzaStatus.COOKING);
+        changed.setPriceKopecks(16_000);
+        changed.setDescription(null);
+        repository.update(changed);
+
+        assertTrue(repository.getPizzasByStatus(PizzaStatus.AVAILABLE).isEmpty());
+        assertEquals(Collections.singletonList(id),
+                ids(repository.getPizzasByStatus(PizzaStatus.COOKING, 16_000, 16_000)));
+        PizzaEntity loaded = repository.getPizzaById(id);
+        assertEquals(16_000, loaded.getPriceKopecks());
+        assertNull(loaded.getDescription());
+    }
+
+    @Test
+    public void update_missingPizzaDoesNothing() {
+        PizzaEntity ghost = pizza("Привид", 15_000, PizzaStatus.AVAILABLE);
+        ghost.setId(777);
+        repository.update(ghost);
+        repository.updateAll(Collections.singletonList(ghost));
+
+        assertNull(repository.getPizzaById(777));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    public void updateAll_changesEveryPizza() {
+        repository.insertAll(Arrays.asList(
+                pizza("А", 10_000, PizzaStatus.AVAILABLE),
+                pizza("Б", 11_000, PizzaStatus.AVAILABLE)));
+        List<PizzaEntity> changed = new ArrayList<>();
+        for (PizzaListItem item : repository.getAllPizzas()) {
+            PizzaEntity pizza = repository.getPizzaById(item.getId());
+            pizza.setPriceKopecks(pizza.getPriceKopecks() + 500);
+            changed.add(pizza);
+        }
+        repository.updateAll(changed);
+
+        List<PizzaListItem> available = repository.getPizzasByStatus(PizzaStatus.AVAILABLE);
+        assertEquals(10_500, available.get(0).getPriceKopecks());
+        assertEquals(11_500, available.get(1).getPriceKopecks());
+    }
+
+    @Test
+    public void upsertAll_insertsNewAndUpdatesExisting() {
+        int id = repository.insert(pizza("Маргарита", 15_000, PizzaStatus.AVAILABLE));
+        PizzaEntity existing = repository.getPizzaById(id);
+        existing.setName("Маргарита нова");
+
+        repository.upsertAll(Arrays.asList(existing, pizza("Пепероні", 18_000, PizzaStatus.AVAILABLE)));
+
+        assertEquals(2, repository.count());
+        assertEquals("Маргарита нова", repository.getPizzaById(id).getName());
+        assertEquals("Пепероні", repository.getAllPizzas().get(0).getName()); // Нова - з більшим номером
+    }
+
+    @Test
+    public void delete_byIdAndByList() {
+        int a = repository.insert(pizza("А", 10_000, PizzaStatus.AVAILABLE));
+        int b = repository.insert(pizza("Б", 11_000, PizzaStatus.AVAILABLE));
+        int c = repository.insert(pizza("В", 12_000, PizzaStatus.COOKING));
+
+        assertTrue(repository.deleteById(a));
+        assertFalse(repository.deleteById(a));
+
+        repository.deleteAll(Arrays.asList(repository.getPizzaById(b), repository.getPizzaById(c)));
+        assertEquals(0, repository.count());
+        assertTrue(repository.getPizzasByStatus(PizzaStatus.AVAILABLE).isEmpty());
+        assertTrue(repository.getPizzasByStatus(PizzaStatus.COOKING).isEmpty());
+    }
+
+    @Test
+    public void setStatus_countsExistingPizzasOnly() {
+        int a = repository.insert(pizza("А", 10_000, PizzaStatus.AVAILABLE));
+        int b = repository.insert(pizza("Б", 11_000, PizzaStatus.AVAILABLE));
+        int c = repository.insert(pizza("В", 12_000, PizzaStatus.AVAILABLE));
+
+        int updated = repository.setStatus(Arrays.asList(a, c, 9_999), PizzaStatus.UNAVAILABLE);
+
+        assertEquals(2, updated);
+        assertEquals(Collections.singletonList(b), ids(repository.getPizzasByStatus(PizzaStatus.AVAILABLE)));
+        assertEquals(Arrays.asList(a, c), ids(repository.getPizzasByStatus(PizzaStatus.UNAVAILABLE)));
+        assertEquals(PizzaStatus.UNAVAILABLE, repository.getPizzaById(a).getStatus());
+    }
+
+    protected static PizzaEntity pizza(String name, long priceKopecks, PizzaStatus status) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName(name);
+        pizza.setIngredients("томати, моцарела");
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(30);
+        pizza.setDescription("Опис " + name);
+        pizza.setStatus(status);
+        return pizza;
+    }
+
+    private static List<Integer> ids(List<PizzaListItem> items) {
+        List<Integer> ids = new ArrayList<>(items.size());
+        for (PizzaListItem item : items) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє спільний потік запису: злиття оновлень, порядок записів і відмову (без очікування) при повній черзі.
+ */
+public class DatabaseWriteExecutorTest {
+
+    private static final long WAIT_SECONDS = 5;
+
+    @Test
+    public void repeatedUpdatesOfOnePizza_becomeOneWrite() throws Exception {
+        DatabaseWriteExecutor executor = new DatabaseWriteExecutor(16, 10_000); // Вікно більше за тест
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        for (int version = 1; version <= 5; version++) {
+            int value = version;
+            executor.executeCoalesced(7, () -> written.add(value));
+        }
+        executor.executeCoalesced(8, () -> written.add(100)); // Інша піца - окремий запис
+
+        // Звичайний запис спершу "виштовхує" відкладені оновлення в чергу
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(done::countDown);
+        assertTrue(done.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        assertEquals(2, written.size());
+        assertTrue(written.contains(5));   // Від піци 7 дійшло лише останнє оновлення
+        assertTrue(written.contains(100));
+        assertEquals(4, executor.getCoalescedWrites());
+        assertEquals(0, executor.getPendingCoalescedCount());
+    }
+
+    @Test
+    public void coalescedUpdate_isWrittenAfterWindow() throws Exception {
+        DatabaseWriteExecutor executor = new DatabaseWriteExecutor(16, 20);
+        CountDownLatch written = new CountDownLatch(1);
+        executor.executeCoalesced(1, written::countDown);
+        assertTrue(written.await(WAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void coalescedUpdate_isNotOvertakenByLaterWrite() throws Exception {
+        DatabaseWriteExecutor executor = new DatabaseWriteExecutor(16, 10_000);
+        List<String> written = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        // Оновлення піци, а одразу за ним - видалення: у базі вони мають іти саме в такому порядку
+        executor.executeCoalesced(1, () -> written.add("update"));
+        assertTrue(executor.execute(() -> written.add("delete")));
+        executor.execute(done::countDown);
+
+        assertTrue(done.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("update", "delete"), written);
+    }
+
+    @Test
+    public void fullQueue_rejectsWithoutBlocking() throws Exception {
+        DatabaseWriteExecutor executor = new DatabaseWriteExecutor(1, 20);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch allDone = new CountDownLatch(2);
+
+        // Перший запис "застрягає" в потоці запису, другий займає єдине місце в черзі
+        assertTrue(executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+            allDone.countDown();
+        }));
+        assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(executor.execute(allDone::countDown));
+
+        // Третій не влазить - його не приймають, і той, хто додає, не чекає
+        long start = System.nanoTime();
+        assertFalse(executor.execute(() -> fail("Відхилений запис не мав виконатися")));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, executor.getRejectedWrites());
+        assertEquals(1, executor.getQueueDepth());
+
+        // Відкладене оновлення нової піци теж не приймається - місця для нього немає
+        assertFalse(executor.executeCoalesced(5, () -> fail("Відхилене оновлення не мало виконатися")));
+        assertEquals(2, executor.getRejectedWrites());
+        assertEquals(0, executor.getPendingCoalescedCount());
+
+        release.countDown();
+        assertTrue(allDone.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        // Черга звільнилась - тепер оновлення приймається і йде в базу після свого вікна
+        CountDownLatch coalesced = new CountDownLatch(1);
+        assertTrue(executor.executeCoalesced(5, coalesced::countDown));
+        assertTrue(coalesced.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        // Лічильник оновлюється вже після самого запису - даємо йому мить
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (executor.getCompletedWrites() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(3, executor.getCompletedWrites());
+        assertTrue(executor.getMaxWriteLatencyNanos() >= executor.getAverageWriteLatencyNanos());
+    }
+
+    @Test
+    public void pendingUpdates_countAgainstCapacity() {
+        DatabaseWriteExecutor executor = new DatabaseWriteExecutor(2, 10_000); // Вікно більше за тест
+
+        assertTrue(executor.executeCoalesced(1, () -> { }));
+        assertTrue(executor.executeCoalesced(2, () -> { }));
+        // Місце закінчилось: не влазить ні оновлення нової піци, ні звичайний запис (перед ним мали б піти обидва оновлення)
+        assertFalse(executor.executeCoalesced(3, () -> fail("Відхилене оновлення не мало виконатися")));
+        assertFalse(executor.execute(() -> fail("Відхилений запис не мав виконатися")));
+        // Нове оновлення піци, що вже чекає, місця не займає - його приймаємо
+        assertTrue(executor.executeCoalesced(1, () -> { }));
+
+        assertEquals(2, executor.getPendingCoalescedCount());
+        assertEquals(2, executor.getRejectedWrites());
+        assertEquals(1, executor.getCoalescedWrites());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
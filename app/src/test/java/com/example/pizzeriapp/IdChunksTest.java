@@ -0,0 +1,47 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє, що довгий список номерів ділиться на частини не більші за MAX_IDS_PER_QUERY,
+ * без пропусків і повторів, а результати частин підсумовуються.
+ */
+public class IdChunksTest {
+
+    @Test
+    public void emptyList_runsNoQuery() {
+        List<Integer> sizes = new ArrayList<>();
+        assertEquals(0, IdChunks.sum(Collections.emptyList(), chunk -> {
+            sizes.add(chunk.size());
+            return 1;
+        }));
+        assertTrue(sizes.isEmpty());
+    }
+
+    @Test
+    public void longList_splitIntoChunksInOrder() {
+        int count = PizzaDao.MAX_IDS_PER_QUERY * 2 + 7;
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ids.add(i);
+        }
+        List<Integer> seen = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+
+        int total = IdChunks.sum(ids, chunk -> {
+            seen.addAll(chunk);
+            sizes.add(chunk.size());
+            return chunk.size() - 1; // Нехай в кожній частині одного номера не знайшлося
+        });
+
+        assertEquals(ids, seen);
+        assertEquals(List.of(PizzaDao.MAX_IDS_PER_QUERY, PizzaDao.MAX_IDS_PER_QUERY, 7), sizes);
+        assertEquals(count - 3, total);
+    }
+}
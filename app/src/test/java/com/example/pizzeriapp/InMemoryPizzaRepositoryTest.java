@@ -0,0 +1,81 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Сховище в пам'яті: загальний контракт (PizzaRepositoryContractTest) і одночасна робота з кількох потоків.
+ */
+public class InMemoryPizzaRepositoryTest extends PizzaRepositoryContractTest {
+
+    @Override
+    protected PizzaRepository createRepository() {
+        return new InMemoryPizzaRepository();
+    }
+
+    @Test
+    public void concurrentWritersAndReaders_keepIndexesConsistent() throws Exception {
+        int writers = 4;
+        int perWriter = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(writers + 1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perWriter; i++) {
+                        int id = repository.insert(pizza("Піца " + i, 10_000 + i, PizzaStatus.AVAILABLE));
+                        if (i % 2 == 0) {
+                            PizzaEntity pizza = repository.getPizzaById(id);
+                            pizza.setStatus(PizzaStatus.COOKING);
+                            repository.update(pizza);
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        // Читач: у будь-який момент кожна піца - рівно в одному індексі статусу
+        threads.add(new Thread(() -> {
+            try {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    int total = repository.getPizzasByStatus(PizzaStatus.AVAILABLE).size()
+                            + repository.getPizzasByStatus(PizzaStatus.COOKING).size();
+                    assertTrue(total <= writers * perWriter);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                done.countDown();
+            }
+        }));
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+
+        assertEquals(writers * perWriter, repository.count());
+        assertEquals(writers * perWriter / 2, repository.getPizzasByStatus(PizzaStatus.AVAILABLE).size());
+        assertEquals(writers * perWriter / 2, repository.getPizzasByStatus(PizzaStatus.COOKING).size());
+        assertEquals(writers * perWriter, repository.getAllPizzas().size());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Розбір складу піци на інгредієнти: роздільники, регістр, пробіли і повтори.
+ */
+public class IngredientsTest {
+
+    @Test
+    public void parse_splitsAndNormalizes() {
+        assertEquals(Arrays.asList("томатний соус", "моцарела", "гриби", "базилік"),
+                Ingredients.parse("Томатний   соус, Моцарела;гриби\nБазилік"));
+    }
+
+    @Test
+    public void parse_dropsEmptyAndDuplicates() {
+        assertEquals(Arrays.asList("сир", "шинка"), Ingredients.parse(" сир,, ;Сир , шинка, "));
+        assertEquals(Collections.emptyList(), Ingredients.parse(" , ; "));
+        assertEquals(Collections.emptyList(), Ingredients.parse(null));
+    }
+
+    @Test
+    public void normalize_matchesParsedNames() {
+        assertEquals("моцарела буффало", Ingredients.normalize("  Моцарела \t Буффало "));
+        assertEquals(Arrays.asList("моцарела", "гриби"),
+                Ingredients.normalizeAll(Arrays.asList("Моцарела ", "", "гриби", "МОЦАРЕЛА")));
+    }
+
+    @Test
+    public void normalizeSingle_rejectsEmptyAndLists() {
+        assertEquals("сир", Ingredients.normalizeSingle(" СИР "));
+        for (String bad : Arrays.asList("  ", "сир, шинка", "сир;шинка")) {
+            try {
+                Ingredients.normalizeSingle(bad);
+                fail("Назва \"" + bad + "\" не мала пройти");
+            } catch (IllegalArgumentException expected) {
+                // Так і має бути
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє IntObjectMap проти звичайної HashMap: випадкові вставки й видалення
+ * мають давати той самий вміст (зокрема після зсуву ланцюжків при видаленні).
+ */
+public class IntObjectMapTest {
+
+    @Test
+    public void putGetRemove_basics() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertNull(map.put(1, "один"));
+        assertEquals("один", map.put(1, "ще один"));
+        assertEquals("ще один", map.get(1));
+        assertNull(map.get(2));
+        assertEquals(1, map.size());
+
+        assertEquals("ще один", map.remove(1));
+        assertNull(map.remove(1));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void zeroKey_isRejected() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        try {
+            map.put(0, "нуль");
+            fail("Ключ 0 зарезервований");
+        } catch (IllegalArgumentException expected) {
+            // Так і має бути
+        }
+    }
+
+    @Test
+    public void randomOperations_matchHashMap() {
+        Random random = new Random(42);
+        IntObjectMap<Integer> map = new IntObjectMap<>(4); // Маленька - щоб часто росла
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2_001) - 1_000; // І від'ємні ключі
+            if (key == 0) {
+                continue;
+            }
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).sorted().toArray(), keys);
+    }
+}
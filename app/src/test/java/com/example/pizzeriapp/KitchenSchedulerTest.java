@@ -0,0 +1,272 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Черга кухні: порядок, робота з кількох потоків і запис у базу пачками.
+ */
+public class KitchenSchedulerTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    // Записи в "базу" виконуються лише тоді, коли тест сам їх запустить
+    private final Queue<Runnable> persistTasks = new ArrayDeque<>();
+    private final List<List<KitchenTicketEntity>> batches = new ArrayList<>();
+
+    private KitchenScheduler newScheduler(long lastTicketId) {
+        return new KitchenScheduler(persistTasks::add, batches::add, now::get, lastTicketId);
+    }
+
+    @Test
+    public void prepTime_growsWithArea() {
+        assertEquals(12 * MINUTE, KitchenScheduler.estimatePrepMillis(30));
+        assertTrue(KitchenScheduler.estimatePrepMillis(40) > KitchenScheduler.estimatePrepMillis(30));
+        assertTrue(KitchenScheduler.estimatePrepMillis(25) > KitchenScheduler.PREP_BASE_MILLIS);
+    }
+
+    @Test
+    public void poll_takesLatestStartFirst() {
+        KitchenScheduler scheduler = newScheduler(0);
+        long promised = now.get() + 30 * MINUTE;
+        KitchenTicket small = scheduler.submit(1, 10, "Мала", 25, promised);
+        KitchenTicket large = scheduler.submit(1, 11, "Велика", 40, promised);  // Печеться довше - раніше в піч
+        KitchenTicket urgent = scheduler.submit(2, 12, "Термінова", 30, now.get() + 15 * MINUTE);
+        KitchenTicket sameAsSmall = scheduler.submit(3, 10, "Мала", 25, promised); // Рівні - хто раніше прийшов
+
+        assertEquals(4, scheduler.getPendingCount());
+        assertEquals(Arrays.asList(urgent, large, small, sameAsSmall), scheduler.getPending());
+
+        now.addAndGet(MINUTE);
+        KitchenTicket first = scheduler.poll(0);
+        assertSame(urgent, first);
+        assertEquals(0, first.getOvenSlot());
+        assertEquals(now.get(), first.getStartedAt());
+        assertSame(large, scheduler.poll(1));
+        assertSame(small, scheduler.poll(0));
+        assertSame(sameAsSmall, scheduler.poll(1));
+        assertNull(scheduler.poll(0));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void submitOrder_oneTicketPerPizza() {
+        KitchenScheduler scheduler = newScheduler(0);
+        Map<Integer, PizzaEntity> pizzas = new HashMap<>();
+        pizzas.put(5, pizza(5, "Маргарита", 30));
+
+        List<KitchenTicket> tickets = scheduler.submitOrder(77, Arrays.asList(new OrderLine(5, 2), new OrderLine(6, 1)),
+                pizzas, now.get() + 30 * MINUTE);
+
+        assertEquals(2, tickets.size()); // Піци №6 вже немає - її пропущено
+        assertEquals(77, tickets.get(0).getOrderId());
+        assertEquals("Маргарита", tickets.get(1).getPizzaName());
+        assertEquals(2, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void changes_areWrittenInOneBatchWithLatestState() {
+        KitchenScheduler scheduler = newScheduler(100);
+        KitchenTicket a = scheduler.submit(1, 1, "А", 30, now.get() + 20 * MINUTE);
+        scheduler.submit(1, 2, "Б", 30, now.get() + 30 * MINUTE);
+        now.addAndGet(MINUTE);
+        scheduler.finish(scheduler.poll(3));
+
+        assertEquals(101, a.getId()); // Номери - після вже виданих
+        assertEquals(1, persistTasks.size()); // Один запланований запис на все
+        assertEquals(4, scheduler.getUnsavedCount());
+        runPersistTasks();
+
+        assertEquals(1, batches.size());
+        List<KitchenTicketEntity> batch = batches.get(0);
+        assertEquals(2, batch.size()); // Три знімки квитка А злилися в один
+        KitchenTicketEntity saved = batch.get(0);
+        assertEquals(101, saved.id);
+        assertEquals(3, saved.ovenSlot);
+        assertEquals(now.get(), saved.finishedAt);
+        assertEquals(0, batch.get(1).startedAt);
+        assertEquals(0, scheduler.getUnsavedCount());
+
+        // Після запису нова зміна планує новий запис
+        scheduler.poll(0);
+        assertEquals(1, persistTasks.size());
+    }
+
+    @Test
+    public void failedWrite_doesNotBreakQueue() {
+        AtomicInteger attempts = new AtomicInteger();
+        KitchenScheduler scheduler = new KitchenScheduler(Runnable::run, batch -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("База закрита");
+        }, now::get, 0);
+
+        scheduler.submit(0, 1, "А", 30, now.get() + 20 * MINUTE);
+
+        // Кілька спроб - і знімок відкинуто, а не пробуємо без кінця
+        assertEquals(KitchenScheduler.MAX_WRITE_ATTEMPTS, attempts.get());
+        assertEquals(0, scheduler.getUnsavedCount());
+        assertNotNull(scheduler.poll(0));
+    }
+
+    @Test
+    public void failedWrite_isRetriedWithLatestState() {
+        AtomicInteger attempts = new AtomicInteger();
+        KitchenScheduler scheduler = new KitchenScheduler(persistTasks::add, batch -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("База зайнята");
+            }
+            batches.add(batch);
+        }, now::get, 0);
+
+        scheduler.submit(0, 1, "А", 30, now.get() + 20 * MINUTE);
+        scheduler.submit(0, 2, "Б", 30, now.get() + 30 * MINUTE);
+        persistTasks.poll().run(); // Перша спроба не вдалась
+
+        assertTrue(batches.isEmpty());
+        assertEquals(2, scheduler.getUnsavedCount()); // Знімки не загубились
+        assertEquals(1, persistTasks.size());          // Повторну спробу вже заплановано
+
+        scheduler.poll(4); // Поки чекали, квиток А змінився - записатися має новіший стан
+        runPersistTasks();
+
+        assertEquals(1, batches.size());
+        List<KitchenTicketEntity> batch = batches.get(0);
+        assertEquals(2, batch.size());
+        assertEquals(4, batch.get(0).ovenSlot);
+        assertEquals(0, scheduler.getUnsavedCount());
+    }
+
+    @Test
+    public void finish_beforePoll_fails() {
+        KitchenScheduler scheduler = newScheduler(0);
+        KitchenTicket ticket = scheduler.submit(0, 1, "А", 30, now.get());
+        try {
+            scheduler.finish(ticket);
+            fail("Піца, яку ще не взяла піч, не може бути готовою");
+        } catch (IllegalStateException expected) {
+            // Так і має бути
+        }
+    }
+
+    @Test
+    public void restore_putsUnfinishedTicketsBack() {
+        KitchenTicketEntity inOven = entity(7, now.get() + 10 * MINUTE);
+        inOven.startedAt = now.get();
+        inOven.ovenSlot = 2;
+        KitchenTicketEntity waiting = entity(3, now.get() + 5 * MINUTE);
+
+        KitchenScheduler scheduler = newScheduler(0);
+        scheduler.restore(Arrays.asList(inOven, waiting));
+
+        assertEquals(2, scheduler.getPendingCount());
+        assertEquals(3, scheduler.getPending().get(0).getId());
+        assertEquals(0, scheduler.getPending().get(1).getStartedAt()); // Знову чекає на піч
+        assertTrue(persistTasks.isEmpty()); // Відновлення саме нічого не пише
+        assertEquals(8, scheduler.submit(0, 1, "Нова", 30, now.get()).getId());
+    }
+
+    @Test
+    public void concurrentProducersAndOvens_eachTicketCookedOnce() throws Exception {
+        final int cashiers = 4;
+        final int ticketsPerCashier = 2_000;
+        final int ovens = 4;
+        AtomicInteger written = new AtomicInteger();
+        KitchenScheduler scheduler = new KitchenScheduler(Runnable::run,
+                batch -> written.addAndGet(batch.size()), System::currentTimeMillis, 0);
+
+        Set<Long> cooked = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch producersDone = new CountDownLatch(cashiers);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(cashiers + ovens);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < cashiers; c++) {
+                final int cashier = c;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ticketsPerCashier; i++) {
+                        scheduler.submit(cashier, i, "Піца", 25 + i % 16, System.currentTimeMillis() + i);
+                    }
+                    producersDone.countDown();
+                    return null;
+                }));
+            }
+            for (int o = 0; o < ovens; o++) {
+                final int oven = o;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    while (producersDone.getCount() > 0 || scheduler.getPendingCount() > 0) {
+                        KitchenTicket ticket = scheduler.poll(oven);
+                        if (ticket == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        if (!cooked.add(ticket.getId())) {
+                            duplicates.incrementAndGet();
+                        }
+                        scheduler.finish(ticket);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(cashiers * ticketsPerCashier, cooked.size());
+        assertEquals(0, scheduler.getPendingCount());
+        assertEquals(0, scheduler.getUnsavedCount());
+        assertTrue(written.get() >= cooked.size()); // Кожен квиток записано хоч раз
+    }
+
+    private void runPersistTasks() {
+        Runnable task;
+        while ((task = persistTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static PizzaEntity pizza(int id, String name, int size) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setId(id);
+        pizza.setName(name);
+        pizza.setSize(size);
+        return pizza;
+    }
+
+    private static KitchenTicketEntity entity(long id, long promisedAt) {
+        KitchenTicketEntity entity = new KitchenTicketEntity();
+        entity.id = id;
+        entity.pizzaName = "Піца №" + id;
+        entity.size = 30;
+        entity.promisedAt = promisedAt;
+        entity.prepMillis = KitchenScheduler.estimatePrepMillis(30);
+        return entity;
+    }
+}
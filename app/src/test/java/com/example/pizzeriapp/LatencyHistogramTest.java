@@ -0,0 +1,105 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє гістограму часу: межі кошиків, точність перцентилів і запис з багатьох потоків.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketBounds_coverEveryValueWithoutGaps() {
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT - 1; i++) {
+            long lower = LatencyHistogram.bucketLowerBound(i);
+            assertEquals(i, LatencyHistogram.bucketIndex(lower));
+            assertEquals(i, LatencyHistogram.bucketIndex(LatencyHistogram.bucketUpperBound(i)));
+            assertEquals(LatencyHistogram.bucketUpperBound(i) + 1, LatencyHistogram.bucketLowerBound(i + 1));
+        }
+        // Занадто великі значення потрапляють в останній кошик, а не за межі масиву
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentiles_withinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000); // 1 мкс ... 10 мс, рівномірно
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertClose(5_000_000, histogram.getPercentileNanos(0.50));
+        assertClose(9_900_000, histogram.getPercentileNanos(0.99));
+        assertEquals(10_000_000, histogram.getPercentileNanos(1.0)); // Не більше за справжній максимум
+        assertEquals(10_000_000, histogram.getMaxNanos());
+        assertEquals(5_000_500, histogram.getMeanNanos());
+    }
+
+    @Test
+    public void smallValues_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(-5); // Годинник "стрибнув" назад - рахуємо як 0
+
+        assertEquals(0, histogram.getPercentileNanos(0.5));
+        assertEquals(3, histogram.getPercentileNanos(1.0));
+    }
+
+    @Test
+    public void emptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(0.99));
+
+        histogram.record(1_000);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void concurrentRecords_areNotLost() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int perThread = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            long offset = t;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        histogram.record(i + offset);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+
+        assertEquals((long) threads * perThread, histogram.getCount());
+        assertEquals(perThread - 1 + threads - 1, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void formatNanos_picksUnit() {
+        assertEquals("950ns", LatencyHistogram.formatNanos(950));
+        assertEquals("12.5µs", LatencyHistogram.formatNanos(12_500));
+        assertEquals("3.0ms", LatencyHistogram.formatNanos(3_000_000));
+        assertEquals("1.2s", LatencyHistogram.formatNanos(1_250_000_000L));
+    }
+
+    private static void assertClose(long expected, long actual) {
+        assertTrue("очікували ~" + expected + ", отримали " + actual,
+                Math.abs(actual - expected) <= expected * 0.03);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє потоковий імпорт меню з CSV: перевірку рядків, порції, хід і скасування.
+ */
+public class MenuImporterTest {
+
+    private static final String HEADER = "name,ingredients,price,size,description,status\n";
+
+    // Що "записано в базу": копії порцій (сам список імпортер перевикористовує)
+    private final List<List<PizzaEntity>> chunks = new ArrayList<>();
+
+    private MenuImporter importer(int chunkSize) {
+        return new MenuImporter(chunk -> chunks.add(new ArrayList<>(chunk)), chunkSize);
+    }
+
+    @Test
+    public void validRows_areImportedInChunks() throws IOException {
+        String csv = HEADER
+                + "Маргарита,\"томати, моцарела\",149.50,30,,В наявності\n"
+                + "Пепероні,\"пепероні, сир\",\"189,00\",35,Гостра,Готується\r\n"
+                + "Гавайська,\"ананас, шинка\",175,30,\"Опис з \"\"лапками\"\"\nі переносом\",\n";
+        List<Integer> progress = new ArrayList<>();
+
+        MenuImporter.Result result = importer(2).importMenu(new StringReader(csv), MenuFormat.CSV, progress::add);
+
+        assertEquals(3, result.getImportedRows());
+        assertEquals(0, result.getRejectedRows());
+        assertFalse(result.isCancelled());
+        assertEquals(2, chunks.size());
+        assertEquals(2, chunks.get(0).size());
+        assertEquals(1, chunks.get(1).size());
+        assertEquals(List.of(2, 3), progress);
+
+        PizzaEntity margherita = chunks.get(0).get(0);
+        assertEquals("томати, моцарела", margherita.getIngredients());
+        assertEquals(14_950, margherita.getPriceKopecks());
+        assertNull(margherita.getDescription());
+        PizzaEntity pepperoni = chunks.get(0).get(1);
+        assertEquals(18_900, pepperoni.getPriceKopecks());
+        assertEquals(PizzaStatus.COOKING, pepperoni.getStatus());
+        PizzaEntity hawaiian = chunks.get(1).get(0);
+        assertEquals("Опис з \"лапками\"\nі переносом", hawaiian.getDescription());
+        assertEquals(PizzaStatus.AVAILABLE, hawaiian.getStatus()); // Порожній статус - за замовчуванням
+    }
+
+    @Test
+    public void invalidRows_areRejectedWithLineNumbers() throws IOException {
+        String csv = HEADER
+                + "Маргарита,сир,0,30,,\n"            // Ціна не більша за нуль
+                + "Пепероні,сир,189,-5,,\n"           // Розмір не більший за нуль
+                + "Гавайська,сир,175,30,,Продано\n"   // Невідомий статус
+                + "Діабло,сир,дорого,30,,\n"          // Не число
+                + ",сир,100,30,,\n"                   // Без назви
+                + "Чотири сири,сир,210,30,,\n";       // А ця правильна
+
+        MenuImporter.Result result = importer(10).importMenu(new StringReader(csv), MenuFormat.CSV, null);
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(5, result.getRejectedRows());
+        assertEquals("Чотири сири", chunks.get(0).get(0).getName());
+        assertTrue(result.getErrors().get(0).startsWith("Рядок 2:"));
+        assertTrue(result.getErrors().get(4).startsWith("Рядок 6:"));
+    }
+
+    @Test
+    public void columnsMayComeInAnyOrder() throws IOException {
+        String csv = "price,size,name,ingredients\n99.90,25,Маргарита,сир\n";
+        MenuImporter.Result result = importer(10).importMenu(new StringReader(csv), MenuFormat.CSV, null);
+        assertEquals(1, result.getImportedRows());
+        assertEquals(9_990, chunks.get(0).get(0).getPriceKopecks());
+    }
+
+    @Test
+    public void missingRequiredColumn_failsWholeFile() {
+        try {
+            importer(10).importMenu(new StringReader("name,ingredients,size\nМаргарита,сир,30\n"), MenuFormat.CSV, null);
+            fail("Файл без колонки price не мав імпортуватись");
+        } catch (IOException expected) {
+            assertTrue(chunks.isEmpty());
+        }
+    }
+
+    @Test
+    public void cancel_stopsBeforeNextRow() throws IOException {
+        MenuImporter importer = importer(100);
+        // "Файл", що видає рядки, поки його не зупинять, - як дуже великий імпорт
+        Reader endless = new GeneratedMenuReader(1_000_000);
+        MenuImporter.Result result = importer.importMenu(endless, MenuFormat.CSV, rows -> {
+            if (rows >= 300) {
+                importer.cancel();
+            }
+        });
+
+        assertTrue(result.isCancelled());
+        assertEquals(300, result.getImportedRows());
+        assertEquals(3, chunks.size());
+    }
+
+    @Test
+    public void largeImport_keepsOnlyOneChunkInMemory() throws IOException {
+        int rows = 100_000;
+        int[] largestChunk = {0};
+        int[] total = {0};
+        MenuImporter importer = new MenuImporter(chunk -> {
+            largestChunk[0] = Math.max(largestChunk[0], chunk.size());
+            total[0] += chunk.size();
+        }, MenuImporter.CHUNK_SIZE);
+
+        MenuImporter.Result result = importer.importMenu(new GeneratedMenuReader(rows), MenuFormat.CSV, null);
+
+        assertEquals(rows, result.getImportedRows());
+        assertEquals(rows, total[0]);
+        assertEquals(MenuImporter.CHUNK_SIZE, largestChunk[0]);
+    }
+
+    /**
+     * CSV, який створюється на льоту по одному рядку - щоб тест не тримав у пам'яті великий файл.
+     */
+    private static final class GeneratedMenuReader extends Reader {
+
+        private final int rows;
+        private int row = -1; // -1 - заголовок
+        private String current = "";
+        private int position;
+
+        GeneratedMenuReader(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == current.length()) {
+                if (row >= rows) {
+                    return -1;
+                }
+                current = row < 0 ? HEADER : "Піца " + row + ",сир,149.50,30,,\n";
+                row++;
+                position = 0;
+            }
+            int count = Math.min(length, current.length() - position);
+            current.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє розбір і форматування сум у копійках.
+ */
+public class MoneyTest {
+
+    @Test
+    public void parseKopecks_acceptsWholeAndFractionalAmounts() {
+        assertEquals(14900, Money.parseKopecks("149"));
+        assertEquals(14950, Money.parseKopecks("149.5"));
+        assertEquals(14950, Money.parseKopecks("149,50"));
+        assertEquals(5, Money.parseKopecks("0.05"));
+        assertEquals(14900, Money.parseKopecks("149."));
+    }
+
+    @Test
+    public void parseKopecks_rejectsGarbage() {
+        String[] bad = {"", ".", "1.234", "1,2,3", "12a", "-5", "1e3"};
+        for (String text : bad) {
+            try {
+                Money.parseKopecks(text);
+                fail("Очікували помилку для \"" + text + "\"");
+            } catch (NumberFormatException expected) {
+                // Так і має бути
+            }
+        }
+    }
+
+    @Test
+    public void appendTo_padsKopecks() {
+        assertEquals("149,05", Money.appendTo(new StringBuilder(), 14905, ',').toString());
+        assertEquals("0.99", Money.appendTo(new StringBuilder(), 99, '.').toString());
+        assertEquals("price 12.00", Money.appendTo(new StringBuilder("price "), 1200, '.').toString());
+    }
+
+    @Test
+    public void formatAndParse_roundTrip() {
+        long[] amounts = {1, 10, 99, 100, 14950, 123456789};
+        for (long kopecks : amounts) {
+            assertEquals(kopecks, Money.parseKopecks(Money.format(kopecks)));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє кеш піц: лічильники, витіснення старих записів і те,
+ * що після запису кеш ніколи не повертає старі дані.
+ */
+public class PizzaCacheTest {
+
+    // "База" для тестів: номер піци -> ціна в копійках
+    private final Map<Integer, Long> table = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private PizzaEntity load(int id) {
+        loads.incrementAndGet();
+        Long price = table.get(id);
+        return price == null ? null : pizza(id, price);
+    }
+
+    @Test
+    public void repeatedLookups_hitCache() {
+        table.put(1, 10_000L);
+        PizzaCache cache = new PizzaCache(this::load, 4);
+
+        assertEquals(10_000L, cache.getPizzaById(1).getPriceKopecks());
+        assertEquals(10_000L, cache.getPizzaById(1).getPriceKopecks());
+        assertEquals(10_000L, cache.getPizzaById(1).getPriceKopecks());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void missingPizza_isNotCached() {
+        PizzaCache cache = new PizzaCache(this::load, 4);
+        assertNull(cache.getPizzaById(42));
+        table.put(42, 5_000L);
+        assertEquals(5_000L, cache.getPizzaById(42).getPriceKopecks());
+    }
+
+    @Test
+    public void leastRecentlyUsed_isEvicted() {
+        for (int id = 1; id <= 3; id++) {
+            table.put(id, id * 100L);
+        }
+        PizzaCache cache = new PizzaCache(this::load, 2);
+        cache.getPizzaById(1);
+        cache.getPizzaById(2);
+        cache.getPizzaById(1); // Піца 1 тепер "свіжіша" за 2
+        cache.getPizzaById(3); // Витісняє піцу 2
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        int loadsBefore = loads.get();
+        cache.getPizzaById(1);
+        assertEquals(loadsBefore, loads.get());     // Піца 1 залишилась у кеші
+        cache.getPizzaById(2);
+        assertEquals(loadsBefore + 1, loads.get()); // А піцу 2 довелося читати знову
+    }
+
+    @Test
+    public void invalidate_afterWrite_returnsNewData() {
+        table.put(1, 10_000L);
+        table.put(2, 20_000L);
+        PizzaCache cache = new PizzaCache(this::load, 4);
+        cache.getPizzaById(1);
+        cache.getPizzaById(2);
+
+        table.put(1, 11_000L); // Запис у "базу", як у PizzaViewModel.update(...)
+        cache.invalidate(1);
+        assertEquals(11_000L, cache.getPizzaById(1).getPriceKopecks());
+
+        table.put(2, 22_000L); // Пакетний запис
+        cache.invalidateAll();
+        assertEquals(22_000L, cache.getPizzaById(2).getPriceKopecks());
+
+        table.remove(1); // Видалення
+        cache.invalidate(1);
+        assertNull(cache.getPizzaById(1));
+    }
+
+    @Test
+    public void directWrite_isSeenWithoutInvalidate() {
+        table.put(1, 10_000L);
+        PizzaCache cache = new PizzaCache(this::load, 4);
+        PizzaDao dao = new MeteredPizzaDao(fakeDao(), cache);
+        cache.getPizzaById(1);
+
+        // Запис через DAO, без жодного invalidate(...) і без сигналу InvalidationTracker
+        dao.updatePizza(pizza(1, 11_000L));
+        assertEquals(11_000L, cache.getPizzaById(1).getPriceKopecks());
+
+        dao.softDelete(Collections.singletonList(1), 5L);
+        assertNull(cache.getPizzaById(1));
+
+        // А повторне читання незміненої піци - вже з кешу, без запиту до "бази"
+        table.put(2, 20_000L);
+        cache.getPizzaById(2);
+        int loadsBefore = loads.get();
+        assertEquals(20_000L, cache.getPizzaById(2).getPriceKopecks());
+        assertEquals(loadsBefore, loads.get());
+    }
+
+    @Test
+    public void returnedPizza_isCopy() {
+        table.put(1, 10_000L);
+        PizzaCache cache = new PizzaCache(this::load, 4);
+
+        PizzaEntity first = cache.getPizzaById(1);
+        first.setPriceKopecks(1);
+        first.setName("Змінена");
+        PizzaEntity second = cache.getPizzaById(1);
+
+        assertNotSame(first, second);
+        assertEquals(10_000L, second.getPriceKopecks());
+        assertEquals("Піца 1", second.getName());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void readDuringWrite_doesNotCacheOldData() throws Exception {
+        table.put(1, 1L);
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch writeDone = new CountDownLatch(1);
+        AtomicReference<Long> seenBySlowReader = new AtomicReference<>();
+
+        // Читач бере стару ціну з "бази", але кладе її в кеш уже після запису
+        PizzaCache cache = new PizzaCache(id -> {
+            PizzaEntity old = load(id);
+            readStarted.countDown();
+            awaitQuietly(writeDone);
+            return old;
+        }, 4);
+        Thread reader = new Thread(() -> seenBySlowReader.set(cache.getPizzaById(1).getPriceKopecks()));
+        reader.start();
+
+        assertTrue(readStarted.await(5, TimeUnit.SECONDS));
+        table.put(1, 2L);
+        cache.invalidate(1);
+        writeDone.countDown();
+        reader.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(Long.valueOf(1L), seenBySlowReader.get()); // Сам читач бачив старе - це нормально
+        assertEquals(0, cache.size());                          // Але в кеш воно не потрапило
+    }
+
+    @Test
+    public void concurrentReaders_neverSeeOlderThanFinishedWrite() throws Exception {
+        table.put(1, 1L);
+        PizzaCache cache = new PizzaCache(this::load, 4);
+        AtomicLong lastFinishedWrite = new AtomicLong(1);
+        AtomicReference<String> failure = new AtomicReference<>();
+        int writes = 2_000;
+
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                while (lastFinishedWrite.get() < writes && failure.get() == null) {
+                    long finished = lastFinishedWrite.get(); // Запис, що точно вже завершився
+                    long seen = cache.getPizzaById(1).getPriceKopecks();
+                    if (seen < finished) {
+                        failure.set("Прочитано " + seen + " після запису " + finished);
+                    }
+                }
+            });
+            readers[i].start();
+        }
+        for (long price = 2; price <= writes; price++) {
+            table.put(1, price);
+            cache.invalidate(1);
+            lastFinishedWrite.set(price);
+        }
+        for (Thread reader : readers) {
+            reader.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertNull(failure.get());
+        assertEquals(writes, cache.getPizzaById(1).getPriceKopecks());
+    }
+
+    // PizzaDao над "базою" table - лише ті методи, що потрібні тестам
+    private PizzaDao fakeDao() {
+        return (PizzaDao) Proxy.newProxyInstance(PizzaDao.class.getClassLoader(), new Class<?>[]{PizzaDao.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getPizzaById":
+                            return load((Integer) args[0]);
+                        case "updatePizza":
+                            PizzaEntity pizza = (PizzaEntity) args[0];
+                            table.put(pizza.getId(), pizza.getPriceKopecks());
+                            return null;
+                        case "softDelete":
+                            int deleted = 0;
+                            for (Object id : (List<?>) args[0]) {
+                                deleted += table.remove(id) == null ? 0 : 1;
+                            }
+                            return deleted;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static PizzaEntity pizza(int id, long priceKopecks) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setId(id);
+        pizza.setName("Піца " + id);
+        pizza.setIngredients("сир");
+        pizza.setPriceKopecks(priceKopecks);
+        pizza.setSize(30);
+        return pizza;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє текст рядка списку і те, що після "розігріву" його заповнення
+ * не створює нових об'єктів (тобто не навантажує збирач сміття під час прокрутки).
+ */
+public class PizzaInfoFormatterTest {
+
+    // Скільки разів пробуємо заміряти, перш ніж вирішити, що пам'ять справді виділяється
+    private static final int MAX_ROUNDS = 20;
+
+    @Test
+    public void format_writesIngredientsAndPrice() {
+        PizzaInfoFormatter formatter = new PizzaInfoFormatter(',');
+        int length = formatter.format(pizza("томати, моцарела", 14950));
+        assertEquals("томати, моцарела - 149,50 грн", new String(formatter.chars(), 0, length));
+
+        // Коротший текст після довшого - старі символи за межами length не заважають
+        length = formatter.format(pizza("сир", 9900));
+        assertEquals("сир - 99,00 грн", new String(formatter.chars(), 0, length));
+    }
+
+    @Test
+    public void format_growsBufferForLongText() {
+        PizzaInfoFormatter formatter = new PizzaInfoFormatter('.');
+        StringBuilder ingredients = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            ingredients.append("інгредієнт ");
+        }
+        int length = formatter.format(pizza(ingredients.toString(), 100));
+        assertEquals(ingredients + " - 1.00 грн", new String(formatter.chars(), 0, length));
+    }
+
+    @Test
+    public void format_allocatesNothingAfterWarmUp() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeAllocationCounting(threads);
+
+        PizzaListItem[] pizzas = {
+                pizza("томатний соус, моцарела, базилік", 14950),
+                pizza("вершковий соус, курка, гриби, цибуля", 21900),
+                pizza("салямі", 9905),
+        };
+        PizzaInfoFormatter formatter = new PizzaInfoFormatter(',');
+
+        // Розігрів: буфери виростають до потрібного розміру, JIT компілює код.
+        // Перші заміри можуть зачепити службові виділення пам'яті самої JVM (компіляцію),
+        // тому міряємо кілька разів і чекаємо, поки заповнення "устоїться" на нулі.
+        formatMany(formatter, pizzas, 20_000);
+        long allocated = -1;
+        for (int round = 0; round < MAX_ROUNDS && allocated != 0; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            formatMany(formatter, pizzas, 10_000);
+            allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+
+        assertEquals("Заповнення рядка після розігріву не повинно виділяти пам'ять", 0, allocated);
+    }
+
+    private static int formatMany(PizzaInfoFormatter formatter, PizzaListItem[] pizzas, int count) {
+        int totalLength = 0;
+        for (int i = 0; i < count; i++) {
+            totalLength += formatter.format(pizzas[i % pizzas.length]);
+        }
+        return totalLength;
+    }
+
+    private static void assumeAllocationCounting(com.sun.management.ThreadMXBean threads) {
+        org.junit.Assume.assumeTrue("JVM не вміє рахувати виділену пам'ять потоку",
+                threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private static PizzaListItem pizza(String ingredients, long priceKopecks) {
+        return new PizzaListItem(1, "Піца", ingredients, priceKopecks);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє PizzaStreams без бази: "зміни таблиці" подаємо самі, а час рухаємо TestScheduler'ом.
+ */
+public class PizzaStreamsTest {
+
+    private static final long DEBOUNCE_MS = 100;
+
+    // Сигнали "таблицю змінено"; при підписці, як і в Room, одразу приходить перший
+    private final PublishProcessor<Object> changes = PublishProcessor.create();
+    private final TestScheduler scheduler = new TestScheduler();
+    private final PizzaStreams streams =
+            new PizzaStreams(changes.startWithItem("initial"), null, scheduler, DEBOUNCE_MS);
+
+    // "Таблиця" - просто число, а запит рахує, скільки разів його виконали
+    private final AtomicInteger table = new AtomicInteger();
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private Integer query() {
+        queries.incrementAndGet();
+        return table.get();
+    }
+
+    @Test
+    public void firstValue_isEmittedWithoutDelay() {
+        TestSubscriber<Integer> subscriber = streams.observe(this::query).test();
+        scheduler.triggerActions();
+
+        subscriber.assertValues(0);
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    public void burstOfChanges_isCoalesced() {
+        TestSubscriber<Integer> subscriber = streams.observe(this::query).test();
+        scheduler.triggerActions();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 1000; i++) { // 1000 окремих записів, кожен - сигнал від Room
+            table.incrementAndGet();
+            changes.onNext("change");
+        }
+        scheduler.advanceTimeBy(DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+
+        subscriber.assertValues(0, 1000);
+        assertTrue("Запитів: " + queries.get(), queries.get() <= 3);
+    }
+
+    @Test
+    public void unchangedResult_isNotEmittedAgain() {
+        TestSubscriber<Integer> subscriber = streams.observe(this::query).test();
+        scheduler.triggerActions();
+
+        for (int i = 0; i < 5; i++) { // Записи, після яких результат запиту той самий
+            changes.onNext("change");
+            scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        }
+
+        assertEquals(6, queries.get());
+        subscriber.assertValues(0);
+    }
+
+    @Test
+    public void bulkWrite_emitsOnceWhenFinished() {
+        TestSubscriber<Integer> subscriber = streams.observe(this::query).test();
+        scheduler.triggerActions();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        streams.runBulk(() -> {
+            assertTrue(streams.isBulkWriteInProgress());
+            for (int i = 0; i < 1000; i++) {
+                table.incrementAndGet();
+                changes.onNext("change");
+                scheduler.advanceTimeBy(DEBOUNCE_MS, TimeUnit.MILLISECONDS); // Навіть з паузами - жодного запиту
+            }
+            assertEquals(1, queries.get());
+        });
+        assertFalse(streams.isBulkWriteInProgress());
+        scheduler.triggerActions();
+
+        subscriber.assertValues(0, 1000);
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    public void nestedBulkWrites_emitOnlyAfterOutermost() {
+        TestSubscriber<Integer> subscriber = streams.observe(this::query).test();
+        scheduler.triggerActions();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        streams.runBulk(() -> {
+            streams.runBulk(() -> {
+                table.incrementAndGet();
+                changes.onNext("change");
+            });
+            scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+            subscriber.assertValues(0); // Внутрішній запис завершився, але зовнішній ще триває
+        });
+        scheduler.triggerActions();
+
+        subscriber.assertValues(0, 1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.pizzeriapp;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Перевіряє обмежувач фонових робіт: не частіше ніж раз на проміжок, не двічі одночасно,
+ * а впала робота не блокує наступних запусків.
+ */
+public class ThrottledRunnerTest {
+
+    private static final long INTERVAL_MS = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final LongAdder failed = new LongAdder();
+    private final ThrottledRunner runner = new ThrottledRunner(INTERVAL_MS, now::get, failed);
+    // Задачі, заплановані в "executor", - виконуємо їх самі, коли треба
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    public void firstCall_runsAndNextWaitsForInterval() {
+        assertTrue(runner.runIfDue(tasks::add, runs::incrementAndGet));
+        tasks.poll().run();
+        assertEquals(1, runs.get());
+
+        now.addAndGet(INTERVAL_MS - 1);
+        assertFalse(runner.runIfDue(tasks::add, runs::incrementAndGet));
+        assertTrue(tasks.isEmpty());
+
+        now.addAndGet(1);
+        assertTrue(runner.runIfDue(tasks::add, runs::incrementAndGet));
+        tasks.poll().run();
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void unfinishedRun_blocksNextEvenAfterInterval() {
+        assertTrue(runner.runIfDue(tasks::add, runs::incrementAndGet));
+        now.addAndGet(INTERVAL_MS * 2);
+        assertFalse(runner.runIfDue(tasks::add, runs::incrementAndGet)); // Перша ще в черзі
+
+        tasks.poll().run();
+        assertTrue(runner.runIfDue(tasks::add, runs::incrementAndGet));
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void failedRun_isCountedAndReleasesRunner() {
+        assertTrue(runner.runIfDue(tasks::add, () -> {
+            throw new IllegalStateException("базу закрили");
+        }));
+        tasks.poll().run(); // Виняток не виходить за межі задачі
+        assertEquals(1, failed.sum());
+
+        now.addAndGet(INTERVAL_MS);
+        assertTrue(runner.runIfDue(tasks::add, runs::incrementAndGet));
+    }
+}
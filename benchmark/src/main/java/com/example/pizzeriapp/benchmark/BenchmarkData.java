@@ -0,0 +1,73 @@
+package com.example.pizzeriapp.benchmark;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.pizzeriapp.AppDatabase;
+import com.example.pizzeriapp.PizzaEntity;
+import com.example.pizzeriapp.PizzaStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Спільні заготовки для замірів: база в пам'яті і тестові піци.
+ */
+final class BenchmarkData {
+
+    // Скільки піц вставляємо за одну транзакцію при заповненні бази
+    private static final int SEED_CHUNK = 1_000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Порожня база в пам'яті з тією самою схемою і тригерами, що й справжня.
+     * Запити дозволені з потоку тесту - заміри йдуть не з головного потоку.
+     */
+    static AppDatabase newInMemoryDatabase() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        return Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.TRIGGERS) // Тригери підсумків, журналу змін та історії цін - частина вартості кожного запису
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    /**
+     * Заповнює базу rowCount піцами (частинами по SEED_CHUNK в одній транзакції кожна).
+     * Номери вставлених піц - від 1 до rowCount.
+     */
+    static void seed(AppDatabase db, int rowCount) {
+        for (int from = 0; from < rowCount; from += SEED_CHUNK) {
+            int to = Math.min(from + SEED_CHUNK, rowCount);
+            db.pizzaDao().insertPizzas(newPizzas(from, to - from));
+        }
+    }
+
+    /**
+     * count нових (ще без id) піц з номерами в назві, починаючи з first.
+     */
+    static List<PizzaEntity> newPizzas(int first, int count) {
+        List<PizzaEntity> pizzas = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            pizzas.add(newPizza(i));
+        }
+        return pizzas;
+    }
+
+    /**
+     * Одна тестова піца. Ціна, розмір і статус залежать від i, щоб дані не були однаковими.
+     */
+    static PizzaEntity newPizza(int i) {
+        PizzaEntity pizza = new PizzaEntity();
+        pizza.setName("Піца №" + i);
+        pizza.setIngredients("томатний соус, моцарела, інгредієнт " + (i % 50));
+        pizza.setPriceKopecks(9_900 + (i % 200) * 100L);
+        pizza.setSize(25 + (i % 3) * 5);
+        pizza.setDescription("Опис піци №" + i);
+        pizza.setStatus(PizzaStatus.values()[i % PizzaStatus.values().length]);
+        return pizza;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.pizzeriapp.benchmark;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.room.RoomDatabase;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.pizzeriapp.AppDatabase;
+import com.example.pizzeriapp.DatabaseConfig;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Заміри запуску бази з різними налаштуваннями DatabaseConfig:
+ * скільки коштує відкрити файл (з перевіркою схеми Room) і відкрити його разом з першим запитом.
+ * Кожен варіант має свій файл з 10 000 піц, створений до заміру.
+ * "Холодне" відкриття тут - нове з'єднання SQLite; сторінки файлу при цьому можуть бути
+ * в кеші ОС, тож це нижня межа того, що бачить користувач при першому запуску.
+ */
+@RunWith(Parameterized.class)
+public class DatabaseStartupBenchmark {
+
+    private static final int ROW_COUNT = 10_000;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> configs() {
+        DatabaseConfig wal = DatabaseConfig.DEFAULT;
+        return Arrays.asList(
+                new Object[]{"truncate_full", wal
+                        .withJournalMode(RoomDatabase.JournalMode.TRUNCATE)
+                        .withSynchronous(DatabaseConfig.Synchronous.FULL)},
+                new Object[]{"wal_full", wal.withSynchronous(DatabaseConfig.Synchronous.FULL)},
+                new Object[]{"wal_normal_default", wal},
+                new Object[]{"wal_normal_cache8m", wal.withCacheSizeKib(8 * 1024)},
+                new Object[]{"wal_normal_sqlite_cache", wal.withCacheSizeKib(0)});
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final String fileName;
+    private final DatabaseConfig config;
+    private Context context;
+
+    public DatabaseStartupBenchmark(String name, DatabaseConfig config) {
+        this.fileName = "startup_" + name + ".db";
+        this.config = config;
+    }
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(fileName);
+        AppDatabase db = AppDatabase.build(context, fileName, config);
+        BenchmarkData.seed(db, ROW_COUNT);
+        db.close();
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(fileName);
+    }
+
+    @Test
+    public void coldOpen() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            AppDatabase db = AppDatabase.build(context, fileName, config);
+            db.getOpenHelper().getWritableDatabase(); // Відкриття файлу, PRAGMA, перевірка схеми
+
+            state.pauseTiming();
+            db.close();
+            state.resumeTiming();
+        }
+    }
+
+    @Test
+    public void coldOpenAndFirstQuery() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            AppDatabase db = AppDatabase.build(context, fileName, config);
+            db.pizzaDao().getPizzaById(ROW_COUNT / 2); // Перший запит сам відкриває базу
+
+            state.pauseTiming();
+            db.close();
+            state.resumeTiming();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.pizzeriapp.benchmark;
+
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.pizzeriapp.AppDatabase;
+import com.example.pizzeriapp.KitchenScheduler;
+import com.example.pizzeriapp.KitchenTicket;
+import com.example.pizzeriapp.KitchenTicketDao;
+import com.example.pizzeriapp.LatencyHistogram;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Черга кухні під навантаженням.
+ * <ul>
+ *     <li>submitPollFinish - скільки коштує один квиток для каси й печі (запис у базу йде у фоні).</li>
+ *     <li>peakLoadSimulation - "п'ятниця ввечері" у прискореному часі (1 хвилина кухні = 1 мс):
+ *     каси приймають замовлення швидше, ніж печі встигають пекти. Показує, скільки піц за секунду пройшло
+ *     через кухню, p99 очікування в черзі (у хвилинах кухні) і частку запізнень; результат - у logcat
+ *     (тег KitchenSimulation) і в статусі інструментації.</li>
+ * </ul>
+ * В обох випадках квитки по-справжньому пишуться в базу (в пам'яті) через getTransactionExecutor().
+ */
+public class KitchenSchedulerBenchmark {
+
+    private static final String TAG = "KitchenSimulation";
+
+    // Прискорення часу: скільки мілісекунд кухні минає за одну справжню наносекунду (хвилина за мілісекунду)
+    private static final double KITCHEN_MS_PER_NANO = 60_000.0 / 1_000_000;
+
+    private static final int CASHIERS = 8;
+    private static final int OVENS = 6;
+    private static final int TICKETS_PER_CASHIER = 250;
+
+    // Пік: кожна каса приймає піцу в середньому раз на 14 хвилин кухні. Разом це приблизно на третину більше,
+    // ніж шість печей встигають спекти (~13 хвилин на піцу), тож черга росте до кінця піку
+    private static final long MAX_ORDER_GAP_NANOS = 28_000_000;
+
+    private static final long PROMISED_WITHIN_MS = 30 * 60_000L;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private AppDatabase db;
+    private KitchenTicketDao dao;
+
+    @Before
+    public void setUp() {
+        db = BenchmarkData.newInMemoryDatabase();
+        dao = db.kitchenTicketDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void submitPollFinish() {
+        KitchenScheduler scheduler = new KitchenScheduler(db.getTransactionExecutor(), dao::upsertTickets,
+                System::currentTimeMillis, 0);
+        BenchmarkState state = benchmarkRule.getState();
+        int size = 25;
+        while (state.keepRunning()) {
+            scheduler.submit(0, 1, "Маргарита", size, System.currentTimeMillis() + PROMISED_WITHIN_MS);
+            scheduler.finish(scheduler.poll(0));
+            size = size == 40 ? 25 : size + 1;
+        }
+        awaitSaved(scheduler);
+    }
+
+    @Test
+    public void peakLoadSimulation() throws Exception {
+        // Годинник кухні: стартує зі справжнього часу і далі йде прискорено
+        long wallStart = System.currentTimeMillis();
+        long t0 = System.nanoTime();
+        LongSupplier kitchenClock = () -> wallStart + (long) ((System.nanoTime() - t0) * KITCHEN_MS_PER_NANO);
+        KitchenScheduler scheduler = new KitchenScheduler(db.getTransactionExecutor(), dao::upsertTickets,
+                kitchenClock, 0);
+        LatencyHistogram waitKitchenMs = new LatencyHistogram(); // Тут "наносекунди" - це мілісекунди кухні
+        AtomicInteger late = new AtomicInteger();
+        AtomicInteger cooked = new AtomicInteger();
+        int total = CASHIERS * TICKETS_PER_CASHIER;
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CASHIERS + OVENS);
+        long startedAt;
+        long finishedAt;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CASHIERS; c++) {
+                Random random = new Random(c);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < TICKETS_PER_CASHIER; i++) {
+                        LockSupport.parkNanos((long) (random.nextDouble() * MAX_ORDER_GAP_NANOS));
+                        scheduler.submit(0, 1 + random.nextInt(100), "Піца", 25 + random.nextInt(16),
+                                kitchenClock.getAsLong() + PROMISED_WITHIN_MS);
+                    }
+                    return null;
+                }));
+            }
+            for (int o = 0; o < OVENS; o++) {
+                int oven = o;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    while (cooked.get() < total) {
+                        KitchenTicket ticket = scheduler.poll(oven);
+                        if (ticket == null) {
+                            LockSupport.parkNanos(50_000); // Черга порожня - піч трохи чекає
+                            continue;
+                        }
+                        waitKitchenMs.record(ticket.getStartedAt() - ticket.getQueuedAt());
+                        LockSupport.parkNanos((long) (ticket.getPrepMillis() / KITCHEN_MS_PER_NANO)); // Печеться
+                        scheduler.finish(ticket);
+                        if (ticket.getFinishedAt() > ticket.getPromisedAt()) {
+                            late.incrementAndGet();
+                        }
+                        cooked.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            finishedAt = System.nanoTime();
+        } finally {
+            pool.shutdownNow();
+        }
+        awaitSaved(scheduler);
+
+        double seconds = (finishedAt - startedAt) / 1e9;
+        Bundle results = new Bundle();
+        results.putLong("kitchen_tickets", total);
+        results.putDouble("kitchen_tickets_per_second", total / seconds);
+        results.putDouble("kitchen_p50_wait_minutes", waitKitchenMs.getPercentileNanos(0.50) / 60_000.0);
+        results.putDouble("kitchen_p99_wait_minutes", waitKitchenMs.getPercentileNanos(0.99) / 60_000.0);
+        results.putDouble("kitchen_max_wait_minutes", waitKitchenMs.getMaxNanos() / 60_000.0);
+        results.putDouble("kitchen_late_fraction", late.get() / (double) total);
+        for (String key : results.keySet()) {
+            Log.i(TAG, key + " = " + results.get(key));
+        }
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+
+        // Усе, що приготували, дійшло до бази
+        assertEquals(0, dao.getUnfinishedTicketsNow().size());
+        assertEquals(total, dao.getMaxTicketId());
+    }
+
+    private static void awaitSaved(KitchenScheduler scheduler) {
+        while (scheduler.getUnsavedCount() > 0) {
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+}
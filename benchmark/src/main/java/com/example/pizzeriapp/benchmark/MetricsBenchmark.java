@@ -0,0 +1,64 @@
+package com.example.pizzeriapp.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.example.pizzeriapp.LatencyHistogram;
+import com.example.pizzeriapp.Metrics;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Скільки коштує сам запис метрик. Кожен виклик DAO, задача запису і заповнення рядка списку
+ * платить рівно за recordSince(...) (nanoTime + запис у гістограму), тож це має бути
+ * значно менше за мікросекунду - інакше метрики самі стануть тим, що гальмує.
+ */
+public class MetricsBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder counter = Metrics.counter("benchmark.counter");
+
+    @Test
+    public void histogramRecord() {
+        BenchmarkState state = benchmarkRule.getState();
+        long value = 1;
+        while (state.keepRunning()) {
+            histogram.record(value);
+            value = value * 31 + 7 & 0xFFFFFFFL; // Різні кошики, від наносекунд до ~0,3 с
+        }
+    }
+
+    @Test
+    public void histogramRecordSince() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            long start = System.nanoTime(); // Те саме, що робить MeteredPizzaDao навколо кожного виклику
+            histogram.recordSince(start);
+        }
+    }
+
+    @Test
+    public void counterIncrement() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            counter.increment();
+        }
+    }
+
+    @Test
+    public void histogramPercentile() {
+        for (int i = 0; i < 100_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            histogram.getPercentileNanos(0.99); // Лише для dump(), не на гарячому шляху
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.pizzeriapp.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.pizzeriapp.AppDatabase;
+import com.example.pizzeriapp.OrderDao;
+import com.example.pizzeriapp.OrderLine;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Замір оформлення замовлення: одна транзакція з запитом цін і вставкою замовлення та рядків.
+ * У піковий час це сотні замовлень на годину з одного планшета, тож checkout має лишатися коротким
+ * і не сповільнюватися з ростом історії продажів.
+ */
+@RunWith(AndroidJUnit4.class)
+public class OrderDaoBenchmark {
+
+    // Розмір меню
+    private static final int MENU_SIZE = 1_000;
+
+    // Скільки замовлень вже є в базі до початку заміру - "кілька тижнів роботи"
+    private static final int EXISTING_ORDERS = 10_000;
+
+    // Типовий кошик: три різні піци. Номери обрані серед тих, що є в наявності (див. BenchmarkData.newPizza).
+    private static final List<OrderLine> CART = Arrays.asList(
+            new OrderLine(1, 2),
+            new OrderLine(2, 1),
+            new OrderLine(4, 1));
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private AppDatabase db;
+    private OrderDao dao;
+
+    @Before
+    public void setUp() {
+        db = BenchmarkData.newInMemoryDatabase();
+        dao = db.orderDao();
+        BenchmarkData.seed(db, MENU_SIZE);
+        db.runInTransaction(() -> {
+            for (int i = 0; i < EXISTING_ORDERS; i++) {
+                dao.checkout(CART, i);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void checkout() {
+        BenchmarkState state = benchmarkRule.getState();
+        long createdAt = EXISTING_ORDERS;
+        while (state.keepRunning()) {
+            dao.checkout(CART, createdAt++);
+        }
+    }
+
+    @Test
+    public void checkoutSingleLine() {
+        BenchmarkState state = benchmarkRule.getState();
+        List<OrderLine> cart = CART.subList(0, 1);
+        long createdAt = EXISTING_ORDERS;
+        while (state.keepRunning()) {
+            dao.checkout(cart, createdAt++);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.pizzeriapp.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.example.pizzeriapp.AppDatabase;
+import com.example.pizzeriapp.PizzaDao;
+import com.example.pizzeriapp.PizzaEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Заміри основних операцій PizzaDao на таблиці з 1 000, 10 000 і 100 000 піц.
+ * Кожен замір - окрема "жива" база в пам'яті, заповнена до початку вимірювання.
+ */
+@RunWith(Parameterized.class)
+public class PizzaDaoBenchmark {
+
+    // Скільки піц вставляє один замір пакетної вставки
+    private static final int BATCH_SIZE = 100;
+
+    @Parameterized.Parameters(name = "rows={0}")
+    public static List<Integer> rowCounts() {
+        return Arrays.asList(1_000, 10_000, 100_000);
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int rowCount;
+    private final Random random = new Random(42); // Фіксоване зерно - однакові номери між запусками
+
+    private AppDatabase db;
+    private PizzaDao dao;
+
+    public PizzaDaoBenchmark(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    @Before
+    public void setUp() {
+        db = BenchmarkData.newInMemoryDatabase();
+        dao = db.pizzaDao();
+        BenchmarkData.seed(db, rowCount);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void insertSingle() {
+        BenchmarkState state = benchmarkRule.getState();
+        int i = rowCount;
+        while (state.keepRunning()) {
+            dao.insertPizza(BenchmarkData.newPizza(i++)); // Окрема транзакція на кожну піцу
+        }
+    }
+
+    @Test
+    public void insertBatch() {
+        BenchmarkState state = benchmarkRule.getState();
+        int i = rowCount;
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            List<PizzaEntity> batch = BenchmarkData.newPizzas(i, BATCH_SIZE);
+            i += BATCH_SIZE;
+            state.resumeTiming();
+
+            dao.insertPizzas(batch); // Одна транзакція на BATCH_SIZE піц
+        }
+    }
+
+    @Test
+    public void update() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            PizzaEntity pizza = BenchmarkData.newPizza(random.nextInt(rowCount));
+            pizza.setId(1 + random.nextInt(rowCount));
+            state.resumeTiming();
+
+            dao.updatePizza(pizza);
+        }
+    }
+
+    @Test
+    public void delete() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            int id = 1 + random.nextInt(rowCount);
+            PizzaEntity pizza = dao.getPizzaById(id);
+            state.resumeTiming();
+
+            dao.deletePizza(pizza);
+
+            // Повертаємо піцу назад, щоб розмір таблиці не змінювався
+            state.pauseTiming();
+            dao.insertPizza(pizza);
+            state.resumeTiming();
+        }
+    }
+
+    @Test
+    public void getPizzaById() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.getPizzaById(1 + random.nextInt(rowCount));
+        }
+    }
+
+    @Test
+    public void getAllPizzas() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.getAllPizzasNow(); // Уся таблиця - саме те, чого уникає посторінковий список
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.pizzeriapp.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.example.pizzeriapp.AppDatabase;
+import com.example.pizzeriapp.PizzaDao;
+import com.example.pizzeriapp.PizzaEntity;
+import com.example.pizzeriapp.PizzaHistoryDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Історія цін: скільки тригер історії додає до оновлення піци і скільки коштують запити за часом.
+ * <ul>
+ *     <li>updatePrice проти updateDescription: однакове оновлення всієї піци, але в першому ціна змінюється
+ *     (тригер пише рядок історії), а в другому - ні. Різниця між ними - ціна історії для запису.</li>
+ *     <li>getStateAt / getHistoryBetween - на історії з HISTORY_DEPTH змін кожної піци.</li>
+ * </ul>
+ */
+@RunWith(Parameterized.class)
+public class PizzaHistoryBenchmark {
+
+    // Скільки разів змінюємо ціни всього меню перед замірами - глибина історії кожної піци
+    private static final int HISTORY_DEPTH = 20;
+
+    @Parameterized.Parameters(name = "rows={0}")
+    public static List<Integer> rowCounts() {
+        return Arrays.asList(1_000, 10_000);
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int rowCount;
+    private final Random random = new Random(42); // Фіксоване зерно - однакові номери між запусками
+
+    private AppDatabase db;
+    private PizzaDao dao;
+    private PizzaHistoryDao historyDao;
+    private long seededAt;
+
+    public PizzaHistoryBenchmark(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    @Before
+    public void setUp() {
+        db = BenchmarkData.newInMemoryDatabase();
+        dao = db.pizzaDao();
+        historyDao = db.pizzaHistoryDao();
+        BenchmarkData.seed(db, rowCount);
+        for (int i = 0; i < HISTORY_DEPTH; i++) {
+            db.getOpenHelper().getWritableDatabase().execSQL("UPDATE pizzas SET priceKopecks = priceKopecks + 100");
+        }
+        seededAt = System.currentTimeMillis();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void updatePrice() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            PizzaEntity pizza = dao.getPizzaById(1 + random.nextInt(rowCount));
+            pizza.setPriceKopecks(pizza.getPriceKopecks() + 1);
+            state.resumeTiming();
+
+            dao.updatePizza(pizza);
+        }
+    }
+
+    @Test
+    public void updateDescription() {
+        BenchmarkState state = benchmarkRule.getState();
+        int i = 0;
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            PizzaEntity pizza = dao.getPizzaById(1 + random.nextInt(rowCount));
+            pizza.setDescription("Новий опис №" + i++);
+            state.resumeTiming();
+
+            dao.updatePizza(pizza); // Ціна і статус ті самі - рядка історії немає
+        }
+    }
+
+    @Test
+    public void getStateAt() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            historyDao.getStateAt(1 + random.nextInt(rowCount), seededAt - random.nextInt(1_000));
+        }
+    }
+
+    @Test
+    public void getHistoryBetween() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            historyDao.getHistoryBetween(1 + random.nextInt(rowCount), seededAt - 60_000, seededAt);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.pizzeriapp.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.example.pizzeriapp.AppDatabase;
+import com.example.pizzeriapp.InMemoryPizzaRepository;
+import com.example.pizzeriapp.PizzaEntity;
+import com.example.pizzeriapp.PizzaRepository;
+import com.example.pizzeriapp.PizzaStatus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Ті самі операції PizzaRepository на двох сховищах: справжня база (Room) і InMemoryPizzaRepository.
+ * Показує, скільки коштує SQLite порівняно з "гарячим" меню в пам'яті.
+ */
+@RunWith(Parameterized.class)
+public class PizzaRepositoryBenchmark {
+
+    private static final int ROW_COUNT = 10_000;
+
+    // Ширина цінового діапазону для вибірки за статусом (у BenchmarkData ціни 99-298 грн)
+    private static final long PRICE_RANGE_KOPECKS = 2_000;
+
+    @Parameterized.Parameters(name = "backend={0}")
+    public static List<String> backends() {
+        return Arrays.asList("room", "memory");
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final String backend;
+    private final Random random = new Random(42); // Фіксоване зерно - однакові номери між запусками
+
+    private AppDatabase db;
+    private PizzaRepository repository;
+
+    public PizzaRepositoryBenchmark(String backend) {
+        this.backend = backend;
+    }
+
+    @Before
+    public void setUp() {
+        if (backend.equals("room")) {
+            db = BenchmarkData.newInMemoryDatabase();
+            repository = db.pizzaRepository();
+        } else {
+            repository = new InMemoryPizzaRepository();
+        }
+        repository.insertAll(BenchmarkData.newPizzas(0, ROW_COUNT)); // Номери від 1 до ROW_COUNT
+    }
+
+    @After
+    public void tearDown() {
+        if (db != null) {
+            db.close();
+        }
+    }
+
+    @Test
+    public void getPizzaById() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            repository.getPizzaById(1 + random.nextInt(ROW_COUNT));
+        }
+    }
+
+    @Test
+    public void getPizzasByStatusAndPrice() {
+        BenchmarkState state = benchmarkRule.getState();
+        PizzaStatus[] statuses = PizzaStatus.values();
+        while (state.keepRunning()) {
+            long min = 9_900 + random.nextInt(180) * 100L;
+            repository.getPizzasByStatus(statuses[random.nextInt(statuses.length)], min, min + PRICE_RANGE_KOPECKS);
+        }
+    }
+
+    @Test
+    public void getAllPizzas() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            repository.getAllPizzas();
+        }
+    }
+
+    @Test
+    public void update() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            PizzaEntity pizza = BenchmarkData.newPizza(random.nextInt(ROW_COUNT));
+            pizza.setId(1 + random.nextInt(ROW_COUNT));
+            state.resumeTiming();
+
+            repository.update(pizza); // Змінюються ціна і статус - обидва індекси
+        }
+    }
+
+    @Test
+    public void setStatus() {
+        BenchmarkState state = benchmarkRule.getState();
+        PizzaStatus[] statuses = PizzaStatus.values();
+        while (state.keepRunning()) {
+            repository.setStatus(Arrays.asList(1 + random.nextInt(ROW_COUNT), 1 + random.nextInt(ROW_COUNT)),
+                    statuses[random.nextInt(statuses.length)]);
+        }
+    }
+}